@@ -25,6 +25,7 @@ import act.app.event.SysEventId;
 import act.app.util.NamedPort;
 import act.boot.BootstrapClassLoader;
 import act.boot.PluginClassProvider;
+import act.boot.app.CdsTraining;
 import act.boot.app.FullStackAppBootstrapClassLoader;
 import act.boot.app.RunApp;
 import act.conf.*;
@@ -312,6 +313,9 @@ public final class Act {
         }
         emit(SysEventId.ACT_START);
         writePidFile();
+        if (CdsTraining.enabled()) {
+            CdsTraining.schedule(app);
+        }
     }
 
     public static void shutdown(App app) {
@@ -30,6 +30,7 @@ import org.osgl.$;
 
 import javax.enterprise.context.ApplicationScoped;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static act.Destroyable.Util.tryDestroyAll;
@@ -53,6 +54,18 @@ public class BytecodeEnhancerManager extends DestroyableBase {
         appEnhancers.add(enhancer);
     }
 
+    /**
+     * Returns the sorted class names of all registered app enhancers
+     */
+    public List<String> appEnhancerNames() {
+        List<String> l = new ArrayList<>();
+        for (AppByteCodeEnhancer e : appEnhancers) {
+            l.add(e.getClass().getName());
+        }
+        Collections.sort(l);
+        return l;
+    }
+
     public ByteCodeVisitor appEnhancer(App app, String className, $.Var<ClassWriter> cw) {
         List<AppByteCodeEnhancer> l = appFilter(app, className);
         return l.isEmpty() ? null : ByteCodeVisitor.chain(cw, l);
@@ -84,6 +84,7 @@ public class ActionContext extends ActContext.Base<ActionContext> implements Des
     private String actionPath; // e.g. com.mycorp.myapp.controller.AbcController.foo
     private State state;
     private Map<String, Object> controllerInstances;
+    private Map<String, Object> sessionScoped;
     private Map<String, ISObject[]> uploads;
     private Router router;
     private RequestHandler handler;
@@ -707,6 +708,32 @@ public class ActionContext extends ActContext.Base<ActionContext> implements Des
         return null == controllerInstances ? null : controllerInstances.get(className);
     }
 
+    /**
+     * Memoize a session scoped bean for the current request so that
+     * following lookups within the request do not hit the session cache.
+     *
+     * @param key the session scope key of the bean
+     * @param bean the bean instance, or `null` to remove the memoized bean
+     * @return this context
+     */
+    public ActionContext __sessionScoped(String key, Object bean) {
+        if (null == bean) {
+            if (null != sessionScoped) {
+                sessionScoped.remove(key);
+            }
+            return this;
+        }
+        if (null == sessionScoped) {
+            sessionScoped = new HashMap<>();
+        }
+        sessionScoped.put(key, bean);
+        return this;
+    }
+
+    public <T> T __sessionScoped(String key) {
+        return null == sessionScoped ? null : (T) sessionScoped.get(key);
+    }
+
 
     /**
      * Return cached object by key. The key will be concatenated with
@@ -1007,6 +1034,7 @@ public class ActionContext extends ActContext.Base<ActionContext> implements Des
             this.flash = null;
             this.session = null;
             this.controllerInstances = null;
+            this.sessionScoped = null;
             this.result = null;
             this.uploads.clear();
             ActionContext.clearLocal();
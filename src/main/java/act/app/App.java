@@ -148,6 +148,10 @@ public class App extends DestroyableBase {
     private CacheService cache;
     // used in dev mode only
     private CompilationException compilationException;
+    private volatile StartupProfiler startupProfiler;
+    private volatile ServiceInitializer serviceInitializer;
+    // compilation result of sources kept across class loader refreshes in dev mode
+    private volatile CompilationCache compilationCache;
     private SysEventId currentState;
     private Set<SysEventId> eventEmitted;
     private Thread mainThread;
@@ -530,6 +534,9 @@ public class App extends DestroyableBase {
         shutdownEventBus();
         shutdownJobManager();
         clearServiceResourceManager();
+        if (null != classLoader) {
+            classLoader.stopDetectingChanges();
+        }
         classLoader = null;
     }
 
@@ -559,59 +566,71 @@ public class App extends DestroyableBase {
         profile = null;
         blockIssue = null;
         blockIssueCause = null;
+        startupProfiler = new StartupProfiler();
 
         Act.viewManager().clearAppDefinedVars();
+        startupProfiler.step("initScanlist");
         initScanlist();
+        startupProfiler.step("initServiceResourceManager");
         initServiceResourceManager();
+        startupProfiler.step("reload");
         reload();
         mainThread = Thread.currentThread();
         restarting = mainThread.getName().contains("job");
         eventEmitted = C.newSet();
 
+        startupProfiler.step("initSingletonRegistry");
         initSingletonRegistry();
+        startupProfiler.step("initEventBus");
         initEventBus();
         emit(EVENT_BUS_INITIALIZED);
 
         try {
 
+            startupProfiler.step("loadConfig");
             loadConfig();
             emit(CONFIG_LOADED);
 
-            initCache();
-            initDataPropertyRepository();
-            initCrypto();
-            initIdGenerator();
-            initJobManager();
-            initDaemonRegistry();
-
-            initInterceptorManager();
-            initResolverManager();
-            initBinderManager();
-            initUploadFileStorageService();
-            initRouters();
+            startupProfiler.step("initServices");
+            initServices();
             emit(ROUTER_INITIALIZED);
+            startupProfiler.step("loadRoutes");
             loadRoutes();
             emit(ROUTER_LOADED);
+            startupProfiler.step("initApiManager");
             initApiManager();
+            startupProfiler.step("initCliDispatcher");
             initCliDispatcher();
+            startupProfiler.step("initCliServer");
             initCliServer();
+            startupProfiler.step("initEntityMetaInfoRepo");
             initEntityMetaInfoRepo();
 
+            startupProfiler.step("initWebSocketConnectionManager");
             initWebSocketConnectionManager();
+            startupProfiler.step("initDbServiceManager");
             initDbServiceManager();
 
+            startupProfiler.step("resetViewManager");
             Act.viewManager().reset();
+            startupProfiler.step("loadGlobalPlugin");
             loadGlobalPlugin();
             emit(APP_ACT_PLUGIN_LOADED);
+            startupProfiler.step("initScannerManager");
             initScannerManager();
+            startupProfiler.step("loadActScanners");
             loadActScanners();
+            startupProfiler.step("loadBuiltInScanners");
             loadBuiltInScanners();
             emit(PRE_LOAD_CLASSES);
 
+            startupProfiler.step("initClassLoader");
             initClassLoader();
             emit(SysEventId.CLASS_LOADER_INITIALIZED);
+            startupProfiler.step("preloadClasses");
             preloadClasses();
             try {
+                startupProfiler.step("scanAppCodes");
                 scanAppCodes();
                 compilationException = null;
             } catch (CompilationException e) {
@@ -626,12 +645,14 @@ public class App extends DestroyableBase {
             //classLoader().loadClasses();
             emit(APP_CODE_SCANNED);
             emit(CLASS_LOADED);
+            startupProfiler.step("reloadViewManager");
             Act.viewManager().reload(this);
         } catch (BlockIssueSignal e) {
             // ignore and keep going with dependency injector initialization
         }
 
         try {
+            startupProfiler.step("loadDependencyInjector");
             loadDependencyInjector();
             emit(DEPENDENCY_INJECTOR_LOADED);
         } catch (BlockIssueSignal e) {
@@ -640,8 +661,11 @@ public class App extends DestroyableBase {
 
         if (null == blockIssue && null == blockIssueCause) {
             try {
+                startupProfiler.step("initJsonDTOClassManager");
                 initJsonDTOClassManager();
+                startupProfiler.step("initParamValueLoaderManager");
                 initParamValueLoaderManager();
+                startupProfiler.step("initMailerConfigManager");
                 initMailerConfigManager();
 
                 // setting context class loader here might lead to memory leaks
@@ -650,7 +674,9 @@ public class App extends DestroyableBase {
                 // old app class loader instance after the app been refreshed
                 // - Thread.currentThread().setContextClassLoader(classLoader());
 
+                startupProfiler.step("initHttpConfig");
                 initHttpConfig();
+                startupProfiler.step("initViewManager");
                 initViewManager();
 
                 // let's any emit the dependency injector loaded event
@@ -659,13 +685,18 @@ public class App extends DestroyableBase {
                 // already, it doesn't matter we emit the event again
                 // because once app event is consumed the event listeners
                 // are cleared
+                startupProfiler.step("provision");
                 emit(DEPENDENCY_INJECTOR_PROVISIONED);
                 emit(SINGLETON_PROVISIONED);
+                startupProfiler.step("preloadConfigurations");
                 config().preloadConfigurations();
+                startupProfiler.step("initSessionManager");
                 initSessionManager();
+                initHandlerWarmUp();
                 Runnable runnable = new Runnable() {
                     @Override
                     public void run() {
+                        startupProfiler.step("start");
                         if (null != blockIssueCause) {
                             setBlockIssue(blockIssueCause);
                         }
@@ -675,6 +706,8 @@ public class App extends DestroyableBase {
                         daemonKeeper();
                         logger.info("App[%s] loaded in %sms", name(), $.ms() - ms);
                         emit(POST_START);
+                        startupProfiler.finish();
+                        writeStartupProfile();
                     }
                 };
                 if (!dbServiceManager().hasDbService() || eventEmitted(DB_SVC_LOADED)) {
@@ -682,12 +715,35 @@ public class App extends DestroyableBase {
                 } else {
                     jobManager().on(DB_SVC_LOADED, runnable, true);
                 }
+                startupProfiler.endAll();
             } catch (BlockIssueSignal e) {
                 // ignore
             }
         }
     }
 
+    /**
+     * Returns the profiler recording the phases of the latest app start up
+     */
+    public StartupProfiler startupProfiler() {
+        return startupProfiler;
+    }
+
+    /**
+     * Returns the compilation cache used to recompile changed sources only
+     * when app reloads in dev mode, or `null` if incremental compilation is
+     * turned off
+     */
+    CompilationCache compilationCache() {
+        if (!config().compileIncremental()) {
+            return null;
+        }
+        if (null == compilationCache) {
+            compilationCache = new CompilationCache();
+        }
+        return compilationCache;
+    }
+
     /**
      * Check if the app has block issue set
      * @return `true` if the app has block issue encountered during start up
@@ -957,6 +1013,10 @@ public class App extends DestroyableBase {
         if (null == appServiceRegistry) {
             return this; // for unit test only
         }
+        ServiceInitializer initializer = serviceInitializer;
+        if (null != initializer && initializer.defer(service, noDiBinder)) {
+            return this;
+        }
         appServiceRegistry.register(service);
         if (null != eventBus && !noDiBinder) {
             eventBus.bind(SysEventId.DEPENDENCY_INJECTOR_LOADED, new SysEventListenerBase() {
@@ -983,7 +1043,15 @@ public class App extends DestroyableBase {
         eventEmitted().add(sysEvent);
         EventBus bus = eventBus();
         if (null != bus) {
-            bus.emit(sysEvent);
+            StartupProfiler profiler = startupProfiler;
+            StartupProfiler.Phase phase = null == profiler ? null : profiler.begin(S.concat("emit:", sysEvent.name()));
+            try {
+                bus.emit(sysEvent);
+            } finally {
+                if (null != phase) {
+                    profiler.end(phase);
+                }
+            }
         }
     }
 
@@ -1133,6 +1201,77 @@ public class App extends DestroyableBase {
         daemon.stop();
     }
 
+    /**
+     * Initialize services that depend on nothing but the app config. Services
+     * without dependency between each other are initialized concurrently
+     * unless `init.parallel.enabled` is turned off.
+     */
+    private void initServices() {
+        ServiceInitializer initializer = new ServiceInitializer(this, config().initParallelEnabled());
+        initializer.add("initCache", new Runnable() {
+            @Override
+            public void run() {
+                initCache();
+            }
+        }).add("initDataPropertyRepository", new Runnable() {
+            @Override
+            public void run() {
+                initDataPropertyRepository();
+            }
+        }).add("initCrypto", new Runnable() {
+            @Override
+            public void run() {
+                initCrypto();
+            }
+        }).add("initIdGenerator", new Runnable() {
+            @Override
+            public void run() {
+                initIdGenerator();
+            }
+        }).add("initJobManager", new Runnable() {
+            @Override
+            public void run() {
+                initJobManager();
+            }
+        }).add("initDaemonRegistry", new Runnable() {
+            @Override
+            public void run() {
+                initDaemonRegistry();
+            }
+        }, "initJobManager").add("initInterceptorManager", new Runnable() {
+            @Override
+            public void run() {
+                initInterceptorManager();
+            }
+        }).add("initResolverManager", new Runnable() {
+            @Override
+            public void run() {
+                initResolverManager();
+            }
+        }).add("initBinderManager", new Runnable() {
+            @Override
+            public void run() {
+                initBinderManager();
+            }
+        }).add("initUploadFileStorageService", new Runnable() {
+            @Override
+            public void run() {
+                initUploadFileStorageService();
+            }
+        }).add("initRouters", new Runnable() {
+            @Override
+            public void run() {
+                initRouters();
+            }
+        });
+        serviceInitializer = initializer;
+        try {
+            initializer.run();
+        } finally {
+            serviceInitializer = null;
+        }
+    }
+
     private void initServiceResourceManager() {
         clearServiceResourceManager();
         appServiceRegistry = new AppServiceRegistry(this);
@@ -1198,6 +1337,12 @@ public class App extends DestroyableBase {
         }
     }
 
+    private void initHandlerWarmUp() {
+        if (config().warmUpEnabled()) {
+            jobManager().post(POST_START, "act:warm-up-handlers", new HandlerWarmUp(this), true);
+        }
+    }
+
     private void initSessionManager() {
         sessionManager = new SessionManager(config);
         singletonRegistry.register(SessionManager.class, sessionManager);
@@ -1326,6 +1471,10 @@ public class App extends DestroyableBase {
     }
 
     private void initClassLoader() {
+        if (null != classLoader) {
+            // release file system watchers held by the class loader being replaced
+            classLoader.stopDetectingChanges();
+        }
         classLoader = Act.mode().classLoader(this);
     }
 
@@ -1407,6 +1556,25 @@ public class App extends DestroyableBase {
         classLoader().scan();
     }
 
+    private void writeStartupProfile() {
+        String report = startupProfiler.report();
+        if (logger.isDebugEnabled()) {
+            logger.debug("App[%s] startup profile:\n%s", name(), report);
+        }
+        try {
+            File dir = tmpDir();
+            if (!dir.exists() && !dir.mkdirs()) {
+                throw E.ioException("Cannot create dir: " + dir.getAbsolutePath());
+            }
+            File file = new File(dir, "startup-profile.txt");
+            IO.writeContent(report, file);
+            IO.writeContent(startupProfiler.toChromeTrace(), new File(dir, "startup-trace.json"));
+            logger.info("App[%s] startup profile written to %s", name(), file.getAbsolutePath());
+        } catch (RuntimeException e) {
+            logger.warn(e, "error writing startup profile");
+        }
+    }
+
     static App create(File appBase, Version version, ProjectLayout layout) {
         return new App(appBase, version, layout);
     }
@@ -65,6 +65,32 @@ public abstract class AppByteCodeScannerBase extends AppCodeScannerBase implemen
         set.addAll(classNames);
     }
 
+    /**
+     * Check if this scanner has nothing to do with the class specified provided it
+     * is a plain class - a class that extends `Object` directly, implements no interface
+     * and carries no annotation.
+     *
+     * A plain class unchanged since last scan is restored from the scan index when
+     * all scanners started on it skip the class, in which case the bytecode is not visited
+     * and {@link #restorePlainClass(String, int)} is called instead.
+     *
+     * @param className the class name
+     * @return `true` if the scanner can skip the plain class. Default value: `false`
+     */
+    protected boolean skipPlainClass(String className) {
+        return false;
+    }
+
+    /**
+     * Restore the result of scanning a plain class that has been skipped.
+     *
+     * @param className the class name
+     * @param access the access flags of the class
+     * @see #skipPlainClass(String)
+     */
+    protected void restorePlainClass(String className, int access) {
+    }
+
     @Override
     public final Map<Class<? extends AppByteCodeScanner>, Set<String>> dependencyClasses() {
         return C.map(dependencyClasses);
@@ -25,6 +25,7 @@ import act.app.event.SysEventId;
 import act.app.util.EnvMatcher;
 import act.asm.AsmException;
 import act.asm.ClassReader;
+import act.asm.ClassVisitor;
 import act.asm.ClassWriter;
 import act.boot.BootstrapClassLoader;
 import act.boot.app.FullStackAppBootstrapClassLoader;
@@ -60,7 +61,14 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.InputStream;
 import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import static act.util.ClassInfoRepository.canonicalName;
 import static org.osgl.$.notNull;
@@ -80,7 +88,7 @@ public class AppClassLoader
 
     private final static Logger logger = L.get(AppClassLoader.class);
     private App app;
-    private Map<String, byte[]> libClsCache = new HashMap<>();
+    private BytecodeIndex libClsCache = new BytecodeIndex();
     private ClassInfoRepository classInfoRepository;
     private boolean destroyed;
     protected ControllerClassMetaInfoManager controllerInfo;
@@ -161,6 +169,14 @@ public class AppClassLoader
         // don't do anything when running in none-dev mode
     }
 
+    /**
+     * Release the file system watchers used to detect changes. Called when
+     * the class loader is replaced or the app is shutting down
+     */
+    public void stopDetectingChanges() {
+        // don't do anything when running in none-dev mode
+    }
+
     public ControllerClassMetaInfo controllerClassMetaInfo(String controllerClassName) {
         return controllerInfo.controllerMetaInfo(controllerClassName);
     }
@@ -239,31 +255,142 @@ public class AppClassLoader
     }
 
     protected void scan() {
-        scanByteCode(libClsCache.keySet(), bytecodeLookup);
+        scanByteCode(libClsCache.classNames(), bytecodeLookup);
     }
 
     /**
      * This method implement a event listener based scan process:
      * <ol>
      * <li>First loop: through all cached bytecode. Chain all scanner's bytecode visitor</li>
-     * <li>Rest loops: through dependencies. Thus if some bytecode missed by a certain scanner
+     * <li>Rest loops: through dependencies in waves. Thus if some bytecode missed by a certain scanner
      * due to the context is not established can be captured eventually</li>
      * </ol>
+     *
+     * Scanners are not thread safe, thus classes are always visited one by one in a
+     * deterministic order. When there are many classes, decoding the bytecode - the
+     * expensive part of the visit - is done in parallel into ASM class trees ahead of
+     * the visiting thread, which then replays the trees to the scanners.
+     *
+     * Plain classes unchanged since last scan are restored from the {@link ScanIndex}
+     * instead of being visited.
      */
-    protected void scanByteCode(Iterable<String> classes, $.Function<String, byte[]> bytecodeProvider) {
+    protected void scanByteCode(Iterable<String> classes, final $.Function<String, byte[]> bytecodeProvider) {
         logger.debug("start to scan bytecode ...");
         final AppCodeScannerManager scannerManager = app().scannerManager();
-        Map<String, List<AppByteCodeScanner>> dependencies = new HashMap<>();
+        final Map<String, List<AppByteCodeScanner>> dependencies = new HashMap<>();
+        List<String> classList = new ArrayList<>();
         for (String className : classes) {
-            logger.debug("scanning %s ...", className);
-            dependencies.remove(className);
-            byte[] ba = bytecodeProvider.apply(className);
-            if (null == ba) {
-                logger.warn("Cannot find any bytecode for class: %s. You might have an empty Java source file for that.", className);
-                continue;
+            classList.add(className);
+        }
+        ForkJoinPool parser = classList.size() < PARALLEL_SCAN_THRESHOLD ? null : new ForkJoinPool();
+        final ScanIndex index = scanIndex(scannerManager);
+        StartupProfiler.Phase phase = beginPhase(S.concat("scanByteCode[", S.string(classList.size()), "]"));
+        try {
+            scanInBatches(classList, bytecodeProvider, parser, index, new $.Visitor<ParsedClass>() {
+                @Override
+                public void visit(ParsedClass parsedClass) throws $.Break {
+                    scanClass(parsedClass, scannerManager, dependencies, index);
+                }
+            });
+            // loop through dependencies wave by wave until it's all processed
+            Map<String, List<AppByteCodeScanner>> wave = new TreeMap<>(dependencies);
+            while (!wave.isEmpty()) {
+                StartupProfiler.Phase wavePhase = beginPhase(S.concat("scanDependencies[", S.string(wave.size()), "]"));
+                final Map<String, List<AppByteCodeScanner>> current = wave;
+                final Map<String, List<AppByteCodeScanner>> next = new TreeMap<>();
+                scanInBatches(new ArrayList<>(current.keySet()), bytecodeProvider, parser, null, new $.Visitor<ParsedClass>() {
+                    @Override
+                    public void visit(ParsedClass parsedClass) throws $.Break {
+                        scanDependency(parsedClass, current.remove(parsedClass.className), scannerManager, current, next);
+                    }
+                });
+                wave = next;
+                endPhase(wavePhase);
+            }
+            if (null != index) {
+                index.save();
+            }
+        } finally {
+            endPhase(phase);
+            if (null != parser) {
+                parser.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Start a sub phase of the app start up.
+     *
+     * @param name the phase name
+     * @return the phase or `null` if the start up is not being profiled
+     * @see StartupProfiler
+     */
+    protected final StartupProfiler.Phase beginPhase(String name) {
+        StartupProfiler profiler = app().startupProfiler();
+        return null == profiler ? null : profiler.begin(name);
+    }
+
+    protected final void endPhase(StartupProfiler.Phase phase) {
+        if (null != phase) {
+            app().startupProfiler().end(phase);
+        }
+    }
+
+    private ScanIndex scanIndex(AppCodeScannerManager scannerManager) {
+        if (!app().config().scanIndexEnabled()) {
+            return null;
+        }
+        if (null == scanIndex) {
+            // scanners from plugins might change the scan result of a plain class
+            List<String> scanners = new ArrayList<>();
+            for (AppByteCodeScanner scanner : scannerManager.byteCodeScanners()) {
+                scanners.add(scanner.getClass().getName());
+            }
+            Collections.sort(scanners);
+            long fingerprint = S.concat(Act.VERSION.getVersion(), scanners.toString()).hashCode();
+            scanIndex = new ScanIndex(new File(".act.scan-index"), fingerprint);
+            scanIndex.load();
+        }
+        return scanIndex;
+    }
+
+    /*
+     * Fetch bytecode of classes batch by batch in the current thread, and let the
+     * parser decode a batch while the previous batch is being visited
+     */
+    private void scanInBatches(List<String> classes, $.Function<String, byte[]> bytecodeProvider, ForkJoinPool parser, ScanIndex index, $.Visitor<ParsedClass> visitor) {
+        List<ParsedClass> pending = Collections.emptyList();
+        for (int i = 0, n = classes.size(); i < n; i += SCAN_BATCH_SIZE) {
+            List<String> batch = classes.subList(i, Math.min(n, i + SCAN_BATCH_SIZE));
+            List<ParsedClass> parsed = new ArrayList<>(batch.size());
+            for (String className : batch) {
+                byte[] ba = bytecodeProvider.apply(className);
+                // no need to put back bytecode read from the index
+                if (null != ba && bytecodeProvider != bytecodeLookup) {
+                    libClsCache.put(className, ba);
+                }
+                parsed.add(new ParsedClass(className, ba, index, parser));
             }
-            libClsCache.put(className, ba);
-            act.metric.Timer timer = metric.startTimer("act:classload:scan:bytecode:" + className);
+            for (ParsedClass parsedClass : pending) {
+                visitor.visit(parsedClass);
+            }
+            pending = parsed;
+        }
+        for (ParsedClass parsedClass : pending) {
+            visitor.visit(parsedClass);
+        }
+    }
+
+    private void scanClass(ParsedClass parsedClass, AppCodeScannerManager scannerManager, Map<String, List<AppByteCodeScanner>> dependencies, ScanIndex index) {
+        String className = parsedClass.className;
+        logger.debug("scanning %s ...", className);
+        dependencies.remove(className);
+        if (null == parsedClass.bytecode) {
+            logger.warn("Cannot find any bytecode for class: %s. You might have an empty Java source file for that.", className);
+            return;
+        }
+        act.metric.Timer timer = metric.startTimer("act:classload:scan:bytecode:" + className);
+        try {
             List<ByteCodeVisitor> visitors = new ArrayList<>();
             List<AppByteCodeScanner> scanners = new ArrayList<>();
             for (AppByteCodeScanner scanner : scannerManager.byteCodeScanners()) {
@@ -274,20 +401,27 @@ public class AppClassLoader
                 }
             }
             if (visitors.isEmpty()) {
-                continue;
+                return;
+            }
+            if (parsedClass.plainAccess >= 0 && restorePlainClass(className, parsedClass.plainAccess, scanners)) {
+                return;
             }
             ByteCodeVisitor theVisitor = ByteCodeVisitor.chain(visitors);
+            PlainClassDetector detector = new PlainClassDetector();
+            detector.setDownstream(theVisitor);
             EnvMatcher matcher = new EnvMatcher();
-            matcher.setDownstream(theVisitor);
-            ClassReader cr = new ClassReader(ba);
+            matcher.setDownstream(detector);
             try {
-                cr.accept(matcher, 0);
+                parsedClass.accept(matcher);
+                if (null != index && detector.isPlain()) {
+                    index.plainClass(className, parsedClass.checksum, detector.access());
+                }
             } catch (EnvNotMatchException e) {
-                continue;
+                return;
             } catch (AsmException e) {
                 Throwable t = e.getCause();
                 if (t instanceof ClassNotFoundException) {
-                    continue;
+                    return;
                 } else {
                     logger.error(e, "Error scanning bytecode at %s", e.context());
                     ActErrorResult error = ActErrorResult.scanningError(e);
@@ -298,68 +432,77 @@ public class AppClassLoader
                     }
                 }
             }
-            for (AppByteCodeScanner scanner : scanners) {
-                scanner.scanFinished(className);
-                Map<Class<? extends AppByteCodeScanner>, Set<String>> ss = scanner.dependencyClasses();
-                if (ss.isEmpty()) {
-                    //LOGGER.trace("no dependencies found for %s by scanner %s", className, scanner);
-                    continue;
-                }
-                for (Class<? extends AppByteCodeScanner> scannerClass : ss.keySet()) {
-                    AppByteCodeScanner scannerA = scannerManager.byteCodeScannerByClass(scannerClass);
-                    for (String dependencyClass : ss.get(scannerClass)) {
-                        logger.trace("dependencies[%s] found for %s by scanner %s", dependencyClass, className, scannerA);
-                        List<AppByteCodeScanner> l = dependencies.get(dependencyClass);
-                        if (null == l) {
-                            l = new ArrayList<>();
-                            dependencies.put(dependencyClass, l);
-                        }
-                        if (!l.contains(scanner)) l.add(scannerA);
-                    }
-                }
-            }
+            collectDependencies(className, scanners, scannerManager, dependencies, null);
+        } finally {
             timer.stop();
         }
-        // loop through dependencies until it's all processed
-        while (!dependencies.isEmpty()) {
-            String className = dependencies.keySet().iterator().next();
-            act.metric.Timer timer = metric.startTimer("act:classload:scan:bytecode:" + className);
-            List<AppByteCodeScanner> scanners = dependencies.remove(className);
+    }
+
+    private boolean restorePlainClass(String className, int access, List<AppByteCodeScanner> scanners) {
+        for (AppByteCodeScanner scanner : scanners) {
+            if (!(scanner instanceof AppByteCodeScannerBase) || !((AppByteCodeScannerBase) scanner).skipPlainClass(className)) {
+                return false;
+            }
+        }
+        logger.trace("restore plain class %s from scan index", className);
+        for (AppByteCodeScanner scanner : scanners) {
+            ((AppByteCodeScannerBase) scanner).restorePlainClass(className, access);
+        }
+        return true;
+    }
+
+    private void scanDependency(ParsedClass parsedClass, List<AppByteCodeScanner> scanners, AppCodeScannerManager scannerManager,
+                                Map<String, List<AppByteCodeScanner>> current, Map<String, List<AppByteCodeScanner>> next) {
+        String className = parsedClass.className;
+        if (null == parsedClass.bytecode) {
+            logger.warn("Cannot find any bytecode for dependency class: %s", className);
+            return;
+        }
+        act.metric.Timer timer = metric.startTimer("act:classload:scan:bytecode:" + className);
+        try {
             List<ByteCodeVisitor> visitors = new ArrayList<>();
             for (AppByteCodeScanner scanner : scanners) {
                 scanner.start(className);
                 visitors.add(scanner.byteCodeVisitor());
             }
             ByteCodeVisitor theVisitor = ByteCodeVisitor.chain(visitors);
-            byte[] bytes = bytecodeProvider.apply(className);
-            libClsCache.put(className, bytes);
-            ClassReader cr = new ClassReader(bytes);
             try {
-                cr.accept(theVisitor, 0);
+                parsedClass.accept(theVisitor);
             } catch (AsmException e) {
                 throw ActErrorResult.of(e);
             }
-            for (AppByteCodeScanner scanner : scanners) {
-                scanner.scanFinished(className);
-                Map<Class<? extends AppByteCodeScanner>, Set<String>> ss = scanner.dependencyClasses();
-                if (ss.isEmpty()) {
-                    logger.trace("no dependencies found for %s by scanner %s", className, scanner);
-                    continue;
-                }
-                for (Class<? extends AppByteCodeScanner> scannerClass : ss.keySet()) {
-                    AppByteCodeScanner scannerA = scannerManager.byteCodeScannerByClass(scannerClass);
-                    for (String dependencyClass : ss.get(scannerClass)) {
-                        logger.trace("dependencies[%s] found for %s by scanner %s", dependencyClass, className, scannerA);
-                        List<AppByteCodeScanner> l = dependencies.get(dependencyClass);
-                        if (null == l) {
-                            l = new ArrayList<>();
-                            dependencies.put(dependencyClass, l);
-                        }
-                        if (!l.contains(scanner)) l.add(scannerA);
+            collectDependencies(className, scanners, scannerManager, current, next);
+        } finally {
+            timer.stop();
+        }
+    }
+
+    /*
+     * Collect dependencies found by scanners. A dependency class still pending in the
+     * current wave is merged into it, otherwise it goes to the next wave
+     */
+    private void collectDependencies(String className, List<AppByteCodeScanner> scanners, AppCodeScannerManager scannerManager,
+                                     Map<String, List<AppByteCodeScanner>> current, Map<String, List<AppByteCodeScanner>> next) {
+        for (AppByteCodeScanner scanner : scanners) {
+            scanner.scanFinished(className);
+            Map<Class<? extends AppByteCodeScanner>, Set<String>> ss = scanner.dependencyClasses();
+            if (ss.isEmpty()) {
+                //LOGGER.trace("no dependencies found for %s by scanner %s", className, scanner);
+                continue;
+            }
+            for (Class<? extends AppByteCodeScanner> scannerClass : ss.keySet()) {
+                AppByteCodeScanner scannerA = scannerManager.byteCodeScannerByClass(scannerClass);
+                for (String dependencyClass : ss.get(scannerClass)) {
+                    logger.trace("dependencies[%s] found for %s by scanner %s", dependencyClass, className, scannerA);
+                    Map<String, List<AppByteCodeScanner>> target = (null == next || current.containsKey(dependencyClass)) ? current : next;
+                    List<AppByteCodeScanner> l = target.get(dependencyClass);
+                    if (null == l) {
+                        l = new ArrayList<>();
+                        target.put(dependencyClass, l);
                     }
+                    if (!l.contains(scanner)) l.add(scannerA);
                 }
             }
-            timer.stop();
         }
     }
 
@@ -369,22 +512,20 @@ public class AppClassLoader
     }
 
     private void preloadLib() {
-        final Map<String, byte[]> bytecodeIdx = new HashMap<>();
         final Map<String, Properties> jarConf = new HashMap<>();
         final $.Function<String, Boolean> ignoredClassNames = app().config().appClassTester().negate();
-        Jars.F.JarEntryVisitor classNameIndexBuilder = Jars.F.classNameIndexBuilder(bytecodeIdx, ignoredClassNames);
+        Jars.F.JarEntryVisitor classNameIndexBuilder = Jars.F.classNameLocator(libClsCache, ignoredClassNames);
         Jars.F.JarEntryVisitor confIndexBuilder = Jars.F.appConfigFileIndexBuilder(jarConf);
         List<File> jars = FullStackAppBootstrapClassLoader.jars(AppClassLoader.class.getClassLoader());
         for (File jar : jars) {
             Jars.scan(jar, classNameIndexBuilder, confIndexBuilder);
         }
-        libClsCache.putAll(bytecodeIdx);
         AppConfig config = app().config();
         config.loadJarProperties(jarConf);
     }
 
     void loadClasses() {
-        for (String key : libClsCache.keySet()) {
+        for (String key : libClsCache.classNames()) {
             try {
                 Class<?> c = loadClass(key, true);
                 cache(c);
@@ -403,10 +544,7 @@ public class AppClassLoader
     }
 
     protected void preloadClassFile(File base, File file) {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream((int) file.length());
-        IO.copy(IO.is(file), baos);
-        byte[] bytes = baos.toByteArray();
-        libClsCache.put(ClassNames.sourceFileNameToClassName(base, file.getAbsolutePath().replace(".class", ".java")), bytes);
+        libClsCache.add(ClassNames.sourceFileNameToClassName(base, file.getAbsolutePath().replace(".class", ".java")), file);
     }
 
     protected byte[] loadAppClassFromDisk(String name) {
@@ -477,7 +615,121 @@ public class AppClassLoader
     }
 
     protected byte[] enhance(String className, byte[] bytecode) {
-        return asmEnhance(className, bytecode);
+        EnhancedBytecodeCache cache = enhanceEligible(className) ? enhancedBytecodeCache() : null;
+        if (null == cache) {
+            return asmEnhance(className, bytecode);
+        }
+        long checksum = ScanIndex.checksum(bytecode);
+        byte[] enhanced = cache.get(className, checksum);
+        if (null == enhanced) {
+            enhanced = asmEnhance(className, bytecode);
+            cache.put(className, checksum, enhanced);
+        }
+        return enhanced;
+    }
+
+    /**
+     * Returns the enhanced bytecode cache or `null` if it is not enabled
+     *
+     * Sub class shall return `null` if app classes might change after the
+     * cache is created, as the cache fingerprint is calculated only once
+     */
+    EnhancedBytecodeCache enhancedBytecodeCache() {
+        if (!app().config().enhanceCacheEnabled()) {
+            return null;
+        }
+        if (null == enhancedBytecodeCache) {
+            synchronized (this) {
+                if (null == enhancedBytecodeCache) {
+                    File dir = new File(app().config().enhanceCacheDir());
+                    enhancedBytecodeCache = new EnhancedBytecodeCache(dir, enhanceFingerprint());
+                }
+            }
+        }
+        return enhancedBytecodeCache;
+    }
+
+    /**
+     * Enhance all app classes to populate the enhanced bytecode cache
+     *
+     * @return the number of classes enhanced
+     */
+    int warmEnhancedBytecodeCache() {
+        E.illegalStateIf(null == enhancedBytecodeCache(), "enhanced bytecode cache not enabled");
+        AppConfig config = app().config();
+        int n = 0;
+        for (String className : libClsCache.classNames()) {
+            if (!enhanceEligible(className) || !config.needEnhancement(className)) {
+                continue;
+            }
+            byte[] bytecode = libClsCache.get(className);
+            if (null == bytecode) {
+                continue;
+            }
+            try {
+                enhance(className, bytecode);
+                n++;
+            } catch (RuntimeException e) {
+                logger.warn(e, "error enhancing class: %s", className);
+            }
+        }
+        return n;
+    }
+
+    /*
+     * Enhancement depends on meta info collected from other classes, thus a change
+     * to any app class, jar or route file invalidates the whole cache. Classes read
+     * from jars are covered by the jar checksum, only class files are hashed
+     */
+    private long enhanceFingerprint() {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw E.unexpected(e);
+        }
+        update(digest, Act.VERSION.getVersion());
+        for (String enhancer : Act.enhancerManager().appEnhancerNames()) {
+            update(digest, enhancer);
+        }
+        Map<String, Object> conf = new TreeMap<>(app().config().rawConfiguration());
+        for (Map.Entry<String, Object> entry : conf.entrySet()) {
+            Object value = entry.getValue();
+            // other values might not have a stable string representation
+            if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+                update(digest, S.concat(entry.getKey(), "=", value.toString()));
+            }
+        }
+        List<String> classNames = new ArrayList<>(libClsCache.classNames());
+        Collections.sort(classNames);
+        for (String className : classNames) {
+            update(digest, className);
+            if (libClsCache.inJar(className)) {
+                continue;
+            }
+            byte[] bytecode = libClsCache.get(className);
+            if (null != bytecode) {
+                digest.update(bytecode);
+            }
+        }
+        List<File> jars = FullStackAppBootstrapClassLoader.jars(AppClassLoader.class.getClassLoader());
+        update(digest, S.string(FullStackAppBootstrapClassLoader.calculateChecksum(jars)));
+        for (File routes : RuntimeDirs.routes(app)) {
+            if (routes.exists()) {
+                update(digest, S.concat(routes.getPath(), ":", S.string(routes.lastModified())));
+            }
+        }
+        byte[] hash = digest.digest();
+        long fingerprint = 0;
+        for (int i = 0; i < 8; ++i) {
+            fingerprint = (fingerprint << 8) | (hash[i] & 0xFF);
+        }
+        return fingerprint;
+    }
+
+    private static void update(MessageDigest digest, String s) {
+        digest.update(s.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
     }
 
     private byte[] asmEnhance(String className, byte[] bytecode) {
@@ -574,6 +826,72 @@ public class AppClassLoader
         }
     };
 
+    // the minimum number of classes to decode bytecode in parallel
+    private static final int PARALLEL_SCAN_THRESHOLD = 64;
+    // the number of classes decoded ahead of the visiting thread
+    private static final int SCAN_BATCH_SIZE = 256;
+
+    private ScanIndex scanIndex;
+    private volatile EnhancedBytecodeCache enhancedBytecodeCache;
+
+    /*
+     * The bytecode of a class with the ASM tree decoded by the parser if any
+     */
+    private static class ParsedClass {
+        final String className;
+        final byte[] bytecode;
+        final long checksum;
+        // access flags of an unchanged plain class found in scan index, or -1
+        final int plainAccess;
+        private final Future<act.asm.tree.ClassNode> tree;
+
+        ParsedClass(String className, final byte[] bytecode, ScanIndex index, ForkJoinPool parser) {
+            this.className = className;
+            this.bytecode = bytecode;
+            this.checksum = null == index || null == bytecode ? 0 : ScanIndex.checksum(bytecode);
+            this.plainAccess = null == index || null == bytecode ? -1 : index.access(className, checksum);
+            this.tree = null == parser || null == bytecode || plainAccess >= 0 ? null : parser.submit(new Callable<act.asm.tree.ClassNode>() {
+                @Override
+                public act.asm.tree.ClassNode call() throws Exception {
+                    act.asm.tree.ClassNode node = new act.asm.tree.ClassNode();
+                    new ClassReader(bytecode).accept(node, 0);
+                    return node;
+                }
+            });
+        }
+
+        /*
+         * Replay the decoded tree to the visitor. If the class has not been
+         * decoded or failed to decode, read the bytecode directly. Either way
+         * visitor errors are raised as AsmException like ClassReader does
+         */
+        void accept(ClassVisitor visitor) {
+            act.asm.tree.ClassNode node = null;
+            if (null != tree) {
+                try {
+                    node = tree.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    // fall back to class reader
+                }
+            }
+            if (null == node) {
+                new ClassReader(bytecode).accept(visitor, 0);
+                return;
+            }
+            try {
+                node.accept(visitor);
+            } catch (AsmException e) {
+                throw e;
+            } catch (EnvNotMatchException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                throw new AsmException(e);
+            }
+        }
+    }
+
     private static java.security.ProtectionDomain DOMAIN;
 
     static {
@@ -89,6 +89,8 @@ class AppCompiler extends DestroyableBase {
         opt(map, OPTION_TargetPlatform, conf.targetVersion());
         opt(map, OPTION_Compliance, conf.sourceVersion());
         compilerOptions = new CompilerOptions(map);
+        // collect referenced type names to track dependencies between sources
+        compilerOptions.produceReferenceInfo = true;
     }
 
     private void opt(Map map, String key, String val) {
@@ -198,6 +200,12 @@ class AppCompiler extends DestroyableBase {
                 if (Act.isDev()) {
                     source = classLoader.source(type);
                     if (null != source) {
+                        // do not compile again the source restored from compilation cache
+                        bytes = type.contains("$") ? source.bytes(S.afterFirst(type, "$")) : source.bytes();
+                        if (null != bytes) {
+                            ClassFileReader classFileReader = new ClassFileReader(bytes, type.toCharArray(), true);
+                            return new NameEnvironmentAnswer(classFileReader, null);
+                        }
                         return new NameEnvironmentAnswer(source.compilationUnit(), null);
                     }
                 }
@@ -256,6 +264,7 @@ class AppCompiler extends DestroyableBase {
                     }
                 }
             }
+            recordReferences(result);
             // Something has been compiled
             ClassFile[] clazzFiles = result.getClassFiles();
             for (int i = 0; i < clazzFiles.length; i++) {
@@ -286,6 +295,38 @@ class AppCompiler extends DestroyableBase {
                 }
             }
         }
+
+        private void recordReferences(CompilationResult result) {
+            ICompilationUnit unit = result.compilationUnit;
+            if (null == unit) {
+                return;
+            }
+            S.Buffer sb = S.buffer();
+            char[][] packageName = unit.getPackageName();
+            if (null != packageName) {
+                for (char[] ca : packageName) {
+                    sb.append(ca).append(".");
+                }
+            }
+            Source source = classLoader.source(sb.append(unit.getMainTypeName()).toString());
+            if (null == source) {
+                return;
+            }
+            // the source might have been compiled or restored before
+            source.resetCompilation();
+            if (null != result.simpleNameReferences) {
+                for (char[] ca : result.simpleNameReferences) {
+                    source.referenced(new String(ca));
+                }
+            }
+            if (null != result.qualifiedReferences) {
+                for (char[][] caa : result.qualifiedReferences) {
+                    if (caa.length > 0) {
+                        source.referenced(new String(caa[caa.length - 1]));
+                    }
+                }
+            }
+        }
     };
 
 }
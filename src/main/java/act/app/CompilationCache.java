@@ -0,0 +1,194 @@
+package act.app;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.osgl.util.S;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Keeps the compilation result of app sources across class loader refreshes
+ * in dev mode, so that only changed sources and the sources depending on them
+ * are recompiled when app reloads.
+ *
+ * Dependencies are tracked with the simple names of types referenced by each
+ * source as reported by the compiler. This is a super set of the real
+ * dependencies, including constants inlined by the compiler, thus a source
+ * affected by a change is never reused.
+ */
+class CompilationCache {
+
+    private static class Entry {
+        final long checksum;
+        final byte[] bytes;
+        final Map<String, byte[]> innerBytes;
+        final Set<String> references;
+
+        Entry(Source source) {
+            this.checksum = checksum(source);
+            this.bytes = source.bytes();
+            this.innerBytes = new HashMap<>(source.innerBytes());
+            this.references = new HashSet<>(source.references());
+        }
+
+        boolean sameBytecode(Source source) {
+            if (!Arrays.equals(bytes, source.bytes())) {
+                return false;
+            }
+            Map<String, byte[]> newInnerBytes = source.innerBytes();
+            if (!innerBytes.keySet().equals(newInnerBytes.keySet())) {
+                return false;
+            }
+            for (Map.Entry<String, byte[]> entry : innerBytes.entrySet()) {
+                if (!Arrays.equals(entry.getValue(), newInnerBytes.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void restore(Source source) {
+            source.restore(bytes, innerBytes, references);
+        }
+    }
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Restore the compilation result of sources that are neither changed nor
+     * depending on changed sources.
+     *
+     * @param sources all app sources indexed by class name
+     * @return the sources need to be compiled
+     */
+    synchronized Set<Source> restore(Map<String, Source> sources) {
+        Set<Source> stale = new LinkedHashSet<>();
+        Set<String> changedTypes = new HashSet<>();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            String className = entry.getKey();
+            if (!sources.containsKey(className)) {
+                // source deleted
+                declaredTypes(className, entry.getValue().innerBytes.keySet(), changedTypes);
+            }
+        }
+        for (Source source : sources.values()) {
+            Entry entry = entries.get(source.className());
+            if (null == entry || null == entry.bytes || entry.checksum != checksum(source)) {
+                stale.add(source);
+                declaredTypes(source.className(), null == entry ? source.innerBytes().keySet() : entry.innerBytes.keySet(), changedTypes);
+            }
+        }
+        stale.addAll(dependents(changedTypes, sources, stale));
+        for (Source source : sources.values()) {
+            if (!stale.contains(source)) {
+                entries.get(source.className()).restore(source);
+            }
+        }
+        return stale;
+    }
+
+    /**
+     * Find out sources affected by the bytecode change of sources just compiled.
+     *
+     * @param compiled the sources just compiled
+     * @param sources all app sources indexed by class name
+     * @param done the sources that has been compiled since {@link #restore(Map)}
+     * @return the sources need to be compiled
+     */
+    synchronized Set<Source> affected(Collection<Source> compiled, Map<String, Source> sources, Set<Source> done) {
+        Set<String> changedTypes = new HashSet<>();
+        for (Source source : compiled) {
+            Entry entry = entries.get(source.className());
+            if (null == entry || !entry.sameBytecode(source)) {
+                declaredTypes(source.className(), source.innerBytes().keySet(), changedTypes);
+            }
+        }
+        return dependents(changedTypes, sources, done);
+    }
+
+    /**
+     * Record the compilation result. This shall be called only after all sources
+     * are compiled successfully, otherwise sources failed to compile might be
+     * reused later.
+     *
+     * @param compiled the sources compiled since {@link #restore(Map)}
+     * @param sources all app sources indexed by class name
+     */
+    synchronized void update(Collection<Source> compiled, Map<String, Source> sources) {
+        entries.keySet().retainAll(sources.keySet());
+        for (Source source : compiled) {
+            if (null != source.bytes()) {
+                entries.put(source.className(), new Entry(source));
+            } else {
+                entries.remove(source.className());
+            }
+        }
+    }
+
+    private Set<Source> dependents(Set<String> changedTypes, Map<String, Source> sources, Set<Source> exclude) {
+        Set<Source> set = new LinkedHashSet<>();
+        if (changedTypes.isEmpty()) {
+            return set;
+        }
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            Source source = sources.get(entry.getKey());
+            if (null == source || exclude.contains(source)) {
+                continue;
+            }
+            for (String type : entry.getValue().references) {
+                if (changedTypes.contains(type)) {
+                    set.add(source);
+                    break;
+                }
+            }
+        }
+        return set;
+    }
+
+    /*
+     * Collect simple names of the top level class and its inner classes,
+     * e.g. `Foo` and `Bar` out of `com.x.Foo` and `Bar` inner class
+     */
+    private static void declaredTypes(String className, Set<String> innerClassNames, Set<String> types) {
+        types.add(S.afterLast(className, "."));
+        for (String innerClassName : innerClassNames) {
+            String name = innerClassName.contains("$") ? S.afterLast(innerClassName, "$") : innerClassName;
+            if (!name.isEmpty() && !Character.isDigit(name.charAt(0))) {
+                types.add(name);
+            }
+        }
+    }
+
+    private static long checksum(Source source) {
+        return ScanIndex.checksum(source.code().getBytes(StandardCharsets.UTF_8));
+    }
+
+}
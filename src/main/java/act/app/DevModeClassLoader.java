@@ -58,6 +58,7 @@ public class DevModeClassLoader extends AppClassLoader {
 
     @Override
     protected void releaseResources() {
+        stopDetectingChanges();
         sources.clear();
         compiler.destroy();
         super.releaseResources();
@@ -100,8 +101,18 @@ public class DevModeClassLoader extends AppClassLoader {
     @Override
     protected void scan() {
         super.scan();
-        compileSources();
-        scanSources();
+        StartupProfiler.Phase phase = beginPhase("compileSources");
+        try {
+            compileSources();
+        } finally {
+            endPhase(phase);
+        }
+        phase = beginPhase("scanSources");
+        try {
+            scanSources();
+        } finally {
+            endPhase(phase);
+        }
     }
 
     @Override
@@ -112,6 +123,14 @@ public class DevModeClassLoader extends AppClassLoader {
         return bytecodeFromSource(name, true);
     }
 
+    /*
+     * Sources are recompiled on the fly, which the cache fingerprint cannot follow
+     */
+    @Override
+    EnhancedBytecodeCache enhancedBytecodeCache() {
+        return null;
+    }
+
     private void addSourceRoot(List<File> sourceRoots, File base, ProjectLayout layout) {
         if (null != base && base.isDirectory()) {
             sourceRoots.add(layout.source(base));
@@ -168,7 +187,28 @@ public class DevModeClassLoader extends AppClassLoader {
 
     private void compileSources() {
         logger.debug("start to compile sources ...");
-        compiler.compile(sources.values());
+        CompilationCache cache = app().compilationCache();
+        if (null == cache) {
+            compiler.compile(sources.values());
+            return;
+        }
+        // compile changed sources, then the sources depending on those whose bytecode changed
+        Set<Source> stale = cache.restore(sources);
+        logger.debug("compiling %s of %s sources", stale.size(), sources.size());
+        Set<Source> compiled = new HashSet<>();
+        while (!stale.isEmpty()) {
+            compiler.compile(stale);
+            compiled.addAll(stale);
+            stale = cache.affected(stale, sources, compiled);
+        }
+        cache.update(compiled, sources);
+    }
+
+    private void clearCompilationCache() {
+        CompilationCache cache = app().compilationCache();
+        if (null != cache) {
+            cache.clear();
+        }
     }
 
     private void scanSources() {
@@ -276,6 +316,13 @@ public class DevModeClassLoader extends AppClassLoader {
         super.detectChanges();
     }
 
+    @Override
+    public void stopDetectingChanges() {
+        for (FsChangeDetector detector : detectors) {
+            detector.close();
+        }
+    }
+
     private void detectChanges(FsChangeDetector detector) {
         if (null != detector) {
             detector.detectChanges();
@@ -323,6 +370,8 @@ public class DevModeClassLoader extends AppClassLoader {
         public void on(FsEvent... events) {
             int len = events.length;
             if (len < 0) return;
+            // sources shall be compiled against the new libraries
+            clearCompilationCache();
             throw Act.requestRefreshClassLoader();
         }
     };
@@ -331,6 +380,8 @@ public class DevModeClassLoader extends AppClassLoader {
         @Override
         public void on(FsEvent... events) {
             super.on(events);
+            // compiler options might be changed
+            clearCompilationCache();
             throw Act.requestRestart();
         }
     };
@@ -0,0 +1,144 @@
+package act.app;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import act.util.LogSupport;
+import org.osgl.util.IO;
+
+import java.io.*;
+
+/**
+ * Persists enhanced bytecode across app starts.
+ *
+ * Entries are stored in a sub directory named after the fingerprint of everything
+ * that could change the enhancement result other than the input bytecode itself,
+ * i.e. the framework version, the enhancers, the app configuration and the app
+ * classes and jars. Each entry is keyed by class name and carries the checksum of
+ * the input bytecode, thus a changed class is always enhanced again.
+ */
+public class EnhancedBytecodeCache extends LogSupport {
+
+    private static final String GENERATION_PREFIX = "gen-";
+
+    private final File dir;
+    private final String generation;
+
+    EnhancedBytecodeCache(File baseDir, long fingerprint) {
+        this.generation = Long.toHexString(fingerprint);
+        this.dir = new File(baseDir, GENERATION_PREFIX + generation);
+        // drop entries of other generations
+        File[] files = baseDir.listFiles();
+        if (null != files) {
+            for (File file : files) {
+                if (file.isDirectory() && file.getName().startsWith(GENERATION_PREFIX) && !file.equals(dir)) {
+                    delete(file);
+                }
+            }
+        }
+    }
+
+    public String generation() {
+        return generation;
+    }
+
+    public File dir() {
+        return dir;
+    }
+
+    public int size() {
+        String[] names = dir.list();
+        return null == names ? 0 : names.length;
+    }
+
+    /**
+     * Returns the cached enhanced bytecode or `null` if not found or the input bytecode changed
+     */
+    byte[] get(String className, long checksum) {
+        File file = file(className);
+        if (!file.canRead()) {
+            return null;
+        }
+        DataInputStream is = null;
+        try {
+            is = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            if (checksum != is.readLong()) {
+                return null;
+            }
+            byte[] bytecode = new byte[is.readInt()];
+            is.readFully(bytecode);
+            return bytecode;
+        } catch (IOException e) {
+            warn(e, "error reading enhanced bytecode cache: %s", file.getAbsolutePath());
+            return null;
+        } finally {
+            IO.close(is);
+        }
+    }
+
+    void put(String className, long checksum, byte[] bytecode) {
+        if (!dir.exists() && !dir.mkdirs()) {
+            return;
+        }
+        File file = file(className);
+        // write to a temp file first so that a concurrent reader never sees a partial entry
+        File tmp = new File(dir, className + "." + Thread.currentThread().getId() + ".tmp");
+        DataOutputStream os = null;
+        try {
+            os = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+            os.writeLong(checksum);
+            os.writeInt(bytecode.length);
+            os.write(bytecode);
+            os.close();
+            os = null;
+            if (!tmp.renameTo(file)) {
+                file.delete();
+                if (!tmp.renameTo(file)) {
+                    tmp.delete();
+                }
+            }
+        } catch (IOException e) {
+            warn(e, "error writing enhanced bytecode cache: %s", file.getAbsolutePath());
+            tmp.delete();
+        } finally {
+            IO.close(os);
+        }
+    }
+
+    public void clear() {
+        delete(dir);
+    }
+
+    private File file(String className) {
+        return new File(dir, className + ".class");
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (null != files) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+}
@@ -0,0 +1,73 @@
+package act.app;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import act.cli.CliContext;
+import act.cli.Command;
+
+/**
+ * Manage the enhanced bytecode cache
+ *
+ * @see EnhancedBytecodeCache
+ */
+@SuppressWarnings("unused")
+public class EnhancedBytecodeCacheAdmin {
+
+    @Command(name = "act.enhance.cache.warm", help = "Enhance all app classes to populate the enhanced bytecode cache")
+    public void warm(CliContext context) {
+        EnhancedBytecodeCache cache = get(context);
+        if (null == cache) {
+            return;
+        }
+        int n = App.instance().classLoader().warmEnhancedBytecodeCache();
+        context.println("%s classes enhanced into %s", n, cache.dir().getAbsolutePath());
+    }
+
+    @Command(name = "act.enhance.cache.clear", help = "Clear the enhanced bytecode cache")
+    public void clear(CliContext context) {
+        EnhancedBytecodeCache cache = get(context);
+        if (null == cache) {
+            return;
+        }
+        cache.clear();
+        context.println("enhanced bytecode cache cleared");
+    }
+
+    @Command(name = "act.enhance.cache.status", help = "Report the enhanced bytecode cache status")
+    public void status(CliContext context) {
+        EnhancedBytecodeCache cache = get(context);
+        if (null == cache) {
+            return;
+        }
+        context.println("Generation: %s", cache.generation());
+        context.println("Directory: %s", cache.dir().getAbsolutePath());
+        context.println("Entries: %s", cache.size());
+    }
+
+    private static EnhancedBytecodeCache get(CliContext context) {
+        EnhancedBytecodeCache cache = App.instance().classLoader().enhancedBytecodeCache();
+        if (null == cache) {
+            context.println("Enhanced bytecode cache not enabled, see `enhance.cache.enabled`");
+        }
+        return cache;
+    }
+}
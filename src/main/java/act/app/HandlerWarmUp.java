@@ -0,0 +1,111 @@
+package act.app;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import act.app.util.NamedPort;
+import act.handler.RequestHandler;
+import act.handler.builtin.controller.RequestHandlerProxy;
+import act.route.Router;
+import act.util.LogSupport;
+import org.osgl.$;
+import org.osgl.http.H;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prepares the handlers of all routed actions after the app started so that
+ * the first request to an action does not pay for building the handler, the
+ * interceptors, the JSON DTO class and the param loaders.
+ *
+ * Actions are warmed up in parallel with {@link act.job.JobManager#fire(Runnable)}.
+ * The warm up finishes before the network layer starts when the app is started
+ * synchronously. As it runs while the `POST_START` event is being emitted, it
+ * does not wait for more than {@link #TIMEOUT_SECONDS}: a warm up blocked on
+ * the event bus, for example, continues in background.
+ *
+ * @see act.conf.AppConfig#warmUpEnabled()
+ */
+class HandlerWarmUp extends LogSupport implements Runnable {
+
+    static final int TIMEOUT_SECONDS = 30;
+
+    private final App app;
+
+    HandlerWarmUp(App app) {
+        this.app = app;
+    }
+
+    @Override
+    public void run() {
+        long ms = $.ms();
+        List<RequestHandlerProxy> handlers = handlers();
+        final CountDownLatch latch = new CountDownLatch(handlers.size());
+        final AtomicInteger failed = new AtomicInteger();
+        for (final RequestHandlerProxy handler : handlers) {
+            app.jobManager().fire(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        handler.warmUp();
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                        warn(e, "error warming up action handler: %s.%s", handler.controller(), handler.action());
+                    } finally {
+                        latch.countDown();
+                    }
+                }
+            });
+        }
+        try {
+            if (!latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                warn("%s of %s action handlers not warmed up in %ss, continue in background", latch.getCount(), handlers.size(), TIMEOUT_SECONDS);
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        info("%s action handlers warmed up in %sms, %s failed", handlers.size(), $.ms() - ms, failed.get());
+    }
+
+    private List<RequestHandlerProxy> handlers() {
+        // one action handler could be mapped to multiple routes
+        final Set<RequestHandlerProxy> handlers = Collections.newSetFromMap(new IdentityHashMap<RequestHandlerProxy, Boolean>());
+        Router.Visitor visitor = new Router.Visitor() {
+            @Override
+            public void visit(H.Method method, String path, RequestHandler handler) {
+                if (handler instanceof RequestHandlerProxy) {
+                    handlers.add((RequestHandlerProxy) handler);
+                }
+            }
+        };
+        app.router().accept(visitor);
+        for (NamedPort port : app.config().namedPorts()) {
+            app.router(port).accept(visitor);
+        }
+        return new ArrayList<>(handlers);
+    }
+
+}
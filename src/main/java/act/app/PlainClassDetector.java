@@ -0,0 +1,125 @@
+package act.app;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import act.asm.*;
+import act.util.ByteCodeVisitor;
+
+/**
+ * Detect if a class is a plain class.
+ *
+ * @see ScanIndex
+ */
+class PlainClassDetector extends ByteCodeVisitor {
+
+    private boolean plain = true;
+    private int access;
+
+    boolean isPlain() {
+        return plain;
+    }
+
+    int access() {
+        return access;
+    }
+
+    @Override
+    public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+        this.access = access;
+        if (!"java/lang/Object".equals(superName) || (null != interfaces && interfaces.length > 0)) {
+            plain = false;
+        }
+        super.visit(version, access, name, signature, superName, interfaces);
+    }
+
+    @Override
+    public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+        plain = false;
+        return super.visitAnnotation(desc, visible);
+    }
+
+    @Override
+    public AnnotationVisitor visitTypeAnnotation(int typeRef, TypePath typePath, String desc, boolean visible) {
+        plain = false;
+        return super.visitTypeAnnotation(typeRef, typePath, desc, visible);
+    }
+
+    @Override
+    public FieldVisitor visitField(int access, String name, String desc, String signature, Object value) {
+        FieldVisitor fv = super.visitField(access, name, desc, signature, value);
+        return !plain ? fv : new FieldVisitor(ASM5, fv) {
+            @Override
+            public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+                plain = false;
+                return super.visitAnnotation(desc, visible);
+            }
+
+            @Override
+            public AnnotationVisitor visitTypeAnnotation(int typeRef, TypePath typePath, String desc, boolean visible) {
+                plain = false;
+                return super.visitTypeAnnotation(typeRef, typePath, desc, visible);
+            }
+        };
+    }
+
+    @Override
+    public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+        MethodVisitor mv = super.visitMethod(access, name, desc, signature, exceptions);
+        return !plain ? mv : new MethodVisitor(ASM5, mv) {
+            @Override
+            public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+                plain = false;
+                return super.visitAnnotation(desc, visible);
+            }
+
+            @Override
+            public AnnotationVisitor visitTypeAnnotation(int typeRef, TypePath typePath, String desc, boolean visible) {
+                plain = false;
+                return super.visitTypeAnnotation(typeRef, typePath, desc, visible);
+            }
+
+            @Override
+            public AnnotationVisitor visitParameterAnnotation(int parameter, String desc, boolean visible) {
+                plain = false;
+                return super.visitParameterAnnotation(parameter, desc, visible);
+            }
+
+            @Override
+            public AnnotationVisitor visitInsnAnnotation(int typeRef, TypePath typePath, String desc, boolean visible) {
+                plain = false;
+                return super.visitInsnAnnotation(typeRef, typePath, desc, visible);
+            }
+
+            @Override
+            public AnnotationVisitor visitTryCatchAnnotation(int typeRef, TypePath typePath, String desc, boolean visible) {
+                plain = false;
+                return super.visitTryCatchAnnotation(typeRef, typePath, desc, visible);
+            }
+
+            @Override
+            public AnnotationVisitor visitLocalVariableAnnotation(int typeRef, TypePath typePath, Label[] start, Label[] end, int[] index, String desc, boolean visible) {
+                plain = false;
+                return super.visitLocalVariableAnnotation(typeRef, typePath, start, end, index, desc, visible);
+            }
+        };
+    }
+}
@@ -0,0 +1,151 @@
+package act.app;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import act.util.LogSupport;
+import org.osgl.util.IO;
+
+import java.io.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Persists the result of scanning plain classes across app starts.
+ *
+ * A plain class is a class that extends `Object` directly, implements no
+ * interface and carries no annotation on the class, its fields, methods and
+ * parameters. Such a class is of no interest to any built-in bytecode scanner
+ * other than recording it in the class info repository. The index keeps the
+ * bytecode checksum and access flags of plain classes, thus when the bytecode
+ * is unchanged the class can be restored without visiting it.
+ *
+ * The index is invalidated when the framework version or the set of bytecode
+ * scanners changes.
+ */
+class ScanIndex extends LogSupport {
+
+    private static final int MAGIC = 0x41534958;
+    private static final int FORMAT_VERSION = 1;
+
+    private final File file;
+    private final long fingerprint;
+
+    // plain classes found in the last run
+    private Map<String, Entry> restored = new HashMap<>();
+    // plain classes found in this run
+    private Map<String, Entry> current = new HashMap<>();
+    private boolean dirty;
+
+    ScanIndex(File file, long fingerprint) {
+        this.file = file;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Returns the access flags of a plain class if its bytecode is unchanged
+     * since the index was saved, or `-1` otherwise
+     */
+    int access(String className, long checksum) {
+        Entry entry = restored.get(className);
+        if (null == entry || entry.checksum != checksum) {
+            return -1;
+        }
+        if (null == current.put(className, entry)) {
+            dirty = true;
+        }
+        return entry.access;
+    }
+
+    void plainClass(String className, long checksum, int access) {
+        current.put(className, new Entry(checksum, access));
+        dirty = true;
+    }
+
+    void load() {
+        if (!file.canRead()) {
+            return;
+        }
+        DataInputStream is = null;
+        try {
+            is = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            if (MAGIC != is.readInt() || FORMAT_VERSION != is.readInt() || fingerprint != is.readLong()) {
+                return;
+            }
+            int n = is.readInt();
+            Map<String, Entry> map = new HashMap<>(n * 4 / 3 + 1);
+            for (int i = 0; i < n; ++i) {
+                String className = is.readUTF();
+                long checksum = is.readLong();
+                int access = is.readInt();
+                map.put(className, new Entry(checksum, access));
+            }
+            restored = map;
+        } catch (IOException e) {
+            warn(e, "error reading scan index: %s", file.getAbsolutePath());
+        } finally {
+            IO.close(is);
+        }
+    }
+
+    void save() {
+        if (!dirty) {
+            return;
+        }
+        DataOutputStream os = null;
+        try {
+            os = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+            os.writeInt(MAGIC);
+            os.writeInt(FORMAT_VERSION);
+            os.writeLong(fingerprint);
+            os.writeInt(current.size());
+            for (Map.Entry<String, Entry> entry : current.entrySet()) {
+                Entry value = entry.getValue();
+                os.writeUTF(entry.getKey());
+                os.writeLong(value.checksum);
+                os.writeInt(value.access);
+            }
+            dirty = false;
+        } catch (IOException e) {
+            warn(e, "error writing scan index: %s", file.getAbsolutePath());
+        } finally {
+            IO.close(os);
+        }
+    }
+
+    static long checksum(byte[] bytecode) {
+        CRC32 crc = new CRC32();
+        crc.update(bytecode, 0, bytecode.length);
+        return (((long) bytecode.length) << 32) | crc.getValue();
+    }
+
+    private static class Entry {
+        final long checksum;
+        final int access;
+
+        Entry(long checksum, int access) {
+            this.checksum = checksum;
+            this.access = access;
+        }
+    }
+
+}
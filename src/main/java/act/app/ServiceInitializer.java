@@ -0,0 +1,212 @@
+package act.app;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.osgl.util.E;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs app service initializers honoring the dependencies they declare.
+ *
+ * When running in parallel, initializers with all dependencies finished run
+ * concurrently. {@link AppService}s registered by an initializer are not
+ * published until all initializers are finished, at which point they are
+ * registered in the order the initializers were added. Thus the service
+ * registry and the DI binders end up in the same order as sequential init.
+ *
+ * If initializers fail, the failure of the first one added is thrown once
+ * all initializers not depending on a failed one are finished.
+ */
+class ServiceInitializer {
+
+    private static class Registration {
+        final AppService service;
+        final boolean noDiBinder;
+
+        Registration(AppService service, boolean noDiBinder) {
+            this.service = service;
+            this.noDiBinder = noDiBinder;
+        }
+    }
+
+    private class Task implements Runnable {
+        final String name;
+        final Runnable initializer;
+        final List<String> dependencies;
+        final List<Registration> registrations = new ArrayList<>();
+        volatile Throwable failure;
+
+        Task(String name, Runnable initializer, List<String> dependencies) {
+            this.name = name;
+            this.initializer = initializer;
+            this.dependencies = dependencies;
+        }
+
+        boolean ready(Set<String> finished) {
+            return finished.containsAll(dependencies);
+        }
+
+        @Override
+        public void run() {
+            current.set(this);
+            try {
+                runInitializer();
+            } catch (Throwable e) {
+                failure = e;
+            } finally {
+                current.remove();
+            }
+        }
+
+        void runInitializer() {
+            StartupProfiler.Phase phase = null == profiler ? null : profiler.begin(name);
+            try {
+                initializer.run();
+            } finally {
+                if (null != phase) {
+                    profiler.end(phase);
+                }
+            }
+        }
+    }
+
+    private final App app;
+    private final boolean parallel;
+    private final StartupProfiler profiler;
+    private final Map<String, Task> tasks = new LinkedHashMap<>();
+    private final ThreadLocal<Task> current = new ThreadLocal<>();
+
+    ServiceInitializer(App app, boolean parallel) {
+        this.app = app;
+        this.parallel = parallel;
+        this.profiler = app.startupProfiler();
+    }
+
+    /**
+     * Add an initializer.
+     *
+     * @param name the initializer name
+     * @param initializer the initializer
+     * @param dependencies names of initializers that must finish before this one starts,
+     *                     they must have been added already
+     * @return this service initializer
+     */
+    ServiceInitializer add(String name, Runnable initializer, String... dependencies) {
+        E.illegalArgumentIf(tasks.containsKey(name), "Initializer already added: %s", name);
+        for (String dependency : dependencies) {
+            E.illegalArgumentIf(!tasks.containsKey(dependency), "Unknown dependency of initializer %s: %s", name, dependency);
+        }
+        tasks.put(name, new Task(name, initializer, Arrays.asList(dependencies)));
+        return this;
+    }
+
+    /**
+     * Defer the registration of an app service created by an initializer running
+     * in parallel.
+     *
+     * @return `true` if the registration is deferred
+     */
+    boolean defer(AppService service, boolean noDiBinder) {
+        Task task = current.get();
+        if (null == task) {
+            return false;
+        }
+        task.registrations.add(new Registration(service, noDiBinder));
+        return true;
+    }
+
+    void run() {
+        if (!parallel || tasks.size() < 2) {
+            for (Task task : tasks.values()) {
+                task.runInitializer();
+            }
+            return;
+        }
+        List<Task> pending = new ArrayList<>(tasks.values());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(pending.size(), Runtime.getRuntime().availableProcessors()), threadFactory());
+        try {
+            CompletionService<Task> completionService = new ExecutorCompletionService<>(executor);
+            Set<String> finished = new HashSet<>();
+            int running = 0;
+            while (true) {
+                Iterator<Task> itr = pending.iterator();
+                while (itr.hasNext()) {
+                    Task task = itr.next();
+                    if (task.ready(finished)) {
+                        completionService.submit(task, task);
+                        itr.remove();
+                        running++;
+                    }
+                }
+                if (0 == running) {
+                    break;
+                }
+                Task task = completionService.take().get();
+                running--;
+                if (null == task.failure) {
+                    finished.add(task.name);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw E.unexpected(e);
+        } catch (ExecutionException e) {
+            throw E.unexpected(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        Throwable failure = null;
+        for (Task task : tasks.values()) {
+            for (Registration registration : task.registrations) {
+                app.register(registration.service, registration.noDiBinder);
+            }
+            if (null == failure) {
+                failure = task.failure;
+            }
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (null != failure) {
+            throw E.unexpected(failure);
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        final AtomicInteger counter = new AtomicInteger();
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "act-init-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setContextClassLoader(contextClassLoader);
+                return thread;
+            }
+        };
+    }
+
+}
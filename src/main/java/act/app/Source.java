@@ -90,6 +90,9 @@ public class Source {
 
     private boolean isController;
 
+    // simple names of types referenced by the source code, reported by the compiler
+    private Set<String> references = new HashSet<>();
+
     private long ts;
 
     private Source(File file, String className) {
@@ -136,6 +139,27 @@ public class Source {
         return innerBytes.keySet();
     }
 
+    Map<String, byte[]> innerBytes() {
+        return innerBytes;
+    }
+
+    Set<String> references() {
+        return references;
+    }
+
+    void referenced(String simpleName) {
+        references.add(simpleName);
+    }
+
+    /**
+     * Drop the inner class bytecode and references recorded by last compilation
+     * or restored from the compilation cache
+     */
+    void resetCompilation() {
+        innerBytes.clear();
+        references.clear();
+    }
+
     public File file() {
         return file;
     }
@@ -162,6 +186,16 @@ public class Source {
         innerBytes.put(innerClassName, bytecode);
     }
 
+    /**
+     * Restore the compilation result of unchanged source code
+     */
+    void restore(byte[] bytecode, Map<String, byte[]> innerBytecode, Set<String> references) {
+        resetCompilation();
+        this.innerBytes.putAll(innerBytecode);
+        this.references.addAll(references);
+        compiled(bytecode);
+    }
+
     void enhanced(byte[] bytecode) {
         this.bytes = $.notNull(bytecode);
         updateState(State.ENHANCED);
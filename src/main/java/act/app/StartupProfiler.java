@@ -0,0 +1,334 @@
+package act.app;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.alibaba.fastjson.JSON;
+import org.osgl.util.S;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+
+/**
+ * Records the app start up process as a tree of phases.
+ *
+ * For each phase the wall time, the CPU time and the bytes allocated by the
+ * thread running the phase, as well as the number of classes loaded by the JVM
+ * during the phase are recorded.
+ *
+ * Phases are nested per thread: a phase started in a thread becomes a child
+ * of the innermost phase still running in the same thread, or a top level phase
+ * if there is none.
+ */
+public class StartupProfiler {
+
+    /**
+     * A phase of the start up process
+     */
+    public static class Phase {
+        private final String name;
+        private final long threadId;
+        private final String threadName;
+        private final long startNs;
+        private final long startCpu;
+        private final long startAllocated;
+        private final long startClasses;
+        private final List<Phase> children = new ArrayList<>();
+        private Phase parent;
+        private boolean step;
+        private long endNs = -1;
+        private long cpu = -1;
+        private long allocated = -1;
+        private long classes;
+
+        private Phase(String name) {
+            Thread thread = Thread.currentThread();
+            this.name = name;
+            this.threadId = thread.getId();
+            this.threadName = thread.getName();
+            this.startClasses = classesLoaded();
+            this.startCpu = cpuTime(threadId);
+            this.startAllocated = allocatedBytes(threadId);
+            this.startNs = System.nanoTime();
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public boolean finished() {
+            return endNs >= 0;
+        }
+
+        /**
+         * Returns wall time in nanoseconds
+         */
+        public long wallTime() {
+            return (finished() ? endNs : System.nanoTime()) - startNs;
+        }
+
+        /**
+         * Returns CPU time in nanoseconds or `-1` if not available
+         */
+        public long cpuTime() {
+            return cpu;
+        }
+
+        /**
+         * Returns bytes allocated or `-1` if not available
+         */
+        public long allocatedBytes() {
+            return allocated;
+        }
+
+        public long classesLoaded() {
+            return classes;
+        }
+
+        public List<Phase> children() {
+            synchronized (children) {
+                return new ArrayList<>(children);
+            }
+        }
+
+        private void end() {
+            endNs = System.nanoTime();
+            long cpu = cpuTime(threadId);
+            if (cpu >= 0 && startCpu >= 0) {
+                this.cpu = cpu - startCpu;
+            }
+            long allocated = allocatedBytes(threadId);
+            if (allocated >= 0 && startAllocated >= 0) {
+                this.allocated = allocated - startAllocated;
+            }
+            classes = classesLoaded() - startClasses;
+        }
+    }
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final ClassLoadingMXBean CLASS_LOADING_MX_BEAN = ManagementFactory.getClassLoadingMXBean();
+    private static final boolean CPU_TIME_SUPPORTED = cpuTimeSupported();
+    private static final com.sun.management.ThreadMXBean ALLOCATION_MX_BEAN = allocationMXBean();
+
+    private final long originNs = System.nanoTime();
+    private final List<Phase> phases = new ArrayList<>();
+    private final ThreadLocal<Deque<Phase>> running = new ThreadLocal<Deque<Phase>>() {
+        @Override
+        protected Deque<Phase> initialValue() {
+            return new ArrayDeque<>();
+        }
+    };
+    private volatile boolean finished;
+
+    /**
+     * Start a phase nested in the innermost phase running in the current thread.
+     *
+     * @param name the phase name
+     * @return the phase, or `null` if the profiler has finished
+     */
+    public Phase begin(String name) {
+        if (finished) {
+            return null;
+        }
+        Deque<Phase> stack = running.get();
+        Phase phase = new Phase(name);
+        Phase parent = stack.peek();
+        phase.parent = parent;
+        List<Phase> siblings = null == parent ? phases : parent.children;
+        synchronized (siblings) {
+            siblings.add(phase);
+        }
+        stack.push(phase);
+        return phase;
+    }
+
+    /**
+     * End the phase specified along with all phases nested in it that are still running.
+     *
+     * @param phase the phase to be ended, `null` is ignored
+     */
+    public void end(Phase phase) {
+        if (null == phase || phase.finished()) {
+            return;
+        }
+        Deque<Phase> stack = running.get();
+        if (!stack.contains(phase)) {
+            return;
+        }
+        while (true) {
+            Phase top = stack.pop();
+            top.end();
+            if (top == phase) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Start a step phase. A step ends when the next step at the same
+     * level starts, or when its parent phase ends.
+     *
+     * @param name the step name
+     */
+    public void step(String name) {
+        Phase top = running.get().peek();
+        if (null != top && top.step) {
+            end(top);
+        }
+        Phase phase = begin(name);
+        if (null != phase) {
+            phase.step = true;
+        }
+    }
+
+    /**
+     * End all phases running in the current thread.
+     */
+    public void endAll() {
+        Deque<Phase> stack = running.get();
+        while (!stack.isEmpty()) {
+            stack.pop().end();
+        }
+    }
+
+    /**
+     * End all phases running in the current thread and stop recording.
+     * Phases still running in other threads are reported as running.
+     */
+    public void finish() {
+        endAll();
+        finished = true;
+    }
+
+    public boolean finished() {
+        return finished;
+    }
+
+    public List<Phase> phases() {
+        synchronized (phases) {
+            return new ArrayList<>(phases);
+        }
+    }
+
+    /**
+     * Returns a text report of the phase tree
+     */
+    public String report() {
+        S.Buffer buf = S.buffer();
+        buf.append(S.fmt("%-60s %10s %10s %12s %8s\n", "phase", "wall(ms)", "cpu(ms)", "alloc(KB)", "classes"));
+        for (Phase phase : phases()) {
+            report(phase, 0, buf);
+        }
+        return buf.toString();
+    }
+
+    /**
+     * Returns the phase tree in the Chrome trace event format, which can be loaded
+     * into `chrome://tracing` or other compatible trace viewers.
+     */
+    public String toChromeTrace() {
+        List<Map<String, Object>> events = new ArrayList<>();
+        for (Phase phase : phases()) {
+            traceEvents(phase, events);
+        }
+        Map<String, Object> trace = new LinkedHashMap<>();
+        trace.put("traceEvents", events);
+        trace.put("displayTimeUnit", "ms");
+        return JSON.toJSONString(trace);
+    }
+
+    private void report(Phase phase, int depth, S.Buffer buf) {
+        String name = S.concat(S.times("  ", depth), phase.name, phase.finished() ? "" : " (running)");
+        buf.append(S.fmt("%-60s %10s %10s %12s %8s\n",
+                name,
+                phase.wallTime() / 1000000,
+                phase.cpu < 0 ? "-" : String.valueOf(phase.cpu / 1000000),
+                phase.allocated < 0 ? "-" : String.valueOf(phase.allocated / 1024),
+                phase.finished() ? String.valueOf(phase.classes) : "-"));
+        for (Phase child : phase.children()) {
+            report(child, depth + 1, buf);
+        }
+    }
+
+    private void traceEvents(Phase phase, List<Map<String, Object>> events) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("name", phase.name);
+        event.put("cat", "startup");
+        event.put("ph", "X");
+        event.put("ts", (phase.startNs - originNs) / 1000);
+        event.put("dur", phase.wallTime() / 1000);
+        event.put("pid", 1);
+        event.put("tid", phase.threadId);
+        Map<String, Object> args = new LinkedHashMap<>();
+        args.put("thread", phase.threadName);
+        if (phase.cpu >= 0) {
+            args.put("cpuMs", phase.cpu / 1000000);
+        }
+        if (phase.allocated >= 0) {
+            args.put("allocatedBytes", phase.allocated);
+        }
+        if (phase.finished()) {
+            args.put("classesLoaded", phase.classes);
+        }
+        event.put("args", args);
+        events.add(event);
+        for (Phase child : phase.children()) {
+            traceEvents(child, events);
+        }
+    }
+
+    private static long classesLoaded() {
+        return CLASS_LOADING_MX_BEAN.getTotalLoadedClassCount();
+    }
+
+    private static long cpuTime(long threadId) {
+        return CPU_TIME_SUPPORTED ? THREAD_MX_BEAN.getThreadCpuTime(threadId) : -1;
+    }
+
+    private static long allocatedBytes(long threadId) {
+        return null == ALLOCATION_MX_BEAN ? -1 : ALLOCATION_MX_BEAN.getThreadAllocatedBytes(threadId);
+    }
+
+    private static boolean cpuTimeSupported() {
+        try {
+            return THREAD_MX_BEAN.isThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled();
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean allocationMXBean() {
+        try {
+            if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+                if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                    return bean;
+                }
+            }
+        } catch (Throwable e) {
+            // not a HotSpot compatible JVM
+        }
+        return null;
+    }
+
+}
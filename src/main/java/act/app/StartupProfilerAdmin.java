@@ -0,0 +1,75 @@
+package act.app;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import act.cli.CliContext;
+import act.cli.Command;
+import act.cli.Optional;
+import org.osgl.util.IO;
+import org.osgl.util.S;
+
+import java.io.File;
+
+/**
+ * Access the app start up profile
+ *
+ * @see StartupProfiler
+ */
+@SuppressWarnings("unused")
+public class StartupProfilerAdmin {
+
+    @Command(name = "act.startup.profile", help = "Report time spent on each phase of the latest app start up")
+    public void profile(CliContext context) {
+        StartupProfiler profiler = get(context);
+        if (null == profiler) {
+            return;
+        }
+        context.println(profiler.report());
+    }
+
+    @Command(name = "act.startup.trace", help = "Export the latest app start up profile as Chrome trace JSON")
+    public void trace(
+            @Optional(lead = "-o", help = "specify the file to write the trace to") String file,
+            CliContext context
+    ) {
+        StartupProfiler profiler = get(context);
+        if (null == profiler) {
+            return;
+        }
+        String trace = profiler.toChromeTrace();
+        if (S.blank(file)) {
+            context.println(trace);
+        } else {
+            File target = new File(file);
+            IO.writeContent(trace, target);
+            context.println("startup trace written to %s", target.getAbsolutePath());
+        }
+    }
+
+    private static StartupProfiler get(CliContext context) {
+        StartupProfiler profiler = App.instance().startupProfiler();
+        if (null == profiler) {
+            context.println("No startup profile found");
+        }
+        return profiler;
+    }
+}
@@ -0,0 +1,170 @@
+package act.boot.app;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import act.Act;
+import act.app.App;
+import act.app.event.SysEventId;
+import org.osgl.logging.LogManager;
+import org.osgl.logging.Logger;
+import org.osgl.util.IO;
+import org.osgl.util.S;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Run the app as a class data sharing (CDS) training run.
+ *
+ * When system property `act.cds.training` is `true`, the app is shut down right after
+ * it is started, so that the JVM dumps the classes loaded during start up into the
+ * dynamic CDS archive specified by `-XX:ArchiveClassesAtExit` (Java 13+). A launcher
+ * script `start-cds` using the archive is generated next to the archive.
+ *
+ * Note only classes loaded by the JVM built-in class loaders from jar files are
+ * archived. Act and app classes are defined by Act class loaders from bytecode
+ * in memory and are not archived; libraries matched by `act.jar.sys.ignore` and
+ * `act.jar.app.ignore` are loaded by the system class loader and thus archived.
+ */
+public class CdsTraining {
+
+    private static final Logger LOGGER = LogManager.get(CdsTraining.class);
+
+    /**
+     * the {@link System#getProperty(String) system property} key to
+     * turn on the CDS training run
+     */
+    public static final String KEY_TRAINING = "act.cds.training";
+
+    /**
+     * the {@link System#getProperty(String) system property} key to
+     * specify the launcher script file. Default value: `start-cds` in
+     * the archive dir
+     */
+    public static final String KEY_LAUNCHER = "act.cds.launcher";
+
+    static final String ARCHIVE_AT_EXIT = "-XX:ArchiveClassesAtExit=";
+
+    private static final String[] TRAINING_OPTIONS = {
+            ARCHIVE_AT_EXIT, "-XX:SharedArchiveFile=", "-Xshare:", "-XX:DumpLoadedClassList=", "-D" + KEY_TRAINING, "-D" + KEY_LAUNCHER
+    };
+
+    public static boolean enabled() {
+        return Boolean.parseBoolean(System.getProperty(KEY_TRAINING));
+    }
+
+    /**
+     * Schedule to finish the training run once the app is started
+     *
+     * @param app the app
+     */
+    public static void schedule(final App app) {
+        app.jobManager().post(SysEventId.POST_START, "act:cds-training", new Runnable() {
+            @Override
+            public void run() {
+                finish(app);
+            }
+        }, true);
+    }
+
+    private static void finish(App app) {
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        List<String> jvmArgs = runtime.getInputArguments();
+        String archive = archive(jvmArgs);
+        if (null == archive) {
+            LOGGER.warn("CDS archive not specified, please add `%s<file>` to the JVM options of the training run", ARCHIVE_AT_EXIT);
+        } else {
+            File archiveFile = new File(archive).getAbsoluteFile();
+            String launcherPath = System.getProperty(KEY_LAUNCHER);
+            File launcher = S.blank(launcherPath) ? new File(archiveFile.getParentFile(), "start-cds") : new File(launcherPath);
+            String java = S.concat(System.getProperty("java.home"), File.separator, "bin", File.separator, "java");
+            IO.writeContent(launcherScript(java, jvmArgs, runtime.getClassPath(), System.getProperty("sun.java.command"), archiveFile.getPath()), launcher);
+            if (!launcher.setExecutable(true)) {
+                LOGGER.warn("Cannot make CDS launcher executable: %s", launcher.getAbsolutePath());
+            }
+            LOGGER.info("CDS training run finished, archive will be written to %s, launcher: %s", archiveFile.getPath(), launcher.getAbsolutePath());
+        }
+        Act.shutdown(app);
+        // the JVM dumps the CDS archive on exit
+        System.exit(0);
+    }
+
+    static String archive(List<String> jvmArgs) {
+        String archive = null;
+        for (String arg : jvmArgs) {
+            if (arg.startsWith(ARCHIVE_AT_EXIT)) {
+                archive = arg.substring(ARCHIVE_AT_EXIT.length());
+            }
+        }
+        return S.blank(archive) ? null : archive;
+    }
+
+    /**
+     * Returns the launcher script that starts the app the same way the training run
+     * was started except training options and program arguments, and with the CDS
+     * archive specified.
+     */
+    static String launcherScript(String java, List<String> jvmArgs, String classpath, String command, String archive) {
+        List<String> args = new ArrayList<>();
+        args.add(java);
+        for (String arg : jvmArgs) {
+            if (!isTrainingOption(arg)) {
+                args.add(arg);
+            }
+        }
+        args.add("-XX:SharedArchiveFile=" + archive);
+        args.add("-Xshare:auto");
+        String main = S.blank(command) ? "" : command.trim().split("\\s+")[0];
+        if (main.endsWith(".jar")) {
+            args.add("-jar");
+        } else {
+            args.add("-cp");
+            args.add(classpath);
+        }
+        args.add(main);
+        StringBuilder sb = new StringBuilder("#!/bin/sh\n");
+        sb.append("# generated by the ActFramework CDS training run, re-run the training once the app or JVM changes\n");
+        sb.append("exec");
+        for (String arg : args) {
+            sb.append(" ").append(quote(arg));
+        }
+        sb.append(" \"$@\"\n");
+        return sb.toString();
+    }
+
+    private static boolean isTrainingOption(String arg) {
+        for (String option : TRAINING_OPTIONS) {
+            if (arg.startsWith(option)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String quote(String arg) {
+        return S.concat("'", arg.replace("'", "'\"'\"'"), "'");
+    }
+
+}
@@ -23,6 +23,7 @@ package act.boot.app;
 import act.Constants;
 import act.boot.BootstrapClassLoader;
 import act.util.ActClassLoader;
+import act.util.BytecodeIndex;
 import act.util.ClassInfoRepository;
 import act.util.ClassNode;
 import act.util.Jars;
@@ -34,9 +35,7 @@ import java.lang.reflect.Modifier;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import static act.util.ClassInfoRepository.canonicalName;
 
@@ -71,7 +70,7 @@ public class FullStackAppBootstrapClassLoader extends BootstrapClassLoader imple
 
     private List<File> jars;
     private Long jarsChecksum;
-    private Map<String, byte[]> libBC = new HashMap<>();
+    private BytecodeIndex libBC = new BytecodeIndex();
     private List<Class<?>> actClasses = new ArrayList<>();
     private List<Class<?>> pluginClasses = new ArrayList<>();
     private String lineSeparator = OS.get().lineSeparator();
@@ -89,7 +88,7 @@ public class FullStackAppBootstrapClassLoader extends BootstrapClassLoader imple
             restoreClassInfoRegistry();
             restorePluginClasses();
             if (classInfoRepository.isEmpty()) {
-                for (String className : C.list(libBC.keySet())) {
+                for (String className : C.list(libBC.classNames())) {
                     try {
                         Class<?> c = loadClass(className, true);
                         cache(c);
@@ -290,7 +289,10 @@ public class FullStackAppBootstrapClassLoader extends BootstrapClassLoader imple
     }
 
     private void buildIndex() {
-        libBC.putAll(Jars.buildClassNameIndex(jars()));
+        Jars.F.JarEntryVisitor classNameLocator = Jars.F.classNameLocator(libBC, $.F.FALSE);
+        for (File jar : jars()) {
+            Jars.scan(jar, classNameLocator);
+        }
     }
 
     @Override
@@ -0,0 +1,50 @@
+package act.cache;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.app.App;
+import act.cli.Command;
+import act.cli.Optional;
+import org.osgl.cache.CacheService;
+import org.osgl.util.S;
+
+/**
+ * Console app to access cache service statistics
+ */
+@SuppressWarnings("unused")
+public class CacheAdmin {
+
+    @Command(name = "act.cache.stats", help = "show per tier statistics of tiered cache service")
+    public String stats(
+            @Optional("specify cache name") String name,
+            App app
+    ) {
+        if (S.blank(name)) {
+            name = app.config().cacheName();
+        }
+        CacheService cache = app.cache(name);
+        if (cache instanceof TieredCacheService) {
+            return ((TieredCacheService) cache).stats().toJSONString();
+        }
+        return S.fmt("statistics not available for %s", cache.getClass().getName());
+    }
+
+}
@@ -0,0 +1,309 @@
+package act.cache;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.util.LogSupport;
+import act.util.SegmentFiles;
+import org.osgl.util.E;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.Charset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The local disk tier of {@link TieredCacheService}.
+ *
+ * Records are appended to fixed size memory mapped segment files. Once the
+ * active segment is full a new one is created, and when the number of
+ * segments exceeds the configured limit the oldest segment is dropped
+ * together with all entries still pointing to it.
+ *
+ * Record layout:
+ *
+ * ```
+ * [int keyLen][key bytes][long expireAt][int valLen][value bytes]
+ * ```
+ *
+ * `valLen == -1` marks a tombstone. `keyLen` is written last, so a record
+ * torn by a crash reads as the end of the segment.
+ */
+class MappedSegmentStore extends LogSupport {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final int TOMBSTONE = -1;
+
+    static final class Segment {
+        final long id;
+        final File file;
+        final MappedByteBuffer buffer;
+        int writePos;
+
+        Segment(long id, File file, MappedByteBuffer buffer) {
+            this.id = id;
+            this.file = file;
+            this.buffer = buffer;
+        }
+    }
+
+    static final class Location {
+        final Segment segment;
+        final int offset;
+        final int length;
+        final long expireAt;
+
+        Location(Segment segment, int offset, int length, long expireAt) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.expireAt = expireAt;
+        }
+
+        boolean expired(long now) {
+            return now >= expireAt;
+        }
+    }
+
+    private final File dir;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final ConcurrentHashMap<String, Location> index = new ConcurrentHashMap<>();
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private Segment active;
+
+    final AtomicLong hits = new AtomicLong();
+    final AtomicLong misses = new AtomicLong();
+    final AtomicLong writes = new AtomicLong();
+    final AtomicLong evictions = new AtomicLong();
+
+    MappedSegmentStore(File dir, int segmentSize, int maxSegments) {
+        E.illegalArgumentIf(segmentSize < 1024, "segment size too small: %s", segmentSize);
+        E.illegalArgumentIf(maxSegments < 1, "max segments shall be positive number: %s", maxSegments);
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+    }
+
+    /**
+     * Open the store.
+     *
+     * @param recover if `true` then rebuild the index from existing segment files,
+     *                otherwise existing segment files are deleted
+     */
+    synchronized void open(boolean recover) {
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw E.ioException("Cannot create cache dir: " + dir.getAbsolutePath());
+        }
+        File[] files = SegmentFiles.list(dir);
+        if (recover) {
+            long now = System.currentTimeMillis();
+            for (File file : files) {
+                Segment segment = map(SegmentFiles.id(file), file);
+                segments.addLast(segment);
+                replay(segment, now);
+            }
+            active = segments.peekLast();
+            while (segments.size() > maxSegments) {
+                dropOldest();
+            }
+            if (!index.isEmpty()) {
+                info("%s cache entries recovered from %s", index.size(), dir.getAbsolutePath());
+            }
+        } else {
+            for (File file : files) {
+                if (!file.delete()) {
+                    warn("Cannot delete cache segment file: %s", file.getAbsolutePath());
+                }
+            }
+        }
+        if (null == active) {
+            roll();
+        }
+    }
+
+    synchronized void close() {
+        for (Segment segment : segments) {
+            segment.buffer.force();
+        }
+        segments.clear();
+        index.clear();
+        active = null;
+    }
+
+    Location locate(String key, long now) {
+        Location location = index.get(key);
+        if (null == location) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (location.expired(now)) {
+            index.remove(key, location);
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return location;
+    }
+
+    byte[] read(Location location) {
+        ByteBuffer buffer = location.segment.buffer.duplicate();
+        buffer.position(location.offset);
+        byte[] bytes = new byte[location.length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    synchronized boolean write(String key, byte[] value, long expireAt) {
+        byte[] keyBytes = key.getBytes(UTF8);
+        int valLen = null == value ? TOMBSTONE : value.length;
+        int recordLen = 4 + keyBytes.length + 8 + 4 + Math.max(0, valLen);
+        if (recordLen + 4 > segmentSize) {
+            // too large to fit into a segment
+            index.remove(key);
+            return false;
+        }
+        if (null == active) {
+            // store closed
+            return false;
+        }
+        if (active.writePos + recordLen + 4 > segmentSize) {
+            roll();
+        }
+        Segment segment = active;
+        int pos = segment.writePos;
+        ByteBuffer buffer = segment.buffer.duplicate();
+        buffer.position(pos + 4);
+        buffer.put(keyBytes);
+        buffer.putLong(expireAt);
+        buffer.putInt(valLen);
+        int valueOffset = buffer.position();
+        if (valLen > 0) {
+            buffer.put(value);
+        }
+        buffer.putInt(pos, keyBytes.length);
+        segment.writePos = pos + recordLen;
+        writes.incrementAndGet();
+        if (TOMBSTONE == valLen) {
+            index.remove(key);
+        } else {
+            index.put(key, new Location(segment, valueOffset, valLen, expireAt));
+        }
+        return true;
+    }
+
+    void remove(String key) {
+        if (index.containsKey(key)) {
+            write(key, null, 0L);
+        }
+    }
+
+    synchronized void clear() {
+        while (!segments.isEmpty()) {
+            dropOldest();
+        }
+        index.clear();
+        active = null;
+        roll();
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    synchronized long bytesUsed() {
+        long used = 0L;
+        for (Segment segment : segments) {
+            used += segment.writePos;
+        }
+        return used;
+    }
+
+    // must be called with lock held
+    private void roll() {
+        long id = null == active ? 0L : active.id + 1;
+        Segment segment = map(id, SegmentFiles.file(dir, id));
+        segments.addLast(segment);
+        active = segment;
+        while (segments.size() > maxSegments) {
+            dropOldest();
+        }
+    }
+
+    // must be called with lock held
+    private void dropOldest() {
+        Segment oldest = segments.pollFirst();
+        if (null == oldest) {
+            return;
+        }
+        Iterator<Map.Entry<String, Location>> itr = index.entrySet().iterator();
+        while (itr.hasNext()) {
+            if (itr.next().getValue().segment == oldest) {
+                itr.remove();
+                evictions.incrementAndGet();
+            }
+        }
+        if (!oldest.file.delete()) {
+            oldest.file.deleteOnExit();
+        }
+    }
+
+    private void replay(Segment segment, long now) {
+        ByteBuffer buffer = segment.buffer.duplicate();
+        int pos = 0;
+        while (pos + 4 <= segmentSize) {
+            int keyLen = buffer.getInt(pos);
+            if (keyLen <= 0 || pos + 4 + keyLen + 12 > segmentSize) {
+                break;
+            }
+            byte[] keyBytes = new byte[keyLen];
+            buffer.position(pos + 4);
+            buffer.get(keyBytes);
+            long expireAt = buffer.getLong();
+            int valLen = buffer.getInt();
+            int valueOffset = buffer.position();
+            String key = new String(keyBytes, UTF8);
+            if (TOMBSTONE == valLen) {
+                index.remove(key);
+                valLen = 0;
+            } else if (valLen < 0 || valueOffset + valLen > segmentSize) {
+                break;
+            } else if (expireAt > now) {
+                index.put(key, new Location(segment, valueOffset, valLen, expireAt));
+            } else {
+                index.remove(key);
+            }
+            pos = valueOffset + valLen;
+        }
+        segment.writePos = pos;
+    }
+
+    private Segment map(long id, File file) {
+        return new Segment(id, file, SegmentFiles.map(file, segmentSize));
+    }
+
+}
@@ -0,0 +1,235 @@
+package act.cache;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.Act;
+import act.app.App;
+import act.util.ClassLoaderAwareObjectInputStream;
+import com.alibaba.fastjson.JSONObject;
+import org.osgl.cache.CacheServiceBase;
+import org.osgl.logging.LogManager;
+import org.osgl.logging.Logger;
+
+import java.io.*;
+
+/**
+ * A two tier {@link org.osgl.cache.CacheService} implementation:
+ *
+ * * L1 - a small on heap cache governed by W-TinyLFU admission policy
+ * * L2 - a memory mapped, segment based store on local disk
+ *
+ * Writes go to both tiers (values that are not {@link Serializable} stay
+ * in L1 only). A read that misses L1 but hits L2 promotes the entry back
+ * to L1.
+ *
+ * Use `act.cache.impl=tiered` to enable this cache service.
+ *
+ * @see TieredCacheServiceProvider
+ */
+public class TieredCacheService extends CacheServiceBase {
+
+    private static final Logger LOGGER = LogManager.get(TieredCacheService.class);
+
+    private final String name;
+    private final TinyLfuStore l1;
+    private final MappedSegmentStore l2;
+    private final boolean warmRestart;
+    private boolean l2Opened;
+
+    public TieredCacheService(String name, int l1Size, File l2Dir, int l2SegmentSize, int l2SegmentCount, boolean warmRestart) {
+        this.name = name;
+        this.l1 = new TinyLfuStore(l1Size);
+        this.l2 = null == l2Dir ? null : new MappedSegmentStore(l2Dir, l2SegmentSize, l2SegmentCount);
+        this.warmRestart = warmRestart;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void put(String key, Object value, int ttl) {
+        if (null == value) {
+            evict(key);
+            return;
+        }
+        long expireAt = expireAt(ttl);
+        l1.put(key, value, expireAt);
+        if (null != l2) {
+            byte[] bytes = serialize(value);
+            if (null != bytes) {
+                l2.write(key, bytes, expireAt);
+            } else {
+                // make sure stale copy will not be promoted back
+                l2.remove(key);
+            }
+        }
+    }
+
+    @Override
+    public void evict(String key) {
+        l1.remove(key);
+        if (null != l2) {
+            l2.remove(key);
+        }
+    }
+
+    @Override
+    public <T> T get(String key) {
+        long now = System.currentTimeMillis();
+        TinyLfuStore.Entry entry = l1.get(key, now);
+        if (null != entry) {
+            return (T) entry.value;
+        }
+        if (null == l2) {
+            return null;
+        }
+        MappedSegmentStore.Location location = l2.locate(key, now);
+        if (null == location) {
+            return null;
+        }
+        Object value = deserialize(l2.read(location));
+        if (null == value) {
+            l2.remove(key);
+            return null;
+        }
+        l1.put(key, value, location.expireAt);
+        return (T) value;
+    }
+
+    @Override
+    public int incr(String key) {
+        return incr(key, 0);
+    }
+
+    @Override
+    public synchronized int incr(String key, int ttl) {
+        return add(key, 1, ttl);
+    }
+
+    @Override
+    public int decr(String key) {
+        return decr(key, 0);
+    }
+
+    @Override
+    public synchronized int decr(String key, int ttl) {
+        return add(key, -1, ttl);
+    }
+
+    @Override
+    public void clear() {
+        l1.clear();
+        if (null != l2) {
+            l2.clear();
+        }
+    }
+
+    @Override
+    protected synchronized void internalStartup() {
+        // the provider starts the service on creation, app might start it again
+        if (null != l2 && !l2Opened) {
+            l2.open(warmRestart);
+            l2Opened = true;
+        }
+    }
+
+    @Override
+    protected synchronized void internalShutdown() {
+        l1.clear();
+        if (null != l2 && l2Opened) {
+            l2.close();
+            l2Opened = false;
+        }
+    }
+
+    /**
+     * Returns per tier statistics of this cache service
+     * @return the cache statistics
+     */
+    public JSONObject stats() {
+        JSONObject json = new JSONObject();
+        json.put("name", name);
+        JSONObject l1Stats = new JSONObject();
+        l1Stats.put("size", l1.size());
+        l1Stats.put("capacity", l1.capacity());
+        l1Stats.put("hits", l1.hits.get());
+        l1Stats.put("misses", l1.misses.get());
+        l1Stats.put("evictions", l1.evictions.get());
+        json.put("l1", l1Stats);
+        if (null != l2) {
+            JSONObject l2Stats = new JSONObject();
+            l2Stats.put("size", l2.size());
+            l2Stats.put("segments", l2.segmentCount());
+            l2Stats.put("bytes used", l2.bytesUsed());
+            l2Stats.put("hits", l2.hits.get());
+            l2Stats.put("misses", l2.misses.get());
+            l2Stats.put("writes", l2.writes.get());
+            l2Stats.put("evictions", l2.evictions.get());
+            json.put("l2", l2Stats);
+        }
+        return json;
+    }
+
+    private int add(String key, int delta, int ttl) {
+        Object o = get(key);
+        int n = (o instanceof Number ? ((Number) o).intValue() : 0) + delta;
+        put(key, n, ttl);
+        return n;
+    }
+
+    private static long expireAt(int ttl) {
+        return ttl > 0 ? System.currentTimeMillis() + ttl * 1000L : Long.MAX_VALUE;
+    }
+
+    private static byte[] serialize(Object value) {
+        if (!(value instanceof Serializable)) {
+            return null;
+        }
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            ObjectOutputStream oos = new ObjectOutputStream(baos);
+            oos.writeObject(value);
+            oos.close();
+            return baos.toByteArray();
+        } catch (IOException e) {
+            LOGGER.debug(e, "value cannot be serialized into L2 cache: %s", value.getClass());
+            return null;
+        }
+    }
+
+    private static Object deserialize(byte[] bytes) {
+        try {
+            ObjectInputStream ois = new ClassLoaderAwareObjectInputStream(new ByteArrayInputStream(bytes), classLoader());
+            return ois.readObject();
+        } catch (Exception e) {
+            // class changed or removed after restart
+            LOGGER.debug(e, "error deserializing L2 cache value");
+            return null;
+        }
+    }
+
+    private static ClassLoader classLoader() {
+        App app = Act.app();
+        ClassLoader cl = null == app ? null : app.classLoader();
+        return null == cl ? Thread.currentThread().getContextClassLoader() : cl;
+    }
+}
@@ -0,0 +1,107 @@
+package act.cache;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.Act;
+import act.app.App;
+import act.conf.AppConfig;
+import org.osgl.cache.CacheService;
+import org.osgl.cache.CacheServiceProvider;
+import org.osgl.util.S;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Provides {@link TieredCacheService} instances.
+ *
+ * Configure `act.cache.impl=tiered` to select this provider. Each named cache
+ * gets its own L2 directory under {@link AppConfig#cacheTieredL2Location()}.
+ *
+ * A cache service is started when it is first requested, thus the L2 tier of
+ * named caches other than the default and session caches is available as well.
+ */
+public class TieredCacheServiceProvider implements CacheServiceProvider {
+
+    /**
+     * The short name that can be used in `act.cache.impl` to select this provider
+     */
+    public static final String NAME = "tiered";
+
+    private final ConcurrentMap<String, TieredCacheService> services = new ConcurrentHashMap<>();
+
+    private volatile App app;
+
+    public TieredCacheServiceProvider() {
+    }
+
+    public TieredCacheServiceProvider(App app) {
+        this.app = app;
+    }
+
+    @Override
+    public CacheService get() {
+        return get(app().config().cacheName());
+    }
+
+    @Override
+    public CacheService get(String name) {
+        TieredCacheService service = services.get(name);
+        if (null == service) {
+            synchronized (this) {
+                service = services.get(name);
+                if (null == service) {
+                    // two services must not open the same L2 directory
+                    service = create(name);
+                    service.startup();
+                    services.put(name, service);
+                }
+            }
+        }
+        return service;
+    }
+
+    private TieredCacheService create(String name) {
+        App app = app();
+        AppConfig config = app.config();
+        File l2Dir = null;
+        if (config.cacheTieredL2Enabled()) {
+            String location = config.cacheTieredL2Location();
+            File base = S.blank(location) ? new File(app.tmpDir(), "cache") : new File(location);
+            l2Dir = new File(base, name);
+        }
+        return new TieredCacheService(name,
+                config.cacheTieredL1Size(),
+                l2Dir,
+                config.cacheTieredL2SegmentSize(),
+                config.cacheTieredL2SegmentCount(),
+                config.cacheTieredWarmRestart());
+    }
+
+    private App app() {
+        if (null == app) {
+            app = Act.app();
+        }
+        return app;
+    }
+
+}
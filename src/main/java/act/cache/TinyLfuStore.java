@@ -0,0 +1,200 @@
+package act.cache;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The on heap tier of {@link TieredCacheService}.
+ *
+ * Implements the W-TinyLFU policy: new entries are admitted into a small
+ * LRU window (1% of the capacity). Entries evicted from the window compete
+ * with the LRU victim of the main region and the one with higher estimated
+ * frequency survives.
+ *
+ * Reads go through a {@link ConcurrentHashMap} and only *try* to acquire the
+ * policy lock to record the access, thus a busy lock never blocks a read.
+ */
+class TinyLfuStore {
+
+    static final class Entry {
+        final String key;
+        final Object value;
+        final long expireAt;
+
+        Entry(String key, Object value, long expireAt) {
+            this.key = key;
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        boolean expired(long now) {
+            return now >= expireAt;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Entry> data;
+    private final LinkedHashMap<String, Entry> window;
+    private final LinkedHashMap<String, Entry> main;
+    private final FrequencySketch sketch;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int windowMax;
+    private final int mainMax;
+
+    final AtomicLong hits = new AtomicLong();
+    final AtomicLong misses = new AtomicLong();
+    final AtomicLong evictions = new AtomicLong();
+
+    TinyLfuStore(int maximumSize) {
+        int max = Math.max(maximumSize, 2);
+        windowMax = Math.max(1, max / 100);
+        mainMax = max - windowMax;
+        data = new ConcurrentHashMap<>(max);
+        window = new LinkedHashMap<>(16, 0.75f, true);
+        main = new LinkedHashMap<>(16, 0.75f, true);
+        sketch = new FrequencySketch(max);
+    }
+
+    Entry get(String key, long now) {
+        Entry entry = data.get(key);
+        if (null == entry) {
+            misses.incrementAndGet();
+            if (lock.tryLock()) {
+                try {
+                    sketch.increment(key);
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return null;
+        }
+        if (entry.expired(now)) {
+            misses.incrementAndGet();
+            remove(key, entry);
+            return null;
+        }
+        hits.incrementAndGet();
+        if (lock.tryLock()) {
+            try {
+                sketch.increment(key);
+                if (null == window.get(key)) {
+                    main.get(key);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return entry;
+    }
+
+    void put(String key, Object value, long expireAt) {
+        Entry entry = new Entry(key, value, expireAt);
+        lock.lock();
+        try {
+            sketch.increment(key);
+            Entry existing = data.put(key, entry);
+            if (null != existing) {
+                if (window.containsKey(key)) {
+                    window.put(key, entry);
+                } else {
+                    main.put(key, entry);
+                }
+                return;
+            }
+            window.put(key, entry);
+            if (window.size() > windowMax) {
+                evictFromWindow();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void remove(String key) {
+        lock.lock();
+        try {
+            data.remove(key);
+            window.remove(key);
+            main.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void clear() {
+        lock.lock();
+        try {
+            data.clear();
+            window.clear();
+            main.clear();
+            sketch.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        return data.size();
+    }
+
+    int capacity() {
+        return windowMax + mainMax;
+    }
+
+    private void remove(String key, Entry entry) {
+        lock.lock();
+        try {
+            if (data.remove(key, entry)) {
+                window.remove(key);
+                main.remove(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // must be called with lock held
+    private void evictFromWindow() {
+        Iterator<Map.Entry<String, Entry>> itr = window.entrySet().iterator();
+        Entry candidate = itr.next().getValue();
+        itr.remove();
+        if (main.size() < mainMax) {
+            main.put(candidate.key, candidate);
+            return;
+        }
+        Iterator<Map.Entry<String, Entry>> mainItr = main.entrySet().iterator();
+        Entry victim = mainItr.next().getValue();
+        if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+            mainItr.remove();
+            data.remove(victim.key, victim);
+            main.put(candidate.key, candidate);
+        } else {
+            data.remove(candidate.key, candidate);
+        }
+        evictions.incrementAndGet();
+    }
+
+}
@@ -62,6 +62,11 @@ public class CommanderByteCodeScanner extends AppByteCodeScannerBase {
         return null != dispatcher;
     }
 
+    @Override
+    protected boolean skipPlainClass(String className) {
+        return true;
+    }
+
     @Override
     protected void onAppSet() {
         dispatcher = app().cliDispatcher();
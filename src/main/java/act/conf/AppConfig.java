@@ -26,6 +26,7 @@ import act.app.*;
 import act.app.conf.AppConfigurator;
 import act.app.event.SysEventId;
 import act.app.util.NamedPort;
+import act.cache.TieredCacheServiceProvider;
 import act.cli.CliOverHttpAuthority;
 import act.crypto.HMAC;
 import act.db.util.SequenceNumberGenerator;
@@ -33,6 +34,13 @@ import act.db.util._SequenceNumberGenerator;
 import act.handler.UnknownHttpMethodProcessor;
 import act.handler.event.ResultEvent;
 import act.i18n.I18n;
+import act.job.FileJobStore;
+import act.job.FileLeaseCoordinator;
+import act.job.JdbcJobStore;
+import act.job.JdbcLeaseCoordinator;
+import act.job.JobStore;
+import act.job.LeaseCoordinator;
+import act.job.LocalLeaseCoordinator;
 import act.security.CSRFProtector;
 import act.session.*;
 import act.util.*;
@@ -900,6 +908,26 @@ public class AppConfig<T extends AppConfigurator> extends Config<AppConfigKey> i
         }
     }
 
+    private Boolean compileIncremental;
+
+    protected T compileIncremental(boolean enabled) {
+        compileIncremental = enabled;
+        return me();
+    }
+
+    public boolean compileIncremental() {
+        if (null == compileIncremental) {
+            compileIncremental = get(COMPILE_INCREMENTAL, true);
+        }
+        return compileIncremental;
+    }
+
+    private void _mergeCompileIncremental(AppConfig conf) {
+        if (!hasConfiguration(COMPILE_INCREMENTAL)) {
+            compileIncremental = conf.compileIncremental;
+        }
+    }
+
     private _SequenceNumberGenerator seqGen = null;
 
     protected T sequenceNumberGenerator(_SequenceNumberGenerator seqGen) {
@@ -980,6 +1008,23 @@ public class AppConfig<T extends AppConfigurator> extends Config<AppConfigKey> i
         }
     }
 
+    private Boolean initParallelEnabled;
+    protected T initParallelEnabled(boolean enabled) {
+        initParallelEnabled = enabled;
+        return me();
+    }
+    public boolean initParallelEnabled() {
+        if (null == initParallelEnabled) {
+            initParallelEnabled = get(INIT_PARALLEL_ENABLED, true);
+        }
+        return initParallelEnabled;
+    }
+    private void _mergeInitParallelEnabled(AppConfig conf) {
+        if (!hasConfiguration(INIT_PARALLEL_ENABLED)) {
+            initParallelEnabled = conf.initParallelEnabled;
+        }
+    }
+
     private Boolean jwtEnabled;
     protected T jwtEnabled(boolean enabled) {
         jwtEnabled = enabled;
@@ -1047,6 +1092,48 @@ public class AppConfig<T extends AppConfigurator> extends Config<AppConfigKey> i
         }
     }
 
+    private int jwtCacheSize = -1;
+
+    protected T jwtCacheSize(int size) {
+        E.illegalArgumentIf(size < 0, "jwt cache size cannot be negative number: %s", size);
+        this.jwtCacheSize = size;
+        return me();
+    }
+
+    public int jwtCacheSize() {
+        if (-1 == jwtCacheSize) {
+            jwtCacheSize = getInteger(JWT_CACHE_SIZE, 0);
+        }
+        return jwtCacheSize;
+    }
+
+    private void _mergeJwtCacheSize(AppConfig config) {
+        if (!hasConfiguration(JWT_CACHE_SIZE)) {
+            jwtCacheSize = config.jwtCacheSize;
+        }
+    }
+
+    private int jwtCacheTtl = -1;
+
+    protected T jwtCacheTtl(int ttl) {
+        E.illegalArgumentIf(ttl < 0, "jwt cache ttl cannot be negative number: %s", ttl);
+        this.jwtCacheTtl = ttl;
+        return me();
+    }
+
+    public int jwtCacheTtl() {
+        if (-1 == jwtCacheTtl) {
+            jwtCacheTtl = getInteger(JWT_CACHE_TTL, 60);
+        }
+        return jwtCacheTtl;
+    }
+
+    private void _mergeJwtCacheTtl(AppConfig config) {
+        if (!hasConfiguration(JWT_CACHE_TTL)) {
+            jwtCacheTtl = config.jwtCacheTtl;
+        }
+    }
+
     private String localeParamName;
     protected T localeParamName(String name) {
         E.illegalArgumentIf(S.blank(name), "locale param name must not be empty");
@@ -1290,6 +1377,113 @@ public class AppConfig<T extends AppConfigurator> extends Config<AppConfigKey> i
         }
     }
 
+    private int eventAsyncPoolSize = -1;
+
+    protected T eventAsyncPoolSize(int size) {
+        E.illegalArgumentIf(size < 1, "event async pool size cannot be zero or negative number: %s", size);
+        this.eventAsyncPoolSize = size;
+        return me();
+    }
+
+    public int eventAsyncPoolSize() {
+        if (-1 == eventAsyncPoolSize) {
+            eventAsyncPoolSize = getInteger(EVENT_ASYNC_POOL_SIZE, Math.max(2, Runtime.getRuntime().availableProcessors()));
+        }
+        return eventAsyncPoolSize;
+    }
+
+    private void _mergeEventAsyncPoolSize(AppConfig conf) {
+        if (!hasConfiguration(EVENT_ASYNC_POOL_SIZE)) {
+            eventAsyncPoolSize = conf.eventAsyncPoolSize;
+        }
+    }
+
+    private int eventAsyncQueueSize = -1;
+
+    protected T eventAsyncQueueSize(int size) {
+        E.illegalArgumentIf(size < 1, "event async queue size cannot be zero or negative number: %s", size);
+        this.eventAsyncQueueSize = size;
+        return me();
+    }
+
+    public int eventAsyncQueueSize() {
+        if (-1 == eventAsyncQueueSize) {
+            eventAsyncQueueSize = getInteger(EVENT_ASYNC_QUEUE_SIZE, 10000);
+        }
+        return eventAsyncQueueSize;
+    }
+
+    private void _mergeEventAsyncQueueSize(AppConfig conf) {
+        if (!hasConfiguration(EVENT_ASYNC_QUEUE_SIZE)) {
+            eventAsyncQueueSize = conf.eventAsyncQueueSize;
+        }
+    }
+
+    private SaturationPolicy eventAsyncSaturationPolicy;
+
+    protected T eventAsyncSaturationPolicy(SaturationPolicy policy) {
+        this.eventAsyncSaturationPolicy = $.notNull(policy);
+        return me();
+    }
+
+    public SaturationPolicy eventAsyncSaturationPolicy() {
+        if (null == eventAsyncSaturationPolicy) {
+            String s = get(EVENT_ASYNC_SATURATION_POLICY, "caller_runs");
+            SaturationPolicy policy = SaturationPolicy.valueOfIgnoreCase(s);
+            E.invalidConfigurationIf(SaturationPolicy.ABORT == policy, "saturation policy not supported for event delivery: %s", s);
+            eventAsyncSaturationPolicy = policy;
+        }
+        return eventAsyncSaturationPolicy;
+    }
+
+    private void _mergeEventAsyncSaturationPolicy(AppConfig conf) {
+        if (!hasConfiguration(EVENT_ASYNC_SATURATION_POLICY)) {
+            eventAsyncSaturationPolicy = conf.eventAsyncSaturationPolicy;
+        }
+    }
+
+    private int eventAsyncBlockTimeout = -1;
+
+    protected T eventAsyncBlockTimeout(int ms) {
+        E.illegalArgumentIf(ms < 0, "event async block timeout cannot be negative number: %s", ms);
+        this.eventAsyncBlockTimeout = ms;
+        return me();
+    }
+
+    public int eventAsyncBlockTimeout() {
+        if (-1 == eventAsyncBlockTimeout) {
+            eventAsyncBlockTimeout = getInteger(EVENT_ASYNC_BLOCK_TIMEOUT, 1000);
+        }
+        return eventAsyncBlockTimeout;
+    }
+
+    private void _mergeEventAsyncBlockTimeout(AppConfig conf) {
+        if (!hasConfiguration(EVENT_ASYNC_BLOCK_TIMEOUT)) {
+            eventAsyncBlockTimeout = conf.eventAsyncBlockTimeout;
+        }
+    }
+
+    private int eventJournalSegmentSize = -1;
+
+    protected T eventJournalSegmentSize(int size) {
+        E.illegalArgumentIf(size < 1024, "event journal segment size too small: %s", size);
+        this.eventJournalSegmentSize = size;
+        return me();
+    }
+
+    public int eventJournalSegmentSize() {
+        if (-1 == eventJournalSegmentSize) {
+            eventJournalSegmentSize = getInteger(EVENT_JOURNAL_SEGMENT_SIZE, 16 * 1024 * 1024);
+        }
+        return eventJournalSegmentSize;
+    }
+
+    private void _mergeEventJournalSegmentSize(AppConfig conf) {
+        if (!hasConfiguration(EVENT_JOURNAL_SEGMENT_SIZE)) {
+            eventJournalSegmentSize = conf.eventJournalSegmentSize;
+        }
+    }
+
     private int jobPoolSize = -1;
 
     protected T jobPoolSize(int size) {
@@ -1310,6 +1504,186 @@ public class AppConfig<T extends AppConfigurator> extends Config<AppConfigKey> i
             jobPoolSize = conf.jobPoolSize;
         }
     }
+
+    private int jobLitePoolSize = -1;
+
+    protected T jobLitePoolSize(int size) {
+        E.illegalArgumentIf(size < 1, "job lite pool size cannot be zero or negative number: %s", size);
+        this.jobLitePoolSize = size;
+        return me();
+    }
+
+    public int jobLitePoolSize() {
+        if (-1 == jobLitePoolSize) {
+            jobLitePoolSize = getInteger(JOB_LITE_POOL_SIZE, Runtime.getRuntime().availableProcessors());
+        }
+        return jobLitePoolSize;
+    }
+
+    private void _mergeJobLitePoolSize(AppConfig conf) {
+        if (!hasConfiguration(JOB_LITE_POOL_SIZE)) {
+            jobLitePoolSize = conf.jobLitePoolSize;
+        }
+    }
+
+    private JobStore jobStore;
+    private boolean jobStoreLoaded;
+
+    protected T jobStore(JobStore store) {
+        this.jobStore = $.notNull(store);
+        this.jobStoreLoaded = true;
+        return me();
+    }
+
+    public JobStore jobStore() {
+        if (!jobStoreLoaded) {
+            Object obj = helper.getValFromAliases(raw, JOB_STORE.key(), "impl", null);
+            if (obj instanceof JobStore) {
+                jobStore = (JobStore) obj;
+            } else if (null != obj) {
+                String s = obj.toString().trim();
+                if ("file".equalsIgnoreCase(s)) {
+                    jobStore = new FileJobStore();
+                } else if ("jdbc".equalsIgnoreCase(s)) {
+                    jobStore = new JdbcJobStore();
+                } else {
+                    jobStore = get(JOB_STORE, null);
+                }
+            }
+            jobStoreLoaded = true;
+        }
+        return jobStore;
+    }
+
+    private void _mergeJobStore(AppConfig conf) {
+        if (!hasConfiguration(JOB_STORE)) {
+            jobStore = conf.jobStore;
+            jobStoreLoaded = conf.jobStoreLoaded;
+        }
+    }
+
+    private String jobStoreJdbcUrl;
+
+    protected T jobStoreJdbcUrl(String url) {
+        this.jobStoreJdbcUrl = url;
+        return me();
+    }
+
+    public String jobStoreJdbcUrl() {
+        if (null == jobStoreJdbcUrl) {
+            jobStoreJdbcUrl = get(JOB_STORE_JDBC_URL, null);
+        }
+        return jobStoreJdbcUrl;
+    }
+
+    private void _mergeJobStoreJdbcUrl(AppConfig conf) {
+        if (!hasConfiguration(JOB_STORE_JDBC_URL)) {
+            jobStoreJdbcUrl = conf.jobStoreJdbcUrl;
+        }
+    }
+
+    private LeaseCoordinator leaseCoordinator;
+    private boolean leaseCoordinatorLoaded;
+
+    protected T leaseCoordinator(LeaseCoordinator coordinator) {
+        this.leaseCoordinator = $.notNull(coordinator);
+        this.leaseCoordinatorLoaded = true;
+        return me();
+    }
+
+    public LeaseCoordinator leaseCoordinator() {
+        if (!leaseCoordinatorLoaded) {
+            Object obj = helper.getValFromAliases(raw, JOB_LEASE.key(), "impl", null);
+            if (obj instanceof LeaseCoordinator) {
+                leaseCoordinator = (LeaseCoordinator) obj;
+            } else if (null != obj) {
+                String s = obj.toString().trim();
+                if ("local".equalsIgnoreCase(s)) {
+                    leaseCoordinator = new LocalLeaseCoordinator();
+                } else if ("file".equalsIgnoreCase(s)) {
+                    leaseCoordinator = new FileLeaseCoordinator();
+                } else if ("jdbc".equalsIgnoreCase(s)) {
+                    leaseCoordinator = new JdbcLeaseCoordinator();
+                } else {
+                    leaseCoordinator = get(JOB_LEASE, null);
+                }
+            }
+            leaseCoordinatorLoaded = true;
+        }
+        return leaseCoordinator;
+    }
+
+    private void _mergeLeaseCoordinator(AppConfig conf) {
+        if (!hasConfiguration(JOB_LEASE)) {
+            leaseCoordinator = conf.leaseCoordinator;
+            leaseCoordinatorLoaded = conf.leaseCoordinatorLoaded;
+        }
+    }
+
+    private int jobLeaseTtl = -1;
+
+    protected T jobLeaseTtl(int seconds) {
+        E.illegalArgumentIf(seconds < 1, "job lease ttl shall be positive number: %s", seconds);
+        this.jobLeaseTtl = seconds;
+        return me();
+    }
+
+    public int jobLeaseTtl() {
+        if (-1 == jobLeaseTtl) {
+            jobLeaseTtl = getInteger(JOB_LEASE_TTL, 30);
+            E.invalidConfigurationIf(jobLeaseTtl < 1, "job.lease.ttl shall be positive number: %s", jobLeaseTtl);
+        }
+        return jobLeaseTtl;
+    }
+
+    private void _mergeJobLeaseTtl(AppConfig conf) {
+        if (!hasConfiguration(JOB_LEASE_TTL)) {
+            jobLeaseTtl = conf.jobLeaseTtl;
+        }
+    }
+
+    private String jobLeaseDir;
+
+    protected T jobLeaseDir(String dir) {
+        this.jobLeaseDir = dir;
+        return me();
+    }
+
+    public String jobLeaseDir() {
+        if (null == jobLeaseDir) {
+            jobLeaseDir = get(JOB_LEASE_DIR, null);
+        }
+        return jobLeaseDir;
+    }
+
+    private void _mergeJobLeaseDir(AppConfig conf) {
+        if (!hasConfiguration(JOB_LEASE_DIR)) {
+            jobLeaseDir = conf.jobLeaseDir;
+        }
+    }
+
+    private String jobLeaseJdbcUrl;
+
+    protected T jobLeaseJdbcUrl(String url) {
+        this.jobLeaseJdbcUrl = url;
+        return me();
+    }
+
+    public String jobLeaseJdbcUrl() {
+        if (null == jobLeaseJdbcUrl) {
+            jobLeaseJdbcUrl = get(JOB_LEASE_JDBC_URL, null);
+            if (null == jobLeaseJdbcUrl) {
+                jobLeaseJdbcUrl = jobStoreJdbcUrl();
+            }
+        }
+        return jobLeaseJdbcUrl;
+    }
+
+    private void _mergeJobLeaseJdbcUrl(AppConfig conf) {
+        if (!hasConfiguration(JOB_LEASE_JDBC_URL)) {
+            jobLeaseJdbcUrl = conf.jobLeaseJdbcUrl;
+        }
+    }
     
     private int httpExternalPort = -1;
     
@@ -2137,7 +2511,11 @@ public class AppConfig<T extends AppConfigurator> extends Config<AppConfigKey> i
 
     public SessionCodec sessionCodec() {
         if (null == sessionCodec) {
-            sessionCodec = get(SESSION_CODEC, new DefaultSessionCodec(this));
+            if (!hasConfiguration(SESSION_CODEC) && sessionServerSide()) {
+                sessionCodec = app().getInstance(ServerSideSessionCodec.class);
+            } else {
+                sessionCodec = get(SESSION_CODEC, new DefaultSessionCodec(this));
+            }
         }
         return sessionCodec;
     }
@@ -2148,6 +2526,67 @@ public class AppConfig<T extends AppConfigurator> extends Config<AppConfigKey> i
         }
     }
 
+    private Boolean sessionServerSide;
+
+    protected T sessionServerSide(boolean enabled) {
+        this.sessionServerSide = enabled;
+        return me();
+    }
+
+    public boolean sessionServerSide() {
+        if (null == sessionServerSide) {
+            sessionServerSide = get(SESSION_SERVER_SIDE, false);
+        }
+        return sessionServerSide;
+    }
+
+    private void _mergeSessionServerSide(AppConfig config) {
+        if (!hasConfiguration(SESSION_SERVER_SIDE)) {
+            sessionServerSide = config.sessionServerSide;
+        }
+    }
+
+    private Boolean sessionStorePersistent;
+
+    protected T sessionStorePersistent(boolean enabled) {
+        this.sessionStorePersistent = enabled;
+        return me();
+    }
+
+    public boolean sessionStorePersistent() {
+        if (null == sessionStorePersistent) {
+            sessionStorePersistent = get(SESSION_STORE_PERSISTENT, false);
+        }
+        return sessionStorePersistent;
+    }
+
+    private void _mergeSessionStorePersistent(AppConfig config) {
+        if (!hasConfiguration(SESSION_STORE_PERSISTENT)) {
+            sessionStorePersistent = config.sessionStorePersistent;
+        }
+    }
+
+    private int sessionCodecCacheSize = -1;
+
+    protected T sessionCodecCacheSize(int size) {
+        E.illegalArgumentIf(size < 0, "session codec cache size cannot be negative number: %s", size);
+        this.sessionCodecCacheSize = size;
+        return me();
+    }
+
+    public int sessionCodecCacheSize() {
+        if (-1 == sessionCodecCacheSize) {
+            sessionCodecCacheSize = getInteger(SESSION_CODEC_CACHE_SIZE, 0);
+        }
+        return sessionCodecCacheSize;
+    }
+
+    private void _mergeSessionCodecCacheSize(AppConfig config) {
+        if (!hasConfiguration(SESSION_CODEC_CACHE_SIZE)) {
+            sessionCodecCacheSize = config.sessionCodecCacheSize;
+        }
+    }
+
     private String sessionHeader;
     private boolean sessionHeaderSet;
     protected void sessionHeader(String header) {
@@ -2352,6 +2791,11 @@ public class AppConfig<T extends AppConfigurator> extends Config<AppConfigKey> i
                 cacheServiceProvider = get(AppConfigKey.CACHE_IMPL, null);
             } catch (ConfigurationException e) {
                 Object obj = helper.getValFromAliases(raw, AppConfigKey.CACHE_IMPL.toString(), "impl", null);
+                if (TieredCacheServiceProvider.NAME.equalsIgnoreCase(S.string(obj).trim())) {
+                    cacheServiceProvider = new TieredCacheServiceProvider(app());
+                    set(AppConfigKey.CACHE_IMPL, cacheServiceProvider);
+                    return cacheServiceProvider.get(name);
+                }
                 cacheServiceProvider = CacheServiceProvider.Impl.valueOfIgnoreCase(obj.toString());
                 if (null != cacheServiceProvider) {
                     set(AppConfigKey.CACHE_IMPL, cacheServiceProvider);
@@ -2406,6 +2850,129 @@ public class AppConfig<T extends AppConfigurator> extends Config<AppConfigKey> i
         return _cacheNameSession;
     }
 
+    private int cacheTieredL1Size = -1;
+
+    protected T cacheTieredL1Size(int size) {
+        E.illegalArgumentIf(size < 1, "tiered cache L1 size shall be positive number: %s", size);
+        this.cacheTieredL1Size = size;
+        return me();
+    }
+
+    public int cacheTieredL1Size() {
+        if (-1 == cacheTieredL1Size) {
+            cacheTieredL1Size = getInteger(CACHE_TIERED_L1_SIZE, 10000);
+        }
+        return cacheTieredL1Size;
+    }
+
+    private void _mergeCacheTieredL1Size(AppConfig config) {
+        if (!hasConfiguration(CACHE_TIERED_L1_SIZE)) {
+            cacheTieredL1Size = config.cacheTieredL1Size;
+        }
+    }
+
+    private Boolean cacheTieredL2Enabled;
+
+    protected T cacheTieredL2Enabled(boolean enabled) {
+        this.cacheTieredL2Enabled = enabled;
+        return me();
+    }
+
+    public boolean cacheTieredL2Enabled() {
+        if (null == cacheTieredL2Enabled) {
+            cacheTieredL2Enabled = get(CACHE_TIERED_L2_ENABLED, true);
+        }
+        return cacheTieredL2Enabled;
+    }
+
+    private void _mergeCacheTieredL2Enabled(AppConfig config) {
+        if (!hasConfiguration(CACHE_TIERED_L2_ENABLED)) {
+            cacheTieredL2Enabled = config.cacheTieredL2Enabled;
+        }
+    }
+
+    private String cacheTieredL2Location;
+
+    protected T cacheTieredL2Location(String location) {
+        this.cacheTieredL2Location = location;
+        return me();
+    }
+
+    public String cacheTieredL2Location() {
+        if (null == cacheTieredL2Location) {
+            cacheTieredL2Location = get(CACHE_TIERED_L2_LOCATION, "");
+        }
+        return cacheTieredL2Location;
+    }
+
+    private void _mergeCacheTieredL2Location(AppConfig config) {
+        if (!hasConfiguration(CACHE_TIERED_L2_LOCATION)) {
+            cacheTieredL2Location = config.cacheTieredL2Location;
+        }
+    }
+
+    private int cacheTieredL2SegmentSize = -1;
+
+    protected T cacheTieredL2SegmentSize(int size) {
+        E.illegalArgumentIf(size < 1024, "tiered cache L2 segment size too small: %s", size);
+        this.cacheTieredL2SegmentSize = size;
+        return me();
+    }
+
+    public int cacheTieredL2SegmentSize() {
+        if (-1 == cacheTieredL2SegmentSize) {
+            cacheTieredL2SegmentSize = getInteger(CACHE_TIERED_L2_SEGMENT_SIZE, 64 * 1024 * 1024);
+        }
+        return cacheTieredL2SegmentSize;
+    }
+
+    private void _mergeCacheTieredL2SegmentSize(AppConfig config) {
+        if (!hasConfiguration(CACHE_TIERED_L2_SEGMENT_SIZE)) {
+            cacheTieredL2SegmentSize = config.cacheTieredL2SegmentSize;
+        }
+    }
+
+    private int cacheTieredL2SegmentCount = -1;
+
+    protected T cacheTieredL2SegmentCount(int count) {
+        E.illegalArgumentIf(count < 1, "tiered cache L2 segment count shall be positive number: %s", count);
+        this.cacheTieredL2SegmentCount = count;
+        return me();
+    }
+
+    public int cacheTieredL2SegmentCount() {
+        if (-1 == cacheTieredL2SegmentCount) {
+            cacheTieredL2SegmentCount = getInteger(CACHE_TIERED_L2_SEGMENT_COUNT, 8);
+        }
+        return cacheTieredL2SegmentCount;
+    }
+
+    private void _mergeCacheTieredL2SegmentCount(AppConfig config) {
+        if (!hasConfiguration(CACHE_TIERED_L2_SEGMENT_COUNT)) {
+            cacheTieredL2SegmentCount = config.cacheTieredL2SegmentCount;
+        }
+    }
+
+    private Boolean cacheTieredWarmRestart;
+
+    protected T cacheTieredWarmRestart(boolean enabled) {
+        this.cacheTieredWarmRestart = enabled;
+        return me();
+    }
+
+    public boolean cacheTieredWarmRestart() {
+        if (null == cacheTieredWarmRestart) {
+            cacheTieredWarmRestart = get(CACHE_TIERED_WARM_RESTART, false);
+        }
+        return cacheTieredWarmRestart;
+    }
+
+    private void _mergeCacheTieredWarmRestart(AppConfig config) {
+        if (!hasConfiguration(CACHE_TIERED_WARM_RESTART)) {
+            cacheTieredWarmRestart = config.cacheTieredWarmRestart;
+        }
+    }
+
     private UnknownHttpMethodProcessor _unknownHttpMethodProcessor = null;
 
     protected T unknownHttpMethodProcessor(UnknownHttpMethodProcessor handler) {
@@ -2446,6 +3013,57 @@ public class AppConfig<T extends AppConfigurator> extends Config<AppConfigKey> i
         }
     }
 
+    private Boolean enhanceCacheEnabled;
+    protected T enhanceCacheEnabled(boolean enabled) {
+        enhanceCacheEnabled = enabled;
+        return me();
+    }
+    public boolean enhanceCacheEnabled() {
+        if (null == enhanceCacheEnabled) {
+            enhanceCacheEnabled = get(ENHANCE_CACHE_ENABLED, false);
+        }
+        return enhanceCacheEnabled;
+    }
+    private void _mergeEnhanceCacheEnabled(AppConfig conf) {
+        if (!hasConfiguration(ENHANCE_CACHE_ENABLED)) {
+            this.enhanceCacheEnabled = conf.enhanceCacheEnabled;
+        }
+    }
+
+    private String enhanceCacheDir;
+    protected T enhanceCacheDir(String dir) {
+        enhanceCacheDir = dir;
+        return me();
+    }
+    public String enhanceCacheDir() {
+        if (null == enhanceCacheDir) {
+            enhanceCacheDir = get(ENHANCE_CACHE_DIR, ".act.enhance-cache");
+        }
+        return enhanceCacheDir;
+    }
+    private void _mergeEnhanceCacheDir(AppConfig conf) {
+        if (!hasConfiguration(ENHANCE_CACHE_DIR)) {
+            this.enhanceCacheDir = conf.enhanceCacheDir;
+        }
+    }
+
+    private Boolean scanIndexEnabled;
+    protected T scanIndexEnabled(boolean enabled) {
+        scanIndexEnabled = enabled;
+        return me();
+    }
+    public boolean scanIndexEnabled() {
+        if (null == scanIndexEnabled) {
+            scanIndexEnabled = get(SCAN_INDEX_ENABLED, true);
+        }
+        return scanIndexEnabled;
+    }
+    private void _mergeScanIndexEnabled(AppConfig conf) {
+        if (!hasConfiguration(SCAN_INDEX_ENABLED)) {
+            this.scanIndexEnabled = conf.scanIndexEnabled;
+        }
+    }
+
     private Integer uploadInMemoryCacheThreshold;
     protected T uploadInMemoryCacheThreshold(int l) {
         uploadInMemoryCacheThreshold = l;
@@ -2480,6 +3098,23 @@ public class AppConfig<T extends AppConfigurator> extends Config<AppConfigKey> i
         }
     }
 
+    private Boolean warmUpEnabled;
+    protected T warmUpEnabled(boolean enabled) {
+        warmUpEnabled = enabled;
+        return me();
+    }
+    public boolean warmUpEnabled() {
+        if (null == warmUpEnabled) {
+            warmUpEnabled = get(WARM_UP_ENABLED, false);
+        }
+        return warmUpEnabled;
+    }
+    private void _mergeWarmUpEnabled(AppConfig conf) {
+        if (!hasConfiguration(WARM_UP_ENABLED)) {
+            warmUpEnabled = conf.warmUpEnabled;
+        }
+    }
+
     private String wsTicketKey;
 
     protected T wsTicketeKey(String wsTicketKey) {
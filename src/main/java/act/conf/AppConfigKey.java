@@ -87,6 +87,8 @@ public enum AppConfigKey implements ConfigKey {
      * Specify {@link org.osgl.cache.CacheServiceProvider Cache service provider}
      * <p>Default value: {@link org.osgl.cache.CacheServiceProvider.Impl#Simple the simple
      * in memory map based cache service implementation}</p>
+     * <p>Use `tiered` to select {@link act.cache.TieredCacheServiceProvider the
+     * built-in two tier (on heap plus local disk) cache service}</p>
      */
     CACHE_IMPL("cache.impl"),
 
@@ -108,6 +110,64 @@ public enum AppConfigKey implements ConfigKey {
      */
     CACHE_NAME_SESSION("cache.name.session"),
 
+    /**
+     * `cache.tiered.l1.size`
+     *
+     * Specify the maximum number of entries kept in the on heap
+     * tier of {@link act.cache.TieredCacheService}
+     *
+     * Default value: `10000`
+     */
+    CACHE_TIERED_L1_SIZE("cache.tiered.l1.size"),
+
+    /**
+     * `cache.tiered.l2.enabled`
+     *
+     * Turn on/off the local disk tier of {@link act.cache.TieredCacheService}
+     *
+     * Default value: `true`
+     */
+    CACHE_TIERED_L2_ENABLED("cache.tiered.l2.enabled"),
+
+    /**
+     * `cache.tiered.l2.location`
+     *
+     * Specify the directory where {@link act.cache.TieredCacheService} store
+     * the disk tier segment files
+     *
+     * Default value: `cache` dir under {@link App#tmpDir()}
+     */
+    CACHE_TIERED_L2_LOCATION("cache.tiered.l2.location"),
+
+    /**
+     * `cache.tiered.l2.segment.size`
+     *
+     * Specify the size in bytes of a disk tier segment file
+     *
+     * Default value: `64 * 1024 * 1024`, i.e. 64MB
+     */
+    CACHE_TIERED_L2_SEGMENT_SIZE("cache.tiered.l2.segment.size"),
+
+    /**
+     * `cache.tiered.l2.segment.count`
+     *
+     * Specify the maximum number of disk tier segment files per cache. When
+     * exceeded the oldest segment and all entries stored in it are evicted.
+     *
+     * Default value: `8`
+     */
+    CACHE_TIERED_L2_SEGMENT_COUNT("cache.tiered.l2.segment.count"),
+
+    /**
+     * `cache.tiered.warm_restart.enabled`
+     *
+     * Specify whether {@link act.cache.TieredCacheService} shall recover
+     * cached entries from the disk tier on startup
+     *
+     * Default value: `false`
+     */
+    CACHE_TIERED_WARM_RESTART("cache.tiered.warm_restart.enabled"),
+
     /**
      * `cacheFor.dev.enabled`
      *
@@ -202,6 +262,18 @@ public enum AppConfigKey implements ConfigKey {
      */
     CLI_OVER_HTTP_SYS_CMD("cli_over_http.syscmd.enabled"),
 
+    /**
+     * `act.compile.incremental.enabled` turn on/off reusing the compilation
+     * result of unchanged sources when app is reloaded in dev mode. Only changed
+     * sources and sources depending on them are recompiled when enabled.
+     *
+     * Only compilation is incremental: all classes are still scanned and enhanced
+     * on reload.
+     *
+     * Default value: `true`
+     */
+    COMPILE_INCREMENTAL("compile.incremental.enabled"),
+
     /**
      * `act.cookie.domain_provider.impl` specify the provider
      * that provides the cookie domain name
@@ -377,6 +449,52 @@ public enum AppConfigKey implements ConfigKey {
      */
     ENUM_RESOLVING_CASE_SENSITIVE("enum.resolving.case_sensitive"),
 
+    /**
+     * `event.async.pool.size` specifies the number of threads that deliver
+     * events to async event listeners.
+     *
+     * Default value: the number of available processors, at least `2`
+     */
+    EVENT_ASYNC_POOL_SIZE("event.async.pool.size"),
+
+    /**
+     * `event.async.queue.size` specifies the maximum number of pending
+     * deliveries to async event listeners.
+     *
+     * Default value: `10000`
+     */
+    EVENT_ASYNC_QUEUE_SIZE("event.async.queue.size"),
+
+    /**
+     * `event.async.saturation_policy` specifies what to do when
+     * {@link #EVENT_ASYNC_QUEUE_SIZE} is reached, one of:
+     *
+     * * `caller_runs` - run the delivery in the thread emitting the event
+     * * `discard` - drop the new delivery
+     * * `discard_oldest` - drop the oldest pending delivery to the same listener
+     * * `block` - wait for {@link #EVENT_ASYNC_BLOCK_TIMEOUT} and drop the delivery on timeout
+     *
+     * Default value: `caller_runs`
+     */
+    EVENT_ASYNC_SATURATION_POLICY("event.async.saturation_policy"),
+
+    /**
+     * `event.async.block_timeout` specifies the milliseconds to wait when
+     * {@link #EVENT_ASYNC_SATURATION_POLICY} is `block`.
+     *
+     * Default value: `1000`
+     */
+    EVENT_ASYNC_BLOCK_TIMEOUT("event.async.block_timeout"),
+
+    /**
+     * `event.journal.segment.size` specifies the size in bytes of the segment
+     * files of the journal that keeps {@link act.event.DurableEvent durable events}
+     * until they are delivered to async listeners.
+     *
+     * Default value: `16777216` (16MB)
+     */
+    EVENT_JOURNAL_SEGMENT_SIZE("event.journal.segment.size"),
+
     /**
      * {@code act.fmt.date} specifies the default date format used to
      * lookup/output the date string
@@ -577,6 +695,14 @@ public enum AppConfigKey implements ConfigKey {
      */
     ID_GEN_LONG_ENCODER("idgen.encoder.impl"),
 
+    /**
+     * `init.parallel.enabled` turn on/off initializing independent app
+     * services concurrently during app start up.
+     *
+     * Default value: `true`
+     */
+    INIT_PARALLEL_ENABLED("init.parallel.enabled"),
+
     /**
      * {@code job.pool.size} specifies the maximum number of threads
      * can exists in the application's job manager's thread pool
@@ -584,6 +710,74 @@ public enum AppConfigKey implements ConfigKey {
      */
     JOB_POOL_SIZE("job.pool.size"),
 
+    /**
+     * `job.lite.pool.size` specifies the parallelism of the work-stealing pool
+     * that runs lightweight tasks submitted with {@link act.job.JobManager#fire(Runnable)}
+     *
+     * Default value: the number of available processors
+     */
+    JOB_LITE_POOL_SIZE("job.lite.pool.size"),
+
+    /**
+     * `job.store.impl` specifies the {@link act.job.JobStore} that persists
+     * job schedule and execution history so that misfires can be detected
+     * after app restart, one of
+     *
+     * * `file` - store in a local append-only file, see {@link act.job.FileJobStore}
+     * * `jdbc` - store in a JDBC database, see {@link act.job.JdbcJobStore}
+     * * the name of a class implementing {@link act.job.JobStore}
+     *
+     * Default value: none, i.e. job schedule is not persisted
+     */
+    JOB_STORE("job.store.impl"),
+
+    /**
+     * `job.store.jdbc.url` specifies the JDBC url of the database used by
+     * {@link act.job.JdbcJobStore}, e.g. `jdbc:h2:./jobs`
+     *
+     * Default value: none
+     */
+    JOB_STORE_JDBC_URL("job.store.jdbc.url"),
+
+    /**
+     * `job.lease.impl` specifies the {@link act.job.LeaseCoordinator} that grants
+     * leases to the nodes of a cluster so that a job marked with
+     * {@link act.job.ClusterSingleton} runs on only one node at a time, one of
+     *
+     * * `local` - leases in the current JVM, see {@link act.job.LocalLeaseCoordinator}
+     * * `file` - lease files in a shared directory, see {@link act.job.FileLeaseCoordinator}
+     * * `jdbc` - lease table in a JDBC database, see {@link act.job.JdbcLeaseCoordinator}
+     * * the name of a class implementing {@link act.job.LeaseCoordinator}
+     *
+     * Default value: none, i.e. cluster singleton jobs run on every node
+     */
+    JOB_LEASE("job.lease.impl"),
+
+    /**
+     * `job.lease.ttl` specifies the number of seconds a lease lasts without
+     * being renewed. Leases are renewed every one third of the ttl, and a
+     * lease of a dead node is taken over by another node once it expires.
+     *
+     * Default value: `30`
+     */
+    JOB_LEASE_TTL("job.lease.ttl"),
+
+    /**
+     * `job.lease.dir` specifies the directory - usually on a shared file system -
+     * that keeps the lease files of {@link act.job.FileLeaseCoordinator}
+     *
+     * Default value: `leases` in the app tmp dir
+     */
+    JOB_LEASE_DIR("job.lease.dir"),
+
+    /**
+     * `job.lease.jdbc.url` specifies the JDBC url of the database used by
+     * {@link act.job.JdbcLeaseCoordinator}
+     *
+     * Default value: the value of {@link #JOB_STORE_JDBC_URL}
+     */
+    JOB_LEASE_JDBC_URL("job.lease.jdbc.url"),
+
     /**
      * `jwt.enabled`, toggle JWT (JSON Web Token) support.
      *
@@ -610,6 +804,24 @@ public enum AppConfigKey implements ConfigKey {
      */
     JWT_ALGO("jwt.algo"),
 
+    /**
+     * `jwt.cache.size`, specify the maximum number of verified JWT token
+     * strings kept by {@link act.session.JWT} so that a token presented
+     * again skips signature verification and JSON parsing.
+     *
+     * Default value: `0`, i.e. the verified token cache is disabled
+     */
+    JWT_CACHE_SIZE("jwt.cache.size"),
+
+    /**
+     * `jwt.cache.ttl`, specify the number of seconds a verified JWT token
+     * can be reused without verification. The token expiration is always
+     * respected.
+     *
+     * Default value: `60`
+     */
+    JWT_CACHE_TTL("jwt.cache.ttl"),
+
     /**
      * `jwt.issuer`, specify `iss` payload of JWT
      *
@@ -763,6 +975,39 @@ public enum AppConfigKey implements ConfigKey {
      */
     RESOURCE_PRELOAD_SIZE_LIMIT("resource.preload.size.limit.int"),
 
+    /**
+     * `enhance.cache.enabled` turn on/off the persisted cache of enhanced bytecode.
+     *
+     * When enabled, the enhanced bytecode of app classes is saved into
+     * {@link #ENHANCE_CACHE_DIR} and loaded directly on next start as long as the
+     * framework, enhancers, configuration, app classes and jars are not changed.
+     * Use CLI command `act.enhance.cache.warm` to populate the cache at deploy time.
+     *
+     * The cache is not used in dev mode, where app classes are recompiled on the fly.
+     *
+     * Default value: `false`
+     */
+    ENHANCE_CACHE_ENABLED("enhance.cache.enabled"),
+
+    /**
+     * `enhance.cache.dir` specifies the directory of the enhanced bytecode cache.
+     *
+     * Default value: `.act.enhance-cache` in the working directory
+     */
+    ENHANCE_CACHE_DIR("enhance.cache.dir"),
+
+    /**
+     * `scan.index.enabled` turn on/off the persisted app scan index.
+     *
+     * When enabled, the bytecode checksum of plain classes - classes that extend
+     * `Object` directly, implement no interface and carry no annotation - are
+     * saved into `.act.scan-index` file. On next start those classes are
+     * restored from the index without visiting their bytecode if unchanged.
+     *
+     * Default value: `true`
+     */
+    SCAN_INDEX_ENABLED("scan.index.enabled"),
+
     /**
      * {@code scan_package}
      * Specify the app package in which all classes is subject
@@ -852,6 +1097,37 @@ public enum AppConfigKey implements ConfigKey {
      */
     SESSION_CODEC("session.codec"),
 
+    /**
+     * `session.codec.cache.size` specifies the maximum number of verified session
+     * cookies kept by {@link act.session.DefaultSessionCodec} so that signature
+     * verification and decryption can be skipped when the same cookie comes
+     * again. Set to `0` to disable the cache.
+     *
+     * Default value: `0`, i.e. the cache is disabled
+     */
+    SESSION_CODEC_CACHE_SIZE("session.codec.cache.size"),
+
+    /**
+     * `session.server_side.enabled` specifies whether session data shall be
+     * kept at server side with only a signed session ID sent to the client.
+     *
+     * Effective only when {@link #SESSION_CODEC} is not configured.
+     *
+     * Default value: `false`
+     */
+    SESSION_SERVER_SIDE("session.server_side.enabled"),
+
+    /**
+     * `session.store.persistent.enabled` specifies whether server side sessions
+     * shall be written into a journal file under app's tmp dir so that they
+     * survive app restart.
+     *
+     * Effective only when {@link #SESSION_SERVER_SIDE} is enabled.
+     *
+     * Default value: `false`
+     */
+    SESSION_STORE_PERSISTENT("session.store.persistent.enabled"),
+
     /**
      * `session.mapper.header.prefix`
      *
@@ -993,6 +1269,18 @@ public enum AppConfigKey implements ConfigKey {
      */
     VIEW_DEFAULT("view.default"),
 
+    /**
+     * `warmup.enabled` turn on/off warming up the handlers of all routed
+     * actions right after the app started.
+     *
+     * When enabled, the action handlers, interceptors, JSON DTO classes and
+     * param loaders are built at `POST_START` instead of on the first request
+     * to each action.
+     *
+     * Default value: `false`
+     */
+    WARM_UP_ENABLED("warmup.enabled"),
+
     /**
      * `ws.key.ticket`
      *
@@ -29,6 +29,7 @@ import org.osgl.util.S;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Base class for XxConfig
@@ -49,7 +50,8 @@ public abstract class Config<E extends ConfigKey> extends DestroyableBase {
      */
     public Config(Map<String, ?> configuration) {
         raw = new HashMap<String, Object>(configuration);
-        data = new HashMap<ConfigKey, Object>(configuration.size());
+        // configuration items are resolved lazily and might be read by services initialized in parallel
+        data = new ConcurrentHashMap<ConfigKey, Object>(configuration.size());
     }
 
     public Config() {
@@ -87,7 +89,7 @@ public abstract class Config<E extends ConfigKey> extends DestroyableBase {
     }
 
     public void set(ConfigKey key, Object val) {
-        data.put(key, val);
+        data.put(key, null == val ? NULL : val);
     }
 
     public Integer getInteger(ConfigKey key, Integer def) {
@@ -144,7 +146,9 @@ public abstract class Config<E extends ConfigKey> extends DestroyableBase {
         Object o = data.get(key);
         if (null == o) {
             List<T> l = key.implList(key.key(), raw, c);
-            data.put(key, l);
+            if (null != l) {
+                data.put(key, l);
+            }
             return l;
         } else {
             return (List) o;
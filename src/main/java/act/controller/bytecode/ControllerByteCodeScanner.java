@@ -70,6 +70,11 @@ public class ControllerByteCodeScanner extends AppByteCodeScannerBase {
         return possibleController;
     }
 
+    @Override
+    protected boolean skipPlainClass(String className) {
+        return !router.possibleController(className);
+    }
+
     @Override
     protected void onAppSet() {
         router = app().router();
@@ -32,6 +32,12 @@ import java.security.MessageDigest;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * HMAC signer/verifier.
+ *
+ * `javax.crypto.Mac` is not thread safe, thus each thread gets its own
+ * `Mac` instance initialized with the same key.
+ */
 public class HMAC {
 
     public enum Algorithm {
@@ -46,8 +52,12 @@ public class HMAC {
         }
 
         Mac macOf(String key) {
+            return macOf(key.getBytes(Charset.forName("UTF-8")));
+        }
+
+        Mac macOf(byte[] key) {
             try {
-                SecretKeySpec spec = new SecretKeySpec(key.getBytes(Charset.forName("UTF-8")), javaName);
+                SecretKeySpec spec = new SecretKeySpec(key, javaName);
                 Mac mac = Mac.getInstance(javaName);
                 mac.init(spec);
                 return mac;
@@ -62,33 +72,47 @@ public class HMAC {
 
     }
 
-    private Mac mac;
+    private static final byte DOT = '.';
+
+    private final ThreadLocal<Mac> mac;
     private String algoName;
     private final Charset UTF_8 = Charset.forName("UTF-8");
+    private final Charset US_ASCII = Charset.forName("US-ASCII");
 
     public HMAC(String key, String algoKey) {
-        Algorithm algo = algoLookup.get(algoKey.toUpperCase());
-        E.illegalArgumentIf(null == algo, "Algorithm not found");
-        mac = algo.macOf(key);
-        algoName = algo.jwtName();
+        this(key, algoLookup.get(algoKey.toUpperCase()));
     }
 
-    public HMAC(String key, Algorithm algo) {
-        mac = algo.macOf(key);
+    public HMAC(String key, final Algorithm algo) {
+        E.illegalArgumentIf(null == algo, "Algorithm not found");
+        final byte[] keyBytes = key.getBytes(UTF_8);
+        // make sure key and algorithm are valid
+        algo.macOf(keyBytes);
+        mac = new ThreadLocal<Mac>() {
+            @Override
+            protected Mac initialValue() {
+                return algo.macOf(keyBytes);
+            }
+        };
         algoName = algo.jwtName();
     }
 
     public String toString(JWT.Token token) {
         token.header(JWT.Header.ALGO, algoName);
-        String headers = token.headerJsonString();
-        String payloads = token.payloadJsonString();
-        String encodedHeaders = Codec.encodeUrlSafeBase64(headers);
-        String encodedPayloads = Codec.encodeUrlSafeBase64(payloads);
-        StringBuilder buf = new StringBuilder(encodedHeaders)
+        byte[] encodedHeaders = Codec.encodeUrlSafeBase64(token.headerJsonBytes()).getBytes(US_ASCII);
+        byte[] encodedPayloads = Codec.encodeUrlSafeBase64(token.payloadJsonBytes()).getBytes(US_ASCII);
+        Mac mac = this.mac.get();
+        mac.update(encodedHeaders);
+        mac.update(DOT);
+        mac.update(encodedPayloads);
+        String hash = Codec.encodeUrlSafeBase64(mac.doFinal());
+        return new StringBuilder(encodedHeaders.length + encodedPayloads.length + hash.length() + 2)
+                .append(new String(encodedHeaders, US_ASCII))
+                .append(".")
+                .append(new String(encodedPayloads, US_ASCII))
                 .append(".")
-                .append(encodedPayloads);
-        String hash = hash(buf.toString());
-        return buf.append(".").append(hash).toString();
+                .append(hash)
+                .toString();
     }
 
     public String hash(String text) {
@@ -96,12 +120,40 @@ public class HMAC {
     }
 
     public String hash(byte[] bytes) {
-        byte[] hashed = mac.doFinal(bytes);
-        return Codec.encodeUrlSafeBase64(hashed);
+        return Codec.encodeUrlSafeBase64(sign(bytes));
+    }
+
+    /**
+     * Returns the raw MAC of the bytes specified
+     * @param bytes the content to be signed
+     * @return the MAC bytes
+     */
+    public byte[] sign(byte[] bytes) {
+        return mac.get().doFinal(bytes);
+    }
+
+    /**
+     * Returns the raw MAC of a range of the bytes specified
+     * @param bytes the content to be signed
+     * @param offset the start offset of the content
+     * @param len the length of the content
+     * @return the MAC bytes
+     */
+    public byte[] sign(byte[] bytes, int offset, int len) {
+        Mac mac = this.mac.get();
+        mac.update(bytes, offset, len);
+        return mac.doFinal();
     }
 
     public boolean verifyHash(String content, String hash) {
-        byte[] myHash = mac.doFinal(content.getBytes(UTF_8));
+        return verifyHash(sign(content.getBytes(UTF_8)), hash);
+    }
+
+    public boolean verifyHash(byte[] content, int offset, int len, String hash) {
+        return verifyHash(sign(content, offset, len), hash);
+    }
+
+    private boolean verifyHash(byte[] myHash, String hash) {
         int len = hash.length();
         int padding = 4 - len % 4;
         if (padding > 0) {
@@ -64,6 +64,11 @@ public class EntityInfoByteCodeScanner extends AppByteCodeScannerBase {
         return true;
     }
 
+    @Override
+    protected boolean skipPlainClass(String className) {
+        return true;
+    }
+
     @Override
     public ByteCodeVisitor byteCodeVisitor() {
         return new _ByteCodeVisitor();
@@ -22,6 +22,10 @@ package act.event;
 
 import org.osgl.$;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.EventObject;
 
 /**
@@ -103,6 +107,24 @@ public class ActEvent<T> extends EventObject {
         }
     }
 
+    /*
+     * The source is transient in EventObject, serialize it so durable
+     * events can be restored from the journal with the source
+     */
+    private void writeObject(ObjectOutputStream os) throws IOException {
+        os.defaultWriteObject();
+        boolean self = SOURCE_PLACEHODER == source;
+        os.writeBoolean(self);
+        os.writeObject(!self && source instanceof Serializable ? source : null);
+    }
+
+    private void readObject(ObjectInputStream is) throws IOException, ClassNotFoundException {
+        is.defaultReadObject();
+        boolean self = is.readBoolean();
+        Object source = is.readObject();
+        this.source = self ? SOURCE_PLACEHODER : source;
+    }
+
     private static Class<? extends EventObject> referType(Class<? extends EventObject> eventType) {
         return eventType.isAnonymousClass() ? referType((Class<? extends EventObject>) eventType.getSuperclass()) : eventType;
     }
@@ -32,15 +32,16 @@ public abstract class ActEventListenerBase<EVENT_TYPE extends EventObject> exten
     private static final AtomicInteger ID_ = new AtomicInteger();
 
     private String id;
+    // whether the id is specified by app or generated
+    private final boolean idSpecified;
+
     public ActEventListenerBase(CharSequence id) {
-        if (null == id) {
-            id = genId();
-        }
-        this.id = id.toString();
+        this.idSpecified = null != id;
+        this.id = null == id ? genId() : id.toString();
     }
 
     public ActEventListenerBase() {
-        this(genId());
+        this(null);
     }
 
     @Override
@@ -48,6 +49,10 @@ public abstract class ActEventListenerBase<EVENT_TYPE extends EventObject> exten
         return id;
     }
 
+    boolean idSpecified() {
+        return idSpecified;
+    }
+
     @Override
     public int hashCode() {
         return id.hashCode();
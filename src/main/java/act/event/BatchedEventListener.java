@@ -0,0 +1,172 @@
+package act.event;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.osgl.$;
+import org.osgl.util.C;
+import org.osgl.util.E;
+import org.osgl.util.S;
+import org.rythmengine.utils.Time;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wraps a {@link SimpleEventListener} that accepts a `List` of events.
+ *
+ * Events are accumulated in a lock free queue and are passed to the
+ * wrapped listener in batches, either when the number of pending events
+ * reaches the batch size or when the max delay since the first pending
+ * event expires, whichever comes first.
+ *
+ * Batches are delivered in the lane of this listener in the
+ * {@link EventDeliveryExecutor}, thus they are passed to the wrapped listener
+ * one after another in order. Flushes bypass the saturation policy of the
+ * executor: at most one flush and one timeout is pending at any time, and
+ * the events themselves are buffered here.
+ *
+ * @see OnEvent#batchSize()
+ */
+public class BatchedEventListener implements SimpleEventListener {
+
+    private static final long DEF_MAX_DELAY = 1000L;
+
+    private final SimpleEventListener delegate;
+    private final List<Class> argumentTypes;
+    private final int batchSize;
+    private final long maxDelay;
+    private final EventBus eventBus;
+
+    private final ConcurrentLinkedQueue<Object> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+    private final AtomicBoolean timerArmed = new AtomicBoolean();
+
+    private final Runnable flush = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    private final Runnable timeout = new Runnable() {
+        @Override
+        public void run() {
+            timerArmed.set(false);
+            flush();
+        }
+    };
+
+    public BatchedEventListener(Class<?> eventType, SimpleEventListener delegate, int batchSize, String maxDelay, EventBus eventBus) {
+        E.illegalArgumentIf(batchSize < 1, "batch size shall be positive number: %s", batchSize);
+        this.delegate = $.notNull(delegate);
+        this.argumentTypes = C.<Class>list(eventType);
+        this.batchSize = batchSize;
+        this.maxDelay = parseDelay(maxDelay);
+        this.eventBus = $.notNull(eventBus);
+    }
+
+    @Override
+    public void invoke(Object... args) {
+        buffer.offer(args[0]);
+        if (size.incrementAndGet() >= batchSize) {
+            scheduleFlush();
+        } else {
+            armTimer();
+        }
+    }
+
+    @Override
+    public List<Class> argumentTypes() {
+        return argumentTypes;
+    }
+
+    /**
+     * Events are always accepted in the emitting thread as it is cheap, while
+     * batches are delivered asynchronously.
+     */
+    @Override
+    public boolean isAsync() {
+        return false;
+    }
+
+    SimpleEventListener delegate() {
+        return delegate;
+    }
+
+    @Override
+    public String toString() {
+        return S.fmt("batched[%s]%s", batchSize, delegate);
+    }
+
+    private void scheduleFlush() {
+        if (flushPending.compareAndSet(false, true)) {
+            eventBus.deliveryExecutor().deliverInLane(this, flush);
+        }
+    }
+
+    private void armTimer() {
+        if (timerArmed.compareAndSet(false, true)) {
+            eventBus.deliveryExecutor().deliverInLane(this, timeout, maxDelay);
+        }
+    }
+
+    // always run in the delivery lane of this listener
+    private void flush() {
+        flushPending.set(false);
+        List<Object> batch = new ArrayList<>(Math.min(size.get(), batchSize));
+        while (batch.size() < batchSize) {
+            Object event = buffer.poll();
+            if (null == event) {
+                break;
+            }
+            batch.add(event);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        int remaining = size.addAndGet(-batch.size());
+        try {
+            delegate.invoke(batch);
+        } finally {
+            if (remaining >= batchSize) {
+                scheduleFlush();
+            } else if (remaining > 0) {
+                armTimer();
+            }
+        }
+    }
+
+    private static long parseDelay(String delay) {
+        if (S.blank(delay)) {
+            return DEF_MAX_DELAY;
+        }
+        delay = delay.trim();
+        if (delay.endsWith("ms")) {
+            return Long.parseLong(delay.substring(0, delay.length() - 2).trim());
+        }
+        return Time.parseDuration(delay) * 1000L;
+    }
+
+}
@@ -0,0 +1,49 @@
+package act.event;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.lang.annotation.*;
+
+/**
+ * Mark an {@link java.util.EventObject event} type to be durable.
+ *
+ * A durable event is written to a local journal before it is delivered
+ * to async {@link ActEventListener listeners}, and events that have not
+ * been delivered when the app stopped are delivered again after the app
+ * restarted. Delivery is at least once: a listener might receive an event
+ * again if the app crashed right after the event was delivered. An event
+ * that the listener failed to handle or that has been dropped because the
+ * delivery queue is full is not delivered again.
+ *
+ * A durable event must be {@link java.io.Serializable}, implement
+ * {@link java.io.Externalizable} to make the journal record compact. The source of the
+ * event is restored from the journal only if the event extends {@link ActEvent}.
+ *
+ * Only listeners with a stable id get durable delivery: handler methods
+ * annotated with `@On` and {@link ActEventListenerBase} constructed with an
+ * explicit id. Other listeners receive durable events without journal.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Inherited
+@Documented
+public @interface DurableEvent {
+}
@@ -26,9 +26,10 @@ import act.app.AppServiceBase;
 import act.app.event.SysEvent;
 import act.app.event.SysEventId;
 import act.app.event.SysEventListener;
+import act.conf.AppConfig;
+import act.event.bytecode.ReflectedSimpleEventListener;
 import act.inject.DependencyInjectionBinder;
 import act.inject.DependencyInjector;
-import act.job.JobManager;
 import org.osgl.$;
 import org.osgl.logging.LogManager;
 import org.osgl.logging.Logger;
@@ -38,11 +39,13 @@ import org.osgl.util.S;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
+import java.io.File;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -67,19 +70,11 @@ public class EventBus extends AppServiceBase<EventBus> {
         private IdType idType;
         private Class[] argTypes;
         private boolean varargs;
-        private Object[] args;
+        private int hc;
         Key(Object id, SimpleEventListener eventListener) {
             setId(id);
             setArgTypes(eventListener);
-        }
-        Key(Object id, List<Class> argTypeList, Object[] args) {
-            this(id, argTypeList, args, false);
-        }
-        Key(Object id, List<Class> argTypeList, Object[] args, boolean varargs) {
-            setId(id);
-            this.argTypes = convert(argTypeList);
-            this.args = args;
-            this.varargs = varargs;
+            hc = $.hc(this.id, argTypes);
         }
 
         private void setArgTypes(SimpleEventListener eventListener) {
@@ -129,73 +124,39 @@ public class EventBus extends AppServiceBase<EventBus> {
 
         private static Class<?> VARARG_TYPE = Object[].class;
 
-        // create list of keys from event triggering id and argument list
-        static List<Key> keysOf(Class<?> idClass, Object id, Object[] args, EventBus eventBus) {
-            List<Key> keys = new ArrayList<>();
-            List<Class> argTypes = new ArrayList<>();
-            List<Class> varArgTypes = new ArrayList<>();
-            varArgTypes.add(VARARG_TYPE);
-            for (Object arg: args) {
-                if (null == arg) {
-                    argTypes = null;
-                    break;
-                }
-                argTypes.add(arg.getClass());
+        /*
+         * Check if the argument types of this key equals to `head` (if not `null`)
+         * followed by the class of each element in `args`
+         */
+        boolean matches(Class<?> head, Object[] args) {
+            int offset = null == head ? 0 : 1;
+            int len = args.length;
+            if (argTypes.length != len + offset || (null != head && argTypes[0] != head)) {
+                return false;
             }
-            IdType type = typeOf(id);
-            if (IdType.STRING == type) {
-                if (!eventBus.stringsWithAdhocListeners.contains(id)) {
-                    return C.list();
-                }
-                if (null != argTypes) {
-                    keys.add(new Key(id, argTypes, args));
-                }
-                keys.add(new Key(id, varArgTypes, new Object[]{args}));
-            } else if (IdType.CLASS == type) {
-                if (!eventBus.classesWithAdhocListeners.contains(idClass)) {
-                    return C.list();
-                }
-                varArgTypes.add(0, idClass);
-                Object[] varArgs = new Object[2];
-                varArgs[0] = id;
-                varArgs[1] = args;
-                keys.add(new Key(id, varArgTypes, varArgs));
-                if (null != argTypes) {
-                    Object[] finalArgs = $.concat(new Object[]{id}, args);
-                    argTypes.add(0, idClass);
-                    keys.add(new Key(id, argTypes, finalArgs));
-                }
-            } else {
-                // the enum value
-                if (eventBus.enumsWithAdhocListeners.contains(id)) {
-                    keys.add(new Key(id, varArgTypes, new Object[]{args}));
-                    if (null != argTypes) {
-                        keys.add(new Key(id, argTypes, args));
-                    }
-                }
-                // the enum class
-                if (eventBus.classesWithAdhocListeners.contains(id.getClass())) {
-                    List<Class> varArgTypesForClass = new ArrayList<>(2);
-                    Object[] varArgs = new Object[2];
-                    varArgs[0] = id;
-                    varArgs[1] = args;
-                    varArgTypesForClass.add(id.getClass());
-                    varArgTypesForClass.add(VARARG_TYPE);
-                    keys.add(new Key(id.getClass(), varArgTypesForClass, varArgs, true));
-                    if (null != argTypes) {
-                        List<Class> argTypesForClass = new ArrayList<>(1 + argTypes.size());
-                        argTypesForClass.add(id.getClass());
-                        argTypesForClass.addAll(argTypes);
-                        keys.add(new Key(id.getClass(), argTypesForClass, $.concat(new Object[]{id}, args), true));
-                    }
+            for (int i = 0; i < len; ++i) {
+                Object arg = args[i];
+                if (null == arg || argTypes[i + offset] != arg.getClass()) {
+                    return false;
                 }
             }
-            return keys;
+            return true;
+        }
+
+        /*
+         * Check if the argument types of this key equals to `head` (if not `null`)
+         * followed by `Object[]`
+         */
+        boolean matchesVarargs(Class<?> head) {
+            if (null == head) {
+                return 1 == argTypes.length && VARARG_TYPE == argTypes[0];
+            }
+            return 2 == argTypes.length && head == argTypes[0] && VARARG_TYPE == argTypes[1];
         }
 
         @Override
         public int hashCode() {
-            return $.hc(id, argTypes);
+            return hc;
         }
 
         @Override
@@ -222,8 +183,6 @@ public class EventBus extends AppServiceBase<EventBus> {
         boolean asyncForAsync = true;
         boolean asyncForSync = false;
         Class<? extends T> eventType;
-        List<Key> keys;
-        List<Key> keysForOnceBus;
         T event;
         Object[] args;
         EventContext(T event, Object[] args) {
@@ -241,19 +200,6 @@ public class EventBus extends AppServiceBase<EventBus> {
             }
             return eventType;
         }
-        List<Key> keys(EventBus eventBus) {
-            if (eventBus.once) {
-                if (null == keysForOnceBus) {
-                    keysForOnceBus = Key.keysOf(eventType(), event, args, eventBus);
-                }
-                return keysForOnceBus;
-            } else {
-                if (null == keys) {
-                    keys = Key.keysOf(eventType(), event, args, eventBus);
-                }
-                return keys;
-            }
-        }
         boolean hasArgs() {
             return 0 < args.length;
         }
@@ -359,15 +305,32 @@ public class EventBus extends AppServiceBase<EventBus> {
     // stores the association from Key and async ad hoc event listeners
     private final ConcurrentMap<Key, List<SimpleEventListener>> asyncAdhocEventListeners;
 
-    // so we can quickly identify if it needs to go ahead to look for listeners
-    private final Set<Class<?>> classesWithAdhocListeners = new HashSet<>();
-    private final Set<Enum> enumsWithAdhocListeners = new HashSet<>();
-    private final Set<String> stringsWithAdhocListeners = new HashSet<>();
-    private final Set<Class<? extends EventObject>> eventsWithActListeners = new HashSet<>();
+    // The dispatch tables below are copy-on-write: they are replaced on bind/unbind
+    // and read without locking on emit, so that emitting an event nobody listens to
+    // is a single lookup.
+
+    // maps event ID (string, enum value, enum class or event class) to keys of bound ad hoc listeners
+    private volatile Map<Object, Key[]> adhocDispatchTable = Collections.emptyMap();
+    // event types that have act event listeners bound
+    private volatile Set<Class<? extends EventObject>> eventsWithActListeners = Collections.emptySet();
 
     // is this event bus for one time event listeners?
     private EventBus onceBus;
 
+    // the event bus this once bus belongs to
+    private EventBus parentBus;
+
+    // executes async listeners, initialized on first async delivery
+    private volatile EventDeliveryExecutor deliveryExecutor;
+
+    // keeps durable events until delivered to async listeners, initialized on first use
+    private volatile EventJournal journal;
+    // listeners without stable id that have been warned on durable event
+    private final Set<ActEventListener> unjournaledListeners = Collections.newSetFromMap(new ConcurrentHashMap<ActEventListener, Boolean>());
+
+    // caches whether an event type is annotated with `@DurableEvent`
+    private final ConcurrentMap<Class<?>, Boolean> durableEventTypes = new ConcurrentHashMap<>();
+
     private EventBus(App app, boolean once) {
         super(app, true);
         sysEventLookup = initSysEventLookup(app);
@@ -385,6 +348,8 @@ public class EventBus extends AppServiceBase<EventBus> {
         if (!once) {
             onceBus = new EventBus(app, true);
             onceBus.once = true;
+            onceBus.parentBus = this;
+            loadJournalReplayListener();
         }
     }
 
@@ -398,12 +363,22 @@ public class EventBus extends AppServiceBase<EventBus> {
         if (null != onceBus) {
             onceBus.releaseResources();
         }
+        if (null != journal) {
+            journal.close();
+            journal = null;
+        }
+        if (null != deliveryExecutor) {
+            deliveryExecutor.destroy();
+            deliveryExecutor = null;
+        }
         releaseSysEventListeners(sysEventListeners);
         releaseSysEventListeners(asyncSysEventListeners);
         releaseActEventListeners(actEventListeners);
         releaseActEventListeners(asyncActEventListeners);
         releaseAdhocEventListeners(adhocEventListeners);
         releaseAdhocEventListeners(asyncAdhocEventListeners);
+        adhocDispatchTable = Collections.emptyMap();
+        eventsWithActListeners = Collections.emptySet();
     }
 
     /**
@@ -695,6 +670,9 @@ public class EventBus extends AppServiceBase<EventBus> {
      * @see SimpleEventListener
      */
     public EventBus emit(Enum<?> event, Object... args) {
+        if (!hasListenerFor(event)) {
+            return this;
+        }
         return _emitWithOnceBus(eventContext(event, args));
     }
 
@@ -739,6 +717,9 @@ public class EventBus extends AppServiceBase<EventBus> {
      * @see SimpleEventListener
      */
     public EventBus emit(String event, Object... args) {
+        if (!hasListenerFor(event)) {
+            return this;
+        }
         return _emitWithOnceBus(eventContext(event, args));
     }
 
@@ -796,6 +777,9 @@ public class EventBus extends AppServiceBase<EventBus> {
      * @see SimpleEventListener
      */
     public EventBus emit(EventObject event, Object... args) {
+        if (!hasListenerFor(event)) {
+            return this;
+        }
         return _emitWithOnceBus(eventContext(event, args));
     }
 
@@ -804,6 +788,9 @@ public class EventBus extends AppServiceBase<EventBus> {
      * @see #emit(EventObject, Object...)
      */
     public EventBus emit(ActEvent event, Object... args) {
+        if (!hasListenerFor(event)) {
+            return this;
+        }
         return _emitWithOnceBus(eventContext(event, args));
     }
 
@@ -839,6 +826,9 @@ public class EventBus extends AppServiceBase<EventBus> {
      * @see #emit(Enum, Object...)
      */
     public EventBus emitAsync(Enum<?> event, Object... args) {
+        if (!hasListenerFor(event)) {
+            return this;
+        }
         return _emitWithOnceBus(eventContextAsync(event, args));
     }
 
@@ -852,6 +842,9 @@ public class EventBus extends AppServiceBase<EventBus> {
      * @see #emit(String, Object...)
      */
     public EventBus emitAsync(String event, Object... args) {
+        if (!hasListenerFor(event)) {
+            return this;
+        }
         return _emitWithOnceBus(eventContextAsync(event, args));
     }
 
@@ -865,6 +858,9 @@ public class EventBus extends AppServiceBase<EventBus> {
      * @see #emit(EventObject, Object...)
      */
     public EventBus emitAsync(EventObject event, Object... args) {
+        if (!hasListenerFor(event)) {
+            return this;
+        }
         return _emitWithOnceBus(eventContextAsync(event, args));
     }
 
@@ -874,6 +870,9 @@ public class EventBus extends AppServiceBase<EventBus> {
      * @see #emitAsync(EventObject, Object...)
      */
     public EventBus emitAsync(ActEvent event, Object... args) {
+        if (!hasListenerFor(event)) {
+            return this;
+        }
         return _emitWithOnceBus(eventContextAsync(event, args));
     }
 
@@ -909,6 +908,9 @@ public class EventBus extends AppServiceBase<EventBus> {
      * @see #emit(Enum, Object...)
      */
     public EventBus emitSync(Enum<?> event, Object... args) {
+        if (!hasListenerFor(event)) {
+            return this;
+        }
         return _emitWithOnceBus(eventContextAsync(event, args));
     }
 
@@ -922,6 +924,9 @@ public class EventBus extends AppServiceBase<EventBus> {
      * @see #emit(String, Object...)
      */
     public EventBus emitSync(String event, Object... args) {
+        if (!hasListenerFor(event)) {
+            return this;
+        }
         return _emitWithOnceBus(eventContextAsync(event, args));
     }
 
@@ -935,6 +940,9 @@ public class EventBus extends AppServiceBase<EventBus> {
      * @see #emit(EventObject, Object...)
      */
     public EventBus emitSync(EventObject event, Object... args) {
+        if (!hasListenerFor(event)) {
+            return this;
+        }
         return _emitWithOnceBus(eventContextAsync(event, args));
     }
 
@@ -943,6 +951,9 @@ public class EventBus extends AppServiceBase<EventBus> {
      * @see #emitSync(EventObject, Object...)
      */
     public EventBus emitSync(ActEvent event, Object... args) {
+        if (!hasListenerFor(event)) {
+            return this;
+        }
         return _emitWithOnceBus(eventContextAsync(event, args));
     }
 
@@ -1081,10 +1092,14 @@ public class EventBus extends AppServiceBase<EventBus> {
     }
 
     private synchronized EventBus _bind(final ConcurrentMap<Class<? extends EventObject>, List<ActEventListener>> listeners, final Class<? extends EventObject> eventType, final ActEventListener listener, int ttl) {
-        eventsWithActListeners.add(eventType);
+        if (!eventsWithActListeners.contains(eventType)) {
+            Set<Class<? extends EventObject>> newSet = new HashSet<>(eventsWithActListeners);
+            newSet.add(eventType);
+            eventsWithActListeners = newSet;
+        }
         List<ActEventListener> list = listeners.get(eventType);
         if (null == list) {
-            List<ActEventListener> newList = new ArrayList<>();
+            List<ActEventListener> newList = new CopyOnWriteArrayList<>();
             list = listeners.putIfAbsent(eventType, newList);
             if (null == list) {
                 list = newList;
@@ -1113,12 +1128,7 @@ public class EventBus extends AppServiceBase<EventBus> {
             if (EventObject.class.isAssignableFrom(type)) {
                 if (1 == key.argTypes.length) {
                     Class<? extends EventObject> eventType = $.cast(type);
-                    ActEventListener<?> actEventListener = new ActEventListenerBase() {
-                        @Override
-                        public void on(EventObject event) {
-                            eventListener.invoke(event);
-                        }
-                    };
+                    ActEventListener<?> actEventListener = new SimpleEventListenerAdaptor(eventListener);
                     if (async) {
                         bindAsync(eventType, actEventListener);
                     } else {
@@ -1127,19 +1137,14 @@ public class EventBus extends AppServiceBase<EventBus> {
                     return this;
                 }
             }
-            classesWithAdhocListeners.add(type);
-        } else if (key.idType == Key.IdType.ENUM) {
-            enumsWithAdhocListeners.add((Enum) event);
-        } else {
-            stringsWithAdhocListeners.add((String) event);
         }
         return _bind(async ? asyncAdhocEventListeners : adhocEventListeners, key, eventListener);
     }
 
-    private EventBus _bind(ConcurrentMap<Key, List<SimpleEventListener>> listeners, Key key, final SimpleEventListener eventListener) {
+    private synchronized EventBus _bind(ConcurrentMap<Key, List<SimpleEventListener>> listeners, Key key, final SimpleEventListener eventListener) {
         List<SimpleEventListener> list = listeners.get(key);
         if (null == list) {
-            List<SimpleEventListener> newList = new ArrayList<>();
+            List<SimpleEventListener> newList = new CopyOnWriteArrayList<>();
             list = listeners.putIfAbsent(key, newList);
             if (null == list) {
                 list = newList;
@@ -1148,12 +1153,24 @@ public class EventBus extends AppServiceBase<EventBus> {
         if (!list.contains(eventListener)) {
             list.add(eventListener);
         }
+        Key[] keys = adhocDispatchTable.get(key.id);
+        if (null == keys || !Arrays.asList(keys).contains(key)) {
+            Map<Object, Key[]> newTable = new HashMap<>(adhocDispatchTable);
+            newTable.put(key.id, null == keys ? new Key[]{key} : $.concat(keys, new Key[]{key}));
+            adhocDispatchTable = newTable;
+        }
         return this;
     }
 
-    private List<Key> _emit(boolean asyncForAsync, boolean asyncForSync, List<Key> keys, Object event, Object... args) {
-        if (keys.isEmpty()) {
-            return keys;
+    /*
+     * Call ad hoc listeners bound to `id`. `head` is the type of the event object
+     * when it shall be passed to listeners as the first argument, or `null` if
+     * listeners are bound to a specific string or enum value
+     */
+    private void _emit(boolean asyncForAsync, boolean asyncForSync, Object id, Class<?> head, Object event, Object[] args) {
+        Key[] keys = adhocDispatchTable.get(id);
+        if (null == keys) {
+            return;
         }
         if (isTraceEnabled()) {
             String s = " ";
@@ -1165,10 +1182,17 @@ public class EventBus extends AppServiceBase<EventBus> {
             trace("emitting event with parameters %s: %s %s", s, event, $.toString2(args));
         }
         for (Key key : keys) {
-            _emit(key, asyncAdhocEventListeners, asyncForAsync);
-            _emit(key, adhocEventListeners, asyncForSync);
+            if (key.matchesVarargs(head)) {
+                Object[] callArgs = null == head ? new Object[]{args} : new Object[]{event, args};
+                _emit(key, callArgs, asyncAdhocEventListeners, asyncForAsync);
+                _emit(key, callArgs, adhocEventListeners, asyncForSync);
+            }
+            if (key.matches(head, args)) {
+                Object[] callArgs = null == head ? args : $.concat(new Object[]{event}, args);
+                _emit(key, callArgs, asyncAdhocEventListeners, asyncForAsync);
+                _emit(key, callArgs, adhocEventListeners, asyncForSync);
+            }
         }
-        return keys;
     }
 
     private EventBus _emit(boolean asyncForAsync, boolean asyncForSync, SysEventId eventId) {
@@ -1187,16 +1211,15 @@ public class EventBus extends AppServiceBase<EventBus> {
         return this;
     }
 
-    private void _emit(Key key, ConcurrentMap<Key, List<SimpleEventListener>> listeners, boolean async) {
+    private void _emit(Key key, final Object[] args, ConcurrentMap<Key, List<SimpleEventListener>> listeners, boolean async) {
         final List<SimpleEventListener> list = listeners.get(key);
         if (null == list) {
             return;
         }
-        final Object[] args = key.args;
-        JobManager jobManager = async ? app().jobManager() : null;
+        EventDeliveryExecutor executor = async ? deliveryExecutor() : null;
         for (final SimpleEventListener listener: list) {
             if (async) {
-                jobManager.now(new Runnable() {
+                executor.deliver(listener, new Runnable() {
                     @Override
                     public void run() {
                         callOn(listener, args);
@@ -1216,7 +1239,7 @@ public class EventBus extends AppServiceBase<EventBus> {
             onceBus._emitWithOnceBus(context);
         }
         if (context.shouldCallAdhocEventListeners(this)) {
-            _emit(context.asyncForAsync, context.asyncForSync, context.keys(this), context.event, context.args);
+            _emit(context.asyncForAsync, context.asyncForSync, context.event, null, context.event, context.args);
         }
         return this;
     }
@@ -1229,7 +1252,10 @@ public class EventBus extends AppServiceBase<EventBus> {
             onceBus._emitWithOnceBus(context);
         }
         if (context.shouldCallAdhocEventListeners(this)) {
-            _emit(context.asyncForAsync, context.asyncForSync, context.keys(this), context.event, context.args);
+            Enum event = context.event;
+            _emit(context.asyncForAsync, context.asyncForSync, event, null, event, context.args);
+            Class<? extends Enum> enumClass = context.eventType();
+            _emit(context.asyncForAsync, context.asyncForSync, enumClass, enumClass, event, context.args);
         }
         return this;
     }
@@ -1246,7 +1272,8 @@ public class EventBus extends AppServiceBase<EventBus> {
             callOn(context.eventType(), context.event, actEventListeners, context.asyncForSync);
         }
         if (context.shouldCallAdhocEventListeners(this)) {
-            _emit(context.asyncForAsync, context.asyncForSync, context.keys(this), context.event, context.args);
+            EventObject event = context.event;
+            _emit(context.asyncForAsync, context.asyncForSync, event.getClass(), context.eventType(), event, context.args);
         }
         return this;
     }
@@ -1255,6 +1282,11 @@ public class EventBus extends AppServiceBase<EventBus> {
         List<ActEventListener> list = listeners.get(c);
         if (null != list) {
             list.remove(l);
+            if (!hasActEventListener(actEventListeners, c) && !hasActEventListener(asyncActEventListeners, c)) {
+                Set<Class<? extends EventObject>> newSet = new HashSet<>(eventsWithActListeners);
+                newSet.remove(c);
+                eventsWithActListeners = newSet;
+            }
         }
         return this;
     }
@@ -1284,10 +1316,9 @@ public class EventBus extends AppServiceBase<EventBus> {
         if (null == listeners) {
             return;
         }
-        JobManager jobManager = null;
-        if (async) {
-            jobManager = app().jobManager();
-        }
+        EventDeliveryExecutor executor = async ? deliveryExecutor() : null;
+        long seq = async && !once ? journal(event, listeners) : -1;
+        EventJournal journal = this.journal;
         Set<ActEventListener> toBeRemoved = C.newSet();
         for (final ActEventListener l : listeners) {
             if (!async) {
@@ -1295,8 +1326,10 @@ public class EventBus extends AppServiceBase<EventBus> {
                 if (result && once) {
                     toBeRemoved.add(l);
                 }
+            } else if (seq > 0 && null != journal && null != journalId(l)) {
+                executor.deliver(l, durableDelivery(journal, seq, event, l));
             } else {
-                jobManager.now(new Runnable() {
+                executor.deliver(l, new Runnable() {
                     @Override
                     public void run() {
                         callOn(event, l);
@@ -1420,6 +1453,174 @@ public class EventBus extends AppServiceBase<EventBus> {
         });
     }
 
+    EventDeliveryExecutor deliveryExecutor() {
+        if (null != parentBus) {
+            return parentBus.deliveryExecutor();
+        }
+        if (null == deliveryExecutor) {
+            synchronized (this) {
+                if (null == deliveryExecutor) {
+                    AppConfig<?> config = app().config();
+                    deliveryExecutor = new EventDeliveryExecutor(
+                            config.eventAsyncPoolSize(),
+                            config.eventAsyncQueueSize(),
+                            config.eventAsyncSaturationPolicy(),
+                            config.eventAsyncBlockTimeout());
+                }
+            }
+        }
+        return deliveryExecutor;
+    }
+
+    /*
+     * Append a durable event to the journal.
+     * Returns the sequence of the event or `-1` if the event is not journaled
+     */
+    private long journal(EventObject event, List<? extends ActEventListener> listeners) {
+        if (listeners.isEmpty() || !isDurable(event.getClass())) {
+            return -1;
+        }
+        EventJournal journal = journal();
+        if (null == journal) {
+            return -1;
+        }
+        List<String> ids = new ArrayList<>(listeners.size());
+        for (ActEventListener l : listeners) {
+            String id = journalId(l);
+            if (null != id) {
+                ids.add(id);
+            } else if (unjournaledListeners.add(l)) {
+                LOGGER.warn("listener %s has no stable id, durable event %s will be delivered to it without journal", l, event.getClass().getName());
+            }
+        }
+        return ids.isEmpty() ? -1 : journal.append(event, ids);
+    }
+
+    // a failed or dropped delivery is marked as delivered as well, otherwise it
+    // blocks the checkpoint and get replayed on every restart
+    private Runnable durableDelivery(final EventJournal journal, final long seq, final EventObject event, final ActEventListener l) {
+        final String id = journalId(l);
+        return new EventDeliveryExecutor.DroppableDelivery() {
+            @Override
+            public void run() {
+                try {
+                    callOn(event, l);
+                } finally {
+                    journal.delivered(id, seq);
+                }
+            }
+
+            @Override
+            public void dropped() {
+                journal.delivered(id, seq);
+            }
+        };
+    }
+
+    private boolean isDurable(Class<?> eventType) {
+        Boolean b = durableEventTypes.get(eventType);
+        if (null == b) {
+            b = eventType.isAnnotationPresent(DurableEvent.class);
+            durableEventTypes.put(eventType, b);
+        }
+        return b;
+    }
+
+    private EventJournal journal() {
+        if (null == journal) {
+            synchronized (this) {
+                if (null == journal) {
+                    EventJournal newJournal = new EventJournal(journalDir(), app().config().eventJournalSegmentSize(), app().classLoader());
+                    try {
+                        newJournal.open();
+                    } catch (RuntimeException e) {
+                        LOGGER.warn(e, "error opening event journal, durable events will not be journaled");
+                        return null;
+                    }
+                    journal = newJournal;
+                }
+            }
+        }
+        return journal;
+    }
+
+    private File journalDir() {
+        return new File(app().tmpDir(), "event-journal");
+    }
+
+    private void loadJournalReplayListener() {
+        bind(SysEventId.POST_START, new SysEventListenerBase("event-journal-replay") {
+            @Override
+            public void on(EventObject event) {
+                replayJournal();
+            }
+        });
+    }
+
+    /*
+     * Deliver durable events that were not delivered before last shutdown
+     */
+    private void replayJournal() {
+        if (!journalDir().exists()) {
+            return;
+        }
+        final EventJournal journal = journal();
+        if (null == journal) {
+            return;
+        }
+        final EventDeliveryExecutor executor = deliveryExecutor();
+        journal.replay(new EventJournal.Visitor() {
+            @Override
+            public void visit(long seq, EventObject event) {
+                Class<? extends EventObject> eventType = ActEvent.typeOf(event);
+                replay(journal, executor, seq, event, asyncActEventListeners.get(eventType));
+                replay(journal, executor, seq, event, actEventListeners.get(eventType));
+            }
+        });
+    }
+
+    private void replay(EventJournal journal, EventDeliveryExecutor executor, long seq, EventObject event, List<ActEventListener> listeners) {
+        if (null == listeners) {
+            return;
+        }
+        for (ActEventListener l : listeners) {
+            String id = journalId(l);
+            if (null == id) {
+                continue;
+            }
+            long checkpoint = journal.checkpoint(id);
+            // listener never subscribed to the event or the event has been delivered
+            if (checkpoint < 0 || checkpoint >= seq) {
+                continue;
+            }
+            journal.replaying(id, seq);
+            executor.deliver(l, durableDelivery(journal, seq, event, l));
+        }
+    }
+
+    /*
+     * Listener ID in journal must be stable across app restart.
+     * Returns `null` if the listener does not have a stable ID
+     */
+    private static String journalId(ActEventListener l) {
+        if (l instanceof SimpleEventListenerAdaptor) {
+            SimpleEventListener delegate = ((SimpleEventListenerAdaptor) l).delegate;
+            return isStable(delegate) ? delegate.toString() : null;
+        }
+        if (l instanceof ActEventListenerBase && !((ActEventListenerBase) l).idSpecified()) {
+            return null;
+        }
+        return l.id();
+    }
+
+    // ReflectedSimpleEventListener is identified by the handler method
+    private static boolean isStable(SimpleEventListener listener) {
+        if (listener instanceof BatchedEventListener) {
+            return isStable(((BatchedEventListener) listener).delegate());
+        }
+        return listener instanceof ReflectedSimpleEventListener;
+    }
+
     private SysEvent lookUpSysEvent(SysEventId id) {
         return sysEventLookup[id.ordinal()];
     }
@@ -1449,18 +1650,53 @@ public class EventBus extends AppServiceBase<EventBus> {
         listeners.clear();
     }
 
+    private static boolean hasActEventListener(Map<Class<? extends EventObject>, List<ActEventListener>> listeners, Class<? extends EventObject> c) {
+        List<ActEventListener> list = listeners.get(c);
+        return null != list && !list.isEmpty();
+    }
+
     private boolean hasAdhocEventListenerFor(Enum event) {
-        return enumsWithAdhocListeners.contains(event) || classesWithAdhocListeners.contains(event.getDeclaringClass());
+        Map<Object, Key[]> table = adhocDispatchTable;
+        return table.containsKey(event) || table.containsKey(event.getDeclaringClass());
     }
 
     private boolean hasAdhocEventListenerFor(String event) {
-        return stringsWithAdhocListeners.contains(event);
+        return adhocDispatchTable.containsKey(event);
     }
 
     private boolean hasAdhocEventListenerFor(EventObject event) {
-        return classesWithAdhocListeners.contains(event.getClass());
+        return adhocDispatchTable.containsKey(event.getClass());
     }
 
+    // check listeners on this bus and the once bus without creating event context
+    private boolean hasListenerFor(Enum event) {
+        return hasAdhocEventListenerFor(event) || (null != onceBus && onceBus.hasListenerFor(event));
+    }
+
+    private boolean hasListenerFor(String event) {
+        return hasAdhocEventListenerFor(event) || (null != onceBus && onceBus.hasListenerFor(event));
+    }
+
+    private boolean hasListenerFor(EventObject event) {
+        return eventsWithActListeners.contains(ActEvent.typeOf(event))
+                || hasAdhocEventListenerFor(event)
+                || (null != onceBus && onceBus.hasListenerFor(event));
+    }
+
+
+    // binds a SimpleEventListener accepting only the event object as an ActEventListener
+    private static class SimpleEventListenerAdaptor extends ActEventListenerBase {
+        private final SimpleEventListener delegate;
+
+        SimpleEventListenerAdaptor(SimpleEventListener delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void on(EventObject event) {
+            delegate.invoke(event);
+        }
+    }
 
     public static boolean isAsync(AnnotatedElement c) {
         Annotation[] aa = c.getAnnotations();
@@ -0,0 +1,364 @@
+package act.event;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.app.AppThreadFactory;
+import act.job.JobContext;
+import act.util.ActContext;
+import act.util.DestroyableBase;
+import act.util.SaturationPolicy;
+import org.osgl.util.E;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deliver events to async listeners.
+ *
+ * Deliveries are not registered as {@link act.job.Job jobs} and do not
+ * share the thread pool with scheduled jobs. Each listener has its own
+ * lane, and deliveries to the same listener are executed one after another
+ * in the order they are emitted.
+ *
+ * The number of pending deliveries is bounded by the queue size. When
+ * the bound is reached the {@link SaturationPolicy} decides what to do
+ * with the new delivery:
+ *
+ * * `CALLER_RUNS` - run the delivery in the thread that emits the event. Note
+ *   the delivery might be executed before the earlier deliveries to the same
+ *   listener that are still pending
+ * * `DISCARD` - drop the new delivery
+ * * `DISCARD_OLDEST` - drop the oldest pending delivery to the same listener. If
+ *   there is no pending delivery to that listener, drop the new one
+ * * `BLOCK` - block the emitting thread until a delivery finished or the block
+ *   timeout reached, in which case the new delivery is dropped
+ *
+ * `ABORT` is not supported.
+ */
+public class EventDeliveryExecutor extends DestroyableBase {
+
+    /**
+     * A delivery that needs to be notified when it is dropped by the
+     * {@link SaturationPolicy}.
+     */
+    public interface DroppableDelivery extends Runnable {
+        /**
+         * Called when the delivery is dropped and will never run
+         */
+        void dropped();
+    }
+
+    // max number of deliveries to run in one lane before yield the thread to other lanes
+    private static final int LANE_BATCH = 64;
+
+    private final ThreadPoolExecutor executor;
+    private final Semaphore permits;
+    private final int capacity;
+    private final SaturationPolicy policy;
+    private final long blockTimeout;
+    private final ConcurrentMap<Object, Lane> lanes = new ConcurrentHashMap<>();
+    // fires delayed deliveries, initialized on first use
+    private volatile ScheduledExecutorService timer;
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+
+    /**
+     * Construct an event delivery executor
+     * @param poolSize the number of delivery threads
+     * @param queueSize the maximum number of pending deliveries
+     * @param policy the saturation policy
+     * @param blockTimeout the block timeout in milliseconds, effective only for {@link SaturationPolicy#BLOCK}
+     */
+    public EventDeliveryExecutor(int poolSize, int queueSize, SaturationPolicy policy, long blockTimeout) {
+        E.illegalArgumentIf(SaturationPolicy.ABORT == policy, "saturation policy not supported for event delivery: %s", policy);
+        this.capacity = queueSize;
+        this.permits = new Semaphore(queueSize);
+        this.policy = policy;
+        this.blockTimeout = blockTimeout;
+        // lanes are bounded by listeners, thus the work queue needs not to be bounded
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new AppThreadFactory("event-delivery", true));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    protected void releaseResources() {
+        if (null != timer) {
+            timer.shutdownNow();
+        }
+        executor.shutdown();
+        lanes.clear();
+    }
+
+    /**
+     * Deliver an event to a listener asynchronously.
+     *
+     * If the delivery is dropped because the queue is full and it is a
+     * {@link DroppableDelivery} then it is notified with {@link DroppableDelivery#dropped()}.
+     *
+     * @param listener the listener, used to keep deliveries to the same listener in order
+     * @param delivery the logic that calls the listener
+     */
+    public void deliver(Object listener, Runnable delivery) {
+        if (isDestroyed()) {
+            return;
+        }
+        Lane lane = lane(listener);
+        if (!permits.tryAcquire()) {
+            switch (policy) {
+                case CALLER_RUNS:
+                    callerRuns.incrementAndGet();
+                    run(delivery);
+                    return;
+                case DISCARD:
+                    drop(listener, delivery);
+                    return;
+                case DISCARD_OLDEST:
+                    Delivery oldest = lane.pollOldest();
+                    if (null == oldest) {
+                        drop(listener, delivery);
+                        return;
+                    }
+                    // take over the permit of the dropped delivery
+                    drop(listener, oldest.task);
+                    break;
+                case BLOCK:
+                    try {
+                        if (!permits.tryAcquire(blockTimeout, TimeUnit.MILLISECONDS)) {
+                            drop(listener, delivery);
+                            return;
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        drop(listener, delivery);
+                        return;
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown saturation policy: " + policy);
+            }
+        }
+        lane.offer(delivery(delivery, true));
+    }
+
+    /**
+     * Deliver to a listener in its lane, bypassing the queue bound and the
+     * {@link SaturationPolicy}: the delivery is never dropped nor run in
+     * the caller thread.
+     *
+     * This is for deliveries the caller keeps bounded by itself, e.g.
+     * batch flushes of a {@link BatchedEventListener}.
+     *
+     * @param listener the listener
+     * @param delivery the logic that calls the listener
+     */
+    public void deliverInLane(Object listener, Runnable delivery) {
+        if (isDestroyed()) {
+            return;
+        }
+        lane(listener).offer(delivery(delivery, false));
+    }
+
+    /**
+     * Deliver to a listener after a delay. The delivery is put into the
+     * listener's lane when the delay expires.
+     *
+     * @param listener the listener
+     * @param delivery the logic that calls the listener
+     * @param delay the delay in milliseconds
+     */
+    public void deliver(final Object listener, final Runnable delivery, long delay) {
+        schedule(new Runnable() {
+            @Override
+            public void run() {
+                deliver(listener, delivery);
+            }
+        }, delay);
+    }
+
+    /**
+     * Deliver to a listener in its lane after a delay.
+     *
+     * @param listener the listener
+     * @param delivery the logic that calls the listener
+     * @param delay the delay in milliseconds
+     * @see #deliverInLane(Object, Runnable)
+     */
+    public void deliverInLane(final Object listener, final Runnable delivery, long delay) {
+        schedule(new Runnable() {
+            @Override
+            public void run() {
+                deliverInLane(listener, delivery);
+            }
+        }, delay);
+    }
+
+    public long deliveredCount() {
+        return delivered.get();
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    public long callerRunsCount() {
+        return callerRuns.get();
+    }
+
+    public int pendingCount() {
+        return capacity - permits.availablePermits();
+    }
+
+    private ScheduledExecutorService timer() {
+        if (null == timer) {
+            synchronized (this) {
+                if (null == timer) {
+                    timer = Executors.newSingleThreadScheduledExecutor(new AppThreadFactory("event-delivery-timer", true));
+                }
+            }
+        }
+        return timer;
+    }
+
+    private void schedule(Runnable command, long delay) {
+        if (isDestroyed()) {
+            return;
+        }
+        try {
+            timer().schedule(command, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // executor destroyed
+        }
+    }
+
+    private static Delivery delivery(Runnable task, boolean bounded) {
+        // copy the context only when there is something to copy
+        boolean hasContext = JobContext.initialized() || null != ActContext.Base.currentContext();
+        return new Delivery(task, hasContext ? JobContext.copy() : null, bounded);
+    }
+
+    private Lane lane(Object listener) {
+        Lane lane = lanes.get(listener);
+        if (null == lane) {
+            Lane newLane = new Lane();
+            lane = lanes.putIfAbsent(listener, newLane);
+            if (null == lane) {
+                lane = newLane;
+            }
+        }
+        return lane;
+    }
+
+    private void drop(Object listener, Runnable delivery) {
+        if (0 == (dropped.incrementAndGet() & 0x3FF) || isDebugEnabled()) {
+            warn("event delivery queue is full, delivery to %s dropped. Total dropped: %s", listener, dropped.get());
+        }
+        if (delivery instanceof DroppableDelivery) {
+            try {
+                ((DroppableDelivery) delivery).dropped();
+            } catch (Exception e) {
+                warn(e, "error handling dropped delivery");
+            }
+        }
+    }
+
+    private void run(Runnable delivery) {
+        try {
+            delivery.run();
+            delivered.incrementAndGet();
+        } catch (Exception e) {
+            warn(e, "error delivering event");
+        }
+    }
+
+    private static class Delivery {
+        final Runnable task;
+        final JobContext context;
+        // bounded delivery holds a permit
+        final boolean bounded;
+
+        Delivery(Runnable task, JobContext context, boolean bounded) {
+            this.task = task;
+            this.context = context;
+            this.bounded = bounded;
+        }
+    }
+
+    private class Lane implements Runnable {
+        final ConcurrentLinkedQueue<Delivery> queue = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean scheduled = new AtomicBoolean();
+
+        void offer(Delivery delivery) {
+            queue.offer(delivery);
+            schedule();
+        }
+
+        // remove the oldest delivery that holds a permit
+        Delivery pollOldest() {
+            for (Delivery delivery : queue) {
+                if (delivery.bounded && queue.remove(delivery)) {
+                    return delivery;
+                }
+            }
+            return null;
+        }
+
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // executor shutdown
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < LANE_BATCH; ++i) {
+                Delivery delivery = queue.poll();
+                if (null == delivery) {
+                    break;
+                }
+                if (null != delivery.context) {
+                    JobContext.init(delivery.context);
+                }
+                try {
+                    EventDeliveryExecutor.this.run(delivery.task);
+                } finally {
+                    JobContext.clear();
+                    if (delivery.bounded) {
+                        permits.release();
+                    }
+                }
+            }
+            scheduled.set(false);
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+}
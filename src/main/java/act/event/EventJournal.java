@@ -0,0 +1,497 @@
+package act.event;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.app.AppThreadFactory;
+import act.util.ClassLoaderAwareObjectInputStream;
+import act.util.LogSupport;
+import act.util.SegmentFiles;
+import org.osgl.util.E;
+import org.osgl.util.IO;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A local journal of {@link DurableEvent durable events}.
+ *
+ * Events are appended to fixed size memory mapped segment files before
+ * they are delivered to async listeners. Each record is laid out as
+ *
+ * ```
+ * [int length][long seq][serialized event]
+ * ```
+ *
+ * The length is written last so that a record torn by a crash reads
+ * as the end of the segment.
+ *
+ * Events are encoded with Java serialization. Durable event types are defined
+ * by the app and the journal has no schema for them, thus a generic codec is
+ * used. An event type can make its record compact by implementing
+ * {@link java.io.Externalizable}.
+ *
+ * The journal tracks a delivery checkpoint for each listener. The checkpoint
+ * only moves over a contiguous prefix of the events journaled for the listener,
+ * thus an event delivered out of order is never skipped. An event that failed
+ * or has been dropped by the delivery executor is marked as delivered, so it is
+ * not replayed. Segments with all records delivered to all listeners are deleted.
+ *
+ * Segments are forced to disk by a background thread in a fixed interval,
+ * so that appends happened in the same interval share one `fsync` (group
+ * commit). Checkpoints are persisted less frequently, thus an event might
+ * be delivered more than once after a crash.
+ */
+class EventJournal extends LogSupport {
+
+    interface Visitor {
+        void visit(long seq, EventObject event);
+    }
+
+    private static final String CHECKPOINT_FILE = "checkpoints";
+    private static final int HEADER_SIZE = 4 + 8;
+    private static final long FORCE_INTERVAL = 20L;
+    // persist checkpoints and clean up segments every this number of force intervals
+    private static final int CHECKPOINT_TICKS = 50;
+
+    private static final class Segment {
+        final long id;
+        final File file;
+        final MappedByteBuffer buffer;
+        int writePos;
+        long lastSeq = -1;
+        volatile boolean dirty;
+
+        Segment(long id, File file, MappedByteBuffer buffer) {
+            this.id = id;
+            this.file = file;
+            this.buffer = buffer;
+        }
+    }
+
+    /*
+     * Delivery progress of a listener
+     */
+    private static final class Progress {
+        private long checkpoint;
+        // the highest sequence journaled for the listener
+        private long highest;
+        // sequences journaled for the listener but not delivered yet
+        private final TreeSet<Long> outstanding = new TreeSet<>();
+        // checkpoint loaded from last run shall not move until undelivered events are registered on replay
+        private boolean held;
+
+        Progress(long checkpoint, boolean held) {
+            this.checkpoint = checkpoint;
+            this.highest = checkpoint;
+            this.held = held;
+        }
+
+        synchronized long checkpoint() {
+            return checkpoint;
+        }
+
+        synchronized void add(long seq) {
+            outstanding.add(seq);
+            if (seq > highest) {
+                highest = seq;
+            }
+        }
+
+        /**
+         * @return `true` if the checkpoint moved
+         */
+        synchronized boolean delivered(long seq) {
+            return outstanding.remove(seq) && advance();
+        }
+
+        synchronized boolean release() {
+            held = false;
+            return advance();
+        }
+
+        private boolean advance() {
+            if (held) {
+                return false;
+            }
+            long next = outstanding.isEmpty() ? highest : outstanding.first() - 1;
+            if (next > checkpoint) {
+                checkpoint = next;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private final File dir;
+    private final int segmentSize;
+    private final ClassLoader classLoader;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final ConcurrentMap<String, Progress> checkpoints = new ConcurrentHashMap<>();
+    private final Set<Class<?>> sourceLostWarned = Collections.newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>());
+    private volatile boolean checkpointsDirty;
+    private Segment active;
+    private long nextSeq = 1;
+    private ScheduledExecutorService flusher;
+    private int ticks;
+
+    EventJournal(File dir, int segmentSize, ClassLoader classLoader) {
+        E.illegalArgumentIf(segmentSize < 1024, "segment size too small: %s", segmentSize);
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.classLoader = classLoader;
+    }
+
+    synchronized void open() {
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw E.ioException("Cannot create event journal dir: " + dir.getAbsolutePath());
+        }
+        for (File file : SegmentFiles.list(dir)) {
+            Segment segment = map(SegmentFiles.id(file), file);
+            scan(segment);
+            segments.addLast(segment);
+            if (segment.lastSeq >= nextSeq) {
+                nextSeq = segment.lastSeq + 1;
+            }
+        }
+        active = segments.peekLast();
+        if (null == active) {
+            roll();
+        }
+        loadCheckpoints();
+        flusher = Executors.newSingleThreadScheduledExecutor(new AppThreadFactory("event-journal", true));
+        flusher.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    flush(++ticks % CHECKPOINT_TICKS == 0);
+                } catch (Exception e) {
+                    warn(e, "error flushing event journal");
+                }
+            }
+        }, FORCE_INTERVAL, FORCE_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    void close() {
+        ScheduledExecutorService flusher;
+        synchronized (this) {
+            flusher = this.flusher;
+            this.flusher = null;
+        }
+        if (null != flusher) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            if (null != active) {
+                flush(true);
+                segments.clear();
+                active = null;
+            }
+        }
+    }
+
+    /**
+     * Append an event to the journal.
+     *
+     * @param event the event
+     * @param listenerIds IDs of listeners the event will be delivered to
+     * @return the sequence of the event or `-1` if the event cannot be journaled
+     */
+    long append(EventObject event, Collection<String> listenerIds) {
+        byte[] bytes = serialize(event);
+        if (null == bytes) {
+            return -1;
+        }
+        int recordLen = HEADER_SIZE + bytes.length;
+        if (recordLen + 4 > segmentSize) {
+            warn("event too large to be journaled: %s", event);
+            return -1;
+        }
+        long seq;
+        synchronized (this) {
+            if (null == active) {
+                return -1;
+            }
+            seq = nextSeq++;
+            for (String id : listenerIds) {
+                Progress progress = checkpoints.get(id);
+                if (null == progress) {
+                    progress = new Progress(seq - 1, false);
+                    checkpoints.put(id, progress);
+                    checkpointsDirty = true;
+                }
+                progress.add(seq);
+            }
+            if (active.writePos + recordLen + 4 > segmentSize) {
+                roll();
+            }
+            Segment segment = active;
+            int pos = segment.writePos;
+            ByteBuffer buffer = segment.buffer.duplicate();
+            buffer.position(pos + 4);
+            buffer.putLong(seq);
+            buffer.put(bytes);
+            buffer.putInt(pos, bytes.length);
+            segment.writePos = pos + recordLen;
+            segment.lastSeq = seq;
+            segment.dirty = true;
+        }
+        return seq;
+    }
+
+    /**
+     * Mark an event has been delivered to a listener.
+     */
+    void delivered(String listenerId, long seq) {
+        Progress progress = checkpoints.get(listenerId);
+        if (null != progress && progress.delivered(seq)) {
+            checkpointsDirty = true;
+        }
+    }
+
+    /**
+     * Register an event replayed to a listener, so that the checkpoint of the
+     * listener does not move over it until it is delivered.
+     */
+    void replaying(String listenerId, long seq) {
+        Progress progress = checkpoints.get(listenerId);
+        if (null != progress) {
+            progress.add(seq);
+        }
+    }
+
+    /**
+     * Returns the checkpoint of a listener.
+     * @return the sequence of the event, up to which all events has been delivered
+     *         to the listener, or `-1` if the listener never subscribed to durable events
+     */
+    long checkpoint(String listenerId) {
+        Progress progress = checkpoints.get(listenerId);
+        return null == progress ? -1 : progress.checkpoint();
+    }
+
+    /**
+     * Visit all events that has not been delivered to all listeners.
+     *
+     * The visitor shall call {@link #replaying(String, long)} for each listener
+     * the event is delivered to. Checkpoints loaded from last run move only after
+     * the replay.
+     */
+    void replay(Visitor visitor) {
+        try {
+            doReplay(visitor);
+        } finally {
+            for (Progress progress : checkpoints.values()) {
+                if (progress.release()) {
+                    checkpointsDirty = true;
+                }
+            }
+        }
+    }
+
+    private void doReplay(Visitor visitor) {
+        List<Segment> list;
+        synchronized (this) {
+            list = new ArrayList<>(segments);
+        }
+        long min = minCheckpoint();
+        for (Segment segment : list) {
+            if (segment.lastSeq <= min) {
+                continue;
+            }
+            ByteBuffer buffer = segment.buffer.duplicate();
+            int pos = 0;
+            int end = segment.writePos;
+            while (pos + HEADER_SIZE <= end) {
+                int len = buffer.getInt(pos);
+                if (len <= 0) {
+                    break;
+                }
+                long seq = buffer.getLong(pos + 4);
+                if (seq > min) {
+                    byte[] bytes = new byte[len];
+                    buffer.position(pos + HEADER_SIZE);
+                    buffer.get(bytes);
+                    EventObject event = deserialize(bytes);
+                    if (null != event) {
+                        visitor.visit(seq, event);
+                    }
+                }
+                pos += HEADER_SIZE + len;
+            }
+        }
+    }
+
+    synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    // force dirty segments and optionally persist checkpoints and clean up consumed segments
+    private synchronized void flush(boolean checkpoint) {
+        for (Segment segment : segments) {
+            if (segment.dirty) {
+                segment.dirty = false;
+                segment.buffer.force();
+            }
+        }
+        if (checkpoint && checkpointsDirty) {
+            checkpointsDirty = false;
+            saveCheckpoints();
+            cleanUp();
+        }
+    }
+
+    // must be called with lock held
+    private void cleanUp() {
+        long min = minCheckpoint();
+        while (segments.size() > 1) {
+            Segment oldest = segments.peekFirst();
+            if (oldest.lastSeq > min) {
+                break;
+            }
+            segments.pollFirst();
+            if (!oldest.file.delete()) {
+                oldest.file.deleteOnExit();
+            }
+        }
+    }
+
+    private long minCheckpoint() {
+        long min = Long.MAX_VALUE;
+        for (Progress progress : checkpoints.values()) {
+            min = Math.min(min, progress.checkpoint());
+        }
+        return Long.MAX_VALUE == min ? nextSeqSnapshot() - 1 : min;
+    }
+
+    private synchronized long nextSeqSnapshot() {
+        return nextSeq;
+    }
+
+    // must be called with lock held
+    private void roll() {
+        long id = null == active ? 0L : active.id + 1;
+        Segment segment = map(id, SegmentFiles.file(dir, id));
+        segments.addLast(segment);
+        active = segment;
+    }
+
+    private void scan(Segment segment) {
+        ByteBuffer buffer = segment.buffer.duplicate();
+        int pos = 0;
+        while (pos + HEADER_SIZE <= segmentSize) {
+            int len = buffer.getInt(pos);
+            if (len <= 0 || pos + HEADER_SIZE + len > segmentSize) {
+                break;
+            }
+            segment.lastSeq = buffer.getLong(pos + 4);
+            pos += HEADER_SIZE + len;
+        }
+        segment.writePos = pos;
+    }
+
+    private void loadCheckpoints() {
+        File file = new File(dir, CHECKPOINT_FILE);
+        if (!file.exists()) {
+            return;
+        }
+        Properties properties = new Properties();
+        InputStream is = null;
+        try {
+            is = new FileInputStream(file);
+            properties.load(is);
+        } catch (IOException e) {
+            warn(e, "error loading event journal checkpoints");
+        } finally {
+            IO.close(is);
+        }
+        for (String id : properties.stringPropertyNames()) {
+            checkpoints.put(id, new Progress(Long.parseLong(properties.getProperty(id)), true));
+        }
+    }
+
+    private void saveCheckpoints() {
+        Properties properties = new Properties();
+        for (Map.Entry<String, Progress> entry : checkpoints.entrySet()) {
+            properties.setProperty(entry.getKey(), String.valueOf(entry.getValue().checkpoint()));
+        }
+        File tmp = new File(dir, CHECKPOINT_FILE + ".tmp");
+        File file = new File(dir, CHECKPOINT_FILE);
+        OutputStream os = null;
+        try {
+            os = new FileOutputStream(tmp);
+            properties.store(os, null);
+            os.close();
+            os = null;
+            if (file.exists() && !file.delete()) {
+                warn("Cannot delete event journal checkpoints: %s", file.getAbsolutePath());
+                return;
+            }
+            if (!tmp.renameTo(file)) {
+                warn("Cannot rename event journal checkpoints: %s", tmp.getAbsolutePath());
+            }
+        } catch (IOException e) {
+            warn(e, "error saving event journal checkpoints");
+        } finally {
+            IO.close(os);
+        }
+    }
+
+    private byte[] serialize(EventObject event) {
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream(256);
+            ObjectOutputStream oos = new ObjectOutputStream(baos);
+            // the source of ActEvent is serialized by ActEvent itself
+            if (!(event instanceof ActEvent) && null != event.getSource() && sourceLostWarned.add(event.getClass())) {
+                warn("source of durable event type %s will not be restored from journal, extend ActEvent instead", event.getClass().getName());
+            }
+            oos.writeObject(event);
+            oos.close();
+            return baos.toByteArray();
+        } catch (IOException e) {
+            warn(e, "error serializing durable event: %s", event);
+            return null;
+        }
+    }
+
+    private EventObject deserialize(byte[] bytes) {
+        try {
+            ObjectInputStream ois = new ClassLoaderAwareObjectInputStream(new ByteArrayInputStream(bytes), classLoader);
+            return (EventObject) ois.readObject();
+        } catch (Exception e) {
+            // class changed or removed after restart
+            warn(e, "error deserializing durable event");
+            return null;
+        }
+    }
+
+    private Segment map(long id, File file) {
+        return new Segment(id, file, SegmentFiles.map(file, segmentSize));
+    }
+
+}
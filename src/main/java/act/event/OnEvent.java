@@ -53,4 +53,32 @@ public @interface OnEvent {
      */
     boolean beforeAppStart() default false;
 
+    /**
+     * When specified with a positive number, events are passed to the handler
+     * in batches of at most this number of events. The handler method shall
+     * accept a `List` of the event type as the first argument, e.g.
+     *
+     * ```java
+     * {@literal @}OnEvent(batchSize = 500, maxDelay = "200ms")
+     * public void audit(List<UserActivityEvent> events) {...}
+     * ```
+     *
+     * Batches are always delivered asynchronously.
+     *
+     * @return the batch size or `0` if events shall be handled one by one
+     * @see BatchedEventListener
+     */
+    int batchSize() default 0;
+
+    /**
+     * Specifies the max time an event waits in the batch before it is
+     * passed to the handler, e.g. `200ms`, `1s`. Effective only when
+     * {@link #batchSize()} is positive.
+     *
+     * Default value: `1s`
+     *
+     * @return the max delay of a batch
+     */
+    String maxDelay() default "";
+
 }
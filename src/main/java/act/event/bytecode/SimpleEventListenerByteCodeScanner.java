@@ -34,9 +34,12 @@ import act.util.ByteCodeVisitor;
 import org.osgl.$;
 import org.osgl.Osgl;
 import org.osgl.exception.NotAppliedException;
+import org.osgl.util.E;
 import org.osgl.util.S;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -54,6 +57,11 @@ public class SimpleEventListenerByteCodeScanner extends AppByteCodeScannerBase {
         return true;
     }
 
+    @Override
+    protected boolean skipPlainClass(String className) {
+        return true;
+    }
+
     @Override
     public ByteCodeVisitor byteCodeVisitor() {
         return new _ByteCodeVisitor();
@@ -71,7 +79,11 @@ public class SimpleEventListenerByteCodeScanner extends AppByteCodeScannerBase {
                     public void run() {
                         for (final Object event : metaInfo.events()) {
                             final boolean isStatic = metaInfo.isStatic();
-                            eventBus.bind(event, new ReflectedSimpleEventListener(metaInfo.className(), metaInfo.methodName(), metaInfo.paramTypes(), isStatic));
+                            SimpleEventListener listener = new ReflectedSimpleEventListener(metaInfo.className(), metaInfo.methodName(), metaInfo.paramTypes(), isStatic);
+                            if (metaInfo.batchSize() > 0) {
+                                listener = new BatchedEventListener((Class<?>) event, listener, metaInfo.batchSize(), metaInfo.maxDelay(), eventBus);
+                            }
+                            eventBus.bind(event, listener);
                         }
                     }
                 });
@@ -111,6 +123,8 @@ public class SimpleEventListenerByteCodeScanner extends AppByteCodeScannerBase {
                 private boolean isOnEvent = false;
                 private boolean beforeAppStart = false;
                 private boolean isAsync;
+                private int batchSize;
+                private String maxDelay;
 
                 private String asyncMethodName = null;
 
@@ -182,6 +196,10 @@ public class SimpleEventListenerByteCodeScanner extends AppByteCodeScannerBase {
                                     isAsync = Boolean.parseBoolean(S.string(value));
                                 } else if ("beforeAppStart".equals(name)) {
                                     beforeAppStart = Boolean.parseBoolean(S.string(value));
+                                } else if ("batchSize".equals(name)) {
+                                    batchSize = (Integer) value;
+                                } else if ("maxDelay".equals(name)) {
+                                    maxDelay = S.string(value);
                                 }
                                 super.visit(name, value);
                             }
@@ -220,6 +238,15 @@ public class SimpleEventListenerByteCodeScanner extends AppByteCodeScannerBase {
                     if (isOnEvent) {
                         if (paramTypes.isEmpty()) {
                             logger.warn("@OnEvent annotation shall be put on a method with exactly one event object (optionally with other injectable arguments");
+                        } else if (batchSize > 0) {
+                            // the event type is the type parameter of the List argument
+                            final String hostClassName = className;
+                            delayedEvents.add(new $.Func0() {
+                                @Override
+                                public Object apply() throws NotAppliedException, Osgl.Break {
+                                    return batchEventType(hostClassName, methodName, paramTypes);
+                                }
+                            });
                         } else {
                             String type = paramTypes.get(0);
                             events.add($.classForName(type, app().classLoader()));
@@ -227,7 +254,7 @@ public class SimpleEventListenerByteCodeScanner extends AppByteCodeScannerBase {
                     }
                     if (!events.isEmpty() || !delayedEvents.isEmpty()) {
                         SimpleEventListenerMetaInfo metaInfo = new SimpleEventListenerMetaInfo(
-                                events, delayedEvents, className, methodName, asyncMethodName, paramTypes, isAsync, isStatic, beforeAppStart, app());
+                                events, delayedEvents, className, methodName, asyncMethodName, paramTypes, isAsync, isStatic, beforeAppStart, batchSize, maxDelay, app());
                         metaInfoList.add(metaInfo);
                     }
                     super.visitEnd();
@@ -235,4 +262,22 @@ public class SimpleEventListenerByteCodeScanner extends AppByteCodeScannerBase {
             };
         }
     }
+
+    private Class<?> batchEventType(String className, String methodName, List<String> paramTypes) {
+        ClassLoader cl = app().classLoader();
+        Class<?> host = $.classForName(className, cl);
+        Class[] paramClasses = new Class[paramTypes.size()];
+        for (int i = 0; i < paramClasses.length; ++i) {
+            paramClasses[i] = $.classForName(paramTypes.get(i), cl);
+        }
+        Method method = $.getMethod(host, methodName, paramClasses);
+        java.lang.reflect.Type type = method.getGenericParameterTypes()[0];
+        if (List.class == paramClasses[0] && type instanceof ParameterizedType) {
+            java.lang.reflect.Type eventType = ((ParameterizedType) type).getActualTypeArguments()[0];
+            if (eventType instanceof Class) {
+                return (Class<?>) eventType;
+            }
+        }
+        throw E.unexpected("Batched event handler shall accept a List of event type as the first argument: %s.%s", className, methodName);
+    }
 }
@@ -45,6 +45,8 @@ public class SimpleEventListenerMetaInfo {
     private boolean async;
     private boolean isStatic;
     private boolean beforeAppStart;
+    private int batchSize;
+    private String maxDelay;
 
     public SimpleEventListenerMetaInfo(
             final List<Object> events,
@@ -57,6 +59,23 @@ public class SimpleEventListenerMetaInfo {
             boolean isStatic,
             boolean beforeAppStart,
             App app
+    ) {
+        this(events, delayedEvents, className, methodName, asyncMethodName, paramTypes, async, isStatic, beforeAppStart, 0, null, app);
+    }
+
+    public SimpleEventListenerMetaInfo(
+            final List<Object> events,
+            final List<$.Func0> delayedEvents,
+            final String className,
+            final String methodName,
+            final String asyncMethodName,
+            final List<String> paramTypes,
+            boolean async,
+            boolean isStatic,
+            boolean beforeAppStart,
+            int batchSize,
+            String maxDelay,
+            App app
     ) {
         int eventCnt = null == events ? 0 : events.size();
         int delayedEventCnt = null == delayedEvents ? 0 : delayedEvents.size();
@@ -71,6 +90,8 @@ public class SimpleEventListenerMetaInfo {
         this.async = async;
         this.isStatic = isStatic;
         this.beforeAppStart = beforeAppStart;
+        this.batchSize = batchSize;
+        this.maxDelay = maxDelay;
         SysEventId hookOn = beforeAppStart ? SysEventId.DEPENDENCY_INJECTOR_LOADED : SysEventId.DEPENDENCY_INJECTOR_PROVISIONED;
         app.jobManager().on(hookOn, new Runnable() {
             @Override
@@ -119,6 +140,14 @@ public class SimpleEventListenerMetaInfo {
         return beforeAppStart;
     }
 
+    public int batchSize() {
+        return batchSize;
+    }
+
+    public String maxDelay() {
+        return maxDelay;
+    }
+
     public static List<BeanSpec> convert(List<String> paramTypes, String className, String methodName, $.Var<Method> methodHolder) {
         int sz = paramTypes.size();
         App app = Act.app();
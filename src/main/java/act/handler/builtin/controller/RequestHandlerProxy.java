@@ -31,6 +31,7 @@ import act.controller.CacheSupportMetaInfo;
 import act.controller.ResponseCache;
 import act.controller.meta.*;
 import act.handler.RequestHandlerBase;
+import act.handler.builtin.controller.impl.ReflectedHandlerInvoker;
 import act.security.CORS;
 import act.security.CSRF;
 import act.util.AnnotatedClassFinder;
@@ -164,6 +165,17 @@ public final class RequestHandlerProxy extends RequestHandlerBase {
         return actionHandler;
     }
 
+    /**
+     * Prepare the action handler and interceptors ahead of the first request.
+     */
+    public void warmUp() {
+        ensureAgentsReady();
+        ActionHandlerInvoker invoker = actionHandler.invoker();
+        if (invoker instanceof ReflectedHandlerInvoker) {
+            ((ReflectedHandlerInvoker) invoker).warmUp();
+        }
+    }
+
     public NotFound notFoundOnMethod(String message) {
         return actionHandler.notFoundOnMethod(message);
     }
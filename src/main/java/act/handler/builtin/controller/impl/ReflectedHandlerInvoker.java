@@ -297,6 +297,20 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends De
         return method;
     }
 
+    /**
+     * Build the structures otherwise built on the first invocation: the JSON DTO
+     * class and the loaders of the controller instance and the method params.
+     */
+    public void warmUp() {
+        if (disabled) {
+            return;
+        }
+        if (fieldsAndParamsCount > 0) {
+            jsonDTOClassManager.get(controllerClass, method);
+        }
+        paramLoaderService.prepareLoaders(isStatic ? null : controllerClass, method);
+    }
+
     public interface ReflectedHandlerInvokerVisitor extends Visitor, $.Func2<Class<?>, Method, Void> {
     }
 
@@ -85,6 +85,11 @@ public class GenieFactoryFinder extends AppByteCodeScannerBase {
         return true;
     }
 
+    @Override
+    protected boolean skipPlainClass(String className) {
+        return true;
+    }
+
     static Set<String> factories() {
         return factories;
     }
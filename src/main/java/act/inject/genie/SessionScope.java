@@ -30,28 +30,48 @@ import org.osgl.http.H;
 import org.osgl.inject.BeanSpec;
 import org.osgl.inject.ScopeCache;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Session scope cache.
+ *
+ * Beans fetched from the session cache are memoized in the current
+ * {@link ActionContext} so that the session cache is read - and the TTL
+ * is refreshed - at most once per request for a given bean.
+ */
 public class SessionScope extends ScopeCacheSupport.Base implements ScopeCache.SessionScope, ScopeCacheSupport {
 
     public static final act.inject.genie.SessionScope INSTANCE = new act.inject.genie.SessionScope();
     private final int TTL;
 
+    // cache the key string for bean spec, `BeanSpec.toString()` is not cheap.
+    // Keys are weak so that specs of an app reloaded in dev mode are not held
+    private final Map<BeanSpec, String> specKeys = Collections.synchronizedMap(new WeakHashMap<BeanSpec, String>());
+
     public SessionScope() {
         TTL = (int) App.instance().config().sessionTtl();
     }
 
     @Override
     public <T> T get(BeanSpec target) {
-        return get(target.toString());
+        return get(specKey(target));
     }
 
     @Override
     public <T> T get(String key) {
         ActionContext actionContext = ActionContext.current();
         if (null != actionContext) {
+            T t = actionContext.__sessionScoped(key);
+            if (null != t) {
+                return t;
+            }
             H.Session session = actionContext.session();
-            T t = session.cached(key);
+            t = session.cached(key);
             if (null != t) {
                 session.cache(key, t, TTL);
+                actionContext.__sessionScoped(key, t);
             }
             return t;
         }
@@ -65,7 +85,7 @@ public class SessionScope extends ScopeCacheSupport.Base implements ScopeCache.S
 
     @Override
     public <T> void put(BeanSpec target, T t) {
-        put(target.toString(), t);
+        put(specKey(target), t);
     }
 
     @Override
@@ -73,6 +93,7 @@ public class SessionScope extends ScopeCacheSupport.Base implements ScopeCache.S
         ActionContext actionContext = ActionContext.current();
         if (null != actionContext) {
             actionContext.session().cache(key, t, TTL);
+            actionContext.__sessionScoped(key, t);
         }
         CliContext cliContext = CliContext.current();
         if (null != cliContext) {
@@ -87,6 +108,15 @@ public class SessionScope extends ScopeCacheSupport.Base implements ScopeCache.S
         if (null != sessionVariable) {
             return sessionVariable.value();
         }
-        return super.key(spec);
+        return spec.toString();
+    }
+
+    private String specKey(BeanSpec spec) {
+        String key = specKeys.get(spec);
+        if (null == key) {
+            key = spec.toString();
+            specKeys.put(spec, key);
+        }
+        return key;
     }
 }
@@ -111,7 +111,7 @@ public abstract class ParamValueLoaderService extends DestroyableBase {
     protected BinderManager binderManager;
     protected GenieInjector injector;
     ConcurrentMap<Method, ParamValueLoader[]> methodRegistry = new ConcurrentHashMap<>();
-    Map<Method, Boolean> methodValidationConstraintLookup = new HashMap();
+    Map<Method, Boolean> methodValidationConstraintLookup = new ConcurrentHashMap<>();
     ConcurrentMap<Class, Map<Field, ParamValueLoader>> fieldRegistry = new ConcurrentHashMap<>();
     ConcurrentMap<Class, ParamValueLoader> classRegistry = new ConcurrentHashMap<>();
     private ConcurrentMap<$.T2<Type, Annotation[]>, ParamValueLoader> paramRegistry = new ConcurrentHashMap<>();
@@ -142,6 +142,35 @@ public abstract class ParamValueLoaderService extends DestroyableBase {
     }
 
     public Object loadHostBean(Class beanClass, ActContext<?> ctx) {
+        return hostBeanLoader(beanClass).load(null, ctx, false);
+    }
+
+    /**
+     * Build the loaders of a host bean class and a method ahead of the first load.
+     *
+     * Param loaders of methods with annotation typed params are not built as they
+     * depend on the context.
+     *
+     * @param hostClass the host bean class, `null` for static method
+     * @param method the method
+     */
+    public void prepareLoaders(Class hostClass, Method method) {
+        if (null != hostClass) {
+            hostBeanLoader(hostClass);
+        }
+        for (Class<?> paramType : method.getParameterTypes()) {
+            if (paramType.isAnnotation()) {
+                return;
+            }
+        }
+        try {
+            methodParamLoadersOf(hostClass, method, null);
+        } finally {
+            PARAM_TREE.remove();
+        }
+    }
+
+    private ParamValueLoader hostBeanLoader(Class beanClass) {
         ParamValueLoader loader = classRegistry.get(beanClass);
         if (null == loader) {
             ParamValueLoader newLoader = findBeanLoader(beanClass);
@@ -150,21 +179,24 @@ public abstract class ParamValueLoaderService extends DestroyableBase {
                 loader = newLoader;
             }
         }
-        return loader.load(null, ctx, false);
+        return loader;
     }
 
     public ParamValueLoader[] methodParamLoaders(Object host, Method method, ActContext ctx) {
+        return methodParamLoadersOf(null == host ? null : host.getClass(), method, ctx);
+    }
+
+    private ParamValueLoader[] methodParamLoadersOf(Class hostClass, Method method, ActContext ctx) {
         ParamValueLoader[] loaders = methodRegistry.get(method);
         if (null == loaders) {
             $.Var<Boolean> boolBag = $.var(Boolean.FALSE);
-            Class hostClass = null == host ? null : host.getClass();
             ParamValueLoader[] newLoaders = findMethodParamLoaders(method, hostClass, ctx, boolBag);
             loaders = methodRegistry.putIfAbsent(method, newLoaders);
             if (null == loaders) {
                 loaders = newLoaders;
             }
             boolean hasValidationConstraint = boolBag.get();
-            if (hasValidationConstraint && null == host) {
+            if (hasValidationConstraint && null == hostClass) {
                 logger.error("Cannot validate static method: %s", method);
                 hasValidationConstraint = false;
             }
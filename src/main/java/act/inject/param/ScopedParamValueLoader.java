@@ -31,14 +31,17 @@ class ScopedParamValueLoader implements ParamValueLoader {
     private ScopeCacheSupport scopeCache;
 
     ScopedParamValueLoader(ParamValueLoader loader, BeanSpec beanSpec, ScopeCacheSupport scopeCache) {
+        this(loader, scopeCache.key(beanSpec), scopeCache);
+    }
+
+    ScopedParamValueLoader(ParamValueLoader loader, String key, ScopeCacheSupport scopeCache) {
         this.realLoader = loader;
         this.scopeCache = scopeCache;
-        this.key = scopeCache.key(beanSpec);
+        this.key = key;
     }
 
     @Override
     public Object load(Object bean, ActContext<?> context, boolean noDefaultValue) {
-        Object cached = scopeCache.get(key);
         boolean isSession = SessionScope.INSTANCE == scopeCache;
         if (isSession) {
             Object requestScoped = RequestScope.INSTANCE.get(key);
@@ -46,12 +49,16 @@ class ScopedParamValueLoader implements ParamValueLoader {
                 return requestScoped;
             }
         }
-        cached = realLoader.load(cached, context, noDefaultValue);
-        scopeCache.put(key, cached);
+        Object cached = scopeCache.get(key);
+        Object loaded = realLoader.load(cached, context, noDefaultValue);
+        if (loaded != cached) {
+            // the scope cache already holds the instance, do not write session again
+            scopeCache.put(key, loaded);
+        }
         if (isSession) {
-            RequestScope.INSTANCE.put(key, cached);
+            RequestScope.INSTANCE.put(key, loaded);
         }
-        return cached;
+        return loaded;
     }
 
     @Override
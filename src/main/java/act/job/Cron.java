@@ -43,4 +43,15 @@ public @interface Cron {
      * @return the job id
      */
     String id() default "";
+
+    /**
+     * Specify how to handle the invocations missed while the app was down.
+     *
+     * Only applied when a {@link JobStore} is configured. Default value is
+     * {@link MisfirePolicy#SKIP}, with which the job is not recorded in the
+     * job store.
+     *
+     * @return the misfire policy of the job
+     */
+    MisfirePolicy misfire() default MisfirePolicy.SKIP;
 }
@@ -70,4 +70,14 @@ public @interface Every {
      */
     boolean startImmediately() default true;
 
+    /**
+     * Specify how to handle the invocations missed while the app was down.
+     *
+     * Only applied when a {@link JobStore} is configured. Default value is
+     * {@link MisfirePolicy#SKIP}, with which the job is not recorded in the
+     * job store.
+     *
+     * @return the misfire policy of the job
+     */
+    MisfirePolicy misfire() default MisfirePolicy.SKIP;
 }
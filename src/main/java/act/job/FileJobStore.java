@@ -0,0 +1,295 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.app.App;
+import act.util.LogSupport;
+import org.osgl.util.IO;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link JobStore} backed by a local append-only file.
+ *
+ * Every record is appended to `jobs.journal` in the app tmp dir and the
+ * file is replayed when the store is opened. The file is compacted once
+ * it contains much more records than those kept in memory.
+ */
+public class FileJobStore extends LogSupport implements JobStore {
+
+    // the number of finished runs kept for each job
+    static final int MAX_HISTORY = 100;
+
+    private static final byte OP_SCHEDULED = 1;
+    private static final byte OP_COMPLETED = 2;
+
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LinkedList<JobRun>> history = new ConcurrentHashMap<>();
+
+    private File file;
+    private DataOutputStream journal;
+    private int records;
+
+    public FileJobStore() {
+    }
+
+    FileJobStore(File file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized void open(App app) {
+        if (null == file) {
+            file = new File(app.tmpDir(), "jobs.journal");
+        }
+        open();
+    }
+
+    synchronized void open() {
+        if (file.exists()) {
+            replay(file);
+        } else if (tmpFile().exists()) {
+            // crashed before the compacted journal is moved into place
+            replay(tmpFile());
+        }
+        compact();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (null != journal) {
+            IO.close(journal);
+            journal = null;
+        }
+    }
+
+    @Override
+    public void scheduled(String jobId, long fireTime) {
+        pending.put(jobId, fireTime);
+        synchronized (this) {
+            if (null != journal) {
+                try {
+                    journal.writeByte(OP_SCHEDULED);
+                    journal.writeUTF(jobId);
+                    journal.writeLong(fireTime);
+                    journal.flush();
+                    records++;
+                } catch (IOException e) {
+                    warn(e, "error writing job journal");
+                }
+            }
+        }
+    }
+
+    @Override
+    public void completed(String jobId, long fireTime, long finishTime, boolean success) {
+        JobRun run = new JobRun(jobId, fireTime, finishTime, success);
+        applyCompleted(run);
+        synchronized (this) {
+            if (null != journal) {
+                try {
+                    writeCompleted(journal, run);
+                    journal.flush();
+                    records++;
+                } catch (IOException e) {
+                    warn(e, "error writing job journal");
+                }
+                if (records > 1000 && records > liveRecords() * 2) {
+                    compact();
+                }
+            }
+        }
+    }
+
+    @Override
+    public long pendingFireTime(String jobId) {
+        Long fireTime = pending.get(jobId);
+        return null == fireTime ? -1 : fireTime;
+    }
+
+    @Override
+    public List<JobRun> upcoming() {
+        List<JobRun> list = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : pending.entrySet()) {
+            list.add(new JobRun(entry.getKey(), entry.getValue()));
+        }
+        Collections.sort(list, new Comparator<JobRun>() {
+            @Override
+            public int compare(JobRun o1, JobRun o2) {
+                long diff = o1.fireTimeInMillis() - o2.fireTimeInMillis();
+                return diff < 0 ? -1 : diff > 0 ? 1 : 0;
+            }
+        });
+        return list;
+    }
+
+    @Override
+    public List<JobRun> history(String jobId, int limit) {
+        List<JobRun> list = new ArrayList<>();
+        if (null != jobId) {
+            LinkedList<JobRun> runs = history.get(jobId);
+            if (null != runs) {
+                synchronized (runs) {
+                    list.addAll(runs);
+                }
+            }
+        } else {
+            for (LinkedList<JobRun> runs : history.values()) {
+                synchronized (runs) {
+                    list.addAll(runs);
+                }
+            }
+        }
+        Collections.sort(list, new Comparator<JobRun>() {
+            @Override
+            public int compare(JobRun o1, JobRun o2) {
+                long diff = o2.finishTimeInMillis() - o1.finishTimeInMillis();
+                return diff < 0 ? -1 : diff > 0 ? 1 : 0;
+            }
+        });
+        return list.size() > limit ? list.subList(0, limit) : list;
+    }
+
+    private void applyCompleted(JobRun run) {
+        String jobId = run.getJobId();
+        Long fireTime = pending.get(jobId);
+        if (null != fireTime && fireTime == run.fireTimeInMillis()) {
+            pending.remove(jobId);
+        }
+        LinkedList<JobRun> runs = history.get(jobId);
+        if (null == runs) {
+            LinkedList<JobRun> newRuns = new LinkedList<>();
+            runs = history.putIfAbsent(jobId, newRuns);
+            if (null == runs) {
+                runs = newRuns;
+            }
+        }
+        synchronized (runs) {
+            runs.addFirst(run);
+            if (runs.size() > MAX_HISTORY) {
+                runs.removeLast();
+            }
+        }
+    }
+
+    private int liveRecords() {
+        int n = pending.size();
+        for (LinkedList<JobRun> runs : history.values()) {
+            n += runs.size();
+        }
+        return n;
+    }
+
+    private static void writeCompleted(DataOutputStream os, JobRun run) throws IOException {
+        os.writeByte(OP_COMPLETED);
+        os.writeUTF(run.getJobId());
+        os.writeLong(run.fireTimeInMillis());
+        os.writeLong(run.finishTimeInMillis());
+        os.writeBoolean(run.isSuccess());
+    }
+
+    // must be called with lock held
+    private void replay(File file) {
+        DataInputStream is = null;
+        try {
+            is = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            while (true) {
+                int op = is.read();
+                if (op < 0) {
+                    break;
+                }
+                String jobId = is.readUTF();
+                long fireTime = is.readLong();
+                if (OP_SCHEDULED == op) {
+                    pending.put(jobId, fireTime);
+                } else if (OP_COMPLETED == op) {
+                    long finishTime = is.readLong();
+                    boolean success = is.readBoolean();
+                    applyCompleted(new JobRun(jobId, fireTime, finishTime, success));
+                } else {
+                    warn("corrupted job journal found: %s", file.getAbsolutePath());
+                    break;
+                }
+            }
+        } catch (EOFException e) {
+            // last record was not completely written
+        } catch (IOException e) {
+            warn(e, "error reading job journal: %s", file.getAbsolutePath());
+        } finally {
+            IO.close(is);
+        }
+    }
+
+    // must be called with lock held
+    private void compact() {
+        if (null != journal) {
+            IO.close(journal);
+            journal = null;
+        }
+        File tmp = tmpFile();
+        DataOutputStream os = null;
+        int n = 0;
+        try {
+            os = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+            for (LinkedList<JobRun> runs : history.values()) {
+                List<JobRun> list;
+                synchronized (runs) {
+                    list = new ArrayList<>(runs);
+                }
+                // oldest first so that replay keeps the order
+                for (int i = list.size() - 1; i >= 0; --i) {
+                    writeCompleted(os, list.get(i));
+                    n++;
+                }
+            }
+            for (Map.Entry<String, Long> entry : pending.entrySet()) {
+                os.writeByte(OP_SCHEDULED);
+                os.writeUTF(entry.getKey());
+                os.writeLong(entry.getValue());
+                n++;
+            }
+            os.close();
+            os = null;
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            records = n;
+        } catch (IOException e) {
+            // keep appending to the old journal
+            warn(e, "error compacting job journal: %s", file.getAbsolutePath());
+        } finally {
+            IO.close(os);
+        }
+        try {
+            journal = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+        } catch (IOException e) {
+            warn(e, "error opening job journal: %s", file.getAbsolutePath());
+        }
+    }
+
+    private File tmpFile() {
+        return new File(file.getParentFile(), file.getName() + ".tmp");
+    }
+
+}
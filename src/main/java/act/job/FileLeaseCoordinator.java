@@ -0,0 +1,166 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.app.App;
+import act.util.LogSupport;
+import org.osgl.util.E;
+import org.osgl.util.IO;
+import org.osgl.util.S;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileLock;
+
+/**
+ * A {@link LeaseCoordinator} that keeps every lease in a file of a
+ * directory shared by all nodes, e.g. on NFS.
+ *
+ * The lease file records the owner and expiry time, and is read and
+ * updated while holding an exclusive file lock. Expiry time is based on
+ * the wall clock, thus clocks of the nodes shall be synchronized to well
+ * within the lease ttl.
+ *
+ * @see act.conf.AppConfigKey#JOB_LEASE_DIR
+ */
+public class FileLeaseCoordinator extends LogSupport implements LeaseCoordinator {
+
+    // file locks are held by the JVM, thus cannot guard threads of the same process
+    private static final Object LOCK = new Object();
+
+    private File dir;
+
+    public FileLeaseCoordinator() {
+    }
+
+    FileLeaseCoordinator(File dir) {
+        this.dir = dir;
+    }
+
+    @Override
+    public void open(App app) {
+        if (null == dir) {
+            String s = app.config().jobLeaseDir();
+            dir = S.blank(s) ? new File(app.tmpDir(), "leases") : new File(s);
+        }
+        open();
+    }
+
+    void open() {
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw E.ioException("Cannot create lease dir: " + dir.getAbsolutePath());
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public boolean acquire(String lease, String owner, long ttl) {
+        synchronized (LOCK) {
+            RandomAccessFile raf = null;
+            try {
+                raf = new RandomAccessFile(file(lease), "rw");
+                FileLock lock = raf.getChannel().lock();
+                try {
+                    long now = System.currentTimeMillis();
+                    String current = readOwner(raf);
+                    if (null != current && !current.equals(owner) && readExpireAt(raf) > now) {
+                        return false;
+                    }
+                    write(raf, owner, now + ttl);
+                    return true;
+                } finally {
+                    lock.release();
+                }
+            } catch (IOException e) {
+                warn(e, "error acquiring lease: %s", lease);
+                return false;
+            } finally {
+                IO.close(raf);
+            }
+        }
+    }
+
+    @Override
+    public void release(String lease, String owner) {
+        File file = file(lease);
+        if (!file.exists()) {
+            return;
+        }
+        synchronized (LOCK) {
+            RandomAccessFile raf = null;
+            try {
+                raf = new RandomAccessFile(file, "rw");
+                FileLock lock = raf.getChannel().lock();
+                try {
+                    if (owner.equals(readOwner(raf))) {
+                        raf.setLength(0);
+                    }
+                } finally {
+                    lock.release();
+                }
+            } catch (IOException e) {
+                warn(e, "error releasing lease: %s", lease);
+            } finally {
+                IO.close(raf);
+            }
+        }
+    }
+
+    private File file(String lease) {
+        return new File(dir, lease.replaceAll("[^\\w.\\-]", "_") + ".lease");
+    }
+
+    // returns `null` if the lease file is empty or corrupted
+    private static String readOwner(RandomAccessFile raf) throws IOException {
+        if (raf.length() == 0) {
+            return null;
+        }
+        try {
+            raf.seek(0);
+            return raf.readUTF();
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    // must be called right after readOwner
+    private static long readExpireAt(RandomAccessFile raf) throws IOException {
+        try {
+            return raf.readLong();
+        } catch (EOFException e) {
+            return 0;
+        }
+    }
+
+    private static void write(RandomAccessFile raf, String owner, long expireAt) throws IOException {
+        raf.setLength(0);
+        raf.seek(0);
+        raf.writeUTF(owner);
+        raf.writeLong(expireAt);
+        raf.getChannel().force(false);
+    }
+
+}
@@ -0,0 +1,268 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.app.App;
+import act.util.LogSupport;
+import org.osgl.util.E;
+import org.osgl.util.S;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link JobStore} backed by a JDBC database, e.g. an embedded H2 database.
+ *
+ * The database is specified by {@link act.conf.AppConfigKey#JOB_STORE_JDBC_URL}.
+ * Tables `act_job_schedule` and `act_job_run` are created if not exists. The
+ * JDBC driver shall be available in the classpath.
+ *
+ * The connection is dropped on any database error and opened again on
+ * next access, so the store survives a database restart.
+ */
+public class JdbcJobStore extends LogSupport implements JobStore {
+
+    private static final String SCHEDULE_TABLE = "act_job_schedule";
+    private static final String RUN_TABLE = "act_job_run";
+    private static final String CREATE_SCHEDULE_TABLE = "CREATE TABLE act_job_schedule (job_id VARCHAR(255) NOT NULL PRIMARY KEY, fire_time BIGINT NOT NULL)";
+    private static final String CREATE_RUN_TABLE = "CREATE TABLE act_job_run (job_id VARCHAR(255) NOT NULL, fire_time BIGINT NOT NULL, finish_time BIGINT NOT NULL, success SMALLINT NOT NULL)";
+    private static final String UPDATE_SCHEDULE = "UPDATE act_job_schedule SET fire_time = ? WHERE job_id = ?";
+    private static final String INSERT_SCHEDULE = "INSERT INTO act_job_schedule (job_id, fire_time) VALUES (?, ?)";
+    private static final String DELETE_SCHEDULE = "DELETE FROM act_job_schedule WHERE job_id = ? AND fire_time = ?";
+    private static final String SELECT_SCHEDULE = "SELECT fire_time FROM act_job_schedule WHERE job_id = ?";
+    private static final String SELECT_SCHEDULES = "SELECT job_id, fire_time FROM act_job_schedule ORDER BY fire_time";
+    private static final String INSERT_RUN = "INSERT INTO act_job_run (job_id, fire_time, finish_time, success) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_RUNS = "SELECT job_id, fire_time, finish_time, success FROM act_job_run ORDER BY finish_time DESC";
+    private static final String SELECT_JOB_RUNS = "SELECT job_id, fire_time, finish_time, success FROM act_job_run WHERE job_id = ? ORDER BY finish_time DESC";
+    private static final String PURGE_RUNS = "DELETE FROM act_job_run WHERE finish_time < ?";
+
+    // runs finished before this period are purged
+    private static final long HISTORY_TTL = 30L * 24 * 60 * 60 * 1000;
+    // purge history every this number of completed runs
+    private static final int PURGE_INTERVAL = 100;
+
+    private String url;
+    private Connection connection;
+    private boolean opened;
+    private int completed;
+
+    public JdbcJobStore() {
+    }
+
+    JdbcJobStore(String url) {
+        this.url = url;
+    }
+
+    @Override
+    public synchronized void open(App app) {
+        if (null == url) {
+            url = app.config().jobStoreJdbcUrl();
+        }
+        open();
+    }
+
+    synchronized void open() {
+        E.invalidConfigurationIf(S.blank(url), "job store JDBC url not specified");
+        try {
+            connect();
+        } catch (SQLException e) {
+            throw E.unexpected(e, "Cannot open job store: %s", url);
+        }
+        opened = true;
+    }
+
+    @Override
+    public synchronized void close() {
+        opened = false;
+        disconnect();
+    }
+
+    @Override
+    public synchronized void scheduled(String jobId, long fireTime) {
+        if (!opened) {
+            return;
+        }
+        try {
+            Connection connection = connection();
+            int n;
+            try (PreparedStatement ps = connection.prepareStatement(UPDATE_SCHEDULE)) {
+                ps.setLong(1, fireTime);
+                ps.setString(2, jobId);
+                n = ps.executeUpdate();
+            }
+            if (0 == n) {
+                try (PreparedStatement ps = connection.prepareStatement(INSERT_SCHEDULE)) {
+                    ps.setString(1, jobId);
+                    ps.setLong(2, fireTime);
+                    ps.executeUpdate();
+                }
+            }
+        } catch (SQLException e) {
+            warn(e, "error writing job store");
+            disconnect();
+        }
+    }
+
+    @Override
+    public synchronized void completed(String jobId, long fireTime, long finishTime, boolean success) {
+        if (!opened) {
+            return;
+        }
+        try {
+            Connection connection = connection();
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_RUN)) {
+                ps.setString(1, jobId);
+                ps.setLong(2, fireTime);
+                ps.setLong(3, finishTime);
+                ps.setInt(4, success ? 1 : 0);
+                ps.executeUpdate();
+            }
+            try (PreparedStatement ps = connection.prepareStatement(DELETE_SCHEDULE)) {
+                ps.setString(1, jobId);
+                ps.setLong(2, fireTime);
+                ps.executeUpdate();
+            }
+            if (++completed % PURGE_INTERVAL == 0) {
+                try (PreparedStatement ps = connection.prepareStatement(PURGE_RUNS)) {
+                    ps.setLong(1, finishTime - HISTORY_TTL);
+                    ps.executeUpdate();
+                }
+            }
+        } catch (SQLException e) {
+            warn(e, "error writing job store");
+            disconnect();
+        }
+    }
+
+    @Override
+    public synchronized long pendingFireTime(String jobId) {
+        if (!opened) {
+            return -1;
+        }
+        try (PreparedStatement ps = connection().prepareStatement(SELECT_SCHEDULE)) {
+            ps.setString(1, jobId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : -1;
+            }
+        } catch (SQLException e) {
+            warn(e, "error reading job store");
+            disconnect();
+            return -1;
+        }
+    }
+
+    @Override
+    public synchronized List<JobRun> upcoming() {
+        List<JobRun> list = new ArrayList<>();
+        if (!opened) {
+            return list;
+        }
+        try (PreparedStatement ps = connection().prepareStatement(SELECT_SCHEDULES)) {
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(new JobRun(rs.getString(1), rs.getLong(2)));
+                }
+            }
+        } catch (SQLException e) {
+            warn(e, "error reading job store");
+            disconnect();
+        }
+        return list;
+    }
+
+    @Override
+    public synchronized List<JobRun> history(String jobId, int limit) {
+        List<JobRun> list = new ArrayList<>();
+        if (!opened) {
+            return list;
+        }
+        try (PreparedStatement ps = connection().prepareStatement(null == jobId ? SELECT_RUNS : SELECT_JOB_RUNS)) {
+            if (null != jobId) {
+                ps.setString(1, jobId);
+            }
+            ps.setMaxRows(limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(new JobRun(rs.getString(1), rs.getLong(2), rs.getLong(3), 0 != rs.getInt(4)));
+                }
+            }
+        } catch (SQLException e) {
+            warn(e, "error reading job store");
+            disconnect();
+        }
+        return list;
+    }
+
+    private Connection connection() throws SQLException {
+        if (null == connection) {
+            connect();
+        }
+        return connection;
+    }
+
+    private void connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try {
+            connection.setAutoCommit(true);
+            createTableIfNotExists(connection, SCHEDULE_TABLE, CREATE_SCHEDULE_TABLE);
+            createTableIfNotExists(connection, RUN_TABLE, CREATE_RUN_TABLE);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        this.connection = connection;
+    }
+
+    private void disconnect() {
+        if (null != connection) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                warn(e, "error closing job store connection");
+            }
+            connection = null;
+        }
+    }
+
+    static void createTableIfNotExists(Connection connection, String table, String ddl) throws SQLException {
+        if (tableExists(connection.getMetaData(), table)) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(ddl);
+        }
+    }
+
+    private static boolean tableExists(DatabaseMetaData metaData, String table) throws SQLException {
+        // databases store unquoted identifiers in either upper or lower case
+        String[] names = {table, table.toUpperCase(), table.toLowerCase()};
+        for (String name : names) {
+            try (ResultSet rs = metaData.getTables(null, null, name, new String[]{"TABLE"})) {
+                if (rs.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,168 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.app.App;
+import act.util.LogSupport;
+import org.osgl.util.E;
+import org.osgl.util.S;
+
+import java.sql.*;
+
+/**
+ * A {@link LeaseCoordinator} backed by a table in a JDBC database shared
+ * by all nodes.
+ *
+ * A lease is acquired with a conditional update that only succeeds if the
+ * lease is held by the same owner or has expired, thus the database
+ * resolves races between nodes. Expiry time is based on the wall clock,
+ * thus clocks of the nodes shall be synchronized to well within the lease
+ * ttl.
+ *
+ * The connection is dropped on any database error and opened again on
+ * next access, so the coordinator survives a database restart.
+ *
+ * @see act.conf.AppConfigKey#JOB_LEASE_JDBC_URL
+ */
+public class JdbcLeaseCoordinator extends LogSupport implements LeaseCoordinator {
+
+    private static final String TABLE = "act_job_lease";
+    private static final String CREATE_TABLE = "CREATE TABLE act_job_lease (lease_id VARCHAR(255) NOT NULL PRIMARY KEY, owner VARCHAR(255) NOT NULL, expire_at BIGINT NOT NULL)";
+    private static final String UPDATE_LEASE = "UPDATE act_job_lease SET owner = ?, expire_at = ? WHERE lease_id = ? AND (owner = ? OR expire_at < ?)";
+    private static final String INSERT_LEASE = "INSERT INTO act_job_lease (lease_id, owner, expire_at) VALUES (?, ?, ?)";
+    private static final String RELEASE_LEASE = "UPDATE act_job_lease SET expire_at = 0 WHERE lease_id = ? AND owner = ?";
+
+    private String url;
+    private Connection connection;
+    private boolean opened;
+
+    public JdbcLeaseCoordinator() {
+    }
+
+    JdbcLeaseCoordinator(String url) {
+        this.url = url;
+    }
+
+    @Override
+    public synchronized void open(App app) {
+        if (null == url) {
+            url = app.config().jobLeaseJdbcUrl();
+        }
+        open();
+    }
+
+    synchronized void open() {
+        E.invalidConfigurationIf(S.blank(url), "job lease JDBC url not specified");
+        try {
+            connect();
+        } catch (SQLException e) {
+            throw E.unexpected(e, "Cannot open job lease coordinator: %s", url);
+        }
+        opened = true;
+    }
+
+    @Override
+    public synchronized void close() {
+        opened = false;
+        disconnect();
+    }
+
+    @Override
+    public synchronized boolean acquire(String lease, String owner, long ttl) {
+        if (!opened) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        try {
+            Connection connection = connection();
+            try (PreparedStatement ps = connection.prepareStatement(UPDATE_LEASE)) {
+                ps.setString(1, owner);
+                ps.setLong(2, now + ttl);
+                ps.setString(3, lease);
+                ps.setString(4, owner);
+                ps.setLong(5, now);
+                if (ps.executeUpdate() > 0) {
+                    return true;
+                }
+            }
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_LEASE)) {
+                ps.setString(1, lease);
+                ps.setString(2, owner);
+                ps.setLong(3, now + ttl);
+                ps.executeUpdate();
+                return true;
+            } catch (SQLException e) {
+                // the lease is held by another owner
+                return false;
+            }
+        } catch (SQLException e) {
+            warn(e, "error acquiring lease: %s", lease);
+            disconnect();
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized void release(String lease, String owner) {
+        if (!opened) {
+            return;
+        }
+        try (PreparedStatement ps = connection().prepareStatement(RELEASE_LEASE)) {
+            ps.setString(1, lease);
+            ps.setString(2, owner);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            warn(e, "error releasing lease: %s", lease);
+            disconnect();
+        }
+    }
+
+    private Connection connection() throws SQLException {
+        if (null == connection) {
+            connect();
+        }
+        return connection;
+    }
+
+    private void connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try {
+            connection.setAutoCommit(true);
+            JdbcJobStore.createTableIfNotExists(connection, TABLE, CREATE_TABLE);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        this.connection = connection;
+    }
+
+    private void disconnect() {
+        if (null != connection) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                warn(e, "error closing job lease connection");
+            }
+            connection = null;
+        }
+    }
+
+}
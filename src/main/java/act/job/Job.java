@@ -123,6 +123,16 @@ public class Job extends DestroyableBase implements Runnable {
     private JobManager manager;
     private JobTrigger trigger;
     private $.Func0<?> worker;
+    // the scheduled time of the next invocation, -1 if the job is not time triggered
+    private volatile long fireTime = -1;
+    // only jobs with misfire policy other than SKIP are recorded in job store
+    private MisfirePolicy misfirePolicy;
+    // run on the node holding the job lease only
+    private boolean clusterSingleton;
+    // the name of the job pool, null for the shared job executor
+    private String pool;
+    // created on first execution of a job that is not one time
+    private volatile JobStats stats;
     Object callableResult;
     Exception callableException;
     // progress percentage
@@ -273,14 +283,27 @@ public class Job extends DestroyableBase implements Runnable {
 
     @Override
     public void run() {
+        if (clusterSingleton && !manager.holdsLease(id)) {
+            if (isTraceEnabled()) {
+                trace("job[%s] skipped as the lease is held by another node", id);
+            }
+            scheduleNextInvocation();
+            return;
+        }
         invokeParallelJobs();
         runPrecedenceJobs();
+        long fired = fireTime;
+        boolean success = false;
+        long start = $.ms();
+        Throwable error = null;
         try {
             if (Act.isDev() && app.isStarted()) {
                 app.checkUpdates(false);
             }
             doJob();
+            success = true;
         } catch (Throwable e) {
+            error = e;
             boolean isFatal = FATAL_EXCEPTIONS.contains(e.getClass());
             Throwable cause = e;
             if (!isFatal) {
@@ -329,6 +352,12 @@ public class Job extends DestroyableBase implements Runnable {
                     }
                 }
                 progress.destroy();
+                if (!oneTime) {
+                    recordExecution(start, error);
+                }
+                if (fired > 0) {
+                    recordCompletion(fired, success);
+                }
             }
         }
         runFollowingJobs();
@@ -376,6 +405,114 @@ public class Job extends DestroyableBase implements Runnable {
         if (null != trigger) trigger.scheduleFollowingCalls(manager(), this);
     }
 
+    final String pool() {
+        return pool;
+    }
+
+    final Job pool(String pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    final boolean isClusterSingleton() {
+        return clusterSingleton;
+    }
+
+    final Job clusterSingleton() {
+        this.clusterSingleton = true;
+        manager.registerClusterSingleton(id);
+        return this;
+    }
+
+    final MisfirePolicy misfirePolicy() {
+        return misfirePolicy;
+    }
+
+    final Job misfirePolicy(MisfirePolicy policy) {
+        // nothing to do with missed invocations, no need to record the job
+        this.misfirePolicy = MisfirePolicy.SKIP == $.notNull(policy) ? null : policy;
+        return this;
+    }
+
+    /**
+     * Set the scheduled time of the next invocation and record it
+     * in the job store
+     */
+    final void scheduledAt(long fireTime) {
+        this.fireTime = fireTime;
+        JobStore store = null == manager ? null : manager.jobStore();
+        if (null != store && null != misfirePolicy) {
+            store.scheduled(id, fireTime);
+        }
+    }
+
+    /**
+     * Create a one time job that invokes the worker of this job for a
+     * number of times missed during app downtime. The trigger of this
+     * job is not involved.
+     */
+    final Job misfireJob(final int times) {
+        final $.Func0<?> worker = this.worker;
+        Job job = new Job(S.concat(id, "-misfire-", S.string($.ms())), manager, new F0() {
+            @Override
+            public Object apply() throws NotAppliedException, $.Break {
+                if (null != worker) {
+                    for (int i = 0; i < times; ++i) {
+                        worker.apply();
+                    }
+                }
+                return null;
+            }
+        }, true);
+        return job.pool(pool);
+    }
+
+    /**
+     * Returns the execution statistics of the job, or `null` if the
+     * job has not been executed or is a one time job
+     */
+    public JobStats stats() {
+        return stats;
+    }
+
+    private void recordExecution(long start, Throwable error) {
+        long duration = $.ms() - start;
+        JobStats stats = this.stats;
+        if (null == stats) {
+            synchronized (this) {
+                stats = this.stats;
+                if (null == stats) {
+                    stats = new JobStats(id);
+                    this.stats = stats;
+                }
+            }
+        }
+        stats.record(start, duration, error);
+        long period = null == trigger ? -1 : trigger.period();
+        if (period > 0 && duration > period) {
+            stats.overrun();
+            logger.warn("job[%s] took %sms, longer than its period of %sms", id, duration, period);
+            if (null != app) {
+                app.eventBus().emit(new JobOverrunEvent(this, duration, period));
+            }
+        }
+    }
+
+    private void recordCompletion(long fired, boolean success) {
+        JobStore store = manager.jobStore();
+        if (null == store || null == misfirePolicy) {
+            return;
+        }
+        long now = $.ms();
+        store.completed(id, fired, now, success);
+        if (null != trigger) {
+            long next = trigger.followingFireTime(fired, now);
+            if (next > 0) {
+                scheduledAt(next);
+            }
+        }
+    }
+
     private static Job of(String jobId, final Runnable runnable, JobManager manager, boolean oneTime) {
         return new Job(jobId, manager, new F0() {
             @Override
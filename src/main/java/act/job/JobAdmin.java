@@ -35,9 +35,11 @@ import org.osgl.util.C;
 import org.osgl.util.S;
 
 import javax.inject.Inject;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Provide admin service to act {@link JobManager}
@@ -90,18 +92,86 @@ public class JobAdmin {
         jobManager.cancel(id);
     }
 
+    @Command(value = "act.job.stats", help = "List job execution statistics, durations in milliseconds")
+    @PropertySpec("jobId,count,failureCount,overrunCount,meanDuration,p50,p90,p99,maxDuration")
+    @TableView
+    public List<JobStats> listStats(@Optional(lead = "-q") String q, JobManager jobManager) {
+        List<JobStats> list = new ArrayList<>();
+        for (Job job : jobManager.jobs()) {
+            JobStats stats = job.stats();
+            if (null != stats && (S.blank(q) || job.getId().contains(q))) {
+                list.add(stats);
+            }
+        }
+        return list;
+    }
+
+    @Command(value = "act.job.stats.show", help = "Show job execution statistics with latency histogram and recent executions")
+    @JsonView
+    public JobStats getStats(@Required("specify job id") String id, JobManager jobManager) {
+        Job job = jobManager.jobById(id);
+        return null == job ? null : job.stats();
+    }
+
+    @Command(value = "act.job.executions", help = "List recent executions of a job, latest first")
+    @PropertySpec("startTime,duration,success,error")
+    @TableView
+    public List<JobExecution> listExecutions(@Required("specify job id") String id, JobManager jobManager) {
+        Job job = jobManager.jobById(id);
+        JobStats stats = null == job ? null : job.stats();
+        return null == stats ? C.<JobExecution>list() : stats.getRecentExecutions();
+    }
+
+    @Command(value = "act.job.pools", help = "List job pools with queue and thread metrics")
+    @PropertySpec("name,size,activeCount,queueDepth,queueCapacity,completedCount,rejectedCount,saturationPolicy")
+    @TableView
+    public List<JobPool> listPools(JobManager jobManager) {
+        return jobManager.pools();
+    }
+
+    @Command(value = "act.job.upcoming", help = "List upcoming invocations recorded in job store")
+    @PropertySpec("jobId,fireTime")
+    @TableView
+    public List<JobRun> listUpcoming(JobManager jobManager) {
+        JobStore store = jobManager.jobStore();
+        return null == store ? C.<JobRun>list() : store.upcoming();
+    }
+
+    @Command(value = "act.job.history", help = "List finished invocations recorded in job store")
+    @PropertySpec("jobId,fireTime,finishTime,success")
+    @TableView
+    public List<JobRun> listHistory(
+            @Optional(lead = "-q", help = "specify job id") String q,
+            @Optional(lead = "-l", defVal = "20", help = "specify the max number of records") int limit,
+            JobManager jobManager
+    ) {
+        JobStore store = jobManager.jobStore();
+        return null == store ? C.<JobRun>list() : store.history(S.blank(q) ? null : q, limit);
+    }
+
     @Command(value = "act.job.scheduler", help = "Show Job manager scheduler status")
     public String getSchedulerStatus(JobManager jobManager) {
-        ScheduledThreadPoolExecutor executor = jobManager.executor();
+        ThreadPoolExecutor executor = jobManager.executor();
         JSONObject json = new JSONObject();
         json.put("is terminating", executor.isTerminating());
         json.put("is terminated", executor.isTerminated());
         json.put("is shutdown", executor.isShutdown());
         json.put("# of runnable in the queue", executor.getQueue().size());
+        json.put("# of scheduled tasks", jobManager.scheduler().pendingCount());
         json.put("active count", executor.getActiveCount());
         json.put("# of completed tasks", executor.getActiveCount());
         json.put("core pool size", executor.getCorePoolSize());
         json.put("pool size", executor.getPoolSize());
+        // do not start the lite pool just to report it
+        ForkJoinPool litePool = jobManager.litePoolIfStarted();
+        if (null == litePool) {
+            json.put("lite pool", "not started");
+        } else {
+            json.put("lite pool parallelism", litePool.getParallelism());
+            json.put("lite pool active count", litePool.getActiveThreadCount());
+            json.put("# of lite tasks queued", litePool.getQueuedSubmissionCount() + litePool.getQueuedTaskCount());
+            json.put("lite pool steal count", litePool.getStealCount());
+        }
         return json.toJSONString();
     }
 
@@ -65,12 +65,15 @@ public class JobAnnotationProcessor extends AppHolderBase<JobAnnotationProcessor
         Job job = createMethodJob(method);
         String value = info.value;
         if (Cron.class.isAssignableFrom(anno)) {
+            job.misfirePolicy(info.misfirePolicy);
             registerCron(job, evaluateExpression(value, anno));
         } else if (AlongWith.class.isAssignableFrom(anno)) {
             registerAlongWith(job, value);
         } else if (Every.class.isAssignableFrom(anno)) {
+            job.misfirePolicy(info.misfirePolicy);
             registerEvery(job, evaluateExpression(value, anno), info.startImmediately);
         } else if (FixedDelay.class.isAssignableFrom(anno)) {
+            job.misfirePolicy(info.misfirePolicy);
             registerFixedDelay(job, evaluateExpression(value, anno), info.startImmediately);
         } else if (InvokeAfter.class.isAssignableFrom(anno)) {
             registerInvokeAfter(job, value);
@@ -149,6 +152,13 @@ public class JobAnnotationProcessor extends AppHolderBase<JobAnnotationProcessor
     
     private Job createMethodJob(JobMethodMetaInfo method) {
         String id = method.id();
-        return new Job(id, app().jobManager(), new ReflectedJobInvoker<>(method, app()), false);
+        Job job = new Job(id, app().jobManager(), new ReflectedJobInvoker<>(method, app()), false);
+        if (method.isClusterSingleton()) {
+            job.clusterSingleton();
+        }
+        if (null != method.pool()) {
+            job.pool(method.pool());
+        }
+        return job;
     }
 }
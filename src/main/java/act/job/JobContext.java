@@ -109,7 +109,7 @@ public class JobContext extends ActContext.Base<JobContext> {
     /**
      * Clear JobContext of current thread
      */
-    static void clear() {
+    public static void clear() {
         JobContext ctxt = current_.get();
         if (null != ctxt) {
             ctxt.bag_.clear();
@@ -159,7 +159,7 @@ public class JobContext extends ActContext.Base<JobContext> {
      * Make a copy of JobContext of current thread
      * @return the copy of current job context or an empty job context
      */
-    static JobContext copy() {
+    public static JobContext copy() {
         JobContext ctxt = new JobContext();
         JobContext current = current_.get();
         if (null != current) {
@@ -172,7 +172,7 @@ public class JobContext extends ActContext.Base<JobContext> {
      * Initialize current thread's JobContext using specified copy
      * @param origin the original job context
      */
-    static void init(JobContext origin) {
+    public static void init(JobContext origin) {
         current_.set(origin);
         if (origin.bag_.isEmpty()) {
             return;
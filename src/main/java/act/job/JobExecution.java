@@ -0,0 +1,67 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Date;
+
+/**
+ * A finished execution of a job, kept in {@link JobStats}.
+ */
+public class JobExecution {
+
+    private final long startTime;
+    private final long duration;
+    private final String error;
+
+    JobExecution(long startTime, long duration, String error) {
+        this.startTime = startTime;
+        this.duration = duration;
+        this.error = error;
+    }
+
+    public Date getStartTime() {
+        return new Date(startTime);
+    }
+
+    /**
+     * Returns the duration in milliseconds
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    public boolean isSuccess() {
+        return null == error;
+    }
+
+    /**
+     * Returns the summary of the exception raised or `null` if the
+     * execution succeeded
+     */
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return null == error ? duration + "ms" : duration + "ms: " + error;
+    }
+}
@@ -32,7 +32,6 @@ import act.mail.MailerContext;
 import act.util.ProgressGauge;
 import act.util.SimpleProgressGauge;
 import org.joda.time.DateTime;
-import org.joda.time.Seconds;
 import org.osgl.$;
 import org.osgl.Osgl;
 import org.osgl.exception.NotAppliedException;
@@ -43,15 +42,31 @@ import org.osgl.util.E;
 import org.osgl.util.S;
 import org.rythmengine.utils.Time;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
 import java.util.EventObject;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class JobManager extends AppServiceBase<JobManager> {
 
     private static final Logger LOGGER = LogManager.get(JobManager.class);
 
-    private ScheduledThreadPoolExecutor executor;
+    private ThreadPoolExecutor executor;
+    private TimingWheelScheduler scheduler;
+    private JobStore jobStore;
+    private LeaseCoordinator leaseCoordinator;
+    // the ID of this node as lease owner
+    private String leaseOwner;
+    private long leaseTtl;
+    // lease ID -> local time the lease held by this node expires
+    private ConcurrentMap<String, Long> leases = new ConcurrentHashMap<>();
+    private volatile ScheduledFuture<?> leaseKeeper;
+    // runs lightweight tasks, created on first use
+    private volatile ForkJoinPool litePool;
+    private ConcurrentMap<String, JobPool> pools = new ConcurrentHashMap<>();
     private ConcurrentMap<String, Job> jobs = new ConcurrentHashMap<String, Job>();
     private ConcurrentMap<String, ScheduledFuture> scheduled = new ConcurrentHashMap<>();
 
@@ -62,6 +77,8 @@ public class JobManager extends AppServiceBase<JobManager> {
     public JobManager(App app) {
         super(app);
         initExecutor(app);
+        initJobStore(app);
+        initLeaseCoordinator(app);
         for (SysEventId sysEventId : SysEventId.values()) {
             createSysEventListener(sysEventId);
         }
@@ -74,6 +91,20 @@ public class JobManager extends AppServiceBase<JobManager> {
             job.destroy();
         }
         jobs.clear();
+        scheduler.shutdown();
+        if (null != leaseCoordinator) {
+            releaseLeases();
+        }
+        if (null != jobStore) {
+            jobStore.close();
+        }
+        if (null != litePool) {
+            litePool.shutdownNow();
+        }
+        for (JobPool pool : pools.values()) {
+            pool.shutdown();
+        }
+        pools.clear();
         executor.getQueue().clear();
         executor.shutdownNow();
     }
@@ -100,6 +131,32 @@ public class JobManager extends AppServiceBase<JobManager> {
         now(randomJobId(), runnable);
     }
 
+    /**
+     * Run a lightweight task asynchronously.
+     *
+     * Unlike {@link #now(Runnable)} the task is not a {@link Job}: no job ID is
+     * generated, it is not registered to the job manager, thus is not visible
+     * to admin commands, and the {@link JobContext} is not captured. The task
+     * is run by a work-stealing pool, which suits large number of tiny tasks.
+     *
+     * @param task the task
+     */
+    public void fire(Runnable task) {
+        litePool().execute(new LiteTask(task, null));
+    }
+
+    /**
+     * Run a lightweight task asynchronously with the {@link JobContext} of
+     * the current thread if `captureContext` is `true`.
+     *
+     * @param task the task
+     * @param captureContext whether to run the task with the current job context
+     * @see #fire(Runnable)
+     */
+    public void fire(Runnable task, boolean captureContext) {
+        litePool().execute(new LiteTask(task, captureContext ? JobContext.copy() : null));
+    }
+
     public void now(String jobId, Runnable runnable) {
         executor().submit(wrap(jobId, runnable));
     }
@@ -134,31 +191,40 @@ public class JobManager extends AppServiceBase<JobManager> {
      */
     public void now(String jobId) {
         Job job = $.notNull(jobById(jobId));
-        executor().submit(job);
+        executorOf(job).submit(job);
     }
 
     public <T> Future<T> delay(Callable<T> callable, long delay, TimeUnit timeUnit) {
-        return executor().schedule(callable, delay, timeUnit);
+        return scheduler().schedule(callable, delay, timeUnit);
     }
 
     public void delay(Runnable runnable, long delay, TimeUnit timeUnit) {
-        executor().schedule(wrap(runnable), delay, timeUnit);
+        scheduler().schedule(wrap(runnable), delay, timeUnit);
     }
 
     public <T> Future<T> delay(Callable<T> callable, String delay) {
         int seconds = parseTime(delay);
-        return executor().schedule(callable, seconds, TimeUnit.SECONDS);
+        return scheduler().schedule(callable, seconds, TimeUnit.SECONDS);
     }
 
     public void delay(Runnable runnable, String delay) {
         int seconds = parseTime(delay);
-        executor().schedule(wrap(runnable), seconds, TimeUnit.SECONDS);
+        scheduler().schedule(wrap(runnable), seconds, TimeUnit.SECONDS);
     }
 
     public void every(String id, Runnable runnable, String interval) {
         JobTrigger.every(interval, false).schedule(this, Job.multipleTimes(id, runnable, this));
     }
 
+    /**
+     * Schedule a job invoked at fixed rate. The job is recorded in the
+     * {@link JobStore job store} if configured, and invocations missed
+     * during app downtime are handled with the misfire policy specified
+     */
+    public void every(String id, Runnable runnable, String interval, MisfirePolicy misfirePolicy) {
+        JobTrigger.every(interval, false).register(Job.multipleTimes(id, runnable, this).misfirePolicy(misfirePolicy), this);
+    }
+
     public void every(Runnable runnable, String interval) {
         JobTrigger.every(interval, false).schedule(this, Job.multipleTimes(runnable, this));
     }
@@ -179,6 +245,15 @@ public class JobManager extends AppServiceBase<JobManager> {
         JobTrigger.every(interval, false).schedule(this, Job.multipleTimes(id, runnable, this));
     }
 
+    /**
+     * Schedule a job invoked with fixed delay. The job is recorded in the
+     * {@link JobStore job store} if configured, and invocations missed
+     * during app downtime are handled with the misfire policy specified
+     */
+    public void fixedDelay(String id, Runnable runnable, String interval, MisfirePolicy misfirePolicy) {
+        JobTrigger.fixedDelay(interval, false).register(Job.multipleTimes(id, runnable, this).misfirePolicy(misfirePolicy), this);
+    }
+
     public void fixedDelay(Runnable runnable, long interval, TimeUnit timeUnit) {
         JobTrigger.fixedDelay(interval, timeUnit, false).schedule(this, Job.multipleTimes(runnable, this));
     }
@@ -187,6 +262,77 @@ public class JobManager extends AppServiceBase<JobManager> {
         JobTrigger.fixedDelay(interval, timeUnit, false).schedule(this, Job.multipleTimes(id, runnable, this));
     }
 
+    /**
+     * Returns the {@link JobPool job pool} by name. The pool is created
+     * if not exists yet.
+     *
+     * @param name the pool name
+     * @return the job pool
+     */
+    public JobPool pool(String name) {
+        E.illegalArgumentIf(S.blank(name), "job pool name expected");
+        JobPool pool = pools.get(name);
+        if (null == pool) {
+            synchronized (pools) {
+                pool = pools.get(name);
+                if (null == pool) {
+                    pool = JobPool.create(name, app().config(), this);
+                    pools.put(name, pool);
+                    LOGGER.info("job pool created: %s", name);
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Returns all job pools created
+     */
+    public List<JobPool> pools() {
+        return new ArrayList<>(pools.values());
+    }
+
+    void now(JobPool pool, Runnable runnable) {
+        pool.executor().submit(wrap(runnable));
+    }
+
+    <T> Future<T> now(JobPool pool, Callable<T> callable) {
+        final Job job = wrap(callable);
+        return pool.executor().submit(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                job.run();
+                if (null != job.callableException) {
+                    throw job.callableException;
+                }
+                return (T) job.callableResult;
+            }
+        });
+    }
+
+    void delay(JobPool pool, Runnable runnable, long delay, TimeUnit timeUnit) {
+        scheduler().schedule(wrap(runnable), delay, timeUnit, pool.executor());
+    }
+
+    void every(JobPool pool, String id, Runnable runnable, String interval) {
+        Job job = Job.multipleTimes(id, runnable, this).pool(pool.getName());
+        JobTrigger.every(interval, false).schedule(this, job);
+    }
+
+    void fixedDelay(JobPool pool, String id, Runnable runnable, String interval) {
+        Job job = Job.multipleTimes(id, runnable, this).pool(pool.getName());
+        JobTrigger.fixedDelay(interval, false).schedule(this, job);
+    }
+
+    /**
+     * Returns the executor that runs the job: the executor of the job
+     * pool if specified or the shared job executor
+     */
+    ExecutorService executorOf(Job job) {
+        String pool = job.pool();
+        return null == pool ? executor : pool(pool).executor();
+    }
+
     private int parseTime(String timeDuration) {
         if (timeDuration.startsWith("${") && timeDuration.endsWith("}")) {
             timeDuration = app().config().get(timeDuration.substring(2, timeDuration.length() - 1));
@@ -200,8 +346,7 @@ public class JobManager extends AppServiceBase<JobManager> {
         }
         DateTime now = DateTime.now();
         E.illegalArgumentIf(instant.isBefore(now));
-        Seconds seconds = Seconds.secondsBetween(now, instant);
-        executor().schedule(wrap(runnable), seconds.getSeconds(), TimeUnit.SECONDS);
+        scheduler().schedule(wrap(runnable), instant.getMillis() - now.getMillis(), TimeUnit.MILLISECONDS);
     }
 
     public <T> Future<T> on(DateTime instant, Callable<T> callable) {
@@ -210,8 +355,7 @@ public class JobManager extends AppServiceBase<JobManager> {
         }
         DateTime now = DateTime.now();
         E.illegalArgumentIf(instant.isBefore(now));
-        Seconds seconds = Seconds.secondsBetween(now, instant);
-        return executor().schedule(callable, seconds.getSeconds(), TimeUnit.SECONDS);
+        return scheduler().schedule(callable, instant.getMillis() - now.getMillis(), TimeUnit.MILLISECONDS);
     }
 
     public void on(SysEventId sysEvent, final Runnable runnable) {
@@ -383,14 +527,158 @@ public class JobManager extends AppServiceBase<JobManager> {
         }
     }
 
-    ScheduledThreadPoolExecutor executor() {
+    ThreadPoolExecutor executor() {
         return executor;
     }
 
+    ForkJoinPool litePool() {
+        if (null == litePool) {
+            synchronized (this) {
+                if (null == litePool) {
+                    int parallelism = app().config().jobLitePoolSize();
+                    if (parallelism < 1) {
+                        parallelism = Runtime.getRuntime().availableProcessors();
+                    }
+                    // async mode: FIFO order for tasks never joined
+                    litePool = new ForkJoinPool(parallelism, new LiteThreadFactory(), null, true);
+                }
+            }
+        }
+        return litePool;
+    }
+
+    /**
+     * Returns the lite pool or `null` if it has not been created yet
+     */
+    ForkJoinPool litePoolIfStarted() {
+        return litePool;
+    }
+
+    TimingWheelScheduler scheduler() {
+        return scheduler;
+    }
+
+    JobStore jobStore() {
+        return jobStore;
+    }
+
+    /**
+     * Check if this node holds the lease of a {@link ClusterSingleton cluster singleton} job.
+     *
+     * The check does not talk to the {@link LeaseCoordinator}: the lease is
+     * considered to be held until the ttl since last successful renewal
+     * is elapsed.
+     *
+     * @param jobId the job ID
+     * @return `true` if the job shall be executed on this node
+     */
+    boolean holdsLease(String jobId) {
+        if (null == leaseCoordinator) {
+            return true;
+        }
+        Long expireAt = leases.get(jobId);
+        if (null == expireAt) {
+            // not renewed by lease keeper yet
+            expireAt = renewLease(jobId);
+        }
+        return expireAt > $.ms();
+    }
+
+    /**
+     * Register a {@link ClusterSingleton cluster singleton} job. The lease is
+     * acquired right away, so that the job started before the lease keeper's
+     * first run sees the real lease state, and then renewed in background.
+     */
+    void registerClusterSingleton(String jobId) {
+        if (null == leaseCoordinator) {
+            return;
+        }
+        if (!leases.containsKey(jobId)) {
+            renewLease(jobId);
+        }
+        if (null == leaseKeeper) {
+            synchronized (this) {
+                if (null == leaseKeeper) {
+                    long interval = Math.max(1L, leaseTtl / 3);
+                    leaseKeeper = scheduler.scheduleWithFixedDelay(new Runnable() {
+                        @Override
+                        public void run() {
+                            for (String id : leases.keySet()) {
+                                renewLease(id);
+                            }
+                        }
+                    }, 0, interval, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    }
+
+    /*
+     * Try to acquire or renew a lease and returns the local time the lease expires,
+     * or `0` if the lease is held by another node
+     */
+    private long renewLease(String jobId) {
+        long start = $.ms();
+        boolean held;
+        try {
+            held = leaseCoordinator.acquire(jobId, leaseOwner, leaseTtl);
+        } catch (RuntimeException e) {
+            LOGGER.warn(e, "error renewing lease of job[%s]", jobId);
+            held = false;
+        }
+        long expireAt = held ? start + leaseTtl : 0L;
+        Long prev = leases.put(jobId, expireAt);
+        boolean heldBefore = null != prev && prev > start;
+        if (held && !heldBefore) {
+            LOGGER.info("lease of job[%s] acquired by %s", jobId, leaseOwner);
+        } else if (!held && heldBefore) {
+            LOGGER.warn("lease of job[%s] lost by %s", jobId, leaseOwner);
+        }
+        return expireAt;
+    }
+
+    private void releaseLeases() {
+        if (null != leaseKeeper) {
+            leaseKeeper.cancel(false);
+        }
+        long now = $.ms();
+        for (Map.Entry<String, Long> entry : leases.entrySet()) {
+            if (entry.getValue() > now) {
+                try {
+                    leaseCoordinator.release(entry.getKey(), leaseOwner);
+                } catch (RuntimeException e) {
+                    LOGGER.warn(e, "error releasing lease of job[%s]", entry.getKey());
+                }
+            }
+        }
+        leases.clear();
+        leaseCoordinator.close();
+    }
+
+    private void initLeaseCoordinator(App app) {
+        LeaseCoordinator coordinator = app.config().leaseCoordinator();
+        if (null != coordinator) {
+            coordinator.open(app);
+            leaseTtl = app.config().jobLeaseTtl() * 1000L;
+            leaseOwner = ManagementFactory.getRuntimeMXBean().getName();
+            leaseCoordinator = coordinator;
+        }
+    }
+
+    private void initJobStore(App app) {
+        JobStore store = app.config().jobStore();
+        if (null != store) {
+            store.open(app);
+            jobStore = store;
+        }
+    }
+
     private void initExecutor(App app) {
         int poolSize = app.config().jobPoolSize();
-        executor = new ScheduledThreadPoolExecutor(poolSize, new AppThreadFactory("jobs"), new ThreadPoolExecutor.AbortPolicy());
-        executor.setRemoveOnCancelPolicy(true);
+        // ThreadPoolExecutor rejects zero max pool size while ScheduledThreadPoolExecutor accepts it
+        executor = new ThreadPoolExecutor(poolSize, Math.max(1, poolSize), 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(), new AppThreadFactory("jobs"), new ThreadPoolExecutor.AbortPolicy());
+        scheduler = new TimingWheelScheduler(executor);
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace("init executor with thread pool: %s", poolSize);
         }
@@ -497,6 +785,44 @@ public class JobManager extends AppServiceBase<JobManager> {
         }
     }
 
+    private static class LiteTask implements Runnable {
+        private final Runnable task;
+        private final JobContext context;
+
+        LiteTask(Runnable task, JobContext context) {
+            this.task = $.notNull(task);
+            this.context = context;
+        }
+
+        @Override
+        public void run() {
+            if (null != context) {
+                JobContext.init(context);
+            }
+            try {
+                task.run();
+            } catch (Throwable e) {
+                LOGGER.warn(e, "error executing task %s", task);
+            } finally {
+                if (null != context) {
+                    JobContext.clear();
+                }
+            }
+        }
+    }
+
+    private static class LiteThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("jobs-lite-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
     private String randomJobId() {
         return app().cuid() + S.random(4);
     }
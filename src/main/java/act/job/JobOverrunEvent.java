@@ -0,0 +1,59 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.event.ActEvent;
+
+/**
+ * Emitted when an execution of a job took longer than the period of the
+ * job, e.g. a job scheduled with `@Every("10s")` ran for 12 seconds.
+ *
+ * The source of the event is the {@link Job}.
+ */
+public class JobOverrunEvent extends ActEvent<Job> {
+
+    private final long duration;
+    private final long period;
+
+    public JobOverrunEvent(Job job, long duration, long period) {
+        super(job);
+        this.duration = duration;
+        this.period = period;
+    }
+
+    public String getJobId() {
+        return source().getId();
+    }
+
+    /**
+     * Returns the duration of the execution in milliseconds
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * Returns the period of the job in milliseconds
+     */
+    public long getPeriod() {
+        return period;
+    }
+}
@@ -0,0 +1,219 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.app.AppThreadFactory;
+import act.conf.AppConfig;
+import act.util.SaturationPolicy;
+import org.osgl.util.E;
+import org.osgl.util.S;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A named worker pool (bulkhead) isolating a group of jobs from the
+ * shared job thread pool.
+ *
+ * A pool is configured with:
+ *
+ * * `job.pool.<name>.size` - the number of threads, default to `job.pool.size`
+ * * `job.pool.<name>.queue` - the maximum number of waiting tasks, `0` for unbounded (default)
+ * * `job.pool.<name>.saturation` - the {@link SaturationPolicy} applied when the queue is full, one of
+ *   `abort` (default), `caller_runs`, `discard` and `discard_oldest`
+ *
+ * Scheduled jobs are submitted by the job timer thread, which never runs
+ * a job: with `caller_runs` such a job is discarded instead.
+ *
+ * A periodic job dropped by a saturated pool is not lost: it is scheduled
+ * again for the next period.
+ *
+ * Jobs are routed to a pool with the {@link Bulkhead} annotation, or by
+ * submitting them through the pool, e.g.
+ *
+ * ```
+ * app.jobManager().pool("reports").now(runnable);
+ * ```
+ */
+public class JobPool {
+
+    private final String name;
+    private final JobManager manager;
+    private final int queueCapacity;
+    private final SaturationPolicy saturationPolicy;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong rejected = new AtomicLong();
+
+    JobPool(String name, int size, int queueCapacity, SaturationPolicy saturationPolicy, JobManager manager) {
+        E.illegalArgumentIf(size < 1, "job pool size shall be positive number: %s", size);
+        this.name = name;
+        this.manager = manager;
+        this.queueCapacity = Math.max(0, queueCapacity);
+        this.saturationPolicy = saturationPolicy;
+        BlockingQueue<Runnable> queue = this.queueCapacity > 0 ? new ArrayBlockingQueue<Runnable>(this.queueCapacity) : new LinkedBlockingQueue<Runnable>();
+        this.executor = new ThreadPoolExecutor(size, size, 60L, TimeUnit.SECONDS, queue,
+                new AppThreadFactory(S.concat("jobs-", name)), new SaturationHandler());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    static JobPool create(String name, AppConfig config, JobManager manager) {
+        String prefix = S.concat("job.pool.", name, ".");
+        int size = intSetting(config, prefix + "size", config.jobPoolSize());
+        int queue = intSetting(config, prefix + "queue", 0);
+        Object o = config.get(prefix + "saturation");
+        SaturationPolicy policy = null == o ? SaturationPolicy.ABORT : SaturationPolicy.valueOfIgnoreCase(S.string(o));
+        E.invalidConfigurationIf(SaturationPolicy.BLOCK == policy, "saturation policy not supported for job pool %s: %s", name, policy);
+        return new JobPool(name, size, queue, policy, manager);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSize() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public SaturationPolicy getSaturationPolicy() {
+        return saturationPolicy;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getCompletedCount() {
+        return executor.getCompletedTaskCount();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Run a task in this pool
+     */
+    public void now(Runnable runnable) {
+        manager.now(this, runnable);
+    }
+
+    /**
+     * Run a task in this pool and returns the future of the result
+     */
+    public <T> Future<T> now(Callable<T> callable) {
+        return manager.now(this, callable);
+    }
+
+    /**
+     * Run a task in this pool after a delay
+     */
+    public void delay(Runnable runnable, long delay, TimeUnit timeUnit) {
+        manager.delay(this, runnable, delay, timeUnit);
+    }
+
+    /**
+     * Run a task in this pool at fixed rate
+     */
+    public void every(String id, Runnable runnable, String interval) {
+        manager.every(this, id, runnable, interval);
+    }
+
+    /**
+     * Run a task in this pool with fixed delay
+     */
+    public void fixedDelay(String id, Runnable runnable, String interval) {
+        manager.fixedDelay(this, id, runnable, interval);
+    }
+
+    @Override
+    public String toString() {
+        return S.concat("job pool[", name, "]");
+    }
+
+    ThreadPoolExecutor executor() {
+        return executor;
+    }
+
+    void shutdown() {
+        executor.getQueue().clear();
+        executor.shutdownNow();
+    }
+
+    private static int intSetting(AppConfig config, String key, int def) {
+        Object o = config.get(key);
+        if (null == o) {
+            return def;
+        }
+        try {
+            return Integer.parseInt(S.string(o).trim());
+        } catch (NumberFormatException e) {
+            throw E.invalidConfiguration("invalid integer value for %s: %s", key, o);
+        }
+    }
+
+    // applies the saturation policy, and tells the job scheduler about dropped
+    // tasks so that periodic jobs are not lost
+    private class SaturationHandler implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                if (SaturationPolicy.ABORT == saturationPolicy) {
+                    throw new RejectedExecutionException(S.concat(JobPool.this.toString(), " is shutdown"));
+                }
+                return;
+            }
+            rejected.incrementAndGet();
+            switch (saturationPolicy) {
+                case CALLER_RUNS:
+                    TimingWheelScheduler scheduler = null == manager ? null : manager.scheduler();
+                    if (null != scheduler && scheduler.isTimerThread()) {
+                        // never run the task on the job timer thread, nor hand it over to
+                        // the shared pool which would defeat the bulkhead
+                        TimingWheelScheduler.discarded(r);
+                    } else {
+                        r.run();
+                    }
+                    break;
+                case DISCARD:
+                    TimingWheelScheduler.discarded(r);
+                    break;
+                case DISCARD_OLDEST:
+                    Runnable oldest = executor.getQueue().poll();
+                    if (null != oldest) {
+                        TimingWheelScheduler.discarded(oldest);
+                    }
+                    executor.execute(r);
+                    break;
+                default:
+                    throw new RejectedExecutionException(S.concat(JobPool.this.toString(), " is saturated"));
+            }
+        }
+    }
+
+}
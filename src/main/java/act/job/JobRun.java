@@ -0,0 +1,93 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.osgl.util.S;
+
+import java.util.Date;
+
+/**
+ * A scheduled or finished invocation of a job recorded in {@link JobStore}
+ */
+public class JobRun {
+
+    private final String jobId;
+    private final long fireTime;
+    private final long finishTime;
+    private final boolean success;
+
+    /**
+     * Construct a scheduled job run
+     * @param jobId the job ID
+     * @param fireTime the scheduled fire time
+     */
+    public JobRun(String jobId, long fireTime) {
+        this(jobId, fireTime, -1, false);
+    }
+
+    /**
+     * Construct a finished job run
+     * @param jobId the job ID
+     * @param fireTime the scheduled fire time
+     * @param finishTime the time the job finished
+     * @param success whether the job finished without exception
+     */
+    public JobRun(String jobId, long fireTime, long finishTime, boolean success) {
+        this.jobId = jobId;
+        this.fireTime = fireTime;
+        this.finishTime = finishTime;
+        this.success = success;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public Date getFireTime() {
+        return new Date(fireTime);
+    }
+
+    public Date getFinishTime() {
+        return finishTime < 0 ? null : new Date(finishTime);
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public boolean isFinished() {
+        return finishTime >= 0;
+    }
+
+    long fireTimeInMillis() {
+        return fireTime;
+    }
+
+    long finishTimeInMillis() {
+        return finishTime;
+    }
+
+    @Override
+    public String toString() {
+        return isFinished() ? S.fmt("%s fired at %s finished at %s %s", jobId, getFireTime(), getFinishTime(), success ? "successfully" : "with error")
+                : S.fmt("%s scheduled at %s", jobId, getFireTime());
+    }
+}
@@ -0,0 +1,184 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.osgl.util.S;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Execution statistics of a job: the most recent executions in a ring
+ * buffer and a latency histogram.
+ *
+ * The histogram has power of two buckets in milliseconds, thus the
+ * percentiles reported are the upper bound of the bucket, i.e. accurate
+ * within a factor of two. Recording is lock free.
+ */
+public class JobStats {
+
+    // the number of recent executions kept
+    static final int HISTORY_SIZE = 32;
+
+    // bucket `i` holds durations in `[2^(i-1), 2^i)` milliseconds, bucket 0 holds 0ms
+    private static final int BUCKETS = 32;
+
+    private final String jobId;
+    private final AtomicReferenceArray<JobExecution> recent = new AtomicReferenceArray<>(HISTORY_SIZE);
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong overruns = new AtomicLong();
+    private final AtomicLong totalDuration = new AtomicLong();
+    private final AtomicLong maxDuration = new AtomicLong();
+
+    JobStats(String jobId) {
+        this.jobId = jobId;
+    }
+
+    void record(long startTime, long duration, Throwable error) {
+        JobExecution execution = new JobExecution(startTime, duration, null == error ? null : summary(error));
+        recent.set((int) (cursor.getAndIncrement() % HISTORY_SIZE), execution);
+        histogram.incrementAndGet(bucket(duration));
+        totalDuration.addAndGet(duration);
+        long max = maxDuration.get();
+        while (duration > max && !maxDuration.compareAndSet(max, duration)) {
+            max = maxDuration.get();
+        }
+        if (null != error) {
+            failures.incrementAndGet();
+        }
+    }
+
+    void overrun() {
+        overruns.incrementAndGet();
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public long getCount() {
+        return cursor.get();
+    }
+
+    public long getFailureCount() {
+        return failures.get();
+    }
+
+    public long getOverrunCount() {
+        return overruns.get();
+    }
+
+    public long getMeanDuration() {
+        long count = cursor.get();
+        return 0 == count ? 0 : totalDuration.get() / count;
+    }
+
+    public long getMaxDuration() {
+        return maxDuration.get();
+    }
+
+    public long getP50() {
+        return percentile(0.5);
+    }
+
+    public long getP90() {
+        return percentile(0.9);
+    }
+
+    public long getP99() {
+        return percentile(0.99);
+    }
+
+    /**
+     * Returns the latency histogram as a map from bucket label, e.g.
+     * `<16ms`, to the number of executions. Empty buckets are omitted.
+     */
+    public Map<String, Long> getHistogram() {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKETS; ++i) {
+            long n = histogram.get(i);
+            if (n > 0) {
+                map.put(S.concat("<", S.string(1L << i), "ms"), n);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Returns the recent executions, latest first
+     */
+    public List<JobExecution> getRecentExecutions() {
+        List<JobExecution> list = new ArrayList<>(HISTORY_SIZE);
+        long end = cursor.get();
+        for (long i = end - 1; i >= 0 && i >= end - HISTORY_SIZE; --i) {
+            JobExecution execution = recent.get((int) (i % HISTORY_SIZE));
+            if (null != execution) {
+                list.add(execution);
+            }
+        }
+        return list;
+    }
+
+    /*
+     * Returns the upper bound, in milliseconds, of the bucket
+     * in which the percentile falls
+     */
+    private long percentile(double p) {
+        long total = 0;
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; ++i) {
+            counts[i] = histogram.get(i);
+            total += counts[i];
+        }
+        if (0 == total) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(p * total);
+        long sum = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            sum += counts[i];
+            if (sum >= rank) {
+                return (1L << i) - 1;
+            }
+        }
+        return maxDuration.get();
+    }
+
+    private static int bucket(long duration) {
+        if (duration <= 0) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(duration));
+    }
+
+    private static String summary(Throwable error) {
+        String msg = error.getMessage();
+        String type = error.getClass().getSimpleName();
+        return null == msg ? type : S.concat(type, ": ", msg);
+    }
+}
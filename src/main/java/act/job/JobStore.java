@@ -0,0 +1,91 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.app.App;
+
+import java.util.List;
+
+/**
+ * Persists the schedule and execution history of jobs so that
+ * {@link MisfirePolicy misfires} can be detected after app restart.
+ *
+ * Only jobs with a time based trigger, i.e. {@link Cron}, {@link Every}
+ * and {@link FixedDelay} are recorded. Jobs are identified by job ID, thus
+ * jobs with generated IDs cannot be matched across restart.
+ *
+ * Implementations shall be thread safe.
+ *
+ * @see act.conf.AppConfigKey#JOB_STORE
+ */
+public interface JobStore {
+
+    /**
+     * Open the store. Called when the job manager is initialized.
+     * @param app the app
+     */
+    void open(App app);
+
+    /**
+     * Close the store. Called when the job manager is destroyed.
+     */
+    void close();
+
+    /**
+     * Record the next time a job will be invoked.
+     *
+     * @param jobId the job ID
+     * @param fireTime the scheduled time in milliseconds
+     */
+    void scheduled(String jobId, long fireTime);
+
+    /**
+     * Record a finished invocation of a job.
+     *
+     * @param jobId the job ID
+     * @param fireTime the scheduled time of the invocation
+     * @param finishTime the time the invocation finished
+     * @param success whether the invocation finished without exception
+     */
+    void completed(String jobId, long fireTime, long finishTime, boolean success);
+
+    /**
+     * Returns the scheduled time of a job that has not been completed.
+     *
+     * @param jobId the job ID
+     * @return the scheduled time or `-1` if there is no pending invocation
+     */
+    long pendingFireTime(String jobId);
+
+    /**
+     * Returns pending invocations of all jobs, ordered by fire time.
+     */
+    List<JobRun> upcoming();
+
+    /**
+     * Returns finished invocations, latest first.
+     *
+     * @param jobId the job ID or `null` for all jobs
+     * @param limit the maximum number of runs to return
+     */
+    List<JobRun> history(String jobId, int limit);
+
+}
@@ -26,7 +26,6 @@ import act.conf.AppConfig;
 import act.event.SysEventListenerBase;
 import fc.cron.CronExpression;
 import org.joda.time.DateTime;
-import org.joda.time.Seconds;
 import org.osgl.$;
 import org.osgl.exception.NotAppliedException;
 import org.osgl.logging.LogManager;
@@ -35,9 +34,11 @@ import org.osgl.util.E;
 import org.osgl.util.S;
 import org.rythmengine.utils.Time;
 
+import java.util.Date;
 import java.util.EventObject;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import static act.app.event.SysEventId.START;
@@ -51,6 +52,9 @@ public abstract class JobTrigger {
 
     protected static final Logger LOGGER = LogManager.get(JobTrigger.class);
 
+    // the maximum number of missed invocations to fire on misfire
+    static final int MAX_MISSED_FIRES = 1000;
+
     @Override
     public String toString() {
         return getClass().getSimpleName();
@@ -76,6 +80,70 @@ public abstract class JobTrigger {
 
     void schedule(JobManager manager, Job job) {}
 
+    /**
+     * Returns the time of the invocation following the one fired at `fireTime`
+     * and finished at `finishTime`, or `-1` if the trigger records the time
+     * itself or is not time based.
+     */
+    long followingFireTime(long fireTime, long finishTime) {
+        return -1;
+    }
+
+    /**
+     * Returns the number of invocations that should have happened from `since` to `now`
+     */
+    int missedFires(long since, long now) {
+        return 1;
+    }
+
+    /**
+     * Returns the number of milliseconds between the start of two invocations,
+     * or `-1` if the trigger does not fire at a fixed rate
+     */
+    long period() {
+        return -1;
+    }
+
+    /*
+     * Check the job store for invocations missed during app downtime
+     * and apply the misfire policy of the job
+     */
+    final void handleMisfire(JobManager manager, Job job, boolean startImmediately) {
+        JobStore store = manager.jobStore();
+        MisfirePolicy policy = job.misfirePolicy();
+        if (null == store || null == policy) {
+            return;
+        }
+        if (job.isClusterSingleton() && !manager.holdsLease(job.id())) {
+            return;
+        }
+        long since = store.pendingFireTime(job.id());
+        long now = $.ms();
+        if (since < 0 || since > now) {
+            return;
+        }
+        int missed = missedFires(since, now);
+        LOGGER.info("job[%s] missed %s invocation(s) since %s, misfire policy: %s", job.id(), missed, new Date(since), policy);
+        int times;
+        switch (policy) {
+            case FIRE_ONCE_NOW:
+                times = 1;
+                break;
+            case FIRE_ALL:
+                times = missed;
+                break;
+            default:
+                times = 0;
+        }
+        if (startImmediately) {
+            // one invocation happens anyway
+            times--;
+        }
+        if (times > 0) {
+            manager.now(job.misfireJob(times).id());
+        }
+    }
+
     void traceSchedule(Job job) {
         if (isTraceEnabled()) {
             trace("trigger[%s] schedule job: %s", this, job);
@@ -167,11 +235,11 @@ public abstract class JobTrigger {
     }
 
     static JobTrigger fixedDelay(long seconds, boolean startImmediately) {
-        return new _FixedDelay(seconds, startImmediately);
+        return new _FixedDelay(seconds, TimeUnit.SECONDS, startImmediately);
     }
 
     static JobTrigger fixedDelay(long interval, TimeUnit timeUnit, boolean startImmediately) {
-        return new _FixedDelay(timeUnit.toSeconds(interval), startImmediately);
+        return new _FixedDelay(interval, timeUnit, startImmediately);
     }
 
     static JobTrigger every(String duration, boolean startImmediately) {
@@ -199,7 +267,7 @@ public abstract class JobTrigger {
     }
 
     static JobTrigger delayForSeconds(long seconds, boolean startImmediately) {
-        return new _FixedDelay(seconds, startImmediately);
+        return new _FixedDelay(seconds, TimeUnit.SECONDS, startImmediately);
     }
 
     static JobTrigger alongWith(String jobId) {
@@ -227,9 +295,19 @@ public abstract class JobTrigger {
     }
 
     static class _Cron extends JobTrigger {
+        // shared by jobs with the same expression so they share the next time cache
+        private static final ConcurrentMap<String, CronExpression> EXPRESSIONS = new ConcurrentHashMap<>();
+
         private CronExpression cronExpr;
         _Cron(String expression) {
-            cronExpr = new CronExpression(expression);
+            cronExpr = EXPRESSIONS.get(expression);
+            if (null == cronExpr) {
+                CronExpression newExpr = new CronExpression(expression);
+                cronExpr = EXPRESSIONS.putIfAbsent(expression, newExpr);
+                if (null == cronExpr) {
+                    cronExpr = newExpr;
+                }
+            }
         }
 
         @Override
@@ -245,44 +323,66 @@ public abstract class JobTrigger {
                 app.eventBus().bindAsync(SysEventId.POST_START, new SysEventListenerBase() {
                     @Override
                     public void on(EventObject event) throws Exception {
+                        handleMisfire(manager, job, false);
                         delayedSchedule(manager, job);
                     }
                 });
             } else {
+                handleMisfire(manager, job, false);
                 delayedSchedule(manager, job);
             }
         }
 
+        @Override
+        int missedFires(long since, long now) {
+            int n = 0;
+            DateTime time = new DateTime(since - 1);
+            while (n < MAX_MISSED_FIRES) {
+                time = cronExpr.nextTimeAfter(time);
+                if (time.getMillis() > now) {
+                    break;
+                }
+                n++;
+            }
+            return Math.max(1, n);
+        }
+
         private void delayedSchedule(JobManager manager, Job job) {
             DateTime now = DateTime.now();
             // add one seconds to prevent the next time be the current time (now)
             DateTime next = cronExpr.nextTimeAfter(now.plusSeconds(1));
-            Seconds seconds = Seconds.secondsBetween(now, next);
-            ScheduledFuture future = manager.executor().schedule(job, seconds.getSeconds(), TimeUnit.SECONDS);
+            job.scheduledAt(next.getMillis());
+            ScheduledFuture future = manager.scheduler().schedule(job, next.getMillis() - now.getMillis(), TimeUnit.MILLISECONDS, manager.executorOf(job));
             manager.futureScheduled(job.id(), future);
         }
 
         @Override
         void scheduleFollowingCalls(JobManager manager, Job job) {
-            schedule(manager, job);
+            delayedSchedule(manager, job);
         }
     }
 
     private abstract static class _Periodical extends JobTrigger {
-        protected long seconds;
+        protected long millis;
         protected boolean startImmediately;
         _Periodical(String duration, boolean startImmediately) {
             E.illegalArgumentIf(S.blank(duration), "delay duration shall not be empty");
-            seconds = Time.parseDuration(duration);
+            long seconds = Time.parseDuration(duration);
             E.illegalArgumentIf(seconds < 1, "delay duration shall not be zero or negative number");
+            this.millis = seconds * 1000L;
             this.startImmediately = startImmediately;
         }
-        _Periodical(long seconds, boolean startImmediately) {
-            E.illegalArgumentIf(seconds < 1, "delay duration cannot be zero or negative");
-            this.seconds = seconds;
+        _Periodical(long duration, TimeUnit timeUnit, boolean startImmediately) {
+            E.illegalArgumentIf(duration < 1, "delay duration cannot be zero or negative");
+            this.millis = timeUnit.toMillis(duration);
+            E.illegalArgumentIf(millis < 1, "delay duration cannot be less than one millisecond");
             this.startImmediately = startImmediately;
         }
 
+        protected String durationStr() {
+            return 0 == millis % 1000L ? S.concat(S.string(millis / 1000L), " seconds") : S.concat(S.string(millis), " milliseconds");
+        }
+
         @Override
         final void schedule(final JobManager manager, final Job job) {
             traceSchedule(job);
@@ -302,8 +402,9 @@ public abstract class JobTrigger {
         protected abstract void delayedSchedule(JobManager manager, Job job);
 
         protected void runAndSchedule(JobManager manager, Job job) {
+            handleMisfire(manager, job, startImmediately);
             if (startImmediately) {
-                manager.now(job);
+                manager.executorOf(job).submit(job);
             }
             delayedSchedule(manager, job);
         }
@@ -314,19 +415,25 @@ public abstract class JobTrigger {
         _FixedDelay(String duration, boolean startImmediately) {
             super(duration, startImmediately);
         }
-        _FixedDelay(long seconds, boolean startImmediately) {
-            super(seconds, startImmediately);
+        _FixedDelay(long duration, TimeUnit timeUnit, boolean startImmediately) {
+            super(duration, timeUnit, startImmediately);
         }
 
         @Override
         public String toString() {
-            return S.concat("fixed delay of ", S.string(seconds), " seconds");
+            return S.concat("fixed delay of ", durationStr());
+        }
+
+        @Override
+        long followingFireTime(long fireTime, long finishTime) {
+            return finishTime + millis;
         }
 
         @Override
         protected void delayedSchedule(JobManager manager, Job job) {
-            ScheduledThreadPoolExecutor executor = manager.executor();
-            ScheduledFuture future = executor.scheduleWithFixedDelay(job, seconds, seconds, TimeUnit.SECONDS);
+            job.scheduledAt($.ms() + millis);
+            TimingWheelScheduler scheduler = manager.scheduler();
+            ScheduledFuture future = scheduler.scheduleWithFixedDelay(job, millis, millis, TimeUnit.MILLISECONDS, manager.executorOf(job));
             manager.futureScheduled(job.id(), future);
         }
     }
@@ -337,18 +444,34 @@ public abstract class JobTrigger {
         }
 
         _Every(long duration, TimeUnit timeUnit, boolean startImmediately) {
-            super(timeUnit.toSeconds(duration), startImmediately);
+            super(duration, timeUnit, startImmediately);
         }
 
         @Override
         public String toString() {
-            return S.concat("every ", S.string(seconds), " seconds");
+            return S.concat("every ", durationStr());
+        }
+
+        @Override
+        long followingFireTime(long fireTime, long finishTime) {
+            return fireTime + millis;
+        }
+
+        @Override
+        int missedFires(long since, long now) {
+            return (int) Math.min(MAX_MISSED_FIRES, 1 + (now - since) / millis);
+        }
+
+        @Override
+        long period() {
+            return millis;
         }
 
         @Override
         protected void delayedSchedule(JobManager manager, Job job) {
-            ScheduledThreadPoolExecutor executor = manager.executor();
-            ScheduledFuture future = executor.scheduleAtFixedRate(job, seconds, seconds, TimeUnit.SECONDS);
+            job.scheduledAt($.ms() + millis);
+            TimingWheelScheduler scheduler = manager.scheduler();
+            ScheduledFuture future = scheduler.scheduleAtFixedRate(job, millis, millis, TimeUnit.MILLISECONDS, manager.executorOf(job));
             manager.futureScheduled(job.id(), future);
         }
     }
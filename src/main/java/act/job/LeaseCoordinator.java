@@ -0,0 +1,71 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.app.App;
+
+/**
+ * Grants time limited leases to the nodes of a cluster so that a job
+ * marked with {@link ClusterSingleton} is executed on one node only.
+ *
+ * A lease is acquired by an owner for a period of time. The owner keeps
+ * the lease by acquiring it again before it expires. Once the lease
+ * expires, e.g. when the owner node dies, any other owner can take it
+ * over.
+ *
+ * Implementations shall be thread safe.
+ *
+ * @see act.conf.AppConfigKey#JOB_LEASE
+ */
+public interface LeaseCoordinator {
+
+    /**
+     * Open the coordinator. Called when the job manager is initialized.
+     * @param app the app
+     */
+    void open(App app);
+
+    /**
+     * Close the coordinator. Called when the job manager is destroyed.
+     */
+    void close();
+
+    /**
+     * Acquire or renew a lease.
+     *
+     * @param lease the lease ID, e.g. a job ID
+     * @param owner the ID of the node requesting the lease
+     * @param ttl the number of milliseconds the lease lasts
+     * @return `true` if the owner holds the lease, or `false` if the lease
+     *         is held by another owner and has not expired yet
+     */
+    boolean acquire(String lease, String owner, long ttl);
+
+    /**
+     * Release a lease held by the owner so that it can be taken over
+     * by other owners immediately.
+     *
+     * @param lease the lease ID
+     * @param owner the ID of the node holding the lease
+     */
+    void release(String lease, String owner);
+
+}
@@ -0,0 +1,82 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.app.App;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link LeaseCoordinator} that keeps leases in memory.
+ *
+ * It does not coordinate multiple processes and is meant to be used
+ * for a single node or to simulate multiple nodes sharing the same
+ * instance in tests.
+ */
+public class LocalLeaseCoordinator implements LeaseCoordinator {
+
+    private final Map<String, Lease> leases = new HashMap<>();
+
+    @Override
+    public void open(App app) {
+    }
+
+    @Override
+    public synchronized void close() {
+        leases.clear();
+    }
+
+    @Override
+    public synchronized boolean acquire(String lease, String owner, long ttl) {
+        long now = now();
+        Lease current = leases.get(lease);
+        if (null != current && !current.owner.equals(owner) && current.expireAt > now) {
+            return false;
+        }
+        leases.put(lease, new Lease(owner, now + ttl));
+        return true;
+    }
+
+    @Override
+    public synchronized void release(String lease, String owner) {
+        Lease current = leases.get(lease);
+        if (null != current && current.owner.equals(owner)) {
+            leases.remove(lease);
+        }
+    }
+
+    // allow tests to move the clock
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    private static class Lease {
+        final String owner;
+        final long expireAt;
+
+        Lease(String owner, long expireAt) {
+            this.owner = owner;
+            this.expireAt = expireAt;
+        }
+    }
+
+}
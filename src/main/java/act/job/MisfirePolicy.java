@@ -0,0 +1,46 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * Specify what to do with the scheduled invocations of a job that were
+ * missed because the app was not running at the time.
+ *
+ * Misfire is detected only when a {@link JobStore} is configured.
+ */
+public enum MisfirePolicy {
+    /**
+     * Run the job once right after app started no matter how many
+     * invocations were missed
+     */
+    FIRE_ONCE_NOW,
+
+    /**
+     * Ignore missed invocations. A job with this policy is not recorded
+     * in the job store
+     */
+    SKIP,
+
+    /**
+     * Run the job once for each missed invocation right after app started
+     */
+    FIRE_ALL
+}
@@ -0,0 +1,505 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.app.AppThreadFactory;
+import act.util.LogSupport;
+import org.osgl.util.E;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Schedule tasks with a hierarchical hashed timing wheel.
+ *
+ * The lowest wheel has millisecond ticks. A task due beyond the span of a
+ * wheel goes to an overflow wheel with ticks as long as the whole span of
+ * the lower wheel, and moves down to the lower wheel when the overflow
+ * wheel's bucket expires. Inserting and cancelling a task are O(1).
+ *
+ * The timer thread does not tick through empty slots. Instead it waits on
+ * a delay queue of non empty buckets - the number of which is bounded by
+ * the wheel size, not the number of tasks. Expired tasks are handed over to
+ * the worker executor, or the executor specified when scheduling the task,
+ * after the wheel lock is released. A periodic task rejected or discarded by
+ * the executor is put back to the wheel for its next period.
+ */
+class TimingWheelScheduler extends LogSupport {
+
+    private static final long TICK_MS = 1L;
+    private static final int WHEEL_SIZE = 512;
+
+    private static final long ORIGIN = System.nanoTime();
+
+    private static final Runnable NOOP = new Runnable() {
+        @Override
+        public void run() {
+        }
+    };
+
+    private final Executor workers;
+    private final DelayQueue<Bucket> delayQueue = new DelayQueue<>();
+    private final TimingWheel wheel;
+    private final AtomicInteger pending = new AtomicInteger();
+    // tasks are added with read lock and the clock is advanced with write lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Thread timer;
+    private volatile boolean shutdown;
+
+    TimingWheelScheduler(Executor workers) {
+        this.workers = workers;
+        this.wheel = new TimingWheel(TICK_MS, WHEEL_SIZE, now());
+        this.timer = new AppThreadFactory("job-timer", true).newThread(new Runnable() {
+            @Override
+            public void run() {
+                while (!shutdown) {
+                    try {
+                        advance(200L);
+                    } catch (InterruptedException e) {
+                        return;
+                    } catch (Exception e) {
+                        warn(e, "error advancing job timer");
+                    }
+                }
+            }
+        });
+        this.timer.start();
+    }
+
+    ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return schedule(command, delay, unit, workers);
+    }
+
+    ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit, Executor executor) {
+        Task<Object> task = new Task<>(command, deadline(delay, unit), 0, executor);
+        add(task);
+        return task;
+    }
+
+    <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return schedule(callable, delay, unit, workers);
+    }
+
+    <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit, Executor executor) {
+        Task<V> task = new Task<>(callable, deadline(delay, unit), 0, executor);
+        add(task);
+        return task;
+    }
+
+    ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        return scheduleAtFixedRate(command, initialDelay, period, unit, workers);
+    }
+
+    ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit, Executor executor) {
+        E.illegalArgumentIf(period <= 0, "period shall be positive number");
+        Task<Object> task = new Task<>(command, deadline(initialDelay, unit), unit.toMillis(period), executor);
+        add(task);
+        return task;
+    }
+
+    ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        return scheduleWithFixedDelay(command, initialDelay, delay, unit, workers);
+    }
+
+    ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit, Executor executor) {
+        E.illegalArgumentIf(delay <= 0, "delay shall be positive number");
+        Task<Object> task = new Task<>(command, deadline(initialDelay, unit), -unit.toMillis(delay), executor);
+        add(task);
+        return task;
+    }
+
+    /**
+     * Returns the number of tasks waiting for their deadline
+     */
+    int pendingCount() {
+        return pending.get();
+    }
+
+    void shutdown() {
+        shutdown = true;
+        timer.interrupt();
+        delayQueue.clear();
+    }
+
+    boolean isShutdown() {
+        return shutdown;
+    }
+
+    boolean isTimerThread() {
+        return Thread.currentThread() == timer;
+    }
+
+    /**
+     * Notify the scheduler that an executor dropped a task without running it.
+     * Does nothing if the task is not scheduled by a timing wheel scheduler.
+     */
+    static void discarded(Runnable task) {
+        if (task instanceof Task) {
+            ((Task<?>) task).discarded();
+        }
+    }
+
+    private void add(Task<?> task) {
+        if (shutdown) {
+            throw new RejectedExecutionException("job scheduler is shutdown");
+        }
+        boolean added;
+        lock.readLock().lock();
+        try {
+            added = wheel.add(task);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (!added) {
+            // already expired
+            dispatch(task);
+        }
+    }
+
+    private void advance(long timeoutMs) throws InterruptedException {
+        Bucket bucket = delayQueue.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        if (null == bucket) {
+            return;
+        }
+        List<Task<?>> expired = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            while (null != bucket) {
+                wheel.advanceClock(bucket.expiration());
+                bucket.flush(expired);
+                bucket = delayQueue.poll();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // executors might block or run the task in place, keep them out of the lock
+        for (Task<?> task : expired) {
+            dispatch(task);
+        }
+    }
+
+    // called by bucket flush: cascade the task to a lower wheel or collect it if expired
+    private void reinsert(Task<?> task, List<Task<?>> expired) {
+        if (task.isCancelled()) {
+            return;
+        }
+        if (!wheel.add(task)) {
+            expired.add(task);
+        }
+    }
+
+    private void dispatch(Task<?> task) {
+        if (task.isCancelled()) {
+            return;
+        }
+        try {
+            task.executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // workers shutdown or saturated
+            if (!shutdown) {
+                warn("job task rejected: %s", e.getMessage());
+                task.discarded();
+            }
+        }
+    }
+
+    private static long deadline(long delay, TimeUnit unit) {
+        return now() + Math.max(0L, unit.toMillis(delay));
+    }
+
+    // monotonic milliseconds since the class loaded, never negative
+    private static long now() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - ORIGIN);
+    }
+
+    private class TimingWheel {
+        private final long tickMs;
+        private final int wheelSize;
+        private final long interval;
+        private final Bucket[] buckets;
+        private volatile long currentTime;
+        private volatile TimingWheel overflowWheel;
+
+        TimingWheel(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; ++i) {
+                buckets[i] = new Bucket();
+            }
+            this.currentTime = startMs - (startMs % tickMs);
+        }
+
+        /**
+         * Add task to the wheel
+         * @return `false` if the task is cancelled or expired
+         */
+        boolean add(Task<?> task) {
+            long expiration = task.deadline;
+            if (task.isCancelled()) {
+                return false;
+            } else if (expiration < currentTime + tickMs) {
+                return false;
+            } else if (expiration < currentTime + interval) {
+                long virtualId = expiration / tickMs;
+                Bucket bucket = buckets[(int) (virtualId % wheelSize)];
+                bucket.add(task);
+                if (bucket.setExpiration(virtualId * tickMs)) {
+                    // the bucket is reused for another round
+                    delayQueue.offer(bucket);
+                }
+                return true;
+            } else {
+                return overflowWheel().add(task);
+            }
+        }
+
+        void advanceClock(long timeMs) {
+            if (timeMs >= currentTime + tickMs) {
+                currentTime = timeMs - (timeMs % tickMs);
+                TimingWheel overflow = overflowWheel;
+                if (null != overflow) {
+                    overflow.advanceClock(currentTime);
+                }
+            }
+        }
+
+        private TimingWheel overflowWheel() {
+            if (null == overflowWheel) {
+                synchronized (this) {
+                    if (null == overflowWheel) {
+                        overflowWheel = new TimingWheel(interval, wheelSize, currentTime);
+                    }
+                }
+            }
+            return overflowWheel;
+        }
+    }
+
+    // A doubly linked list of tasks with a shared expiration
+    private class Bucket implements Delayed {
+        // sentinel of the list
+        private final Task<?> root = new Task<>(Executors.callable(NOOP), -1L, 0, workers);
+        private volatile long expiration = -1L;
+
+        Bucket() {
+            root.next = root;
+            root.prev = root;
+        }
+
+        long expiration() {
+            return expiration;
+        }
+
+        /**
+         * @return `true` if the expiration changed
+         */
+        boolean setExpiration(long expiration) {
+            synchronized (this) {
+                boolean changed = this.expiration != expiration;
+                this.expiration = expiration;
+                return changed;
+            }
+        }
+
+        void add(Task<?> task) {
+            boolean done = false;
+            while (!done) {
+                // in case the task is being moved from another bucket
+                task.removeFromBucket();
+                synchronized (this) {
+                    synchronized (task) {
+                        if (null == task.bucket) {
+                            Task<?> tail = root.prev;
+                            task.next = root;
+                            task.prev = tail;
+                            task.bucket = this;
+                            tail.next = task;
+                            root.prev = task;
+                            pending.incrementAndGet();
+                            done = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        void remove(Task<?> task) {
+            synchronized (this) {
+                synchronized (task) {
+                    if (task.bucket == this) {
+                        task.next.prev = task.prev;
+                        task.prev.next = task.next;
+                        task.next = null;
+                        task.prev = null;
+                        task.bucket = null;
+                        pending.decrementAndGet();
+                    }
+                }
+            }
+        }
+
+        void flush(List<Task<?>> expired) {
+            List<Task<?>> tasks = new ArrayList<>();
+            synchronized (this) {
+                Task<?> head = root.next;
+                while (head != root) {
+                    remove(head);
+                    tasks.add(head);
+                    head = root.next;
+                }
+                expiration = -1L;
+            }
+            for (Task<?> task : tasks) {
+                reinsert(task, expired);
+            }
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Math.max(expiration - now(), 0L), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            Bucket that = (Bucket) o;
+            return expiration < that.expiration ? -1 : expiration > that.expiration ? 1 : 0;
+        }
+    }
+
+    private class Task<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+        // deadline in monotonic milliseconds
+        volatile long deadline;
+        // positive for fixed rate, negative for fixed delay, zero for one shot task
+        private final long period;
+        // the executor runs the task when it expires
+        private final Executor executor;
+        // the runnable the task created with, null for callable
+        private final Runnable command;
+        // guarded by the task monitor
+        Bucket bucket;
+        Task<?> next;
+        Task<?> prev;
+
+        Task(Callable<V> callable, long deadline, long period, Executor executor) {
+            super(callable);
+            this.deadline = deadline;
+            this.period = period;
+            this.executor = executor;
+            this.command = null;
+        }
+
+        Task(Runnable command, long deadline, long period, Executor executor) {
+            super(command, null);
+            this.deadline = deadline;
+            this.period = period;
+            this.executor = executor;
+            this.command = command;
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return 0 != period;
+        }
+
+        @Override
+        public void run() {
+            if (!isPeriodic()) {
+                super.run();
+            } else if (runAndReset() && !shutdown) {
+                deadline = period > 0 ? deadline + period : now() - period;
+                try {
+                    add(this);
+                } catch (RejectedExecutionException e) {
+                    // scheduler shutdown
+                }
+            }
+        }
+
+        /*
+         * Called when the executor dropped the task. A periodic task is put back
+         * for the next period, a cron job schedules its following call, otherwise
+         * the job would never run again
+         */
+        void discarded() {
+            if (shutdown || isCancelled()) {
+                return;
+            }
+            if (isPeriodic()) {
+                long now = now();
+                long next;
+                if (period > 0) {
+                    next = deadline + period;
+                    if (next <= now) {
+                        // skip the periods missed
+                        next += ((now - next) / period + 1) * period;
+                    }
+                } else {
+                    next = now - period;
+                }
+                deadline = next;
+                try {
+                    add(this);
+                } catch (RejectedExecutionException e) {
+                    // scheduler shutdown
+                }
+            } else if (command instanceof Job) {
+                ((Job) command).scheduleNextInvocation();
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            removeFromBucket();
+            return cancelled;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - now(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            if (this == o) {
+                return 0;
+            }
+            long diff = getDelay(TimeUnit.MILLISECONDS) - o.getDelay(TimeUnit.MILLISECONDS);
+            return diff < 0 ? -1 : diff > 0 ? 1 : 0;
+        }
+
+        void removeFromBucket() {
+            Bucket bucket;
+            synchronized (this) {
+                bucket = this.bucket;
+            }
+            if (null != bucket) {
+                bucket.remove(this);
+            }
+        }
+    }
+
+}
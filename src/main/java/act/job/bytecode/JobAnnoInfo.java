@@ -21,6 +21,7 @@ package act.job.bytecode;
  */
 
 import act.app.event.SysEventId;
+import act.job.MisfirePolicy;
 import com.alibaba.fastjson.JSON;
 import org.osgl.$;
 
@@ -34,6 +35,7 @@ public class JobAnnoInfo {
     public boolean async;
     public String id;
     public boolean startImmediately;
+    public MisfirePolicy misfirePolicy;
     public Class<? extends Annotation> annotationType;
 
     JobAnnoInfo (Class <? extends Annotation> annoType) {
@@ -48,6 +50,10 @@ public class JobAnnoInfo {
         if (null != v) {
             this.startImmediately = $.bool(v);
         }
+        v = tryGetDefaultValue(annoType, "misfire");
+        if (v instanceof MisfirePolicy) {
+            this.misfirePolicy = (MisfirePolicy) v;
+        }
         this.async = $.bool((Boolean) tryGetDefaultValue(annoType, "async"));
         this.id = (String) tryGetDefaultValue(annoType, "id");
     }
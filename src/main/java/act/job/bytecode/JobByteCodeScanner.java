@@ -26,7 +26,10 @@ import act.asm.AnnotationVisitor;
 import act.asm.MethodVisitor;
 import act.asm.Opcodes;
 import act.asm.Type;
+import act.job.Bulkhead;
+import act.job.ClusterSingleton;
 import act.job.JobAnnotationProcessor;
+import act.job.MisfirePolicy;
 import act.job.meta.JobClassMetaInfo;
 import act.job.meta.JobClassMetaInfoManager;
 import act.job.meta.JobMethodMetaInfo;
@@ -57,6 +60,11 @@ public class JobByteCodeScanner extends AppByteCodeScannerBase {
         return true;
     }
 
+    @Override
+    protected boolean skipPlainClass(String className) {
+        return true;
+    }
+
     @Override
     protected void onAppSet() {
         annotationProcessor = new JobAnnotationProcessor(app());
@@ -117,6 +125,8 @@ public class JobByteCodeScanner extends AppByteCodeScannerBase {
             private JobMethodMetaInfo methodInfo;
             private ActionAnnotationVisitor aav;
             private EnvAnnotationVisitor eav;
+            private boolean clusterSingleton;
+            private String pool;
             private List<String> paramTypes;
 
             JobMethodVisitor(MethodVisitor mv, int access, String methodName, String desc, String signature, String[] exceptions) {
@@ -151,6 +161,18 @@ public class JobByteCodeScanner extends AppByteCodeScannerBase {
                             this.aav.add(c);
                         }
                         return this.aav;
+                    } else if (ClusterSingleton.class == c) {
+                        clusterSingleton = true;
+                    } else if (Bulkhead.class == c) {
+                        return new AnnotationVisitor(ASM5, av) {
+                            @Override
+                            public void visit(String name, Object value) {
+                                if ("value".equals(name)) {
+                                    pool = S.string(value);
+                                }
+                                super.visit(name, value);
+                            }
+                        };
                     } else if (Env.isEnvAnnotation(c)) {
                         this.eav = new EnvAnnotationVisitor(av, c);
                         return this.eav;
@@ -176,6 +198,12 @@ public class JobByteCodeScanner extends AppByteCodeScannerBase {
                 } else {
                     info.invokeInstanceMethod();
                 }
+                if (clusterSingleton) {
+                    info.clusterSingleton();
+                }
+                if (S.notBlank(pool)) {
+                    info.pool(pool);
+                }
 
                 if (null != aav) {
                     if (null == eav || eav.matched()) {
@@ -214,6 +242,8 @@ public class JobByteCodeScanner extends AppByteCodeScannerBase {
                 public void visitEnum(String name, String desc, String value) {
                     if (desc.contains("SysEventId")) {
                         this.currentInfo.sysEventId = SysEventId.valueOf(value);
+                    } else if (desc.contains("MisfirePolicy")) {
+                        this.currentInfo.misfirePolicy = MisfirePolicy.valueOf(value);
                     }
                     super.visitEnum(name, desc, value);
                 }
@@ -47,6 +47,8 @@ public class JobMethodMetaInfo extends DestroyableBase {
     private ReturnTypeInfo returnType = new ReturnTypeInfo();
     private List<BeanSpec> paramTypes;
     private Method method;
+    private boolean clusterSingleton;
+    private String pool;
 
     public JobMethodMetaInfo(final JobClassMetaInfo clsInfo, final List<String> paramTypes) {
         this.clsInfo = clsInfo;
@@ -65,6 +67,8 @@ public class JobMethodMetaInfo extends DestroyableBase {
     private JobMethodMetaInfo(final JobClassMetaInfo clsInfo, JobMethodMetaInfo parent) {
         this.clsInfo = clsInfo;
         this.paramTypes = parent.paramTypes;
+        this.clusterSingleton = parent.clusterSingleton;
+        this.pool = parent.pool;
     }
 
     @Override
@@ -99,6 +103,24 @@ public class JobMethodMetaInfo extends DestroyableBase {
         return S.blank(id) ? fullName() : id;
     }
 
+    public JobMethodMetaInfo clusterSingleton() {
+        this.clusterSingleton = true;
+        return this;
+    }
+
+    public boolean isClusterSingleton() {
+        return clusterSingleton;
+    }
+
+    public JobMethodMetaInfo pool(String pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    public String pool() {
+        return pool;
+    }
+
     public Method method() {
         if (null == method) {
             Class<?> c = $.classForName(classInfo().className(), Act.app().classLoader());
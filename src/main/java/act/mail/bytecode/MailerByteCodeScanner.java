@@ -57,6 +57,11 @@ public class MailerByteCodeScanner extends AppByteCodeScannerBase {
         return true;
     }
 
+    @Override
+    protected boolean skipPlainClass(String className) {
+        return true;
+    }
+
     @Override
     public ByteCodeVisitor byteCodeVisitor() {
         return new _ByteCodeVisitor();
@@ -0,0 +1,71 @@
+package act.session;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A concurrent string keyed cache bounded by the number of entries.
+ *
+ * When the bound is reached an eighth of the entries are evicted. Entries
+ * are evicted in hash order, which is a cheap approximation of random
+ * eviction.
+ */
+class BoundedCache<V> {
+
+    private final int maxSize;
+    private final ConcurrentMap<String, V> map;
+
+    BoundedCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.map = new ConcurrentHashMap<>(maxSize);
+    }
+
+    V get(String key) {
+        return map.get(key);
+    }
+
+    /**
+     * Put an entry into the cache.
+     * @return the number of entries evicted to make room for the new one
+     */
+    int put(String key, V value) {
+        int evicted = 0;
+        if (map.size() >= maxSize) {
+            int toBeEvicted = Math.max(1, maxSize >> 3);
+            Iterator<String> itr = map.keySet().iterator();
+            while (evicted < toBeEvicted && itr.hasNext()) {
+                itr.next();
+                itr.remove();
+                evicted++;
+            }
+        }
+        map.put(key, value);
+        return evicted;
+    }
+
+    void remove(String key, V value) {
+        map.remove(key, value);
+    }
+
+}
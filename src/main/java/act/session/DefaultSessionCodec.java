@@ -20,8 +20,10 @@ package act.session;
  * #L%
  */
 
+import act.Act;
 import act.app.App;
 import act.conf.AppConfig;
+import act.metric.MetricInfo;
 import act.util.DestroyableBase;
 import org.osgl.$;
 import org.osgl.http.H;
@@ -46,6 +48,9 @@ public class DefaultSessionCodec extends DestroyableBase implements SessionCodec
     private final boolean encryptSession;
     private final int ttl;
     private final String pingPath;
+    // expiration is rounded down to bucket so session content keeps stable in the bucket
+    private final int expirationBucket;
+    private final SessionCodecCache cache;
     private App app;
 
     @Inject
@@ -55,6 +60,9 @@ public class DefaultSessionCodec extends DestroyableBase implements SessionCodec
         sessionWillExpire = ttl > 0;
         pingPath = conf .pingPath();
         encryptSession = conf.encryptSession();
+        int cacheSize = conf.sessionCodecCacheSize();
+        cache = cacheSize > 0 ? new SessionCodecCache(cacheSize, Act.metricPlugin().metric(MetricInfo.SESSION)) : null;
+        expirationBucket = null == cache ? 0 : Math.max(1000, Math.min(60 * 1000, ttl / 30));
     }
 
     @Override
@@ -96,7 +104,7 @@ public class DefaultSessionCodec extends DestroyableBase implements SessionCodec
             resolveFromCookieContent(session, encodedSession, true);
             newSession = false;
         }
-        session = processExpiration(session, $.ms(), newSession, sessionWillExpire, ttl, pingPath, request);
+        session = processExpiration(session, $.ms(), newSession, sessionWillExpire, ttl, expirationBucket, pingPath, request);
         return session;
     }
 
@@ -111,28 +119,53 @@ public class DefaultSessionCodec extends DestroyableBase implements SessionCodec
     }
 
     private void resolveFromCookieContent(H.KV<?> kv, String content, boolean isSession) {
-        String data = Codec.decodeUrl(content, Charsets.UTF_8);
-        if (isSession) {
-            if (encryptSession) {
-                try {
-                    data = app.decrypt(data);
-                } catch (Exception e) {
+        String[] pairs = isSession && null != cache ? cache.decoded(content) : null;
+        if (null == pairs) {
+            String data = Codec.decodeUrl(content, Charsets.UTF_8);
+            if (isSession) {
+                data = verify(data);
+                if (null == data) {
                     return;
                 }
             }
-            int firstDashIndex = data.indexOf("-");
-            if (firstDashIndex < 0) {
-                return;
+            pairs = parse(data);
+            if (isSession && null != cache) {
+                cache.cache(content, data, pairs);
             }
-            String sign = data.substring(0, firstDashIndex);
-            data = data.substring(firstDashIndex + 1);
-            String sign1 = app.sign(data);
-            if (!sign.equals(sign1)) {
-                return;
+        }
+        for (int i = 0, n = pairs.length; i < n; i += 2) {
+            kv.put(pairs[i], pairs[i + 1]);
+        }
+    }
+
+    /*
+     * Returns the session data without the signature if verified or
+     * `null` otherwise
+     */
+    private String verify(String data) {
+        if (encryptSession) {
+            try {
+                data = app.decrypt(data);
+            } catch (Exception e) {
+                return null;
             }
         }
+        int firstDashIndex = data.indexOf("-");
+        if (firstDashIndex < 0) {
+            return null;
+        }
+        String sign = data.substring(0, firstDashIndex);
+        data = data.substring(firstDashIndex + 1);
+        String sign1 = app.sign(data);
+        if (!sign.equals(sign1)) {
+            return null;
+        }
+        return data;
+    }
+
+    private String[] parse(String data) {
         List<char[]> pairs = split(data.toCharArray(), '\u0000');
-        if (pairs.isEmpty()) return;
+        List<String> list = new ArrayList<>(pairs.size() * 2);
         for (char[] pair: pairs) {
             List<char[]> kAndV = split(pair, '\u0001');
             int sz = kAndV.size();
@@ -144,9 +177,11 @@ public class DefaultSessionCodec extends DestroyableBase implements SessionCodec
                 }
                 warn("unexpected KV string: %S", sb.toString());
             } else {
-                kv.put(new String(kAndV.get(0)), new String(kAndV.get(1)));
+                list.add(new String(kAndV.get(0)));
+                list.add(new String(kAndV.get(1)));
             }
         }
+        return list.toArray(new String[list.size()]);
     }
 
     private List<char[]> split(char[] content, char separator) {
@@ -193,19 +228,46 @@ public class DefaultSessionCodec extends DestroyableBase implements SessionCodec
         }
         String data = sb.toString();
         if (isSession) {
+            String plain = data;
+            if (null != cache) {
+                String encoded = cache.encoded(plain);
+                if (null != encoded) {
+                    return encoded;
+                }
+            }
             String sign = app.sign(data);
             data = S.concat(sign, "-", data);
             if (encryptSession) {
                 data = app.encrypt(data);
             }
+            data = Codec.encodeUrl(data, Charsets.UTF_8);
+            if (null != cache) {
+                cache.cache(data, plain, parse(plain));
+            }
+            return data;
         }
         data = Codec.encodeUrl(data, Charsets.UTF_8);
         return data;
     }
 
     static H.Session processExpiration(H.Session session, long now, boolean newSession, boolean sessionWillExpire, int ttl, String pingPath, H.Request request) {
+        return processExpiration(session, now, newSession, sessionWillExpire, ttl, 0, pingPath, request);
+    }
+
+    /**
+     * Process session expiration.
+     *
+     * When `bucket` is positive the new expiration is rounded down to the bucket
+     * boundary, so that the session content, and thus the encoded cookie, keeps
+     * unchanged for requests in the same bucket. Rounding down makes sure the
+     * session never lives longer than `ttl`.
+     */
+    static H.Session processExpiration(H.Session session, long now, boolean newSession, boolean sessionWillExpire, int ttl, int bucket, String pingPath, H.Request request) {
         if (!sessionWillExpire) return session;
         long expiration = now + ttl;
+        if (bucket > 0) {
+            expiration -= expiration % bucket;
+        }
         if (newSession) {
             // no previous cookie to restore; but we need to set the timestamp in the new cookie
             // note we use `load` API instead of `put` because we don't want to set the dirty flag
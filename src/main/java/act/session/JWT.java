@@ -24,6 +24,7 @@ import act.conf.AppConfig;
 import act.crypto.HMAC;
 import act.util.SingletonBase;
 import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
 import org.joda.time.ReadableInstant;
 import org.osgl.$;
@@ -33,10 +34,8 @@ import org.osgl.util.S;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.nio.charset.Charset;
+import java.util.*;
 
 @Singleton
 public class JWT extends SingletonBase {
@@ -109,6 +108,14 @@ public class JWT extends SingletonBase {
             return JSON.toJSONString(payloads);
         }
 
+        public byte[] headerJsonBytes() {
+            return JSON.toJSONBytes(headers);
+        }
+
+        public byte[] payloadJsonBytes() {
+            return JSON.toJSONBytes(payloads);
+        }
+
         public Map<String, Object> payloads() {
             return payloads;
         }
@@ -136,18 +143,79 @@ public class JWT extends SingletonBase {
         }
     }
 
+    /**
+     * An immutable copy of a verified token and the time until when it can be reused
+     */
+    private static class VerifiedToken {
+        private final Map<String, Object> headers;
+        private final Map<String, Object> payloads;
+        private final long validUntil;
+
+        VerifiedToken(Token token, long validUntil) {
+            this.headers = copy(token.headers, true);
+            this.payloads = copy(token.payloads, true);
+            this.validUntil = validUntil;
+        }
+
+        Token toToken(String issuer) {
+            // the same types as a token deserialized from string
+            Token token = new Token(issuer);
+            token.headers.putAll(copy(headers, false));
+            token.payloads.putAll(copy(payloads, false));
+            return token;
+        }
+
+        private static Map<String, Object> copy(Map<?, ?> map, boolean immutable) {
+            Map<String, Object> result = immutable ? new LinkedHashMap<String, Object>() : new JSONObject();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                result.put(String.valueOf(entry.getKey()), copy(entry.getValue(), immutable));
+            }
+            return immutable ? Collections.unmodifiableMap(result) : result;
+        }
+
+        private static Object copy(Object value, boolean immutable) {
+            if (value instanceof Map) {
+                return copy((Map<?, ?>) value, immutable);
+            } else if (value instanceof Collection) {
+                List<Object> result = immutable ? new ArrayList<Object>() : new JSONArray();
+                for (Object element : (Collection<?>) value) {
+                    result.add(copy(element, immutable));
+                }
+                return immutable ? Collections.unmodifiableList(result) : result;
+            }
+            return value;
+        }
+    }
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
     private final HMAC hmac;
     private final String issuer;
+    private final long cacheTtl;
+    private final BoundedCache<VerifiedToken> verifiedTokens;
 
     @Inject
     public JWT(AppConfig config) {
-        hmac = config.jwtAlgo();
-        issuer = config.jwtIssuer();
+        this(config.jwtAlgo(), config.jwtIssuer(), config.jwtCacheSize(), config.jwtCacheTtl());
     }
 
     public JWT(HMAC hmac, String issuer) {
+        this(hmac, issuer, 0, 0);
+    }
+
+    /**
+     * Construct a JWT instance with verified token cache.
+     *
+     * @param hmac the HMAC signer
+     * @param issuer the issuer
+     * @param cacheSize the maximum number of verified token strings to be cached, `0` disables the cache
+     * @param cacheTtl the number of seconds a verified token string can be reused without verification
+     */
+    public JWT(HMAC hmac, String issuer, int cacheSize, int cacheTtl) {
         this.hmac = $.notNull(hmac);
         this.issuer = $.notNull(issuer);
+        this.cacheTtl = cacheTtl * 1000L;
+        this.verifiedTokens = cacheSize > 0 && cacheTtl > 0 ? new BoundedCache<VerifiedToken>(cacheSize) : null;
     }
 
     public Token newToken() {
@@ -159,24 +227,37 @@ public class JWT extends SingletonBase {
     }
 
     public Token deserialize(String tokenString) {
-        List<String> parts = S.fastSplit(tokenString, ".");
-        E.illegalArgumentIf(parts.size() != 3);
-        String encodedHeaders = parts.get(0);
-        String encodedPayloads = parts.get(1);
-        String hash = parts.get(2);
+        if (null != verifiedTokens) {
+            VerifiedToken verified = verifiedTokens.get(tokenString);
+            if (null != verified) {
+                if (verified.validUntil > $.ms()) {
+                    // return a copy as token is mutable
+                    return verified.toToken(issuer);
+                }
+                verifiedTokens.remove(tokenString, verified);
+            }
+        }
 
-        if (!verifyHash(encodedHeaders, encodedPayloads, hash)) {
+        int firstDot = tokenString.indexOf('.');
+        int lastDot = tokenString.lastIndexOf('.');
+        E.illegalArgumentIf(firstDot < 0 || firstDot == lastDot || tokenString.indexOf('.', firstDot + 1) != lastDot);
+        String hash = tokenString.substring(lastDot + 1);
+
+        byte[] bytes = tokenString.getBytes(UTF_8);
+        // the signing input is everything before the last dot
+        int signingInputLen = bytes.length - hash.getBytes(UTF_8).length - 1;
+        if (!hmac.verifyHash(bytes, 0, signingInputLen, hash)) {
             return null;
         }
 
-        String headerString = new String(Codec.decodeUrlSafeBase64(encodedHeaders));
-        JSONObject headers = JSON.parseObject(headerString);
+        byte[] headerBytes = Codec.decodeUrlSafeBase64(tokenString.substring(0, firstDot));
+        JSONObject headers = JSON.parseObject(new String(headerBytes));
         if (!verifyArgo(headers)) {
             return null;
         }
 
-        String payloadString = new String(Codec.decodeUrlSafeBase64(encodedPayloads));
-        JSONObject payloads = JSON.parseObject(payloadString);
+        byte[] payloadBytes = Codec.decodeUrlSafeBase64(tokenString.substring(firstDot + 1, lastDot));
+        JSONObject payloads = JSON.parseObject(new String(payloadBytes));
         if (!verifyIssuer(payloads)) {
             return null;
         }
@@ -187,11 +268,17 @@ public class JWT extends SingletonBase {
         Token token = new Token(issuer);
         token.headers.putAll(headers);
         token.payloads.putAll(payloads);
+        if (null != verifiedTokens) {
+            cacheVerified(tokenString, token, payloads);
+        }
         return token;
     }
 
-    private boolean verifyHash(String header, String payload, String hash) {
-        return hmac.verifyHash(S.concat(header, ".", payload), hash);
+    private void cacheVerified(String tokenString, Token token, JSONObject payloads) {
+        long expiresAt = payloads.getLongValue(Payload.EXPIRES_AT.key) * 1000;
+        long validUntil = Math.min($.ms() + cacheTtl, expiresAt);
+        // keep an immutable copy so that mutation on the returned token does not affect the cache
+        verifiedTokens.put(tokenString, new VerifiedToken(token, validUntil));
     }
 
     private boolean verifyIssuer(JSONObject payloads) {
@@ -0,0 +1,200 @@
+package act.session;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.app.App;
+import act.conf.AppConfig;
+import act.job.JobManager;
+import act.util.DestroyableBase;
+import act.util.Lazy;
+import org.osgl.$;
+import org.osgl.http.H;
+import org.osgl.util.Charsets;
+import org.osgl.util.S;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.File;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.osgl.http.H.Session.*;
+
+/**
+ * A {@link SessionCodec} that keeps session data at server side and
+ * send only a signed session ID to the client.
+ *
+ * Sessions are kept in a {@link ShardedSessionStore}. The store is written
+ * only when session has been changed during the request; for an unchanged
+ * session only the expiration is extended in memory.
+ *
+ * Flash is still carried by cookie and is handled by {@link DefaultSessionCodec}.
+ */
+@Singleton
+@Lazy
+public class ServerSideSessionCodec extends DestroyableBase implements SessionCodec {
+
+    private static final String TICK_JOB = "session:store:tick";
+
+    private final boolean sessionWillExpire;
+    private final boolean persistentSession;
+    private final long ttl;
+    private final String pingPath;
+    private final DefaultSessionCodec flashCodec;
+    private final ShardedSessionStore store;
+    private App app;
+
+    @Inject
+    public ServerSideSessionCodec(AppConfig conf) {
+        app = conf.app();
+        int ttlInSeconds = conf.sessionTtl();
+        sessionWillExpire = ttlInSeconds > 0;
+        // session without expiration still need to be evicted from server eventually
+        ttl = (sessionWillExpire ? ttlInSeconds : 60 * 60 * 24) * 1000L;
+        persistentSession = conf.persistSession();
+        pingPath = conf.pingPath();
+        flashCodec = new DefaultSessionCodec(conf);
+        File journal = conf.sessionStorePersistent() ? new File(app.tmpDir(), "sessions.journal") : null;
+        store = new ShardedSessionStore(ttl, journal);
+        store.open();
+        app.jobManager().every(TICK_JOB, new Runnable() {
+            @Override
+            public void run() {
+                store.tick();
+            }
+        }, 1, TimeUnit.SECONDS);
+    }
+
+    @Override
+    protected void releaseResources() {
+        JobManager jobManager = app.jobManager();
+        if (null != jobManager) {
+            jobManager.cancel(TICK_JOB);
+        }
+        store.close();
+        flashCodec.destroy();
+        app = null;
+    }
+
+    @Override
+    public String encodeSession(H.Session session) {
+        if (null == session) {
+            return null;
+        }
+        String id = session.id();
+        ShardedSessionStore.StoredSession stored = store.get(id);
+        // expiration in session might be kept unchanged, e.g. on ping request
+        String s = session.get(KEY_EXPIRATION);
+        long expireAt = null == s ? $.ms() + ttl : Long.parseLong(s);
+        if (session.changed() || null == stored) {
+            Map<String, String> data = snapshot(session);
+            if (data.isEmpty()) {
+                if (null != stored) {
+                    store.remove(id);
+                }
+                return null;
+            }
+            if (null == stored) {
+                store.put(new ShardedSessionStore.StoredSession(id, token(id), data, expireAt));
+                return token(id);
+            }
+            store.update(stored, data, expireAt);
+        } else {
+            store.touch(stored, expireAt);
+        }
+        // cookie content does not change, need to resend it only when the cookie itself expires
+        return sessionWillExpire && persistentSession ? stored.token : null;
+    }
+
+    @Override
+    public String encodeFlash(H.Flash flash) {
+        return flashCodec.encodeFlash(flash);
+    }
+
+    @Override
+    public H.Session decodeSession(String encodedSession, H.Request request) {
+        H.Session session = new H.Session();
+        if (S.blank(encodedSession)) {
+            return session;
+        }
+        // signature is hex encoded while session ID might contain '-'
+        int pos = encodedSession.lastIndexOf('-');
+        if (pos < 1) {
+            return session;
+        }
+        String id = encodedSession.substring(0, pos);
+        ShardedSessionStore.StoredSession stored = store.get(id);
+        if (null == stored || !sameToken(stored.token, encodedSession)) {
+            return session;
+        }
+        long now = $.ms();
+        if (stored.expired(now)) {
+            store.remove(id);
+            session.put(KEY_EXPIRE_INDICATOR, true);
+            return session;
+        }
+        // use `load` so the session is not marked as changed
+        session.load(KEY_ID, id);
+        for (Map.Entry<String, String> entry : stored.data.entrySet()) {
+            session.load(entry.getKey(), entry.getValue());
+        }
+        if (sessionWillExpire) {
+            long expiration = S.eq(pingPath, request.url()) ? stored.expireAt : now + ttl;
+            session.load(KEY_EXPIRATION, String.valueOf(expiration));
+        }
+        return session;
+    }
+
+    @Override
+    public H.Flash decodeFlash(String encodedFlash) {
+        return flashCodec.decodeFlash(encodedFlash);
+    }
+
+    int storeSize() {
+        return store.size();
+    }
+
+    private String token(String id) {
+        return S.concat(id, "-", app.sign(id));
+    }
+
+    private static Map<String, String> snapshot(H.Session session) {
+        Map<String, String> data = null;
+        for (String key : session.keySet()) {
+            if (KEY_ID.equals(key) || KEY_EXPIRATION.equals(key) || KEY_EXPIRE_INDICATOR.equals(key)) {
+                continue;
+            }
+            if (null == data) {
+                data = new HashMap<>();
+            }
+            data.put(key, session.get(key));
+        }
+        return null == data ? Collections.<String, String>emptyMap() : Collections.unmodifiableMap(data);
+    }
+
+    private static boolean sameToken(String expected, String actual) {
+        return MessageDigest.isEqual(expected.getBytes(Charsets.UTF_8), actual.getBytes(Charsets.UTF_8));
+    }
+
+}
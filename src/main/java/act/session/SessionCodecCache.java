@@ -0,0 +1,91 @@
+package act.session;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.metric.Metric;
+import act.metric.MetricInfo;
+
+/**
+ * Bounded cache used by {@link DefaultSessionCodec} to skip the crypto work
+ * on repeated session cookies.
+ *
+ * Two mappings are maintained:
+ *
+ * * verified cookie content to the decoded key/value pairs
+ * * plain session content to the encoded cookie content
+ *
+ * Only cookies that passed signature verification are put into the cache,
+ * thus a forged cookie always goes through the full verification path.
+ * Expiration is still checked on every request as it is part of the
+ * decoded pairs.
+ */
+class SessionCodecCache {
+
+    private static final String METRIC_DECODE_HIT = MetricInfo.SESSION + ":codec:decode:hit";
+    private static final String METRIC_DECODE_MISS = MetricInfo.SESSION + ":codec:decode:miss";
+    private static final String METRIC_ENCODE_HIT = MetricInfo.SESSION + ":codec:encode:hit";
+    private static final String METRIC_ENCODE_MISS = MetricInfo.SESSION + ":codec:encode:miss";
+    private static final String METRIC_EVICTION = MetricInfo.SESSION + ":codec:eviction";
+
+    private final Metric metric;
+    private final BoundedCache<String[]> decoded;
+    private final BoundedCache<String> encoded;
+
+    SessionCodecCache(int maxSize, Metric metric) {
+        this.metric = metric;
+        this.decoded = new BoundedCache<>(maxSize);
+        this.encoded = new BoundedCache<>(maxSize);
+    }
+
+    /**
+     * Returns the decoded key/value pairs of a verified cookie content
+     * @param cookieContent the raw cookie content
+     * @return the key/value pairs or `null` if not cached
+     */
+    String[] decoded(String cookieContent) {
+        String[] pairs = decoded.get(cookieContent);
+        metric.countOnce(null == pairs ? METRIC_DECODE_MISS : METRIC_DECODE_HIT);
+        return pairs;
+    }
+
+    /**
+     * Returns the encoded cookie content of a plain session content
+     * @param plainContent the plain session content
+     * @return the encoded cookie content or `null` if not cached
+     */
+    String encoded(String plainContent) {
+        String cookieContent = encoded.get(plainContent);
+        metric.countOnce(null == cookieContent ? METRIC_ENCODE_MISS : METRIC_ENCODE_HIT);
+        return cookieContent;
+    }
+
+    void cache(String cookieContent, String plainContent, String[] pairs) {
+        put(decoded, cookieContent, pairs);
+        put(encoded, plainContent, cookieContent);
+    }
+
+    private <V> void put(BoundedCache<V> cache, String key, V value) {
+        for (int evicted = cache.put(key, value); evicted > 0; --evicted) {
+            metric.countOnce(METRIC_EVICTION);
+        }
+    }
+
+}
@@ -0,0 +1,445 @@
+package act.session;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.util.LogSupport;
+import org.osgl.util.E;
+import org.osgl.util.IO;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * In memory session store used by {@link ServerSideSessionCodec}.
+ *
+ * Sessions are spread across a number of shards by session ID. Expiration
+ * is driven by a hashed timing wheel with one second ticks: a session ID is
+ * put into the slot of its expiration time and when the wheel reaches the
+ * slot the session is checked against its current expiration - which might
+ * have been extended since then - and either removed or rescheduled.
+ *
+ * When a journal file is specified every session write is appended to the
+ * file, and the file is replayed when the store is opened, so that sessions
+ * survive app restart. The journal is compacted once it contains much more
+ * records than live sessions. Each record is built in memory and appended in
+ * one write, strings are written as length prefixed UTF-8 bytes.
+ */
+class ShardedSessionStore extends LogSupport {
+
+    private static final int WHEEL_SIZE = 512;
+    private static final long TICK = 1000L;
+
+    private static final byte OP_PUT = 1;
+    private static final byte OP_TOUCH = 2;
+    private static final byte OP_REMOVE = 3;
+
+    // "ACSJ" followed by the format version at the start of the journal
+    private static final int JOURNAL_MAGIC = 0x4143534A;
+    private static final int JOURNAL_VERSION = 2;
+
+    static final class StoredSession {
+        final String id;
+        final String token;
+        volatile Map<String, String> data;
+        volatile long expireAt;
+        // the expiration time last written to the journal
+        volatile long journaledExpireAt;
+
+        StoredSession(String id, String token, Map<String, String> data, long expireAt) {
+            this.id = id;
+            this.token = token;
+            this.data = data;
+            this.expireAt = expireAt;
+        }
+
+        boolean expired(long now) {
+            return now >= expireAt;
+        }
+    }
+
+    private final ConcurrentHashMap<String, StoredSession>[] shards;
+    private final int shardMask;
+    private final ConcurrentLinkedQueue<String>[] wheel;
+    private volatile long wheelTime;
+    private final long touchThreshold;
+
+    private final File journalFile;
+    private DataOutputStream journal;
+    private int journalRecords;
+
+    /**
+     * Construct a session store
+     * @param ttl the session ttl in milliseconds
+     * @param journalFile the journal file or `null` if sessions shall not be persisted
+     */
+    ShardedSessionStore(long ttl, File journalFile) {
+        int shardCount = Integer.highestOneBit(Math.max(4, Runtime.getRuntime().availableProcessors() * 4) - 1) << 1;
+        shards = new ConcurrentHashMap[shardCount];
+        for (int i = 0; i < shardCount; ++i) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+        shardMask = shardCount - 1;
+        wheel = new ConcurrentLinkedQueue[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; ++i) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        wheelTime = System.currentTimeMillis() / TICK;
+        touchThreshold = ttl / 4;
+        this.journalFile = journalFile;
+    }
+
+    synchronized void open() {
+        if (null == journalFile) {
+            return;
+        }
+        if (journalFile.exists()) {
+            replay();
+        }
+        compact();
+    }
+
+    synchronized void close() {
+        if (null != journal) {
+            IO.close(journal);
+            journal = null;
+        }
+        for (ConcurrentHashMap<String, StoredSession> shard : shards) {
+            shard.clear();
+        }
+        for (ConcurrentLinkedQueue<String> slot : wheel) {
+            slot.clear();
+        }
+    }
+
+    StoredSession get(String id) {
+        return shard(id).get(id);
+    }
+
+    void put(StoredSession session) {
+        shard(session.id).put(session.id, session);
+        schedule(session.id, session.expireAt);
+        journalPut(session);
+    }
+
+    /**
+     * Update session data. Called only when session is dirty.
+     */
+    void update(StoredSession session, Map<String, String> data, long expireAt) {
+        session.data = data;
+        session.expireAt = expireAt;
+        journalPut(session);
+    }
+
+    /**
+     * Extend session expiration. The journal is written only when the
+     * expiration moved forward significantly since last journaled.
+     */
+    void touch(StoredSession session, long expireAt) {
+        session.expireAt = expireAt;
+        if (null != journalFile && expireAt - session.journaledExpireAt > touchThreshold) {
+            session.journaledExpireAt = expireAt;
+            RecordBuffer record = new RecordBuffer();
+            try {
+                record.os.writeByte(OP_TOUCH);
+                writeString(record.os, session.id);
+                record.os.writeLong(expireAt);
+            } catch (IOException e) {
+                throw E.ioException(e);
+            }
+            append(record);
+        }
+    }
+
+    void remove(String id) {
+        if (null != shard(id).remove(id)) {
+            journalRemove(id);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, StoredSession> shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    /**
+     * Advance the timing wheel to the current time, evict expired
+     * sessions and flush the journal
+     */
+    void tick() {
+        long now = System.currentTimeMillis();
+        long target = now / TICK;
+        long time = wheelTime;
+        // do not loop more than a round
+        if (target - time > WHEEL_SIZE) {
+            time = target - WHEEL_SIZE;
+        }
+        while (time < target) {
+            time++;
+            ConcurrentLinkedQueue<String> slot = wheel[(int) (time % WHEEL_SIZE)];
+            int n = slot.size();
+            for (int i = 0; i < n; ++i) {
+                String id = slot.poll();
+                if (null == id) {
+                    break;
+                }
+                StoredSession session = get(id);
+                if (null == session) {
+                    continue;
+                }
+                if (session.expired(now)) {
+                    if (shard(id).remove(id, session)) {
+                        journalRemove(id);
+                    }
+                } else {
+                    schedule(id, session.expireAt);
+                }
+            }
+        }
+        wheelTime = target;
+        synchronized (this) {
+            if (null != journal) {
+                try {
+                    journal.flush();
+                } catch (IOException e) {
+                    warn(e, "error flushing session journal");
+                }
+                if (journalRecords > 1000 && journalRecords > size() * 2) {
+                    try {
+                        compact();
+                    } catch (RuntimeException e) {
+                        // the current journal is kept, continue appending to it
+                        warn(e, "error compacting session journal");
+                    }
+                }
+            }
+        }
+    }
+
+    private void schedule(String id, long expireAt) {
+        long slotTime = expireAt / TICK + 1;
+        long max = wheelTime + WHEEL_SIZE - 1;
+        if (slotTime > max) {
+            // will be rescheduled when the wheel reaches the slot
+            slotTime = max;
+        } else if (slotTime <= wheelTime) {
+            slotTime = wheelTime + 1;
+        }
+        wheel[(int) (slotTime % WHEEL_SIZE)].offer(id);
+    }
+
+    private ConcurrentHashMap<String, StoredSession> shard(String id) {
+        int h = id.hashCode();
+        return shards[(h ^ (h >>> 16)) & shardMask];
+    }
+
+    private void journalPut(StoredSession session) {
+        if (null == journalFile) {
+            return;
+        }
+        session.journaledExpireAt = session.expireAt;
+        RecordBuffer record = new RecordBuffer();
+        try {
+            writePut(record.os, session);
+        } catch (IOException e) {
+            throw E.ioException(e);
+        }
+        append(record);
+    }
+
+    private void journalRemove(String id) {
+        if (null == journalFile) {
+            return;
+        }
+        RecordBuffer record = new RecordBuffer();
+        try {
+            record.os.writeByte(OP_REMOVE);
+            writeString(record.os, id);
+        } catch (IOException e) {
+            throw E.ioException(e);
+        }
+        append(record);
+    }
+
+    /*
+     * Append a complete record to the journal, so that a failure never
+     * leaves part of a record in the journal
+     */
+    private synchronized void append(RecordBuffer record) {
+        if (null != journal) {
+            try {
+                record.writeTo(journal);
+                journalRecords++;
+            } catch (IOException e) {
+                warn(e, "error writing session journal");
+            }
+        }
+    }
+
+    private static void writePut(DataOutputStream os, StoredSession session) throws IOException {
+        os.writeByte(OP_PUT);
+        writeString(os, session.id);
+        writeString(os, session.token);
+        os.writeLong(session.expireAt);
+        Map<String, String> data = session.data;
+        os.writeInt(data.size());
+        for (Map.Entry<String, String> entry : data.entrySet()) {
+            writeString(os, entry.getKey());
+            writeString(os, entry.getValue());
+        }
+    }
+
+    // unlike `writeUTF` there is no 64KB limit
+    private static void writeString(DataOutputStream os, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        os.writeInt(bytes.length);
+        os.write(bytes);
+    }
+
+    private static String readString(DataInputStream is) throws IOException {
+        int len = is.readInt();
+        if (len < 0) {
+            throw new IOException("invalid string length: " + len);
+        }
+        byte[] bytes = new byte[len];
+        is.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static class RecordBuffer {
+        final ByteArrayOutputStream buf = new ByteArrayOutputStream(256);
+        final DataOutputStream os = new DataOutputStream(buf);
+
+        void writeTo(OutputStream target) throws IOException {
+            buf.writeTo(target);
+        }
+    }
+
+    // must be called with lock held
+    private void replay() {
+        long now = System.currentTimeMillis();
+        DataInputStream is = null;
+        try {
+            is = new DataInputStream(new BufferedInputStream(new FileInputStream(journalFile)));
+            if (is.readInt() != JOURNAL_MAGIC || is.readInt() != JOURNAL_VERSION) {
+                warn("incompatible session journal ignored: %s", journalFile.getAbsolutePath());
+                return;
+            }
+            while (true) {
+                int op = is.read();
+                if (op < 0) {
+                    break;
+                }
+                String id = readString(is);
+                if (OP_PUT == op) {
+                    String token = readString(is);
+                    long expireAt = is.readLong();
+                    int n = is.readInt();
+                    Map<String, String> data = new HashMap<>(n * 2);
+                    for (int i = 0; i < n; ++i) {
+                        data.put(readString(is), readString(is));
+                    }
+                    shard(id).put(id, new StoredSession(id, token, Collections.unmodifiableMap(data), expireAt));
+                } else if (OP_TOUCH == op) {
+                    long expireAt = is.readLong();
+                    StoredSession session = get(id);
+                    if (null != session) {
+                        session.expireAt = expireAt;
+                    }
+                } else if (OP_REMOVE == op) {
+                    shard(id).remove(id);
+                } else {
+                    warn("corrupted session journal found: %s", journalFile.getAbsolutePath());
+                    break;
+                }
+            }
+        } catch (EOFException e) {
+            // last record was not completely written
+        } catch (IOException e) {
+            warn(e, "error reading session journal: %s", journalFile.getAbsolutePath());
+        } finally {
+            IO.close(is);
+        }
+        for (ConcurrentHashMap<String, StoredSession> shard : shards) {
+            Iterator<StoredSession> itr = shard.values().iterator();
+            while (itr.hasNext()) {
+                StoredSession session = itr.next();
+                if (session.expired(now)) {
+                    itr.remove();
+                } else {
+                    schedule(session.id, session.expireAt);
+                }
+            }
+        }
+        info("%s sessions recovered from %s", size(), journalFile.getAbsolutePath());
+    }
+
+    // must be called with lock held. The current journal is kept if compaction failed
+    private void compact() {
+        File tmp = new File(journalFile.getParentFile(), journalFile.getName() + ".tmp");
+        DataOutputStream os = null;
+        int records = 0;
+        try {
+            if (null != journal) {
+                journal.flush();
+            }
+            os = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+            os.writeInt(JOURNAL_MAGIC);
+            os.writeInt(JOURNAL_VERSION);
+            for (ConcurrentHashMap<String, StoredSession> shard : shards) {
+                for (StoredSession session : shard.values()) {
+                    session.journaledExpireAt = session.expireAt;
+                    writePut(os, session);
+                    records++;
+                }
+            }
+            os.close();
+            os = null;
+            if (null != journal) {
+                IO.close(journal);
+                journal = null;
+            }
+            // replace the journal atomically so that it is never lost
+            Files.move(tmp.toPath(), journalFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            journalRecords = records;
+        } catch (IOException e) {
+            throw E.ioException(e);
+        } finally {
+            IO.close(os);
+            if (null == journal && journalFile.exists()) {
+                // (re)open the journal, the old one if it was not replaced
+                try {
+                    journal = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(journalFile, true)));
+                } catch (IOException e) {
+                    warn(e, "error opening session journal");
+                }
+            }
+        }
+    }
+
+}
@@ -115,6 +115,11 @@ public abstract class AnnotatedTypeFinder extends AppCodeScannerPluginBase {
             return true;
         }
 
+        @Override
+        protected boolean skipPlainClass(String className) {
+            return true;
+        }
+
         @Override
         public int hashCode() {
             return $.hc(detector, ByteCodeSensor.class);
@@ -0,0 +1,200 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.osgl.util.E;
+import org.osgl.util.IO;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+
+/**
+ * Index class bytecode by class name without keeping the bytecode in memory.
+ *
+ * Only the location - a jar file entry or a class file - is recorded for a class
+ * when the index is built, and the bytecode is read on demand. A small number of
+ * recently read bytecode is kept in a LRU cache, the size of which can be set with
+ * system property `act.bytecode.cache.size`, `0` to disable the cache.
+ *
+ * Bytecode put into the index, e.g. compiled from sources, is kept in memory.
+ */
+public class BytecodeIndex {
+
+    public static final String KEY_CACHE_SIZE = "act.bytecode.cache.size";
+
+    private static final int DEF_CACHE_SIZE = 256;
+
+    private final Map<String, Location> locations = new HashMap<>();
+    private final Map<String, byte[]> resident = new HashMap<>();
+    private final Map<File, JarFile> openJars = new HashMap<>();
+    private final Map<String, byte[]> cache;
+
+    public BytecodeIndex() {
+        this(Integer.getInteger(KEY_CACHE_SIZE, DEF_CACHE_SIZE));
+    }
+
+    public BytecodeIndex(final int cacheSize) {
+        this.cache = new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Record the jar entry from which the bytecode of a class can be read
+     */
+    public synchronized void add(String className, File jar, String entryName) {
+        locations.put(className, new Location(jar, entryName));
+        resident.remove(className);
+        cache.remove(className);
+    }
+
+    /**
+     * Record the class file from which the bytecode of a class can be read
+     */
+    public synchronized void add(String className, File classFile) {
+        add(className, classFile, null);
+    }
+
+    /**
+     * Check if the bytecode of a class is read from a jar file entry
+     */
+    public synchronized boolean inJar(String className) {
+        Location location = locations.get(className);
+        return null != location && null != location.entryName;
+    }
+
+    /**
+     * Put the bytecode of a class into the index. The bytecode will be kept in memory
+     */
+    public synchronized void put(String className, byte[] bytecode) {
+        resident.put(className, bytecode);
+        locations.remove(className);
+        cache.remove(className);
+    }
+
+    public synchronized boolean contains(String className) {
+        return resident.containsKey(className) || locations.containsKey(className);
+    }
+
+    /**
+     * Returns the bytecode of the class specified or `null` if the class is not indexed
+     */
+    public synchronized byte[] get(String className) {
+        byte[] bytecode = resident.get(className);
+        if (null != bytecode) {
+            return bytecode;
+        }
+        bytecode = cache.get(className);
+        if (null != bytecode) {
+            return bytecode;
+        }
+        Location location = locations.get(className);
+        if (null == location) {
+            return null;
+        }
+        bytecode = read(location);
+        cache.put(className, bytecode);
+        return bytecode;
+    }
+
+    /**
+     * Returns the bytecode of the class specified and remove the class from the index
+     */
+    public synchronized byte[] remove(String className) {
+        byte[] bytecode = resident.remove(className);
+        if (null != bytecode) {
+            return bytecode;
+        }
+        Location location = locations.remove(className);
+        bytecode = cache.remove(className);
+        if (null != bytecode || null == location) {
+            return bytecode;
+        }
+        return read(location);
+    }
+
+    /**
+     * Returns a snapshot of the names of all classes indexed
+     */
+    public synchronized Set<String> classNames() {
+        Set<String> set = new HashSet<>(locations.keySet());
+        set.addAll(resident.keySet());
+        return set;
+    }
+
+    public synchronized int size() {
+        return locations.size() + resident.size();
+    }
+
+    public synchronized void clear() {
+        locations.clear();
+        resident.clear();
+        cache.clear();
+        for (JarFile jar : openJars.values()) {
+            IO.close(jar);
+        }
+        openJars.clear();
+    }
+
+    private byte[] read(Location location) {
+        if (null == location.entryName) {
+            return IO.readContent(location.file);
+        }
+        InputStream is = null;
+        try {
+            JarFile jar = openJars.get(location.file);
+            if (null == jar) {
+                jar = new JarFile(location.file);
+                openJars.put(location.file, jar);
+            }
+            ZipEntry entry = jar.getEntry(location.entryName);
+            if (null == entry) {
+                throw E.ioException("Jar entry not found: " + location.file.getAbsolutePath() + "!/" + location.entryName);
+            }
+            is = jar.getInputStream(entry);
+            return IO.readContent(is);
+        } catch (IOException e) {
+            throw E.ioException(e);
+        } finally {
+            IO.close(is);
+        }
+    }
+
+    private static class Location {
+        final File file;
+        // null for class file
+        final String entryName;
+
+        Location(File file, String entryName) {
+            this.file = file;
+            this.entryName = entryName;
+        }
+    }
+
+}
@@ -40,6 +40,11 @@ public class ClassFinderByteCodeScanner extends AppByteCodeScannerBase {
         return true;
     }
 
+    @Override
+    protected boolean skipPlainClass(String className) {
+        return true;
+    }
+
     @Override
     public ByteCodeVisitor byteCodeVisitor() {
         return new _ByteCodeVisitor();
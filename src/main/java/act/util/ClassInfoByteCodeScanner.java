@@ -47,6 +47,16 @@ public class ClassInfoByteCodeScanner extends AppByteCodeScannerBase {
         return true;
     }
 
+    @Override
+    protected boolean skipPlainClass(String className) {
+        return true;
+    }
+
+    @Override
+    protected void restorePlainClass(String className, int access) {
+        classInfoRepository.node(className).modifiers(access);
+    }
+
     @Override
     public ByteCodeVisitor byteCodeVisitor() {
         return new _ByteCodeVisitor();
@@ -26,18 +26,35 @@ import org.osgl.exception.NotAppliedException;
 import org.osgl.logging.L;
 import org.osgl.logging.Logger;
 import org.osgl.util.C;
+import org.osgl.util.IO;
+import org.osgl.util.OS;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
 import java.util.*;
 
+import static java.nio.file.StandardWatchEventKinds.*;
+
 /**
  * {@code FsChangeDetector} detects changes files in a folder and all sub folders.
  * The changes includes delete/add/update events
+ *
+ * On Linux the folder is watched with a {@link WatchService} (inotify), thus only
+ * the files reported by the watch service are checked. The folder is walked through
+ * if the watch service is not available or events overflowed. Set system property
+ * `act.fs.watch` to `false` to always walk through the folder.
  */
 public class FsChangeDetector {
 
     protected static Logger logger = L.get(FsChangeDetector.class);
 
+    /**
+     * the {@link System#getProperty(String) system property} key to turn
+     * on/off watching folders with {@link WatchService}
+     */
+    public static final String KEY_WATCH = "act.fs.watch";
+
     private List<FsEventListener> listeners = new ArrayList<>();
     private final File dir;
     private final $.Predicate<String> fileNameFilter;
@@ -45,12 +62,15 @@ public class FsChangeDetector {
     private final int contextLen;
     private final String context;
     private final $.Var<Long> lastChecksum = $.var(0L);
+    private WatchService watchService;
+    private final Map<WatchKey, Path> watchKeys = new HashMap<>();
 
     public FsChangeDetector(File file, $.Predicate<String> fileNameFilter) {
         this.dir = file;
         this.fileNameFilter = fileNameFilter;
         this.context = file.getAbsolutePath();
         this.contextLen = context.length();
+        initWatchService();
         initialWalkThrough();
     }
 
@@ -65,6 +85,9 @@ public class FsChangeDetector {
     }
 
     public void detectChanges() {
+        if (null != watchService && detectWatchedChanges()) {
+            return;
+        }
         $.Var<Long> checksum = $.var(0L);
         Map<String, Long> newTimestamps = walkThrough(dir, checksum);
         if (!checksum.get().equals(lastChecksum.get())) {
@@ -79,6 +102,143 @@ public class FsChangeDetector {
         }
     }
 
+    /**
+     * Stop watching the folder. Changes are detected by walking through
+     * the folder afterwards.
+     */
+    public void close() {
+        if (null != watchService) {
+            IO.close(watchService);
+            watchService = null;
+            watchKeys.clear();
+        }
+    }
+
+    private void initWatchService() {
+        if (!dir.isDirectory() || !OS.get().isLinux() || !Boolean.parseBoolean(System.getProperty(KEY_WATCH, "true"))) {
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            watch(dir);
+        } catch (IOException e) {
+            logger.warn(e, "Cannot watch %s, changes will be detected by walking through it", dir);
+            close();
+        }
+    }
+
+    private void watch(File folder) throws IOException {
+        Path path = folder.toPath();
+        watchKeys.put(path.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), path);
+        File[] files = folder.listFiles();
+        if (null != files) {
+            for (File file : files) {
+                if (isValidDir(file)) {
+                    watch(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check the files reported by the watch service.
+     *
+     * @return `false` if events are lost, in which case the folder shall be walked through
+     */
+    private boolean detectWatchedChanges() {
+        Set<File> dirty = new LinkedHashSet<>();
+        boolean overflow = false;
+        try {
+            WatchKey key;
+            while (null != (key = watchService.poll())) {
+                Path folder = watchKeys.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (OVERFLOW == event.kind()) {
+                        overflow = true;
+                    } else if (null != folder) {
+                        dirty.add(folder.resolve((Path) event.context()).toFile());
+                    }
+                }
+                if (!key.reset()) {
+                    // the folder is deleted
+                    watchKeys.remove(key);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            return false;
+        }
+        if (overflow) {
+            // folders created since the events were lost might not be watched
+            close();
+            initWatchService();
+            return false;
+        }
+        if (dirty.isEmpty()) {
+            return true;
+        }
+        Map<String, Long> found = new HashMap<>();
+        Set<String> gone = new HashSet<>();
+        $.Var<Long> checksum = $.var(0L);
+        for (File file : dirty) {
+            if (isValidDir(file)) {
+                // a folder created or moved in
+                try {
+                    watch(file);
+                } catch (IOException e) {
+                    logger.warn(e, "Cannot watch %s", file);
+                    return false;
+                }
+                Files.filter(file, fileNameFilter, visitor(found, checksum));
+            } else if (file.exists()) {
+                if (null == fileNameFilter || fileNameFilter.test(file.getName())) {
+                    found.put(file.getAbsolutePath().substring(contextLen), file.lastModified());
+                }
+            } else {
+                gone.add(file.getAbsolutePath().substring(contextLen));
+            }
+        }
+        Set<String> added = new HashSet<>();
+        Set<String> modified = new HashSet<>();
+        for (Map.Entry<String, Long> entry : found.entrySet()) {
+            Long ts = timestamps.put(entry.getKey(), entry.getValue());
+            if (null == ts) {
+                added.add(entry.getKey());
+            } else if (!ts.equals(entry.getValue())) {
+                modified.add(entry.getKey());
+            }
+        }
+        Set<String> removed = new HashSet<>();
+        for (String path : gone) {
+            String folderPrefix = path + File.separator;
+            Iterator<String> itr = timestamps.keySet().iterator();
+            while (itr.hasNext()) {
+                String known = itr.next();
+                if (known.equals(path) || known.startsWith(folderPrefix)) {
+                    removed.add(known);
+                    itr.remove();
+                }
+            }
+        }
+        C.List<FsEvent> events = C.newSizedList(3);
+        if (!added.isEmpty()) {
+            events.add(createEvent(FsEvent.Kind.CREATE, C.set(added)));
+        }
+        if (!removed.isEmpty()) {
+            events.add(createEvent(FsEvent.Kind.DELETE, C.set(removed)));
+        }
+        if (!modified.isEmpty()) {
+            events.add(createEvent(FsEvent.Kind.MODIFY, C.set(modified)));
+        }
+        if (!events.isEmpty()) {
+            trigger(events.toArray(new FsEvent[events.size()]));
+        }
+        return true;
+    }
+
+    private static boolean isValidDir(File file) {
+        return file.isDirectory() && !file.getName().startsWith(".");
+    }
+
     private void initialWalkThrough() {
         walkThrough(dir, timestamps, lastChecksum);
     }
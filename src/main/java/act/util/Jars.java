@@ -192,6 +192,26 @@ public enum Jars {
             };
         }
 
+        /**
+         * Record the jar entry of classes into a {@link BytecodeIndex} without reading the bytecode
+         *
+         * @param index the bytecode index
+         * @param ignoredClassNames the function tells if a class shall be ignored
+         * @return the visitor
+         */
+        public static JarEntryVisitor classNameLocator(final BytecodeIndex index, final $.Function<String, Boolean> ignoredClassNames) {
+            return new F.JarEntryVisitor() {
+                @Override
+                public Void apply(JarFile jarFile, JarEntry entry) throws NotAppliedException, $.Break {
+                    String className = ClassNames.classFileNameToClassName(entry.getName());
+                    if (!ignoredClassNames.apply(className)) {
+                        index.add(className, new File(jarFile.getName()), entry.getName());
+                    }
+                    return null;
+                }
+            };
+        }
+
         /**
          * Visit properties files in Jar file and add the file content to map indexed by env tag.
          * For example, a jar entry named "conf/dev/abc.properties", the content will be loaded into a properties
@@ -0,0 +1,60 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2017 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * Specifies what a bounded executor does when a task is submitted while
+ * its queue is full.
+ *
+ * Not every executor supports all policies, see
+ * {@link act.job.JobPool} and {@link act.event.EventDeliveryExecutor}.
+ */
+public enum SaturationPolicy {
+    /**
+     * Reject the task with {@link java.util.concurrent.RejectedExecutionException}
+     */
+    ABORT,
+
+    /**
+     * Run the task in the submitting thread.
+     */
+    CALLER_RUNS,
+
+    /**
+     * Drop the new task
+     */
+    DISCARD,
+
+    /**
+     * Drop the oldest task in the queue and submit the task again
+     */
+    DISCARD_OLDEST,
+
+    /**
+     * Block the submitting thread until there is room in the queue or
+     * a timeout reached, in which case the new task is dropped
+     */
+    BLOCK;
+
+    public static SaturationPolicy valueOfIgnoreCase(String s) {
+        return valueOf(s.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,103 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.osgl.util.E;
+import org.osgl.util.IO;
+import org.osgl.util.S;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Utilities for fixed size, memory mapped segment files named after
+ * a hexadecimal segment ID, e.g. `000000000000002a.seg`
+ */
+public enum SegmentFiles {
+    ;
+
+    public static final String SUFFIX = ".seg";
+
+    /**
+     * Returns the file of a segment in the given dir
+     */
+    public static File file(File dir, long id) {
+        return new File(dir, S.concat(String.format("%016x", id), SUFFIX));
+    }
+
+    /**
+     * Returns the ID of a segment file or `-1` if the file name is not a segment ID
+     */
+    public static long id(File file) {
+        String name = file.getName();
+        try {
+            return Long.parseLong(S.beforeLast(name, SUFFIX), 16);
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * Returns segment files in the given dir sorted by segment ID
+     */
+    public static File[] list(File dir) {
+        File[] files = dir.listFiles(new FileFilter() {
+            @Override
+            public boolean accept(File file) {
+                return file.isFile() && file.getName().endsWith(SUFFIX) && id(file) >= 0;
+            }
+        });
+        if (null == files) {
+            return new File[0];
+        }
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File o1, File o2) {
+                return Long.compare(id(o1), id(o2));
+            }
+        });
+        return files;
+    }
+
+    /**
+     * Map a segment file into memory, the file is created or resized
+     * to the given size when necessary
+     */
+    public static MappedByteBuffer map(File file, int size) {
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "rw");
+            raf.setLength(size);
+            return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw E.ioException(e);
+        } finally {
+            IO.close(raf);
+        }
+    }
+
+}
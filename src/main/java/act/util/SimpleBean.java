@@ -141,6 +141,11 @@ public interface SimpleBean {
             return true;
         }
 
+        @Override
+        protected boolean skipPlainClass(String className) {
+            return true;
+        }
+
         @Override
         public ByteCodeVisitor byteCodeVisitor() {
             return new SimpleBeanByteCodeVisitor();
@@ -121,6 +121,11 @@ public abstract class ImplicitVariableProvider implements Plugin {
             return true;
         }
 
+        @Override
+        protected boolean skipPlainClass(String className) {
+            return true;
+        }
+
         @Override
         public ByteCodeVisitor byteCodeVisitor() {
             return new ByteCodeVisitor() {
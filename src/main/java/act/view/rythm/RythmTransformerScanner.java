@@ -45,6 +45,11 @@ public class RythmTransformerScanner extends AppByteCodeScannerBase {
         return true;
     }
 
+    @Override
+    protected boolean skipPlainClass(String className) {
+        return true;
+    }
+
     @Override
     public ByteCodeVisitor byteCodeVisitor() {
         return new Visitor();
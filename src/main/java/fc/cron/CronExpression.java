@@ -172,6 +172,17 @@ public class CronExpression {
     private final DayOfWeekField dayOfWeekField;
     private final SimpleField monthField;
     private final DayOfMonthField dayOfMonthField;
+    private volatile NextTime lastNextTime;
+
+    private static final class NextTime {
+        final long after;
+        final DateTime next;
+
+        NextTime(long after, DateTime next) {
+            this.after = after;
+            this.next = next;
+        }
+    }
 
     public CronExpression(final String expr) {
         this(expr, true);
@@ -209,10 +220,20 @@ public class CronExpression {
     }
 
     public DateTime nextTimeAfter(DateTime afterTime) {
+        // there is no matching time between the last query time and the last
+        // result, thus any time in the gap shares the same result
+        NextTime cached = lastNextTime;
+        long millis = afterTime.getMillis();
+        if (null != cached && millis >= cached.after && millis < cached.next.getMillis()
+                && cached.next.getChronology().equals(afterTime.getChronology())) {
+            return cached.next;
+        }
         // will search for the next time within the next 4 years. If there is no
         // time matching, an InvalidArgumentException will be thrown (it is very
         // likely that the cron expression is invalid, like the February 30th).
-        return nextTimeAfter(afterTime, afterTime.plusYears(4));
+        DateTime next = nextTimeAfter(afterTime, afterTime.plusYears(4));
+        lastNextTime = new NextTime(millis, next);
+        return next;
     }
 
     public DateTime nextTimeAfter(DateTime afterTime, long durationInMillis) {
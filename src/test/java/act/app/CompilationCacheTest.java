@@ -0,0 +1,153 @@
+package act.app;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.util.IO;
+import osgl.ut.TestBase;
+
+import java.io.File;
+import java.util.*;
+
+public class CompilationCacheTest extends TestBase {
+
+    private File root;
+    private CompilationCache cache;
+
+    @Before
+    public void prepare() throws Exception {
+        root = File.createTempFile("act-src", "");
+        root.delete();
+        new File(root, "a").mkdirs();
+        write("Foo", "package a; public class Foo {}");
+        write("Bar", "package a; public class Bar { Foo foo; }");
+        write("Zee", "package a; public class Zee { Bar bar; }");
+        cache = new CompilationCache();
+        // first round: nothing cached
+        Map<String, Source> sources = sources();
+        eq(3, cache.restore(sources).size());
+        compiled(sources.get("a.Foo"), 1);
+        compiled(sources.get("a.Bar"), 2, "Foo");
+        compiled(sources.get("a.Zee"), 3, "Bar");
+        cache.update(sources.values(), sources);
+        eq(3, cache.size());
+    }
+
+    @After
+    public void cleanup() {
+        for (File file : new File(root, "a").listFiles()) {
+            file.delete();
+        }
+        new File(root, "a").delete();
+        root.delete();
+    }
+
+    @Test
+    public void unchangedSourcesShallBeRestored() {
+        Map<String, Source> sources = sources();
+        yes(cache.restore(sources).isEmpty());
+        yes(Arrays.equals(new byte[]{2}, sources.get("a.Bar").bytes()));
+    }
+
+    @Test
+    public void changedSourceAndDependentsShallBeCompiled() {
+        write("Foo", "package a; public class Foo { int x; }");
+        Map<String, Source> sources = sources();
+        Set<Source> stale = cache.restore(sources);
+        eq(set(sources, "a.Foo", "a.Bar"), stale);
+        yes(Arrays.equals(new byte[]{3}, sources.get("a.Zee").bytes()));
+
+        // bytecode of Bar unchanged, Zee shall not be compiled
+        compiled(sources.get("a.Foo"), 4);
+        compiled(sources.get("a.Bar"), 2, "Foo");
+        Set<Source> done = new HashSet<>(stale);
+        yes(cache.affected(stale, sources, done).isEmpty());
+    }
+
+    @Test
+    public void dependentsOfChangedBytecodeShallBeCompiled() {
+        write("Foo", "package a; public class Foo { int x; }");
+        Map<String, Source> sources = sources();
+        Set<Source> stale = cache.restore(sources);
+        compiled(sources.get("a.Foo"), 4);
+        compiled(sources.get("a.Bar"), 5, "Foo");
+        Set<Source> done = new HashSet<>(stale);
+        eq(set(sources, "a.Zee"), cache.affected(stale, sources, done));
+    }
+
+    @Test
+    public void dependentsOfDeletedSourceShallBeCompiled() {
+        new File(root, "a/Foo.java").delete();
+        Map<String, Source> sources = sources();
+        eq(set(sources, "a.Bar"), cache.restore(sources));
+        cache.update(Collections.<Source>emptySet(), sources);
+        eq(2, cache.size());
+    }
+
+    @Test
+    public void droppedReferenceShallNotBeKept() {
+        write("Bar", "package a; public class Bar {}");
+        Map<String, Source> sources = sources();
+        Set<Source> stale = cache.restore(sources);
+        eq(set(sources, "a.Bar", "a.Zee"), stale);
+        compiled(sources.get("a.Bar"), 6);
+        compiled(sources.get("a.Zee"), 3, "Bar");
+        cache.update(stale, sources);
+
+        write("Foo", "package a; public class Foo { int x; }");
+        sources = sources();
+        eq(set(sources, "a.Foo"), cache.restore(sources));
+        yes(sources.get("a.Bar").references().isEmpty());
+    }
+
+    private void write(String name, String code) {
+        IO.writeContent(code, new File(root, "a/" + name + ".java"));
+    }
+
+    private Map<String, Source> sources() {
+        Map<String, Source> sources = new HashMap<>();
+        for (File file : new File(root, "a").listFiles()) {
+            Source source = Source.ofFile(root, file);
+            sources.put(source.className(), source);
+        }
+        return sources;
+    }
+
+    private static Set<Source> set(Map<String, Source> sources, String... classNames) {
+        Set<Source> set = new HashSet<>();
+        for (String className : classNames) {
+            set.add(sources.get(className));
+        }
+        return set;
+    }
+
+    private static void compiled(Source source, int bytecode, String... references) {
+        // as the compiler does
+        source.resetCompilation();
+        source.compiled(new byte[]{(byte) bytecode});
+        for (String reference : references) {
+            source.referenced(reference);
+        }
+    }
+
+}
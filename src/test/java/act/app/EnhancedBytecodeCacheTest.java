@@ -0,0 +1,72 @@
+package act.app;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+public class EnhancedBytecodeCacheTest extends TestBase {
+
+    private File dir;
+
+    @Before
+    public void prepare() throws IOException {
+        dir = File.createTempFile("act-enhance", ".cache");
+        dir.delete();
+        dir.mkdirs();
+    }
+
+    @After
+    public void cleanup() {
+        new EnhancedBytecodeCache(dir, 0L).clear();
+        new File(dir, "keep.txt").delete();
+        dir.delete();
+    }
+
+    @Test
+    public void cachedBytecodeShallBeReturnedForSameInput() {
+        EnhancedBytecodeCache cache = new EnhancedBytecodeCache(dir, 1L);
+        cache.put("foo.Bar", 100L, new byte[]{1, 2, 3});
+        yes(Arrays.equals(new byte[]{1, 2, 3}, cache.get("foo.Bar", 100L)));
+        assertNull(cache.get("foo.Bar", 101L));
+        assertNull(cache.get("foo.Zee", 100L));
+        eq(1, cache.size());
+    }
+
+    @Test
+    public void otherGenerationShallBeDropped() throws IOException {
+        new File(dir, "keep.txt").createNewFile();
+        EnhancedBytecodeCache cache = new EnhancedBytecodeCache(dir, 1L);
+        cache.put("foo.Bar", 100L, new byte[]{1, 2, 3});
+
+        cache = new EnhancedBytecodeCache(dir, 2L);
+        assertNull(cache.get("foo.Bar", 100L));
+        no(new EnhancedBytecodeCache(dir, 1L).dir().exists());
+        yes(new File(dir, "keep.txt").exists());
+    }
+
+}
@@ -0,0 +1,118 @@
+package act.app;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import act.asm.MethodVisitor;
+import act.util.ByteCodeVisitor;
+import act.util.ClassNames;
+import act.util.Files;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.$;
+import org.osgl.exception.NotAppliedException;
+import org.osgl.util.C;
+import org.osgl.util.IO;
+import org.osgl.util.S;
+
+import java.io.File;
+import java.util.*;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ParallelScanTest extends ActTestBase {
+
+    private TestingAppClassLoader classLoader;
+    private RecordingScanner scanner;
+    private List<String> classNames;
+    private $.F1<String, byte[]> bytecodeProvider;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        scanner = new RecordingScanner();
+        AppCodeScannerManager scannerManager = mock(AppCodeScannerManager.class);
+        C.List<AppByteCodeScanner> scanners = $.cast(C.listOf(scanner));
+        when(scannerManager.byteCodeScanners()).thenReturn(scanners);
+        when(mockApp.scannerManager()).thenReturn(scannerManager);
+        scanner.setApp(mockApp);
+        classLoader = new TestingAppClassLoader(mockApp);
+        final File base = new File("./target/test-classes");
+        final Map<String, File> files = new TreeMap<>();
+        for (File file : Files.filter(base, S.F.endsWith(".class"))) {
+            files.put(ClassNames.sourceFileNameToClassName(base, file.getAbsolutePath().replace(".class", ".java")), file);
+        }
+        classNames = new ArrayList<>(files.keySet()).subList(0, Math.min(files.size(), 300));
+        bytecodeProvider = new $.F1<String, byte[]>() {
+            @Override
+            public byte[] apply(String className) throws NotAppliedException, $.Break {
+                return IO.readContent(files.get(className));
+            }
+        };
+    }
+
+    @Test
+    public void parallelScanShallVisitLikeSequentialScan() {
+        // enough classes to decode bytecode in parallel
+        yes(classNames.size() >= 64);
+        classLoader.scanByteCode(classNames, bytecodeProvider);
+        List<String> parallel = new ArrayList<>(scanner.visited);
+
+        scanner.visited.clear();
+        // small batches are scanned sequentially
+        for (int i = 0, n = classNames.size(); i < n; i += 16) {
+            classLoader.scanByteCode(classNames.subList(i, Math.min(n, i + 16)), bytecodeProvider);
+        }
+        eq(scanner.visited, parallel);
+    }
+
+    private static class RecordingScanner extends AppByteCodeScannerBase {
+        final List<String> visited = new ArrayList<>();
+
+        @Override
+        protected boolean shouldScan(String className) {
+            return true;
+        }
+
+        @Override
+        public ByteCodeVisitor byteCodeVisitor() {
+            return new ByteCodeVisitor() {
+                @Override
+                public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+                    visited.add(name);
+                    super.visit(version, access, name, signature, superName, interfaces);
+                }
+
+                @Override
+                public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+                    visited.add(S.concat(name, desc));
+                    return super.visitMethod(access, name, desc, signature, exceptions);
+                }
+            };
+        }
+
+        @Override
+        public void scanFinished(String className) {
+        }
+    }
+
+}
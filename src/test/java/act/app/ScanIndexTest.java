@@ -0,0 +1,135 @@
+package act.app;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.asm.ClassReader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.util.IO;
+import osgl.ut.TestBase;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+
+public class ScanIndexTest extends TestBase {
+
+    private File file;
+
+    @Before
+    public void prepare() throws IOException {
+        file = File.createTempFile("act-scan", ".index");
+    }
+
+    @After
+    public void cleanup() {
+        file.delete();
+    }
+
+    @Test
+    public void unchangedPlainClassShallBeRestored() {
+        ScanIndex index = new ScanIndex(file, 1L);
+        index.plainClass("foo.Bar", 100L, 1);
+        index.save();
+
+        index = new ScanIndex(file, 1L);
+        index.load();
+        eq(1, index.access("foo.Bar", 100L));
+        eq(-1, index.access("foo.Bar", 101L));
+        eq(-1, index.access("foo.Zee", 100L));
+    }
+
+    @Test
+    public void indexShallBeDroppedWhenFingerprintChanged() {
+        ScanIndex index = new ScanIndex(file, 1L);
+        index.plainClass("foo.Bar", 100L, 1);
+        index.save();
+
+        index = new ScanIndex(file, 2L);
+        index.load();
+        eq(-1, index.access("foo.Bar", 100L));
+    }
+
+    @Test
+    public void restoredClassShallBeKeptOnSave() {
+        ScanIndex index = new ScanIndex(file, 1L);
+        index.plainClass("foo.Bar", 100L, 1);
+        index.plainClass("foo.Zee", 200L, 1);
+        index.save();
+
+        index = new ScanIndex(file, 1L);
+        index.load();
+        eq(1, index.access("foo.Bar", 100L));
+        index.save();
+
+        index = new ScanIndex(file, 1L);
+        index.load();
+        eq(1, index.access("foo.Bar", 100L));
+        // not found in the last scan
+        eq(-1, index.access("foo.Zee", 200L));
+    }
+
+    @Test
+    public void checksumShallChangeWithBytecode() {
+        no(ScanIndex.checksum(new byte[]{1, 2, 3}) == ScanIndex.checksum(new byte[]{1, 2, 4}));
+        eq(ScanIndex.checksum(new byte[]{1, 2, 3}), ScanIndex.checksum(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    public void detectPlainClass() throws IOException {
+        yes(isPlain(Plain.class));
+        no(isPlain(WithInterface.class));
+        no(isPlain(WithAnnotatedMethod.class));
+        no(isPlain(WithAnnotatedParameter.class));
+    }
+
+    private static boolean isPlain(Class<?> c) throws IOException {
+        String resource = c.getName().replace('.', '/') + ".class";
+        byte[] bytecode = IO.readContent(ScanIndexTest.class.getClassLoader().getResourceAsStream(resource));
+        PlainClassDetector detector = new PlainClassDetector();
+        new ClassReader(bytecode).accept(detector, 0);
+        return detector.isPlain();
+    }
+
+    private static class Plain {
+        private int count;
+
+        void count() {
+            count++;
+        }
+    }
+
+    private static class WithInterface implements Serializable {
+    }
+
+    private static class WithAnnotatedMethod {
+        @Deprecated
+        void foo() {
+        }
+    }
+
+    private static class WithAnnotatedParameter {
+        void foo(@Deprecated String s) {
+        }
+    }
+
+}
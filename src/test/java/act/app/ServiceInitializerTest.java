@@ -0,0 +1,173 @@
+package act.app;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import osgl.ut.TestBase;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ServiceInitializerTest extends TestBase {
+
+    private App app;
+
+    @Before
+    public void prepare() {
+        app = Mockito.mock(App.class);
+    }
+
+    @Test
+    public void dependencyShallFinishFirst() {
+        final AtomicBoolean aFinished = new AtomicBoolean();
+        final AtomicBoolean aFinishedBeforeB = new AtomicBoolean();
+        ServiceInitializer initializer = new ServiceInitializer(app, true);
+        initializer.add("a", new Runnable() {
+            @Override
+            public void run() {
+                sleep(50);
+                aFinished.set(true);
+            }
+        }).add("b", new Runnable() {
+            @Override
+            public void run() {
+                aFinishedBeforeB.set(aFinished.get());
+            }
+        }, "a");
+        initializer.run();
+        yes(aFinishedBeforeB.get());
+    }
+
+    @Test
+    public void independentInitializersShallRunConcurrently() {
+        final CountDownLatch latch = new CountDownLatch(2);
+        final AtomicBoolean concurrent = new AtomicBoolean(true);
+        Runnable initializer = new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+                try {
+                    if (!latch.await(5, TimeUnit.SECONDS)) {
+                        concurrent.set(false);
+                    }
+                } catch (InterruptedException e) {
+                    concurrent.set(false);
+                }
+            }
+        };
+        new ServiceInitializer(app, true).add("a", initializer).add("b", initializer).run();
+        yes(concurrent.get());
+    }
+
+    @Test
+    public void sequentialInitializersShallRunInCallingThread() {
+        final Thread caller = Thread.currentThread();
+        final AtomicReference<Thread> thread = new AtomicReference<>();
+        new ServiceInitializer(app, false).add("a", new Runnable() {
+            @Override
+            public void run() {
+                thread.set(Thread.currentThread());
+            }
+        }).add("b", new Runnable() {
+            @Override
+            public void run() {
+            }
+        }).run();
+        eq(caller, thread.get());
+    }
+
+    @Test
+    public void failureOfFirstAddedInitializerShallBeThrown() {
+        final AtomicBoolean dependentRun = new AtomicBoolean();
+        ServiceInitializer initializer = new ServiceInitializer(app, true);
+        initializer.add("a", new Runnable() {
+            @Override
+            public void run() {
+                sleep(50);
+                throw new IllegalStateException("a");
+            }
+        }).add("b", new Runnable() {
+            @Override
+            public void run() {
+                throw new IllegalArgumentException("b");
+            }
+        }).add("c", new Runnable() {
+            @Override
+            public void run() {
+                dependentRun.set(true);
+            }
+        }, "a");
+        try {
+            initializer.run();
+            fail("exception expected");
+        } catch (IllegalStateException e) {
+            eq("a", e.getMessage());
+        }
+        no(dependentRun.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void dependencyShallBeAddedFirst() {
+        new ServiceInitializer(app, true).add("a", new Runnable() {
+            @Override
+            public void run() {
+            }
+        }, "b");
+    }
+
+    @Test
+    public void registrationsShallBePublishedInAddingOrder() {
+        final AppService s1 = Mockito.mock(AppService.class);
+        final AppService s2 = Mockito.mock(AppService.class);
+        final ServiceInitializer initializer = new ServiceInitializer(app, true);
+        initializer.add("a", new Runnable() {
+            @Override
+            public void run() {
+                sleep(50);
+                yes(initializer.defer(s1, false));
+            }
+        }).add("b", new Runnable() {
+            @Override
+            public void run() {
+                yes(initializer.defer(s2, true));
+            }
+        });
+        no(initializer.defer(s1, false));
+        initializer.run();
+        InOrder inOrder = Mockito.inOrder(app);
+        inOrder.verify(app).register(s1, false);
+        inOrder.verify(app).register(s2, true);
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+package act.app;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.util.List;
+
+public class StartupProfilerTest extends TestBase {
+
+    private StartupProfiler profiler;
+
+    @Before
+    public void prepare() {
+        profiler = new StartupProfiler();
+    }
+
+    @Test
+    public void phasesShallBeNested() {
+        StartupProfiler.Phase outer = profiler.begin("outer");
+        StartupProfiler.Phase inner = profiler.begin("inner");
+        profiler.end(inner);
+        profiler.end(outer);
+        List<StartupProfiler.Phase> phases = profiler.phases();
+        eq(1, phases.size());
+        eq("outer", phases.get(0).name());
+        eq(1, phases.get(0).children().size());
+        eq("inner", phases.get(0).children().get(0).name());
+        yes(outer.finished());
+        yes(inner.finished());
+        yes(outer.wallTime() >= inner.wallTime());
+    }
+
+    @Test
+    public void endingPhaseShallEndNestedPhases() {
+        StartupProfiler.Phase outer = profiler.begin("outer");
+        StartupProfiler.Phase inner = profiler.begin("inner");
+        profiler.end(outer);
+        yes(inner.finished());
+        StartupProfiler.Phase next = profiler.begin("next");
+        eq(2, profiler.phases().size());
+        profiler.end(next);
+    }
+
+    @Test
+    public void stepShallEndPreviousStep() {
+        profiler.step("a");
+        StartupProfiler.Phase nested = profiler.begin("nested");
+        profiler.end(nested);
+        profiler.step("b");
+        List<StartupProfiler.Phase> phases = profiler.phases();
+        eq(2, phases.size());
+        yes(phases.get(0).finished());
+        no(phases.get(1).finished());
+        eq(1, phases.get(0).children().size());
+        profiler.finish();
+        yes(phases.get(1).finished());
+    }
+
+    @Test
+    public void finishedProfilerShallNotRecord() {
+        profiler.finish();
+        assertNull(profiler.begin("late"));
+        profiler.step("late");
+        yes(profiler.phases().isEmpty());
+    }
+
+    @Test
+    public void phasesOfOtherThreadShallBeTopLevel() throws Exception {
+        StartupProfiler.Phase main = profiler.begin("main");
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                profiler.end(profiler.begin("worker"));
+            }
+        };
+        thread.start();
+        thread.join();
+        profiler.end(main);
+        eq(2, profiler.phases().size());
+        yes(main.children().isEmpty());
+    }
+
+    @Test
+    public void testChromeTrace() {
+        StartupProfiler.Phase outer = profiler.begin("outer");
+        profiler.end(profiler.begin("inner"));
+        profiler.end(outer);
+        JSONObject trace = JSON.parseObject(profiler.toChromeTrace());
+        JSONArray events = trace.getJSONArray("traceEvents");
+        eq(2, events.size());
+        JSONObject event = events.getJSONObject(0);
+        eq("outer", event.getString("name"));
+        eq("X", event.getString("ph"));
+        yes(event.getLong("dur") >= events.getJSONObject(1).getLong("dur"));
+        yes(event.getLong("ts") <= events.getJSONObject(1).getLong("ts"));
+    }
+
+    @Test
+    public void testReport() {
+        profiler.end(profiler.begin("outer"));
+        profiler.step("running");
+        String report = profiler.report();
+        yes(report.contains("outer"));
+        yes(report.contains("running (running)"));
+    }
+
+}
@@ -0,0 +1,60 @@
+package act.boot.app;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.Test;
+import org.osgl.util.C;
+import osgl.ut.TestBase;
+
+import java.util.List;
+
+public class CdsTrainingTest extends TestBase {
+
+    @Test
+    public void archiveShallBeReadFromJvmOptions() {
+        eq("/tmp/app.jsa", CdsTraining.archive(C.list("-Xmx1g", "-XX:ArchiveClassesAtExit=/tmp/app.jsa")));
+        assertNull(CdsTraining.archive(C.list("-Xmx1g")));
+        assertNull(CdsTraining.archive(C.list("-XX:ArchiveClassesAtExit=")));
+    }
+
+    @Test
+    public void launcherShallDropTrainingOptions() {
+        List<String> jvmArgs = C.list("-Xmx1g", "-XX:ArchiveClassesAtExit=/tmp/app.jsa", "-Dact.cds.training=true", "-Dprofile=prod");
+        String script = CdsTraining.launcherScript("/jdk/bin/java", jvmArgs, "lib/a.jar:lib/b.jar", "com.foo.App x y", "/tmp/app.jsa");
+        yes(script.startsWith("#!/bin/sh\n"));
+        yes(script.contains("exec '/jdk/bin/java' '-Xmx1g' '-Dprofile=prod' '-XX:SharedArchiveFile=/tmp/app.jsa' '-Xshare:auto' '-cp' 'lib/a.jar:lib/b.jar' 'com.foo.App' \"$@\"\n"));
+        no(script.contains("ArchiveClassesAtExit"));
+        no(script.contains("act.cds.training"));
+    }
+
+    @Test
+    public void launcherShallSupportExecutableJar() {
+        String script = CdsTraining.launcherScript("java", C.<String>list(), "app.jar", "app.jar", "app.jsa");
+        yes(script.contains("'-jar' 'app.jar' \"$@\""));
+    }
+
+    @Test
+    public void launcherShallQuoteArguments() {
+        String script = CdsTraining.launcherScript("java", C.list("-Dgreeting=it's"), "cp", "com.foo.App", "app.jsa");
+        yes(script.contains("'-Dgreeting=it'\"'\"'s'"));
+    }
+
+}
@@ -0,0 +1,128 @@
+package act.cache;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.mockito.Mockito.when;
+
+public class TieredCacheServiceTest extends ActTestBase {
+
+    private File dir;
+    private TieredCacheService cache;
+
+    @Before
+    public void prepare() throws Exception {
+        dir = Files.createTempDirectory("act-tiered-cache").toFile();
+        cache = newCache(false);
+        cache.startup();
+    }
+
+    @After
+    public void cleanup() {
+        cache.shutdown();
+        delete(dir);
+    }
+
+    @Test
+    public void itShallReturnCachedValue() {
+        cache.put("foo", "bar", 60);
+        eq("bar", cache.get("foo"));
+        cache.evict("foo");
+        isNull(cache.get("foo"));
+    }
+
+    @Test
+    public void itShallFallbackToDiskTierWhenEvictedFromHeap() {
+        for (int i = 0; i < 1000; ++i) {
+            cache.put("k" + i, i, 60);
+        }
+        for (int i = 0; i < 1000; ++i) {
+            eq(i, cache.get("k" + i));
+        }
+    }
+
+    @Test
+    public void itShallIncreaseAndDecreaseCounter() {
+        eq(1, cache.incr("counter"));
+        eq(2, cache.incr("counter"));
+        eq(1, cache.decr("counter"));
+    }
+
+    @Test
+    public void itShallRecoverFromDiskOnWarmRestart() {
+        cache.shutdown();
+        cache = newCache(true);
+        cache.startup();
+        cache.put("foo", "bar", 60);
+        cache.put("removed", "x", 60);
+        cache.evict("removed");
+        cache.shutdown();
+        cache = newCache(true);
+        cache.startup();
+        eq("bar", cache.get("foo"));
+        isNull(cache.get("removed"));
+    }
+
+    @Test
+    public void namedCacheShallBeStartedByProvider() throws Exception {
+        setup();
+        when(mockAppConfig.cacheTieredL1Size()).thenReturn(10);
+        when(mockAppConfig.cacheTieredL2Enabled()).thenReturn(true);
+        when(mockAppConfig.cacheTieredL2Location()).thenReturn(dir.getAbsolutePath());
+        when(mockAppConfig.cacheTieredL2SegmentSize()).thenReturn(64 * 1024);
+        when(mockAppConfig.cacheTieredL2SegmentCount()).thenReturn(4);
+        TieredCacheServiceProvider provider = new TieredCacheServiceProvider(mockApp);
+        TieredCacheService named = (TieredCacheService) provider.get("named");
+        yes(named == provider.get("named"));
+        try {
+            for (int i = 0; i < 100; ++i) {
+                named.put("k" + i, i, 60);
+            }
+            for (int i = 0; i < 100; ++i) {
+                eq(i, named.get("k" + i));
+            }
+        } finally {
+            named.shutdown();
+        }
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (null != files) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private TieredCacheService newCache(boolean warmRestart) {
+        return new TieredCacheService("test", 100, dir, 64 * 1024, 4, warmRestart);
+    }
+
+}
@@ -0,0 +1,124 @@
+package act.event;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import act.util.SaturationPolicy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.util.C;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+
+public class BatchedEventListenerTest extends ActTestBase {
+
+    private EventBus eventBus;
+    private List<List> batches;
+    private CountDownLatch latch;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        when(mockAppConfig.eventAsyncPoolSize()).thenReturn(2);
+        when(mockAppConfig.eventAsyncQueueSize()).thenReturn(100);
+        when(mockAppConfig.eventAsyncSaturationPolicy()).thenReturn(SaturationPolicy.CALLER_RUNS);
+        eventBus = new EventBus(mockApp);
+        batches = new CopyOnWriteArrayList<>();
+    }
+
+    @After
+    public void cleanup() {
+        eventBus.destroy();
+    }
+
+    @Test
+    public void itShallFlushBySizeAndByTime() throws Exception {
+        latch = new CountDownLatch(3);
+        BatchedEventListener listener = new BatchedEventListener(String.class, recorder(), 3, "100ms", eventBus);
+        for (int i = 0; i < 7; ++i) {
+            listener.invoke("e" + i);
+        }
+        yes(latch.await(5, TimeUnit.SECONDS));
+        eq(3, batches.size());
+        eq("[e0, e1, e2]", batches.get(0).toString());
+        eq("[e3, e4, e5]", batches.get(1).toString());
+        eq("[e6]", batches.get(2).toString());
+    }
+
+    @Test
+    public void itShallFlushWhenExecutorIsSaturated() throws Exception {
+        // the delivery executor is created on first use
+        when(mockAppConfig.eventAsyncQueueSize()).thenReturn(1);
+        when(mockAppConfig.eventAsyncSaturationPolicy()).thenReturn(SaturationPolicy.DISCARD_OLDEST);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        // hold the only permit of the executor
+        eventBus.deliveryExecutor().deliver("other", new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    blocker.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        try {
+            latch = new CountDownLatch(2);
+            BatchedEventListener listener = new BatchedEventListener(String.class, recorder(), 2, "100ms", eventBus);
+            for (int i = 0; i < 3; ++i) {
+                listener.invoke("e" + i);
+            }
+            yes(latch.await(5, TimeUnit.SECONDS));
+            eq("[e0, e1]", batches.get(0).toString());
+            eq("[e2]", batches.get(1).toString());
+            eq(0L, eventBus.deliveryExecutor().droppedCount());
+        } finally {
+            blocker.countDown();
+        }
+    }
+
+    private SimpleEventListener recorder() {
+        return new SimpleEventListener() {
+            @Override
+            public void invoke(Object... args) {
+                batches.add((List) args[0]);
+                latch.countDown();
+            }
+
+            @Override
+            public List<Class> argumentTypes() {
+                return C.<Class>list(List.class);
+            }
+
+            @Override
+            public boolean isAsync() {
+                return false;
+            }
+        };
+    }
+
+}
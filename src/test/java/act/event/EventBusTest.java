@@ -24,6 +24,9 @@ import act.ActTestBase;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.osgl.util.C;
+
+import java.util.List;
 
 import static org.mockito.Mockito.*;
 
@@ -73,6 +76,18 @@ public class EventBusTest extends ActTestBase {
         verify(l).on(Mockito.any(MyEmbeddedEvent.class));
     }
 
+    @Test
+    public void adhocListenerShallBeInvokedOnlyWhenArgumentTypesMatch() throws Exception {
+        SimpleEventListener l = mock(SimpleEventListener.class);
+        List<Class> argTypes = C.<Class>list(String.class);
+        when(l.argumentTypes()).thenReturn(argTypes);
+        eventBus.bind("foo", l);
+        eventBus.emit("foo", "bar");
+        eventBus.emit("foo", 1);
+        eventBus.emit("bar", "bar");
+        verify(l, times(1)).invoke("bar");
+        verify(l, never()).invoke(1);
+    }
 
     public static class MyEmbeddedEvent extends ActEvent<EventBusTest> {
         public MyEmbeddedEvent(EventBusTest source) {
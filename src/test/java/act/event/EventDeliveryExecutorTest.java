@@ -0,0 +1,160 @@
+package act.event;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.util.SaturationPolicy;
+import org.junit.After;
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class EventDeliveryExecutorTest extends TestBase {
+
+    private EventDeliveryExecutor executor;
+
+    @After
+    public void cleanup() {
+        executor.destroy();
+    }
+
+    @Test
+    public void deliveriesToSameListenerShallBeInOrder() throws Exception {
+        executor = new EventDeliveryExecutor(4, 1000, SaturationPolicy.BLOCK, 1000);
+        final List<Integer> received = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(500);
+        Object listener = new Object();
+        for (int i = 0; i < 500; ++i) {
+            final int n = i;
+            executor.deliver(listener, new Runnable() {
+                @Override
+                public void run() {
+                    received.add(n);
+                    latch.countDown();
+                }
+            });
+        }
+        yes(latch.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 500; ++i) {
+            eq(i, received.get(i));
+        }
+    }
+
+    @Test
+    public void itShallRunInCallerThreadWhenSaturated() throws Exception {
+        executor = new EventDeliveryExecutor(1, 1, SaturationPolicy.CALLER_RUNS, 0);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        executor.deliver("slow", new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    blocker.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        final Thread caller = Thread.currentThread();
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        executor.deliver("fast", new Runnable() {
+            @Override
+            public void run() {
+                threads.add(Thread.currentThread());
+            }
+        });
+        blocker.countDown();
+        eq(caller, threads.get(0));
+        eq(1L, executor.callerRunsCount());
+    }
+
+    @Test
+    public void itShallDropOldestWhenSaturated() throws Exception {
+        executor = new EventDeliveryExecutor(1, 2, SaturationPolicy.DISCARD_OLDEST, 0);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final List<Integer> received = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(2);
+        executor.deliver("l", new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    blocker.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            }
+        });
+        // wait for the first delivery to be taken out of the lane
+        Thread.sleep(100);
+        for (int i = 0; i < 3; ++i) {
+            final int n = i;
+            executor.deliver("l", new Runnable() {
+                @Override
+                public void run() {
+                    received.add(n);
+                    done.countDown();
+                }
+            });
+        }
+        blocker.countDown();
+        yes(done.await(10, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        eq(1, received.size());
+        eq(2, received.get(0));
+        eq(2L, executor.droppedCount());
+    }
+
+    @Test
+    public void droppedDeliveryShallBeNotified() throws Exception {
+        executor = new EventDeliveryExecutor(1, 1, SaturationPolicy.DISCARD_OLDEST, 0);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        executor.deliver("l", new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    blocker.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        // wait for the first delivery to be taken out of the lane
+        Thread.sleep(100);
+        final CountDownLatch dropped = new CountDownLatch(1);
+        executor.deliver("l", new EventDeliveryExecutor.DroppableDelivery() {
+            @Override
+            public void run() {
+            }
+
+            @Override
+            public void dropped() {
+                dropped.countDown();
+            }
+        });
+        blocker.countDown();
+        yes(dropped.await(1, TimeUnit.SECONDS));
+        eq(1L, executor.droppedCount());
+    }
+
+}
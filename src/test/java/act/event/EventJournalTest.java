@@ -0,0 +1,164 @@
+package act.event;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.EventObject;
+import java.util.List;
+
+public class EventJournalTest extends TestBase {
+
+    @DurableEvent
+    public static class Foo extends ActEvent<String> {
+        public Foo(String source) {
+            super(source);
+        }
+    }
+
+    private File dir;
+    private EventJournal journal;
+
+    @Before
+    public void prepare() throws Exception {
+        dir = File.createTempFile("event-journal", "");
+        dir.delete();
+        journal = open();
+    }
+
+    @After
+    public void cleanup() {
+        journal.close();
+        File[] files = dir.listFiles();
+        if (null != files) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    @Test
+    public void undeliveredEventsShallBeReplayedAfterReopen() {
+        List<String> ids = new ArrayList<>();
+        ids.add("a");
+        ids.add("b");
+        long seq1 = journal.append(new Foo("x"), ids);
+        long seq2 = journal.append(new Foo("y"), ids);
+        journal.delivered("a", seq1);
+        journal.delivered("a", seq2);
+        journal.delivered("b", seq1);
+        journal.close();
+
+        journal = open();
+        eq(seq2, journal.checkpoint("a"));
+        eq(seq1, journal.checkpoint("b"));
+        eq(-1L, journal.checkpoint("c"));
+        final List<String> replayed = new ArrayList<>();
+        journal.replay(new EventJournal.Visitor() {
+            @Override
+            public void visit(long seq, EventObject event) {
+                replayed.add(((Foo) event).source());
+            }
+        });
+        eq("[y]", replayed.toString());
+        yes(journal.append(new Foo("z"), ids) > seq2);
+    }
+
+    @Test
+    public void checkpointShallNotSkipEventDeliveredOutOfOrder() {
+        List<String> ids = new ArrayList<>();
+        ids.add("a");
+        long seq1 = journal.append(new Foo("x"), ids);
+        long seq2 = journal.append(new Foo("y"), ids);
+        journal.delivered("a", seq2);
+        eq(seq1 - 1, journal.checkpoint("a"));
+        journal.delivered("a", seq1);
+        eq(seq2, journal.checkpoint("a"));
+    }
+
+    @Test
+    public void droppedEventShallBeReplayedAfterReopen() {
+        List<String> ids = new ArrayList<>();
+        ids.add("a");
+        long seq1 = journal.append(new Foo("x"), ids);
+        long seq2 = journal.append(new Foo("y"), ids);
+        long seq3 = journal.append(new Foo("z"), ids);
+        journal.delivered("a", seq1);
+        journal.delivered("a", seq3);
+        journal.close();
+
+        journal = open();
+        eq(seq1, journal.checkpoint("a"));
+        // event delivered before replay shall not move the checkpoint
+        long seq4 = journal.append(new Foo("w"), ids);
+        journal.delivered("a", seq4);
+        eq(seq1, journal.checkpoint("a"));
+        final List<String> replayed = new ArrayList<>();
+        journal.replay(new EventJournal.Visitor() {
+            @Override
+            public void visit(long seq, EventObject event) {
+                if (seq > journal.checkpoint("a")) {
+                    journal.replaying("a", seq);
+                    replayed.add(((Foo) event).source());
+                }
+            }
+        });
+        eq("[y, z, w]", replayed.toString());
+        eq(seq1, journal.checkpoint("a"));
+        journal.delivered("a", seq2);
+        eq(seq2, journal.checkpoint("a"));
+        journal.delivered("a", seq3);
+        journal.delivered("a", seq4);
+        eq(seq4, journal.checkpoint("a"));
+    }
+
+    @Test
+    public void itShallRollToNewSegmentWhenFull() {
+        List<String> ids = new ArrayList<>();
+        ids.add("a");
+        for (int i = 0; i < 100; ++i) {
+            yes(journal.append(new Foo("event-" + i), ids) > 0);
+        }
+        yes(journal.segmentCount() > 1);
+        final List<String> replayed = new ArrayList<>();
+        journal.replay(new EventJournal.Visitor() {
+            @Override
+            public void visit(long seq, EventObject event) {
+                replayed.add(((Foo) event).source());
+            }
+        });
+        eq(100, replayed.size());
+        eq("event-99", replayed.get(99));
+    }
+
+    private EventJournal open() {
+        EventJournal journal = new EventJournal(dir, 4096, getClass().getClassLoader());
+        journal.open();
+        return journal;
+    }
+
+}
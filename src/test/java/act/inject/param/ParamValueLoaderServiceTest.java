@@ -0,0 +1,97 @@
+package act.inject.param;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.Act;
+import act.ActTestBase;
+import act.plugin.GenericPluginManager;
+import act.util.ActContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import static org.mockito.Mockito.mock;
+
+public class ParamValueLoaderServiceTest extends ActTestBase {
+
+    public static class Host {
+        public void action() {
+        }
+
+        public void annotated(SuppressWarnings anno) {
+        }
+    }
+
+    private ParamValueLoaderService service;
+
+    @Before
+    public void prepare() throws Exception {
+        setup();
+        setPluginManager(mock(GenericPluginManager.class));
+        service = new JobContextParamLoader(mockApp) {
+            @Override
+            protected <T> ParamValueLoader findBeanLoader(Class<T> beanClass) {
+                return new ParamValueLoader() {
+                    @Override
+                    public Object load(Object bean, ActContext<?> context, boolean noDefaultValue) {
+                        return bean;
+                    }
+
+                    @Override
+                    public String bindName() {
+                        return null;
+                    }
+                };
+            }
+        };
+    }
+
+    @After
+    public void cleanup() throws Exception {
+        setPluginManager(null);
+    }
+
+    @Test
+    public void preparedLoadersShallBeRegistered() throws Exception {
+        Method method = Host.class.getMethod("action");
+        service.prepareLoaders(Host.class, method);
+        yes(service.classRegistry.containsKey(Host.class));
+        yes(service.methodRegistry.containsKey(method));
+    }
+
+    @Test
+    public void methodWithAnnotationParamShallNotBePrepared() throws Exception {
+        Method method = Host.class.getMethod("annotated", SuppressWarnings.class);
+        service.prepareLoaders(Host.class, method);
+        yes(service.classRegistry.containsKey(Host.class));
+        no(service.methodRegistry.containsKey(method));
+    }
+
+    private static void setPluginManager(GenericPluginManager pluginManager) throws Exception {
+        Field f = Act.class.getDeclaredField("pluginManager");
+        f.setAccessible(true);
+        f.set(null, pluginManager);
+    }
+
+}
@@ -0,0 +1,87 @@
+package act.inject.param;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import act.app.ActionContext;
+import act.inject.genie.SessionScope;
+import act.util.ActContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.osgl.http.H;
+
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class ScopedParamValueLoaderTest extends ActTestBase {
+
+    private static final String KEY = "foo";
+
+    private H.Session session;
+    private ScopedParamValueLoader loader;
+
+    @Before
+    public void prepare() throws Exception {
+        setup();
+        session = mock(H.Session.class);
+        ActionContext context = spy(ActionContext.create(mockApp, mockReq, mockResp));
+        doReturn(session).when(context).session();
+        context.saveLocal();
+        loader = new ScopedParamValueLoader(new ParamValueLoader() {
+            @Override
+            public Object load(Object bean, ActContext<?> context, boolean noDefaultValue) {
+                return null == bean ? new StringBuilder() : bean;
+            }
+
+            @Override
+            public String bindName() {
+                return KEY;
+            }
+        }, KEY, SessionScope.INSTANCE);
+    }
+
+    @After
+    public void cleanup() {
+        ActionContext.clearCurrent();
+    }
+
+    @Test
+    public void sessionShallBeWrittenOnceWhenBeanFoundInSession() {
+        Object bean = new StringBuilder();
+        when(session.cached(KEY)).thenReturn(bean);
+        ActionContext context = ActionContext.current();
+        yes(bean == loader.load(null, context, false));
+        yes(bean == loader.load(null, context, false));
+        verify(session, times(1)).cache(Matchers.eq(KEY), Matchers.same(bean), anyInt());
+    }
+
+    @Test
+    public void sessionShallBeWrittenOnceWhenBeanCreated() {
+        ActionContext context = ActionContext.current();
+        Object bean = loader.load(null, context, false);
+        yes(null != bean);
+        yes(bean == loader.load(null, context, false));
+        verify(session, times(1)).cache(Matchers.eq(KEY), Matchers.same(bean), anyInt());
+    }
+
+}
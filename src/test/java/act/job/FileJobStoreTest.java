@@ -0,0 +1,124 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+public class FileJobStoreTest extends TestBase {
+
+    private File file;
+    private FileJobStore store;
+
+    @Before
+    public void prepare() throws IOException {
+        file = File.createTempFile("act-jobs", ".journal");
+        store = new FileJobStore(file);
+        store.open();
+    }
+
+    @After
+    public void cleanup() {
+        store.close();
+        file.delete();
+    }
+
+    @Test
+    public void pendingFireTimeShallBeClearedWhenCompleted() {
+        store.scheduled("foo", 1000L);
+        eq(1000L, store.pendingFireTime("foo"));
+        store.completed("foo", 1000L, 1200L, true);
+        eq(-1L, store.pendingFireTime("foo"));
+    }
+
+    @Test
+    public void completionOfEarlierRunShallNotClearPending() {
+        store.scheduled("foo", 1000L);
+        store.scheduled("foo", 2000L);
+        store.completed("foo", 1000L, 1200L, true);
+        eq(2000L, store.pendingFireTime("foo"));
+    }
+
+    @Test
+    public void recordsShallSurviveReopen() {
+        store.scheduled("foo", 1000L);
+        store.completed("foo", 1000L, 1200L, false);
+        store.scheduled("foo", 2000L);
+        store.scheduled("bar", 1500L);
+        store.close();
+
+        store = new FileJobStore(file);
+        store.open();
+        eq(2000L, store.pendingFireTime("foo"));
+        eq(1500L, store.pendingFireTime("bar"));
+        List<JobRun> upcoming = store.upcoming();
+        eq(2, upcoming.size());
+        eq("bar", upcoming.get(0).getJobId());
+        List<JobRun> history = store.history("foo", 10);
+        eq(1, history.size());
+        no(history.get(0).isSuccess());
+        eq(1200L, history.get(0).getFinishTime().getTime());
+    }
+
+    @Test
+    public void compactedJournalShallBeRecovered() {
+        store.scheduled("foo", 1000L);
+        store.close();
+        // simulate a crash after the old journal is gone but before the compacted one is moved into place
+        File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+        yes(file.renameTo(tmp));
+
+        store = new FileJobStore(file);
+        store.open();
+        eq(1000L, store.pendingFireTime("foo"));
+        yes(file.exists());
+        no(tmp.exists());
+    }
+
+    @Test
+    public void historyShallBeLatestFirstAndLimited() {
+        for (int i = 1; i <= 5; ++i) {
+            store.completed("foo", i * 1000L, i * 1000L + 10, true);
+        }
+        store.completed("bar", 3500L, 3600L, true);
+        List<JobRun> history = store.history(null, 3);
+        eq(3, history.size());
+        eq(5010L, history.get(0).getFinishTime().getTime());
+        eq("bar", history.get(2).getJobId());
+        eq(5, store.history("foo", 100).size());
+    }
+
+    @Test
+    public void historyShallBeBoundedPerJob() {
+        for (int i = 0; i < FileJobStore.MAX_HISTORY + 10; ++i) {
+            store.completed("foo", i, i + 1, true);
+        }
+        eq(FileJobStore.MAX_HISTORY, store.history("foo", Integer.MAX_VALUE).size());
+    }
+
+}
@@ -0,0 +1,108 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import act.ActTestBase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.Mockito.when;
+
+public class JobManagerTest extends ActTestBase {
+
+    private JobManager jobManager;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        jobManager = new JobManager(mockApp);
+    }
+
+    @After
+    public void cleanup() {
+        JobContext.clear();
+        jobManager.destroy();
+    }
+
+    @Test
+    public void fireShallNotRegisterJob() throws Exception {
+        int jobs = jobManager.jobs().size();
+        final CountDownLatch latch = new CountDownLatch(1);
+        jobManager.fire(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        });
+        yes(latch.await(5, TimeUnit.SECONDS));
+        eq(jobs, jobManager.jobs().size());
+    }
+
+    @Test
+    public void fireShallCaptureContextOnlyIfRequested() throws Exception {
+        JobContext.init();
+        JobContext.put("foo", "bar");
+        final AtomicReference<Object> captured = new AtomicReference<>();
+        final AtomicReference<Boolean> notCaptured = new AtomicReference<>();
+        final CountDownLatch latch = new CountDownLatch(2);
+        jobManager.fire(new Runnable() {
+            @Override
+            public void run() {
+                captured.set(JobContext.get("foo"));
+                latch.countDown();
+            }
+        }, true);
+        jobManager.fire(new Runnable() {
+            @Override
+            public void run() {
+                notCaptured.set(JobContext.initialized());
+                latch.countDown();
+            }
+        });
+        yes(latch.await(5, TimeUnit.SECONDS));
+        eq("bar", captured.get());
+        no(notCaptured.get());
+    }
+
+    @Test
+    public void clusterSingletonLeaseShallBeKnownOnceRegistered() {
+        LocalLeaseCoordinator coordinator = new LocalLeaseCoordinator();
+        coordinator.acquire("bar", "other-node", 60000L);
+        when(mockAppConfig.leaseCoordinator()).thenReturn(coordinator);
+        when(mockAppConfig.jobLeaseTtl()).thenReturn(60);
+        JobManager manager = new JobManager(mockApp);
+        try {
+            manager.registerClusterSingleton("foo");
+            manager.registerClusterSingleton("bar");
+            yes(manager.holdsLease("foo"));
+            no(manager.holdsLease("bar"));
+        } finally {
+            manager.destroy();
+        }
+    }
+
+}
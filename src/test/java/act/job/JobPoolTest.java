@@ -0,0 +1,164 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import act.util.SaturationPolicy;
+import org.junit.After;
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class JobPoolTest extends TestBase {
+
+    private JobPool pool;
+    private CountDownLatch release = new CountDownLatch(1);
+    private ExecutorService workers;
+    private TimingWheelScheduler scheduler;
+
+    @After
+    public void cleanup() {
+        release.countDown();
+        pool.shutdown();
+        if (null != scheduler) {
+            scheduler.shutdown();
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void abortPolicyShallRejectWhenSaturated() throws Exception {
+        pool = new JobPool("test", 1, 1, SaturationPolicy.ABORT, null);
+        CountDownLatch started = new CountDownLatch(1);
+        pool.executor().execute(blocker(started));
+        yes(started.await(5, TimeUnit.SECONDS));
+        pool.executor().execute(blocker(null));
+        eq(1, pool.getActiveCount());
+        eq(1, pool.getQueueDepth());
+        boolean rejected = false;
+        try {
+            pool.executor().execute(blocker(null));
+        } catch (RejectedExecutionException e) {
+            rejected = true;
+        }
+        yes(rejected);
+        eq(1L, pool.getRejectedCount());
+    }
+
+    @Test
+    public void callerRunsPolicyShallRunInCallerThread() throws Exception {
+        pool = new JobPool("test", 1, 1, SaturationPolicy.CALLER_RUNS, null);
+        CountDownLatch started = new CountDownLatch(1);
+        pool.executor().execute(blocker(started));
+        yes(started.await(5, TimeUnit.SECONDS));
+        pool.executor().execute(blocker(null));
+        final AtomicReference<Thread> thread = new AtomicReference<>();
+        pool.executor().execute(new Runnable() {
+            @Override
+            public void run() {
+                thread.set(Thread.currentThread());
+            }
+        });
+        same(Thread.currentThread(), thread.get());
+        eq(1L, pool.getRejectedCount());
+    }
+
+    @Test
+    public void unboundedQueueShallNotReject() throws Exception {
+        pool = new JobPool("test", 1, 0, SaturationPolicy.ABORT, null);
+        for (int i = 0; i < 100; ++i) {
+            pool.executor().execute(blocker(null));
+        }
+        eq(0, pool.getQueueCapacity());
+        eq(0L, pool.getRejectedCount());
+    }
+
+    @Test
+    public void periodicJobShallSurviveRejection() throws Exception {
+        verifyPeriodicJobSurvivesSaturation(SaturationPolicy.ABORT);
+    }
+
+    @Test
+    public void periodicJobShallSurviveDiscard() throws Exception {
+        verifyPeriodicJobSurvivesSaturation(SaturationPolicy.DISCARD);
+    }
+
+    @Test
+    public void periodicJobShallNotRunOnTimerThread() throws Exception {
+        verifyPeriodicJobSurvivesSaturation(SaturationPolicy.CALLER_RUNS);
+    }
+
+    private void verifyPeriodicJobSurvivesSaturation(SaturationPolicy policy) throws Exception {
+        workers = Executors.newSingleThreadExecutor();
+        scheduler = new TimingWheelScheduler(workers);
+        JobManager manager = mock(JobManager.class);
+        when(manager.scheduler()).thenReturn(scheduler);
+        pool = new JobPool("test", 1, 1, policy, manager);
+        CountDownLatch started = new CountDownLatch(1);
+        pool.executor().execute(blocker(started));
+        yes(started.await(5, TimeUnit.SECONDS));
+        pool.executor().execute(blocker(null));
+        final CountDownLatch fired = new CountDownLatch(1);
+        final AtomicReference<Thread> firedOn = new AtomicReference<>();
+        scheduler.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                firedOn.compareAndSet(null, Thread.currentThread());
+                fired.countDown();
+            }
+        }, 10, 20, TimeUnit.MILLISECONDS, pool.executor());
+        long timeout = System.currentTimeMillis() + 5000;
+        while (pool.getRejectedCount() < 2 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        // dropped more than once, yet still scheduled
+        yes(pool.getRejectedCount() >= 2);
+        release.countDown();
+        yes(fired.await(5, TimeUnit.SECONDS));
+        yes(firedOn.get().getName().startsWith("jobs-test"));
+    }
+
+    private Runnable blocker(final CountDownLatch started) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                if (null != started) {
+                    started.countDown();
+                }
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+
+}
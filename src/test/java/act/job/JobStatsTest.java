@@ -0,0 +1,73 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.util.List;
+
+public class JobStatsTest extends TestBase {
+
+    private JobStats stats = new JobStats("foo");
+
+    @Test
+    public void recentExecutionsShallBeLatestFirstAndBounded() {
+        for (int i = 0; i < JobStats.HISTORY_SIZE + 5; ++i) {
+            stats.record(i * 1000L, i, null);
+        }
+        List<JobExecution> recent = stats.getRecentExecutions();
+        eq(JobStats.HISTORY_SIZE, recent.size());
+        eq((long) JobStats.HISTORY_SIZE + 4, recent.get(0).getDuration());
+        eq(5L, recent.get(recent.size() - 1).getDuration());
+        eq((long) JobStats.HISTORY_SIZE + 5, stats.getCount());
+    }
+
+    @Test
+    public void failuresShallBeCountedWithSummary() {
+        stats.record(0, 1, null);
+        stats.record(0, 1, new IllegalStateException("boom"));
+        eq(1L, stats.getFailureCount());
+        JobExecution last = stats.getRecentExecutions().get(0);
+        no(last.isSuccess());
+        eq("IllegalStateException: boom", last.getError());
+    }
+
+    @Test
+    public void percentilesShallBeBucketUpperBound() {
+        for (int i = 0; i < 90; ++i) {
+            stats.record(0, 10, null);
+        }
+        for (int i = 0; i < 10; ++i) {
+            stats.record(0, 1000, null);
+        }
+        // 10ms falls in [8, 16), 1000ms falls in [512, 1024)
+        eq(15L, stats.getP50());
+        eq(15L, stats.getP90());
+        eq(1023L, stats.getP99());
+        eq(1000L, stats.getMaxDuration());
+        eq(109L, stats.getMeanDuration());
+        eq(90L, stats.getHistogram().get("<16ms"));
+        eq(10L, stats.getHistogram().get("<1024ms"));
+    }
+
+}
@@ -0,0 +1,113 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.io.File;
+import java.io.IOException;
+
+public class LeaseCoordinatorTest extends TestBase {
+
+    private long now;
+    private LocalLeaseCoordinator local;
+    private File dir;
+    private FileLeaseCoordinator file;
+
+    @Before
+    public void prepare() throws IOException {
+        now = 1000L;
+        local = new LocalLeaseCoordinator() {
+            @Override
+            protected long now() {
+                return now;
+            }
+        };
+        dir = File.createTempFile("act-leases", "");
+        dir.delete();
+        file = new FileLeaseCoordinator(dir);
+        file.open();
+    }
+
+    @After
+    public void cleanup() {
+        File[] files = dir.listFiles();
+        if (null != files) {
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    @Test
+    public void leaseShallBeExclusiveUntilExpired() {
+        yes(local.acquire("foo", "node1", 100));
+        no(local.acquire("foo", "node2", 100));
+        now += 50;
+        // renew
+        yes(local.acquire("foo", "node1", 100));
+        now += 99;
+        no(local.acquire("foo", "node2", 100));
+        now += 2;
+        // take over
+        yes(local.acquire("foo", "node2", 100));
+        no(local.acquire("foo", "node1", 100));
+    }
+
+    @Test
+    public void leasesShallBeIndependent() {
+        yes(local.acquire("foo", "node1", 100));
+        yes(local.acquire("bar", "node2", 100));
+    }
+
+    @Test
+    public void releasedLeaseShallBeAvailable() {
+        yes(local.acquire("foo", "node1", 100));
+        local.release("foo", "node2");
+        no(local.acquire("foo", "node2", 100));
+        local.release("foo", "node1");
+        yes(local.acquire("foo", "node2", 100));
+    }
+
+    @Test
+    public void fileLeaseShallBeExclusiveUntilExpired() throws Exception {
+        FileLeaseCoordinator other = new FileLeaseCoordinator(dir);
+        yes(file.acquire("com.foo.Job.run", "node1", 200));
+        no(other.acquire("com.foo.Job.run", "node2", 200));
+        yes(file.acquire("com.foo.Job.run", "node1", 200));
+        Thread.sleep(300);
+        yes(other.acquire("com.foo.Job.run", "node2", 200));
+        no(file.acquire("com.foo.Job.run", "node1", 200));
+    }
+
+    @Test
+    public void releasedFileLeaseShallBeAvailable() {
+        yes(file.acquire("foo", "node1", 60000));
+        file.release("foo", "node1");
+        yes(file.acquire("foo", "node2", 60000));
+    }
+
+}
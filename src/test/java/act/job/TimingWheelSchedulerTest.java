@@ -0,0 +1,150 @@
+package act.job;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TimingWheelSchedulerTest extends TestBase {
+
+    private ExecutorService workers;
+    private TimingWheelScheduler scheduler;
+
+    @Before
+    public void prepare() {
+        workers = Executors.newFixedThreadPool(2);
+        scheduler = new TimingWheelScheduler(workers);
+    }
+
+    @After
+    public void cleanup() {
+        scheduler.shutdown();
+        workers.shutdownNow();
+    }
+
+    @Test
+    public void tasksShallRunInDeadlineOrder() throws Exception {
+        final List<Integer> fired = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(3);
+        // the 600ms task goes to the overflow wheel
+        int[] delays = {600, 20, 150};
+        for (final int delay : delays) {
+            scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    fired.add(delay);
+                    latch.countDown();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+        yes(latch.await(5, TimeUnit.SECONDS));
+        eq("[20, 150, 600]", fired.toString());
+        eq(0, scheduler.pendingCount());
+    }
+
+    @Test
+    public void blockingExecutorShallNotBlockScheduling() throws Exception {
+        final CountDownLatch scheduled = new CountDownLatch(1);
+        final AtomicInteger counter = new AtomicInteger();
+        // an executor that hands over the task only after another thread scheduled a task
+        Executor blocking = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                Thread thread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        scheduler.schedule(new Runnable() {
+                            @Override
+                            public void run() {
+                                counter.incrementAndGet();
+                            }
+                        }, 1, TimeUnit.HOURS);
+                        scheduled.countDown();
+                    }
+                });
+                thread.start();
+                try {
+                    scheduled.await(2, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                workers.execute(command);
+            }
+        };
+        final CountDownLatch latch = new CountDownLatch(1);
+        scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        }, 20, TimeUnit.MILLISECONDS, blocking);
+        yes(latch.await(5, TimeUnit.SECONDS));
+        eq(0L, scheduled.getCount());
+        eq(1, scheduler.pendingCount());
+    }
+
+    @Test
+    public void taskShallNotRunAfterCancelled() throws Exception {
+        final AtomicInteger counter = new AtomicInteger();
+        ScheduledFuture<?> future = scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                counter.incrementAndGet();
+            }
+        }, 50, TimeUnit.MILLISECONDS);
+        eq(1, scheduler.pendingCount());
+        yes(future.cancel(false));
+        eq(0, scheduler.pendingCount());
+        Thread.sleep(200);
+        eq(0, counter.get());
+    }
+
+    @Test
+    public void callableResultShallBeAvailableFromFuture() throws Exception {
+        ScheduledFuture<String> future = scheduler.schedule(new Callable<String>() {
+            @Override
+            public String call() {
+                return "foo";
+            }
+        }, 10, TimeUnit.MILLISECONDS);
+        eq("foo", future.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void fixedRateTaskShallRunRepeatedly() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(5);
+        ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        }, 10, 10, TimeUnit.MILLISECONDS);
+        yes(latch.await(5, TimeUnit.SECONDS));
+        future.cancel(false);
+    }
+
+}
@@ -0,0 +1,113 @@
+package act.session;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import act.ActTestBase;
+import act.conf.AppConfig;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.osgl.$;
+import org.osgl.http.H;
+import org.osgl.util.Charsets;
+import org.osgl.util.Codec;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.osgl.http.H.Session.KEY_EXPIRATION;
+import static org.osgl.http.H.Session.KEY_EXPIRE_INDICATOR;
+
+public class DefaultSessionCodecTest extends ActTestBase {
+
+    private DefaultSessionCodec codec;
+
+    @Before
+    public void prepare() throws Exception {
+        setup();
+        when(mockAppConfig.app()).thenReturn(mockApp);
+        when(mockAppConfig.sessionTtl()).thenReturn(60 * 30);
+        when(mockAppConfig.encryptSession()).thenReturn(false);
+        when(mockAppConfig.sessionCodecCacheSize()).thenReturn(16);
+        when(mockApp.sign(anyString())).thenAnswer(new Answer<String>() {
+            @Override
+            public String answer(InvocationOnMock invocation) throws Throwable {
+                String data = (String) invocation.getArguments()[0];
+                return "sig" + Integer.toHexString(data.hashCode());
+            }
+        });
+        codec = new DefaultSessionCodec(mockAppConfig);
+    }
+
+    @Test
+    public void verifiedCookieShallBeDecoded() {
+        String cookie = encode($.ms() + 60 * 1000);
+        eq("bar", decode(cookie).get("foo"));
+        // the second time comes from the cache
+        eq("bar", decode(cookie).get("foo"));
+    }
+
+    @Test
+    public void forgedCookieShallBeRejectedWhenCached() {
+        String cookie = encode($.ms() + 60 * 1000);
+        eq("bar", decode(cookie).get("foo"));
+        String data = Codec.decodeUrl(cookie, Charsets.UTF_8);
+        String forged = "sigforged" + data.substring(data.indexOf('-'));
+        isNull(decode(Codec.encodeUrl(forged, Charsets.UTF_8)).get("foo"));
+    }
+
+    @Test
+    public void tamperedCookieShallBeRejectedWhenCached() {
+        String cookie = encode($.ms() + 60 * 1000);
+        eq("bar", decode(cookie).get("foo"));
+        String data = Codec.decodeUrl(cookie, Charsets.UTF_8);
+        String tampered = data.replace("bar", "baz");
+        isNull(decode(Codec.encodeUrl(tampered, Charsets.UTF_8)).get("foo"));
+    }
+
+    @Test
+    public void expiredCookieShallBeRejectedWhenCached() {
+        String cookie = encode($.ms() - 1000);
+        H.Session session = decode(cookie);
+        isNull(session.get("foo"));
+        yes(session.contains(KEY_EXPIRE_INDICATOR));
+        session = decode(cookie);
+        isNull(session.get("foo"));
+        yes(session.contains(KEY_EXPIRE_INDICATOR));
+    }
+
+    @Test
+    public void cacheShallBeDisabledByDefault() {
+        eq(0, new AppConfig().sessionCodecCacheSize());
+    }
+
+    private String encode(long expiration) {
+        H.Session session = new H.Session();
+        session.put("foo", "bar");
+        session.put(KEY_EXPIRATION, expiration);
+        return codec.encodeSession(session);
+    }
+
+    private H.Session decode(String cookie) {
+        return codec.decodeSession(cookie, mockReq);
+    }
+
+}
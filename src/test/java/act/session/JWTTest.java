@@ -26,10 +26,12 @@ import com.auth0.jwt.algorithms.Algorithm;
 import org.junit.Before;
 import org.junit.Test;
 import org.osgl.$;
+import org.osgl.util.C;
 import org.osgl.util.S;
 import osgl.ut.TestBase;
 
 import java.util.Date;
+import java.util.List;
 
 import static act.session.JWT.Payload.EXPIRES_AT;
 import static act.session.JWT.Payload.JWT_ID;
@@ -64,6 +66,36 @@ public class JWTTest extends TestBase {
         eq(token, decoded);
     }
 
+    @Test
+    public void testVerifiedTokenCache() {
+        JWT cachedJwt = new JWT(new HMAC(SECRET, HMAC.Algorithm.SHA256), ISSUER, 16, 60);
+        JWT.Token decoded = cachedJwt.deserialize(encoded);
+        eq(token, decoded);
+        decoded.payload(KEY_USERNAME, "jerry");
+        eq(token, cachedJwt.deserialize(encoded));
+    }
+
+    @Test
+    public void testNestedPayloadOfCachedTokenShallNotBeShared() {
+        JWT cachedJwt = new JWT(new HMAC(SECRET, HMAC.Algorithm.SHA256), ISSUER, 16, 60);
+        JWT.Token withRoles = cachedJwt.newToken();
+        withRoles.payload(EXPIRES_AT, EXPIRE_AT);
+        withRoles.payload("roles", C.newList("admin"));
+        String tokenString = cachedJwt.serialize(withRoles);
+        // the second call hits the cache
+        for (int i = 0; i < 2; ++i) {
+            List<Object> roles = (List<Object>) cachedJwt.deserialize(tokenString).payloads().get("roles");
+            eq(1, roles.size());
+            roles.add("root");
+        }
+    }
+
+    @Test
+    public void testTamperedTokenShallBeRejected() {
+        String tampered = encoded.substring(0, encoded.length() - 2) + "xx";
+        isNull(jwt.deserialize(tampered));
+    }
+
     @Test
     public void testDecodeAuth0() throws Exception {
         String encoded = fromAuth0();
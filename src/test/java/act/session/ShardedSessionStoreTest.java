@@ -0,0 +1,96 @@
+package act.session;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.$;
+import org.osgl.util.C;
+import org.osgl.util.S;
+import osgl.ut.TestBase;
+
+import java.io.File;
+
+public class ShardedSessionStoreTest extends TestBase {
+
+    private static final long TTL = 60 * 1000;
+
+    private File journal;
+    private ShardedSessionStore store;
+
+    @Before
+    public void prepare() throws Exception {
+        journal = File.createTempFile("act-session", ".journal");
+        journal.delete();
+        store = new ShardedSessionStore(TTL, journal);
+        store.open();
+    }
+
+    @After
+    public void cleanup() {
+        store.close();
+        journal.delete();
+    }
+
+    @Test
+    public void itShallRecoverSessionsFromJournal() {
+        store.put(session("a", $.ms() + TTL));
+        store.put(session("b", $.ms() + TTL));
+        store.remove("b");
+        store.tick();
+        store.close();
+        store = new ShardedSessionStore(TTL, journal);
+        store.open();
+        ShardedSessionStore.StoredSession a = store.get("a");
+        yes(null != a);
+        eq("tom", a.data.get("user"));
+        isNull(store.get("b"));
+    }
+
+    @Test
+    public void itShallNotRecoverExpiredSessions() {
+        store.put(session("a", $.ms() - 1));
+        store.tick();
+        store.close();
+        store = new ShardedSessionStore(TTL, journal);
+        store.open();
+        isNull(store.get("a"));
+    }
+
+    @Test
+    public void itShallRecoverSessionsWithLargeValues() {
+        String large = S.times("中文", 40000);
+        store.put(new ShardedSessionStore.StoredSession("a", "a-sign", C.Map("data", large), $.ms() + TTL));
+        store.put(session("b", $.ms() + TTL));
+        store.tick();
+        store.close();
+        store = new ShardedSessionStore(TTL, journal);
+        store.open();
+        eq(large, store.get("a").data.get("data"));
+        eq("tom", store.get("b").data.get("user"));
+    }
+
+    private static ShardedSessionStore.StoredSession session(String id, long expireAt) {
+        return new ShardedSessionStore.StoredSession(id, id + "-sign", C.Map("user", "tom"), expireAt);
+    }
+
+}
@@ -0,0 +1,102 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.$;
+import org.osgl.util.IO;
+import osgl.ut.TestBase;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+public class BytecodeIndexTest extends TestBase {
+
+    private File jar;
+    private BytecodeIndex index;
+
+    @Before
+    public void prepare() throws IOException {
+        jar = File.createTempFile("act-bytecode", ".jar");
+        JarOutputStream os = new JarOutputStream(new FileOutputStream(jar));
+        try {
+            os.putNextEntry(new JarEntry("foo/Bar.class"));
+            os.write(new byte[]{1, 2, 3});
+            os.closeEntry();
+            os.putNextEntry(new JarEntry("foo/Zee.class"));
+            os.write(new byte[]{4, 5});
+            os.closeEntry();
+        } finally {
+            IO.close(os);
+        }
+        index = new BytecodeIndex(1);
+        Jars.scan(jar, Jars.F.classNameLocator(index, $.F.FALSE));
+    }
+
+    @After
+    public void cleanup() {
+        index.clear();
+        jar.delete();
+    }
+
+    @Test
+    public void bytecodeShallBeReadOnDemand() {
+        eq(2, index.size());
+        yes(index.contains("foo.Bar"));
+        yes(Arrays.equals(new byte[]{1, 2, 3}, index.get("foo.Bar")));
+        yes(Arrays.equals(new byte[]{4, 5}, index.get("foo.Zee")));
+        yes(Arrays.equals(new byte[]{1, 2, 3}, index.get("foo.Bar")));
+        no(index.contains("foo.Foo"));
+        assertNull(index.get("foo.Foo"));
+    }
+
+    @Test
+    public void removedClassShallNotBeIndexed() {
+        yes(Arrays.equals(new byte[]{1, 2, 3}, index.remove("foo.Bar")));
+        no(index.contains("foo.Bar"));
+        assertNull(index.get("foo.Bar"));
+        eq(1, index.size());
+    }
+
+    @Test
+    public void putBytecodeShallOverrideJarEntry() {
+        index.put("foo.Bar", new byte[]{9});
+        yes(Arrays.equals(new byte[]{9}, index.get("foo.Bar")));
+        eq(2, index.classNames().size());
+    }
+
+    @Test
+    public void onlyJarEntryShallBeInJar() {
+        yes(index.inJar("foo.Bar"));
+        index.put("foo.Bar", new byte[]{9});
+        no(index.inJar("foo.Bar"));
+        index.add("foo.Zee", jar);
+        no(index.inJar("foo.Zee"));
+        no(index.inJar("foo.Foo"));
+    }
+
+}
@@ -0,0 +1,130 @@
+package act.util;
+
+/*-
+ * #%L
+ * ACT Framework
+ * %%
+ * Copyright (C) 2014 - 2018 ActFramework
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.$;
+import org.osgl.util.IO;
+import org.osgl.util.S;
+import osgl.ut.TestBase;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+public class FsChangeDetectorTest extends TestBase {
+
+    private File dir;
+    private FsChangeDetector detector;
+    private List<FsEvent> events = new ArrayList<>();
+
+    @Before
+    public void prepare() throws Exception {
+        dir = File.createTempFile("act-fs", "");
+        dir.delete();
+        dir.mkdirs();
+        IO.writeContent("foo", new File(dir, "Foo.java"));
+        detector = new FsChangeDetector(dir, new $.Predicate<String>() {
+            @Override
+            public boolean test(String s) {
+                return s.endsWith(".java");
+            }
+        }, new FsEventListener() {
+            @Override
+            public void on(FsEvent... fsEvents) {
+                for (FsEvent event : fsEvents) {
+                    events.add(event);
+                }
+            }
+        });
+    }
+
+    @After
+    public void cleanup() {
+        detector.close();
+        delete(dir);
+    }
+
+    @Test
+    public void itShallDetectCreatedFiles() throws Exception {
+        File sub = new File(dir, "bar");
+        sub.mkdirs();
+        File bar = new File(sub, "Bar.java");
+        IO.writeContent("bar", bar);
+        IO.writeContent("bar", new File(sub, "bar.txt"));
+        FsEvent event = awaitEvent();
+        eq(FsEvent.Kind.CREATE, event.kind());
+        eq(1, event.paths().size());
+        eq(bar.getAbsolutePath(), event.paths().get(0));
+    }
+
+    @Test
+    public void itShallDetectModifiedFiles() throws Exception {
+        File foo = new File(dir, "Foo.java");
+        IO.writeContent("foo2", foo);
+        foo.setLastModified(foo.lastModified() + 10000);
+        FsEvent event = awaitEvent();
+        eq(FsEvent.Kind.MODIFY, event.kind());
+        eq(foo.getAbsolutePath(), event.paths().get(0));
+    }
+
+    @Test
+    public void itShallDetectDeletedFiles() throws Exception {
+        File foo = new File(dir, "Foo.java");
+        yes(foo.delete());
+        FsEvent event = awaitEvent();
+        eq(FsEvent.Kind.DELETE, event.kind());
+        eq(foo.getAbsolutePath(), event.paths().get(0));
+    }
+
+    @Test
+    public void itShallNotTriggerEventsWithoutChanges() throws Exception {
+        detector.detectChanges();
+        yes(events.isEmpty());
+    }
+
+    private FsEvent awaitEvent() throws Exception {
+        // watch service events are delivered asynchronously
+        for (int i = 0; i < 100 && events.isEmpty(); ++i) {
+            detector.detectChanges();
+            if (events.isEmpty()) {
+                Thread.sleep(20);
+            }
+        }
+        if (events.isEmpty()) {
+            fail(S.concat("no event detected in ", dir.getAbsolutePath()));
+        }
+        return events.get(0);
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (null != files) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+}
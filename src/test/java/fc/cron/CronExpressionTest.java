@@ -509,4 +509,18 @@ public class CronExpressionTest {
     public void test_without_seconds() throws Exception {
         assertThat(CronExpression.createWithoutSeconds("* * 29 2 *").nextTimeAfter(new DateTime(2012, 3, 1, 00, 00))).isEqualTo(new DateTime(2016, 2, 29, 00, 00));
     }
+
+    @Test
+    public void test_cached_next_time() throws Exception {
+        CronExpression cronExpr = new CronExpression("0 */15 * * * *");
+        DateTime after = new DateTime(2012, 4, 10, 13, 2, 0);
+        DateTime expected = new DateTime(2012, 4, 10, 13, 15, 0);
+        assertThat(cronExpr.nextTimeAfter(after)).isEqualTo(expected);
+        // queries in the same gap share the result
+        assertThat(cronExpr.nextTimeAfter(after.plusMinutes(5))).isEqualTo(expected);
+        assertThat(cronExpr.nextTimeAfter(expected.minusSeconds(1))).isEqualTo(expected);
+        // queries out of the gap are not affected by the cache
+        assertThat(cronExpr.nextTimeAfter(expected)).isEqualTo(new DateTime(2012, 4, 10, 13, 30, 0));
+        assertThat(cronExpr.nextTimeAfter(after.minusMinutes(10))).isEqualTo(new DateTime(2012, 4, 10, 13, 0, 0));
+    }
 }